@@ -52,15 +52,28 @@ def save_complaint(title, body, district=None, address_text=None):
         conn.close()
 
 
+# 정규화 데이터 버전 관리 (백엔드 ComplaintNormalizationBatchRepository와 같은 규칙)
+# - 민원당 현재 행은 하나(uq_normalizations_current), 버전은 민원별로 1부터 증가(uq_normalizations_version)
+# - 같은 트랜잭션에서 기존 현재 행을 먼저 내리고 다음 버전으로 새 현재 행을 저장
+RETIRE_CURRENT_SQL = """
+    UPDATE complaint_normalizations SET is_current = false
+    WHERE complaint_id = %s AND is_current = true
+"""
+NEXT_VERSION_SQL = """
+    COALESCE((SELECT max(version) FROM complaint_normalizations WHERE complaint_id = %s), 0) + 1
+"""
+
+
 def save_normalization(complaint_id, analysis, embedding):
     """
     1. 기존 데이터의 is_current를 false로 업데이트 
-    2. 새로운 정규화 데이터 및 임베딩 벡터 저장 
+    2. 새로운 정규화 데이터 및 임베딩 벡터를 다음 버전으로 저장 
     """
     conn = psycopg2.connect(**DB_CONFIG, client_encoding='UTF8')
     cur = conn.cursor()
     
     try:
+        cur.execute(RETIRE_CURRENT_SQL, (complaint_id,))
         cur.execute("""
             INSERT INTO complaint_normalizations (
                 complaint_id, 
@@ -72,8 +85,9 @@ def save_normalization(complaint_id, analysis, embedding):
                 location_hint,
                 urgency_signal,
                 embedding, 
-                is_current
-            ) VALUES (%s, %s, %s, %s, %s, %s, %s, %s, %s, true)
+                is_current,
+                version
+            ) VALUES (%s, %s, %s, %s, %s, %s, %s, %s, %s, true, """ + NEXT_VERSION_SQL + """)
         """, (
             complaint_id, 
             analysis.get('neutral_summary'), 
@@ -83,7 +97,8 @@ def save_normalization(complaint_id, analysis, embedding):
             Json(analysis.get('keywords', [])), # 리스트를 JSONB로 변환
             analysis.get('location_hint'),      # 추가된 컬럼
             analysis.get('urgency_signal'),    # 추가된 컬럼
-            embedding                           # 1024차원 리스트
+            embedding,                          # 1024차원 리스트
+            complaint_id                        # 다음 버전 계산
         ))
         
         conn.commit()
@@ -0,0 +1,73 @@
+"""
+임베딩 전송 형식 비교 (JSON 숫자 배열 vs base64 f32 / f16)
+
+- 스텁 서버(stub_server.py)나 실제 AI 서버에 같은 민원을 형식별로 반복 요청해
+  응답 크기와 지연(p50/p95)을 출력합니다.
+- --offline 이면 서버 없이 1024차원 임베딩 한 건의 인코딩 크기와 복원 오차만 계산합니다.
+
+실행: STUB_LATENCY_MS=0 uvicorn stub_server:app --port 8000
+      python compare_embedding_transport.py --url http://localhost:8000 --requests 200
+"""
+import argparse
+import base64
+import json
+import random
+import statistics
+import struct
+import time
+import urllib.request
+
+ENCODINGS = ["json", "f32", "f16"]
+FORMATS = {"f32": "<{}f", "f16": "<{}e"}
+DIMENSIONS = 1024
+
+
+def offline():
+    rng = random.Random(7)
+    vector = [rng.uniform(-0.1, 0.1) for _ in range(DIMENSIONS)]
+    for encoding in ENCODINGS:
+        if encoding == "json":
+            payload = json.dumps(vector)
+            restored = vector
+        else:
+            fmt = FORMATS[encoding].format(DIMENSIONS)
+            payload = json.dumps(base64.b64encode(struct.pack(fmt, *vector)).decode("ascii"))
+            restored = struct.unpack(fmt, base64.b64decode(json.loads(payload)))
+        error = max(abs(a - b) for a, b in zip(vector, restored))
+        print(f"{encoding:>4}: {len(payload):>6} bytes, 최대 절대 오차 {error:.2e}")
+
+
+def measure(url, encoding, count):
+    body = json.dumps({"id": 1, "title": "도로 파손 신고", "body": "집 앞 도로에 포트홀이 생겨 차량 통행이 위험합니다."})
+    headers = {"Content-Type": "application/json"}
+    if encoding != "json":
+        headers["X-Embedding-Encoding"] = encoding
+
+    sizes, latencies = [], []
+    for _ in range(count):
+        request = urllib.request.Request(url + "/api/complaints/preprocess", data=body.encode("utf-8"),
+                                         headers=headers, method="POST")
+        start = time.perf_counter()
+        with urllib.request.urlopen(request) as response:
+            payload = response.read()
+        latencies.append((time.perf_counter() - start) * 1000)
+        sizes.append(len(payload))
+
+    latencies.sort()
+    p95 = latencies[int(len(latencies) * 0.95) - 1]
+    print(f"{encoding:>4}: 응답 {statistics.mean(sizes):>8.0f} bytes, "
+          f"p50 {statistics.median(latencies):6.2f}ms, p95 {p95:6.2f}ms")
+
+
+if __name__ == "__main__":
+    parser = argparse.ArgumentParser()
+    parser.add_argument("--url", default="http://localhost:8000")
+    parser.add_argument("--requests", type=int, default=200)
+    parser.add_argument("--offline", action="store_true")
+    args = parser.parse_args()
+
+    if args.offline:
+        offline()
+    else:
+        for encoding in ENCODINGS:
+            measure(args.url, encoding, args.requests)
@@ -105,14 +105,20 @@ def migrate_data():
                 conn.rollback()
                 continue
 
-            # 3. 자식 테이블 삽입 (수정된 부분)
+            # 3. 자식 테이블 삽입 (수정된 부분, 기존 현재 행을 내리고 민원별 다음 버전으로 저장 - 백엔드와 같은 버전 규칙)
+            cur.execute(
+                "UPDATE complaint_normalizations SET is_current = false WHERE complaint_id = %s AND is_current = true",
+                (new_complaint_id,)
+            )
             # [수정] created_at 컬럼을 추가하여 DB 기본값(2026년) 대신 CSV 날짜가 들어가도록 변경
             sql_child = """
             INSERT INTO complaint_normalizations (
                 complaint_id, neutral_summary, core_request, 
                 target_object, keywords_jsonb, embedding, resp_dept,
-                created_at  -- ★ 날짜 컬럼 추가
-            ) VALUES (%s, %s, %s, %s, %s, %s, %s, %s)
+                created_at,  -- ★ 날짜 컬럼 추가
+                is_current, version
+            ) VALUES (%s, %s, %s, %s, %s, %s, %s, %s, true,
+                COALESCE((SELECT max(version) FROM complaint_normalizations WHERE complaint_id = %s), 0) + 1)
             """
             
             keywords_list = clean_keywords(row['keywords'])
@@ -125,7 +131,8 @@ def migrate_data():
                 Json(keywords_list),
                 vector,
                 row['resp_dept'],
-                req_time  # ★ created_at에 접수일 사용
+                req_time,  # ★ created_at에 접수일 사용
+                new_complaint_id
             ))
 
             # 4. 개별 건별 커밋
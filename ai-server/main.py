@@ -4,6 +4,7 @@ from pydantic import BaseModel
 from app import database
 from app.services.llm_service import LLMService
 from fastapi.middleware.cors import CORSMiddleware
+from fastapi.responses import JSONResponse
 import requests
 import os
 import uuid
@@ -13,6 +14,11 @@ import json
 import uuid
 import requests
 import textwrap
+import asyncio
+import time
+import base64
+import struct
+from typing import List
 from fastapi import FastAPI, HTTPException
 from pydantic import BaseModel
 from datetime import datetime
@@ -133,73 +139,209 @@ class ComplaintRequest(BaseModel):
     applicantId: int # 민원인 ID (Long)
     districtId: int # 발생 구역 ID (Long)
 
+LANGFLOW_URL = "http://complaint-langflow:7860/api/v1/run/59369f82-0d62-414e-bd20-9bc5f9aa8a50"  # The complete API endpoint URL for this flow
+
+
+def run_langflow(title: str, body: str) -> str:
+    """Langflow 분석 플로우를 실행하고 결과 텍스트(```json ... ```)를 반환"""
+    api_key = os.getenv("LANGFLOW_KEY")
+
+    # Request payload configuration
+    payload = {
+        "output_type": "chat",
+        "input_type": "text",
+        "tweaks": {
+            # 찾으신 ID를 정확히 매핑합니다
+            "TextInput-MBAG": {
+                "input_value": title
+            },
+            "TextInput-NNDwa": {
+                "input_value": body
+            }
+        }
+    }
+    payload["session_id"] = str(uuid.uuid4())
+    headers = {"x-api-key": api_key}
+
+    # Send API request
+    response = requests.request("POST", LANGFLOW_URL, json=payload, headers=headers)
+    response.raise_for_status()
+
+    # 결과 파싱 (Langflow 응답 구조에서 텍스트만 추출)
+    result_json = response.json()
+    return result_json['outputs'][0]['outputs'][0]['results']['message']['data']['text']
+
+
+def build_embedding_text(ai_text: str) -> str:
+    """분석 결과에서 임베딩 대상 텍스트(주제 + 키워드 + 분류)를 생성"""
+    try:
+        # 마크다운 태그 제거 후 JSON 파싱
+        clean_json_str = re.sub(r'```json\n|```', '', ai_text).strip()
+        inner_data = json.loads(clean_json_str)
+        original = inner_data.get("original_analysis", {})
+        return f"{original.get('topic', '')} {original.get('keywords', '')} {original.get('category', '')}"
+    except Exception as parse_err:
+        print(f"임베딩 처리 중 파싱 오류: {parse_err}")
+        return ""
+
+
+def get_embeddings(texts: list):
+    """여러 텍스트를 한 번의 OpenAI 호출로 임베딩 (입력 순서 유지)"""
+    try:
+        response = client.embeddings.create(
+            model="text-embedding-3-large",
+            input=texts,
+            dimensions=1024
+        )
+        return [item.embedding for item in sorted(response.data, key=lambda d: d.index)]
+    except Exception as e:
+        print(f"OpenAI Embedding Error: {e}")
+        return [None] * len(texts)
+
+
+# 멱등 키(Idempotency-Key) 단위 결과 공유
+# - 백엔드는 민원 ID로 키를 만들어 보내며, 헤지(중복) 요청이나 재시도가 같은 레플리카에 오면
+#   진행 중인 분석에 합류하거나 최근 성공 결과를 그대로 돌려받습니다.
+IDEMPOTENCY_TTL_SECONDS = int(os.getenv("IDEMPOTENCY_TTL_SECONDS", "300"))
+_idempotent_results = {}  # key -> (만료 시각, asyncio.Task)
+
+
+async def run_idempotent(key, factory):
+    if not key:
+        return await factory()
+
+    now = time.monotonic()
+    for expired in [k for k, (expires_at, _) in _idempotent_results.items() if expires_at < now]:
+        del _idempotent_results[expired]
+
+    entry = _idempotent_results.get(key)
+    if entry is None:
+        task = asyncio.ensure_future(factory())
+        _idempotent_results[key] = (now + IDEMPOTENCY_TTL_SECONDS, task)
+    else:
+        task = entry[1]
+
+    # 요청 하나가 끊겨도 공유 중인 분석은 취소되지 않도록 shield
+    result = await asyncio.shield(task)
+    if result.get("status") != "success":
+        _idempotent_results.pop(key, None)
+    return result
+
+
+# 임베딩 전송 형식 협상 (X-Embedding-Encoding 헤더)
+# - f32: little-endian float32 바이트를 base64로, f16: float16(half) 바이트를 base64로 인코딩
+# - 헤더가 없거나 모르는 값이면 기존처럼 JSON 숫자 배열로 응답 (구버전 백엔드 호환)
+EMBEDDING_ENCODING_HEADER = "X-Embedding-Encoding"
+EMBEDDING_FORMATS = {"f32": "<{}f", "f16": "<{}e"}
+
+
+def encode_embedding(result: dict, encoding: str):
+    vector = result.get("embedding")
+    fmt = EMBEDDING_FORMATS.get(encoding or "")
+    if fmt is None or vector is None or result.get("status") != "success":
+        return result
+    # 멱등 키 캐시에 공유된 결과를 건드리지 않도록 복사본에 인코딩 (embedding_encoding을 먼저 둠)
+    encoded = {key: value for key, value in result.items() if key != "embedding"}
+    encoded["embedding_encoding"] = encoding
+    encoded["embedding"] = base64.b64encode(struct.pack(fmt.format(len(vector)), *vector)).decode("ascii")
+    return encoded
+
+
+def analyze_single(title: str, body: str):
+    ai_text = run_langflow(title, body)
+
+    embedding_vector = None
+
+    # 임베딩 생성 호출
+    text_to_embed = build_embedding_text(ai_text)
+    if text_to_embed.strip():
+        embedding_vector = get_embedding(text_to_embed)
+        print(f"임베딩 생성 완료 (차원: {len(embedding_vector)})")
+
+    # 최종 결과 반환 (embedding 필드 추가)
+    return {
+        "status": "success",
+        "data": ai_text,
+        "embedding": embedding_vector  # Java의 float[]로 매핑됨
+    }
+
+
 @app.post("/api/complaints/preprocess")
 async def preprocess_complaint(req: ComplaintRequest, request: Request):
     body = await request.body()
     print(f"받은 원본 데이터: {body.decode()}")
-    try:
-        api_key = os.getenv("LANGFLOW_KEY")
-        url = "http://complaint-langflow:7860/api/v1/run/59369f82-0d62-414e-bd20-9bc5f9aa8a50"  # The complete API endpoint URL for this flow
-
-        for i in req:
-            print(i)
-
-        # Request payload configuration
-        payload = {
-            "output_type": "chat",
-            "input_type": "text",
-            "tweaks": {
-                # 찾으신 ID를 정확히 매핑합니다
-                "TextInput-MBAG": {
-                    "input_value": req.title
-                },
-                "TextInput-NNDwa": {
-                    "input_value": req.body
-                }
+
+    async def analyze():
+        try:
+            # Langflow/OpenAI 호출은 블로킹이므로 이벤트 루프 밖에서 실행
+            return await asyncio.to_thread(analyze_single, req.title, req.body)
+        except Exception as e:
+            print(f"처리 중 오류 발생: {str(e)}")
+            return {
+                "status": "error",
+                "message": str(e)
             }
-        }
-        payload["session_id"] = str(uuid.uuid4())
-        headers = {"x-api-key": api_key}
-
-        # Send API request
-        response = requests.request("POST", url, json=payload, headers=headers)
-        response.raise_for_status()
-        
-        # 4. 결과 파싱 (Langflow 응답 구조에서 텍스트만 추출)
-        result_json = response.json()
-        ai_text = result_json['outputs'][0]['outputs'][0]['results']['message']['data']['text']
-        
-        embedding_vector = None
-        
+
+    result = await run_idempotent(request.headers.get("Idempotency-Key"), analyze)
+    if result.get("status") != "success":
+        # 분석 실패는 5xx로 응답해 백엔드 서킷 브레이커가 장애로 집계하게 함
+        return JSONResponse(status_code=502, content=result)
+    return encode_embedding(result, request.headers.get(EMBEDDING_ENCODING_HEADER))
+
+
+class ComplaintBatchRequest(BaseModel):
+    items: List[ComplaintRequest]
+
+
+@app.post("/api/complaints/preprocess/batch")
+async def preprocess_complaint_batch(req: ComplaintBatchRequest, request: Request):
+    """
+    [배치 전처리]
+    백엔드 워커가 모아 보낸 민원들을 한 번에 처리합니다.
+    - Langflow 실행은 항목별로 병렬 수행
+    - 임베딩은 성공한 항목을 모아 OpenAI 한 번의 호출로 생성
+    - 항목 단위로 성공/실패를 돌려주어 백엔드가 실패 건만 재시도할 수 있게 함
+    """
+    print(f"배치 전처리 요청: {len(req.items)}건")
+
+    async def analyze(item: ComplaintRequest):
         try:
-            # 마크다운 태그 제거 후 JSON 파싱
-            clean_json_str = re.sub(r'```json\n|```', '', ai_text).strip()
-            inner_data = json.loads(clean_json_str)
-            
-            # 임베딩 대상 텍스트 생성 (주제와 키워드 결합)
-            original = inner_data.get("original_analysis", {})
-            text_to_embed = f"{original.get('topic', '')} {original.get('keywords', '')} {original.get('category', '')}"
-            
-            # 3. 임베딩 생성 호출
+            return await asyncio.to_thread(run_langflow, item.title, item.body), None
+        except Exception as e:
+            return None, str(e)
+
+    analyzed = await asyncio.gather(*(analyze(item) for item in req.items))
+
+    # 임베딩 대상 수집 (분석 성공 + 텍스트가 있는 항목만)
+    embed_targets = []
+    for idx, (ai_text, _) in enumerate(analyzed):
+        if ai_text is not None:
+            text_to_embed = build_embedding_text(ai_text)
             if text_to_embed.strip():
-                embedding_vector = get_embedding(text_to_embed)
-                print(f"임베딩 생성 완료 (차원: {len(embedding_vector)})")
-        except Exception as parse_err:
-            print(f"임베딩 처리 중 파싱 오류: {parse_err}")
-
-        # 4. 최종 결과 반환 (embedding 필드 추가)
-        return {
-            "status": "success",
-            "data": ai_text,
-            "embedding": embedding_vector  # Java의 double[]로 매핑됨
-        }
-        
-    except Exception as e:
-        print(f"처리 중 오류 발생: {str(e)}")
-        return {
-            "status": "error",
-            "message": str(e)
-        }
+                embed_targets.append((idx, text_to_embed))
+
+    embeddings = {}
+    if embed_targets:
+        vectors = await asyncio.to_thread(get_embeddings, [text for _, text in embed_targets])
+        embeddings = {idx: vector for (idx, _), vector in zip(embed_targets, vectors)}
+
+    encoding = request.headers.get(EMBEDDING_ENCODING_HEADER)
+    results = []
+    for idx, (item, (ai_text, error)) in enumerate(zip(req.items, analyzed)):
+        if error is not None:
+            results.append({"id": item.id, "status": "error", "message": error})
+        else:
+            results.append(encode_embedding({
+                "id": item.id,
+                "status": "success",
+                "data": ai_text,
+                "embedding": embeddings.get(idx)
+            }, encoding))
+
+    if req.items and all(error is not None for _, error in analyzed):
+        # 전 항목 실패는 LLM 장애로 보고 5xx로 응답 (일부 실패는 항목 단위로 돌려주어 실패 건만 재시도)
+        return JSONResponse(status_code=502, content={"status": "error", "results": results})
+    return {"status": "success", "results": results}
 
 # 직접 실행을 위한 블록 (python main.py로 실행 가능)
 if __name__ == "__main__":
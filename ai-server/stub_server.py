@@ -0,0 +1,107 @@
+"""
+AI 서버 로컬 스텁 (Langflow / OpenAI 없이 백엔드 연동 테스트용)
+
+- /api/complaints/preprocess, /api/complaints/preprocess/batch 의 응답 형식을 그대로 흉내냅니다.
+- 분석 결과와 임베딩은 제목+본문 해시로 결정적으로 생성되므로 같은 입력은 항상 같은 결과를 돌려줍니다.
+- STUB_LATENCY_MS(기본 200)로 LLM 호출 지연을, STUB_ERROR_RATE(기본 0)로 실패 비율을 흉내낼 수 있습니다.
+- X-Embedding-Encoding 헤더(f32/f16)에 따라 임베딩을 base64 바이너리로 돌려줍니다. (main.py와 동일)
+
+실행: uvicorn stub_server:app --host 0.0.0.0 --port 8000
+"""
+import asyncio
+import base64
+import hashlib
+import json
+import os
+import random
+import struct
+from typing import List, Optional
+
+from fastapi import FastAPI, Request
+from pydantic import BaseModel
+
+app = FastAPI(title="Complaint Analyzer AI (stub)")
+
+LATENCY_MS = int(os.getenv("STUB_LATENCY_MS", "200"))
+ERROR_RATE = float(os.getenv("STUB_ERROR_RATE", "0"))
+DIMENSIONS = 1024
+
+EMBEDDING_ENCODING_HEADER = "X-Embedding-Encoding"
+EMBEDDING_FORMATS = {"f32": "<{}f", "f16": "<{}e"}
+
+DEPTS = ["서울특별시 강남구 도로관리과", "서울특별시 강남구 청소행정과", "서울특별시 강남구 교통행정과"]
+
+
+class ComplaintRequest(BaseModel):
+    id: int
+    title: str
+    body: str
+    addressText: Optional[str] = None
+    lat: Optional[float] = None
+    lon: Optional[float] = None
+    applicantId: Optional[int] = None
+    districtId: Optional[int] = None
+
+
+class ComplaintBatchRequest(BaseModel):
+    items: List[ComplaintRequest]
+
+
+def fake_analysis(req: ComplaintRequest):
+    seed = int(hashlib.sha256(f"{req.title}\n{req.body}".encode()).hexdigest()[:16], 16)
+    rng = random.Random(seed)
+    dept = DEPTS[seed % len(DEPTS)]
+    analysis = {
+        "recommendations": [
+            {"rank": 1, "recommended_dept": dept, "reason": "stub", "related_case": "", "confidence": 0.9}
+        ],
+        "original_analysis": {
+            "topic": req.title[:30],
+            "keywords": ", ".join(req.body.split()[:3]) or "민원",
+            "category": "일반"
+        }
+    }
+    embedding = [rng.uniform(-1.0, 1.0) for _ in range(DIMENSIONS)]
+    return "```json\n" + json.dumps(analysis, ensure_ascii=False) + "\n```", embedding
+
+
+def encode_embedding(result: dict, encoding: Optional[str]):
+    fmt = EMBEDDING_FORMATS.get(encoding or "")
+    if fmt is None or result.get("status") != "success" or result.get("embedding") is None:
+        return result
+    vector = result.pop("embedding")
+    result["embedding_encoding"] = encoding
+    result["embedding"] = base64.b64encode(struct.pack(fmt.format(len(vector)), *vector)).decode("ascii")
+    return result
+
+
+async def simulate():
+    await asyncio.sleep(LATENCY_MS / 1000.0)
+    if ERROR_RATE > 0 and random.random() < ERROR_RATE:
+        raise RuntimeError("stub: simulated langflow failure")
+
+
+@app.post("/api/complaints/preprocess")
+async def preprocess(req: ComplaintRequest, request: Request):
+    try:
+        await simulate()
+    except RuntimeError as e:
+        return {"status": "error", "message": str(e)}
+    data, embedding = fake_analysis(req)
+    return encode_embedding({"status": "success", "data": data, "embedding": embedding},
+                            request.headers.get(EMBEDDING_ENCODING_HEADER))
+
+
+@app.post("/api/complaints/preprocess/batch")
+async def preprocess_batch(req: ComplaintBatchRequest, request: Request):
+    # 배치는 한 번의 왕복 지연만 발생
+    await asyncio.sleep(LATENCY_MS / 1000.0)
+    results = []
+    for item in req.items:
+        if ERROR_RATE > 0 and random.random() < ERROR_RATE:
+            results.append({"id": item.id, "status": "error", "message": "stub: simulated langflow failure"})
+            continue
+        data, embedding = fake_analysis(item)
+        results.append(encode_embedding({"id": item.id, "status": "success", "data": data, "embedding": embedding},
+                                        request.headers.get(EMBEDDING_ENCODING_HEADER)))
+    return {"status": "success", "results": results}
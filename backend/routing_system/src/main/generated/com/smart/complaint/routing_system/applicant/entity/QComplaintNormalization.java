@@ -50,6 +50,8 @@ public class QComplaintNormalization extends EntityPathBase<ComplaintNormalizati
 
     public final StringPath targetObject = createString("targetObject");
 
+    public final NumberPath<Integer> version = createNumber("version", Integer.class);
+
     public QComplaintNormalization(String variable) {
         this(ComplaintNormalization.class, forVariable(variable), INITS);
     }
@@ -0,0 +1,119 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// AI 분석 서버(FastAPI) 클라이언트 설정 (application.yaml의 ai.server.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ai.server")
+public class AiServerProperties {
+
+    // AI 서버 주소 (docker-compose에서는 AI_SERVER_URL로 주입)
+    private String baseUrl = "http://complaint-ai-server:8000";
+
+    // AI 서버 레플리카 주소 목록 (비어 있으면 baseUrl 하나만 사용)
+    private List<String> replicas = new ArrayList<>();
+
+    // 커넥션 풀 크기
+    private int maxConnections = 20;
+    private int maxConnectionsPerRoute = 20;
+
+    // TCP 연결 타임아웃
+    private long connectTimeoutMs = 2000;
+
+    // 풀에서 커넥션을 빌려올 때의 최대 대기 시간 (풀 포화 시 빠르게 실패)
+    private long connectionRequestTimeoutMs = 1000;
+
+    // 유휴 커넥션 정리 주기 / 커넥션 최대 수명
+    private long idleEvictSeconds = 30;
+    private long connectionTtlSeconds = 300;
+
+    // 엔드포인트별 응답 타임아웃
+    private long preprocessTimeoutMs = 60000;
+    private long batchTimeoutMs = 180000;
+
+    // 임베딩 전송 형식 (X-Embedding-Encoding 헤더로 요청): f32, f16(정밀도 손실), json(기존 숫자 배열)
+    private String embeddingEncoding = "f32";
+
+    private Hedge hedge = new Hedge();
+    private Limiter limiter = new Limiter();
+    private Bulkhead bulkhead = new Bulkhead();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    // 헤지 요청: 단건 전처리가 최근 지연 백분위를 넘기면 다른 레플리카로 한 번 더 요청
+    @Getter
+    @Setter
+    public static class Hedge {
+        private boolean enabled = true;
+
+        // 헤지 기준 지연 백분위 (0~1)
+        private double percentile = 0.95;
+
+        // 헤지 대기 시간 하한 (표본이 부족할 때도 이 값 사용)
+        private long minDelayMs = 2000;
+
+        // 백분위 계산에 쓰는 최근 표본 수 / 최소 표본 수
+        private int windowSize = 200;
+        private int minSamples = 20;
+    }
+
+    // 적응형 동시성 제한: 응답 시간 추이로 지속 가능한 동시 호출 수를 찾음
+    @Getter
+    @Setter
+    public static class Limiter {
+        private int initialLimit = 4;
+        private int minLimit = 1;
+        private int maxLimit = 8;
+
+        // 한도 변경 반영 비율 (0~1, 클수록 빠르게 반응)
+        private double smoothing = 0.2;
+
+        // 장기 평균 대비 허용하는 응답 시간 증가 배수
+        private double rttTolerance = 1.5;
+
+        // 장기 평균 응답 시간 계산에 쓰는 표본 수
+        private int longWindow = 600;
+
+        // 실패(타임아웃/5xx) 시 한도 감소 비율
+        private double backoffRatio = 0.9;
+
+        // 한도 초과 시 대기열 크기와 최대 대기 시간 (초과분은 즉시 거절)
+        private int maxQueue = 50;
+        private long queueTimeoutMs = 5000;
+    }
+
+    // 벌크헤드: AI 서버로 동시에 나갈 수 있는 호출 수의 고정 상한 (적응형 한도의 바깥 울타리)
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        private int maxConcurrentCalls = 8;
+
+        // 자리가 없을 때 기다리는 시간 (0이면 즉시 거절)
+        private long maxWaitMs = 0;
+    }
+
+    // 서킷 브레이커: 최근 호출의 실패율이 임계치를 넘으면 일정 시간 호출을 차단
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        // 실패율 계산에 쓰는 최근 호출 수
+        private int slidingWindowSize = 20;
+
+        // 실패율을 계산하기 위한 최소 호출 수
+        private int minimumCalls = 10;
+
+        // 차단 기준 실패율 (%)
+        private int failureRateThreshold = 50;
+
+        // 차단(OPEN) 유지 시간
+        private long openDurationMs = 30000;
+
+        // 반개방(HALF_OPEN) 상태에서 허용할 시험 호출 수
+        private int halfOpenCalls = 3;
+    }
+}
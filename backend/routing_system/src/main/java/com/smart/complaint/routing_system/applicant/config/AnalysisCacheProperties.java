@@ -0,0 +1,26 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// AI 분석 결과 캐시 설정 (application.yaml의 ai.cache.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ai.cache")
+public class AnalysisCacheProperties {
+
+    private boolean enabled = true;
+
+    // 캐시 키 네임스페이스 (Langflow 플로우/프롬프트가 바뀌면 올려서 기존 결과를 무효화)
+    private String namespace = "v1";
+
+    // 메모리 계층 최대 항목 수 (LRU)
+    private int maxEntries = 5000;
+
+    // DB 계층 사용 여부 (인스턴스 간 공유, 재기동 후에도 유지)
+    private boolean dbTierEnabled = true;
+
+    // DB 계층 보관 기간: 마지막 조회 후 이 기간이 지나면 삭제
+    private int ttlDays = 30;
+}
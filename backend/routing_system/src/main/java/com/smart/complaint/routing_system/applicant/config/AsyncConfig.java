@@ -0,0 +1,83 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// 백그라운드 작업(스케줄러, AI 분석 워커, 하이브리드 검색, 사건 자동 연결, 메일 발송) 설정
+// - spring.threads.virtual.enabled=true (Java 21+)이면 Tomcat 요청/스케줄러와 함께 AI 분석 워커도 가상 스레드로 실행
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class AsyncConfig {
+
+    private final ComplaintAnalysisProperties analysisProperties;
+    private final IncidentLinkProperties incidentLinkProperties;
+    private final Environment environment;
+
+    // AI 분석 워커 풀: 요청 스레드(Tomcat)와 분리하여 LLM 호출 지연이 접수 API에 전파되지 않도록 함
+    @Bean
+    public ThreadPoolTaskExecutor analysisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(analysisProperties.getWorkerThreads());
+        executor.setMaxPoolSize(analysisProperties.getWorkerThreads());
+        executor.setQueueCapacity(analysisProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("ai-analysis-");
+        // 동시 분석 수 상한(worker-threads)과 대기열은 그대로 두고 실행 스레드만 가상 스레드로 교체
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 하이브리드 검색의 임베딩/전문 검색을 병렬로 실행하는 풀 (요청당 2개 작업, 대기열이 차면 해당 검색을 건너뜀)
+    @Bean
+    public ThreadPoolTaskExecutor hybridSearchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("hybrid-search-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.initialize();
+        return executor;
+    }
+
+    // 사건 자동 연결 풀 (정규화 저장 커밋 직후 실행, 대기열이 차서 거절된 민원은 따라잡기 작업이 처리)
+    @Bean
+    public ThreadPoolTaskExecutor incidentLinkExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(incidentLinkProperties.getWorkerThreads());
+        executor.setMaxPoolSize(incidentLinkProperties.getWorkerThreads());
+        executor.setQueueCapacity(incidentLinkProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("incident-link-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 메일 발송 전용 플랫폼 스레드 풀
+     * - JavaMail(SMTPTransport)은 synchronized 블록 안에서 소켓 I/O를 하므로 가상 스레드에서 직접 보내면
+     *   발송이 끝날 때까지 캐리어 스레드가 고정(pinning)됩니다. 발송은 이 풀에서 하고 요청 스레드는 결과만 기다립니다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("mail-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,34 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 민원 AI 분석 아웃박스 워커 설정 (application.yaml의 complaint.analysis.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "complaint.analysis")
+public class ComplaintAnalysisProperties {
+
+    // 분석 워커 스레드 수 (동시에 AI 서버로 나가는 요청 수의 상한)
+    private int workerThreads = 4;
+
+    // 워커 큐 크기 - 배치 단위 (초과분은 아웃박스에 남아 다음 폴링에서 처리)
+    private int queueCapacity = 4;
+
+    // 배치 최대 건수 N (AI 서버 배치 엔드포인트로 한 번에 보낼 민원 수, 1이면 단건 엔드포인트 사용)
+    private int batchSize = 20;
+
+    // 아웃박스 폴링 주기 = 배치를 모으는 최대 대기 시간 T
+    private long pollIntervalMs = 1000;
+
+    // 점유(lease) 유지 시간: 이 시간 안에 끝나지 않으면 다른 워커가 다시 가져감
+    private long leaseSeconds = 300;
+
+    // 최대 시도 횟수 (초과 시 FAILED)
+    private int maxAttempts = 5;
+
+    // 재시도 대기 시간 (지수 백오프: base * 2^(시도-1), 최대 max)
+    private long backoffBaseSeconds = 10;
+    private long backoffMaxSeconds = 600;
+}
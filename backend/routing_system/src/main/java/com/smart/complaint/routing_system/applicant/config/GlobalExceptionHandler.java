@@ -1,5 +1,6 @@
 package com.smart.complaint.routing_system.applicant.config;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +23,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.valueOf(errorMessage.getStatus()));
     }
 
+    // 유입 제한 초과: 다시 시도할 수 있는 시각을 Retry-After 헤더로 알려줌
+    @ExceptionHandler(RateLimitExceededException.class)
+    protected ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException e) {
+        ErrorMessage errorMessage = e.getErrorMessage();
+        ErrorResponse response = ErrorResponse.builder()
+                .status(errorMessage.getStatus())
+                .errorCode(errorMessage.getCode())
+                .message(errorMessage.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     // 그 외 예상치 못한 모든 예외 처리
     @ExceptionHandler(Exception.class)
     protected ResponseEntity<ErrorResponse> handleException(Exception e) {
@@ -0,0 +1,23 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 민원 접수/추가 문의 멱등성 키 설정 (application.yaml의 complaint.idempotency.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "complaint.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    // 저장된 응답 보관 시간: 이 시간이 지나면 같은 키도 새 요청으로 처리
+    private int ttlHours = 24;
+
+    // 같은 키로 먼저 들어온 요청이 처리 중일 때 기다리는 최대 시간 (초과 시 409)
+    private long lockTimeoutMs = 5000;
+
+    // 허용하는 키 최대 길이
+    private int maxKeyLength = 255;
+}
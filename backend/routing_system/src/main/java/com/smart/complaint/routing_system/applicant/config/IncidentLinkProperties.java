@@ -0,0 +1,37 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 사건(incident) 자동 연결 설정 (application.yaml의 complaint.incident.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "complaint.incident")
+public class IncidentLinkProperties {
+
+    private boolean enabled = true;
+
+    // 후보로 유지할 최근 민원 기간 (사건에 연결된 민원만 후보)
+    private int windowDays = 7;
+
+    // 연결 점수 = 임베딩 코사인 x embedding-weight + 키워드 Jaccard x keyword-weight
+    private double embeddingWeight = 0.6;
+    private double keywordWeight = 0.4;
+
+    // 최고 점수 후보를 기존 사건으로 인정하는 조건 (하나라도 못 넘으면 새 사건 생성)
+    // 연결 점수 하한 / 공통 키워드 최소 개수 / 핵심 요청 문장 유사도(Ratcliff-Obershelp) 하한
+    private double threshold = 0.82;
+    private int minKeywordOverlap = 1;
+    private double minTextSimilarity = 0.3;
+
+    // 같은 (자치구, 대상) 묶음의 동시 연결을 순서대로 처리하는 잠금 수
+    private int lockStripes = 64;
+
+    // 연결 작업 풀 (정규화 저장 커밋 직후 실행, 대기열이 차면 따라잡기 작업이 처리)
+    private int workerThreads = 4;
+    private int queueCapacity = 1000;
+
+    // 따라잡기: 아직 사건에 연결되지 않은 민원을 한 번에 처리할 수 (이벤트 유실/재기동 대비)
+    private int catchUpBatchSize = 50;
+}
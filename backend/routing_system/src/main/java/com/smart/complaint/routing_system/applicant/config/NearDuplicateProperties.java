@@ -0,0 +1,34 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 접수 단계 근접 중복 민원 탐지 설정 (application.yaml의 complaint.dedup.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "complaint.dedup")
+public class NearDuplicateProperties {
+
+    private boolean enabled = true;
+
+    // 글자 k-gram 크기
+    private int shingleSize = 3;
+
+    // MinHash 해시 함수 수 / LSH 구간 수 (num-hashes는 bands의 배수)
+    // 128/16 -> 구간당 8행, 후보 추출 임계 유사도 약 (1/16)^(1/8) = 0.71
+    private int numHashes = 128;
+    private int bands = 16;
+
+    // 이 유사도(Jaccard 추정치) 이상이면 중복으로 보고 기존 분석 결과를 재사용
+    private double threshold = 0.8;
+
+    // 질의당 검증할 최대 후보 수
+    private int maxCandidates = 256;
+
+    // 색인에 유지할 최근 민원 기간
+    private int windowDays = 90;
+
+    // 서명 해시 시드 (바꾸면 재색인 필요)
+    private long seed = 20240601L;
+}
@@ -0,0 +1,16 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+
+import lombok.Getter;
+
+// 유입 제한 초과 (429 + Retry-After)
+@Getter
+public class RateLimitExceededException extends BusinessException {
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super(ErrorMessage.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,47 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 민원 접수/추가 문의 유입 제한 설정 (application.yaml의 complaint.rate-limit.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "complaint.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // 버킷 저장소: memory(인스턴스별) / postgres(여러 인스턴스가 한도를 공유)
+    private String store = "memory";
+
+    // 민원인(JWT subject)별 버킷
+    private Bucket applicant = new Bucket(10, 2);
+
+    // 인증 정보가 없는 요청의 IP별 버킷
+    private Bucket ip = new Bucket(20, 5);
+
+    // 전체 버킷 (AI 분석 처리량에 맞춰 설정)
+    private Bucket global = new Bucket(100, 600);
+
+    // 토큰 버킷: capacity만큼 연속 요청을 허용하고 분당 refillPerMinute개씩 다시 채움
+    @Getter
+    @Setter
+    public static class Bucket {
+        private int capacity;
+        private double refillPerMinute;
+
+        public Bucket() {
+        }
+
+        public Bucket(int capacity, double refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+
+        // 토큰 1개가 채워지는 데 걸리는 시간
+        public long intervalNanos() {
+            return (long) (60_000_000_000L / Math.max(refillPerMinute, 0.001));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 일회성 데이터 이관 실행기
+ * - schema.sql은 기동마다 다시 실행되므로, 기존 행을 고치는 이관은 classpath:db/migration/*.sql에 두고 여기서 한 번만 실행합니다.
+ * - 파일 이름 순서로 실행하고 schema_migrations에 기록해 다음 기동부터 건너뜁니다.
+ * - 스크립트 하나는 한 트랜잭션이며, 트랜잭션 advisory lock으로 여러 인스턴스가 동시에 기동해도 한 곳에서만 실행됩니다.
+ *   (JdbcTemplate은 schema.sql 실행 뒤에 만들어지므로 schema_migrations 테이블은 항상 있음)
+ */
+@Slf4j
+@Component
+public class SchemaMigrations {
+
+    private static final String LOCATION = "classpath:db/migration/*.sql";
+
+    // advisory lock 키 (다른 잠금과 겹치지 않는 임의 상수)
+    private static final long MIGRATION_LOCK_KEY = 7_302_118_402L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    public SchemaMigrations(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void migrate() throws IOException {
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(LOCATION);
+        Arrays.sort(scripts, Comparator.comparing(Resource::getFilename));
+        for (Resource script : scripts) {
+            transaction.executeWithoutResult(status -> apply(script));
+        }
+    }
+
+    private void apply(Resource script) {
+        String name = script.getFilename();
+        jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock(?)", Integer.class, MIGRATION_LOCK_KEY);
+        Integer applied = jdbcTemplate.queryForObject("SELECT count(*) FROM schema_migrations WHERE name = ?",
+                Integer.class, name);
+        if (applied != null && applied > 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            ScriptUtils.executeSqlScript(connection, script);
+            return null;
+        });
+        jdbcTemplate.update("INSERT INTO schema_migrations (name) VALUES (?)", name);
+        log.info("일회성 데이터 이관 완료 - {} ({}ms)", name, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,122 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 유사 민원 검색용 인메모리 HNSW 색인 설정 (application.yaml의 complaint.similarity.*)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "complaint.similarity")
+public class SimilaritySearchProperties {
+
+    // false면 기존처럼 DB(pgvector) 전수 정렬로만 검색
+    private boolean enabled = true;
+
+    // 임베딩 차원 (complaint_normalizations.embedding vector(1024))
+    private int dimensions = 1024;
+
+    // 유사도 기준
+    // l2(기본): 점수 = 1 - L2 거리 / cosine: 임베딩을 단위 벡터로 정규화해 저장하고 내적(<#>)으로 검색, 점수 = 코사인 유사도
+    // cosine으로 바꾸면 기존 행은 정규화 이관 작업이 나눠서 정규화하며, 끝나기 전까지 DB 검색은 l2 기준을 유지
+    private String metric = "l2";
+
+    // 정규화 이관 한 번에 갱신할 행 수
+    private int normalizeBatchSize = 500;
+
+    // 검색 방식: hnsw(근사, 기본) / exact(메모리 내 전수 비교, SIMD + 코어별 병렬)
+    //          / sq8(int8 스칼라 양자화) / pq(곱 양자화) - 양자화는 압축 코드로 후보를 고른 뒤 원본 벡터로 재정렬
+    private String searchMode = "hnsw";
+
+    // 최근 측정한 근사 검색(hnsw/sq8/pq) 재현율이 이 값보다 낮으면 exact로 대체 (0이면 대체하지 않음)
+    private double minRecall = 0.9;
+
+    // 노드당 이웃 수 (0층은 2M) - 클수록 재현율/메모리 증가
+    private int m = 16;
+
+    // 색인 구축 시 후보 목록 크기 - 클수록 그래프 품질이 좋아지고 추가가 느려짐
+    private int efConstruction = 200;
+
+    // 검색 시 후보 목록 크기 - 클수록 재현율이 오르고 지연이 늘어남
+    private int efSearch = 64;
+
+    // 노드 층 배정 난수 시드
+    private long seed = 20240601L;
+
+    // 임베딩 저장소(embeddings.f32/.idx, 메모리 매핑)와 그래프 스냅샷(hnsw.graph)을 둘 디렉터리
+    private String dataDir = "./data/similarity";
+
+    // 양자화 검색에서 원본 벡터로 다시 계산할 후보 수 = k x rerank-factor
+    private int rerankFactor = 10;
+
+    // PQ 부분공간 수 (dimensions의 약수, 1024차원에 64면 16차원씩 벡터당 64바이트)
+    private int pqSubspaces = 64;
+
+    // PQ 부분공간별 k-means 반복 횟수
+    private int pqIterations = 10;
+
+    // 코드북 학습 표본 수 (현재 정규화 임베딩 중 무작위, PQ 학습 시간은 표본 수 x 반복 횟수에 비례)
+    private int trainingSampleSize = 10000;
+
+    // 인메모리 색인이 준비되지 않았을 때의 DB 검색 방식
+    // exact(원본 vector 전수 정렬) / halfvec(반정밀도 색인 후보) / binary(이진 양자화 해밍 색인 후보)
+    // halfvec/binary면 보조 컬럼(embedding_half, embedding_bits)과 색인을 만들어(pgvector 0.7 이상) 저장/백필하고,
+    // 백필이 끝난 뒤부터 2단계 검색 사용
+    private String dbSearchMode = "exact";
+
+    // 2단계 검색에서 원본 vector로 재정렬할 후보 수 (hnsw.ef_search도 이 값 이상으로 맞춤, 최대 1000)
+    private int dbCandidates = 200;
+
+    // 보조 컬럼 백필 한 번에 갱신할 행 수
+    private int backfillBatchSize = 500;
+
+    // 원본 embedding 컬럼의 근사 최근접 색인 (백엔드가 생성/재구축/상태 점검)
+    // none(관리 안 함, 기본) / hnsw / ivfflat - 종류나 구축 설정이 바뀌면 새 색인을 만든 뒤 교체
+    private String annIndexType = "none";
+
+    // HNSW 구축 설정 (pgvector 기본값: m 16, ef_construction 64)
+    private int annHnswM = 16;
+    private int annHnswEfConstruction = 64;
+
+    // IVFFlat 군집 수 (0이면 구축 시점 행 수로 결정: 100만 건 이하 rows/1000, 초과 sqrt(rows), 최소 10)
+    private int annIvfflatLists = 0;
+
+    // IVFFlat은 구축 시점 데이터로 군집 중심을 정하므로, 현재 행 수가 구축 시점의 이 배수 이상이면 재구축
+    private double annIvfflatRebuildGrowth = 2.0;
+
+    // 색인 구축 세션에만 적용할 maintenance_work_mem
+    private String annMaintenanceWorkMem = "256MB";
+
+    // 품질을 지정하지 않은 검색의 기본 품질 (fast / balanced / accurate)
+    private String annDefaultQuality = "balanced";
+
+    // 필터 검색(자치구/부서/접수 기간/상태): 조건에 맞는 행이 이 수 이하면 먼저 추린 뒤 전수 정렬,
+    // 넘으면 원본 embedding 근사 색인을 탐색하면서 조건 검사 (pgvector 0.8 이상은 iterative scan)
+    private int filteredExactThreshold = 5000;
+
+    // iterative scan에서 limit건을 못 채웠을 때 더 훑을 최대 튜플 수 (hnsw.max_scan_tuples, pgvector 기본 20000)
+    private int filteredMaxScanTuples = 20000;
+
+    // 하이브리드 검색(임베딩 + 전문 검색): 각 검색에서 가져올 후보 수 (RRF로 합친 뒤 limit건 반환)
+    private int hybridCandidates = 50;
+
+    // RRF 상수 k (점수 = sum(1 / (k + 순위)), 클수록 상위 순위 쏠림이 줄어듦)
+    private int hybridRrfK = 60;
+
+    // 검색별 시간 예산 - 넘기면 그 검색 결과 없이 나머지로만 합침 (두 검색 모두 DB statement_timeout도 같은 값)
+    private long hybridVectorBudgetMs = 300;
+    private long hybridLexicalBudgetMs = 300;
+
+    // 민원별 사전 계산 유사 민원 수 (조건 없는 상세 화면 조회가 이 수 이하면 complaint_neighbors PK 조회로 응답)
+    private int neighborsK = 10;
+
+    // 새 민원 저장 시 목록을 stale로 표시할지 확인할 기존 민원 수 (새 민원의 상위 N건)
+    private int neighborsReverseCandidates = 30;
+
+    // stale 목록 재계산 / 누락 민원 백필 한 번에 처리할 민원 수
+    private int neighborsRefreshBatchSize = 100;
+
+    // 재현율 측정: 표본 질의 수 / recall@k
+    private int recallSampleSize = 200;
+    private int recallK = 10;
+}
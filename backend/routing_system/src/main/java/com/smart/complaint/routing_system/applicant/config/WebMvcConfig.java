@@ -0,0 +1,23 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import com.smart.complaint.routing_system.applicant.service.ratelimit.SubmissionRateLimitInterceptor;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final SubmissionRateLimitInterceptor submissionRateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // AI 분석을 유발하는 민원 접수/추가 문의에만 유입 제한 적용
+        registry.addInterceptor(submissionRateLimitInterceptor)
+                .addPathPatterns("/api/applicant/complaint", "/api/applicant/complaints/*/comments");
+    }
+}
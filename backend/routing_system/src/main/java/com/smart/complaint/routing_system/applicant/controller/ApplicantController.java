@@ -1,5 +1,6 @@
 package com.smart.complaint.routing_system.applicant.controller;
 
+import com.smart.complaint.routing_system.applicant.dto.ComplaintAnalysisStatusDto;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintDetailDto;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintDto;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintHeatMap;
@@ -14,7 +15,11 @@ import com.smart.complaint.routing_system.applicant.dto.UserNewPasswordDto;
 import com.smart.complaint.routing_system.applicant.dto.UserSignUpDto;
 import com.smart.complaint.routing_system.applicant.dto.UserEmailDto;
 import com.smart.complaint.routing_system.applicant.service.ApplicantService;
+import com.smart.complaint.routing_system.applicant.service.ComplaintAnalysisOutboxService;
 import com.smart.complaint.routing_system.applicant.service.ComplaintService;
+import com.smart.complaint.routing_system.applicant.service.idempotency.IdempotencyService;
+
+import com.fasterxml.jackson.core.type.TypeReference;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -44,6 +49,8 @@ public class ApplicantController {
 
     private final ApplicantService applicantService;
     private final ComplaintService complaintService;
+    private final ComplaintAnalysisOutboxService analysisOutboxService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(summary = "회원 가입 엔드포인트", description = "아이디, 비밀번호, 이메일, 이름을 받아 회원가입")
     @PostMapping("api/applicant/signup")
@@ -151,23 +158,46 @@ public class ApplicantController {
     }
 
     // 새로운 민원 생성
+    // AI 분석은 아웃박스에 등록만 하고 즉시 반환 (분석 진행 상황은 /analysis 로 폴링)
+    @Operation(summary = "민원 접수", description = "민원을 저장하고 AI 분석을 백그라운드로 예약합니다. (202 Accepted)")
     @PostMapping("/api/applicant/complaint")
-    public ResponseEntity<String> submitComplaint(@AuthenticationPrincipal String applicantId,
+    public ResponseEntity<Map<String, Object>> submitComplaint(@AuthenticationPrincipal String applicantId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody ComplaintSubmitDto complaintSubmitDto) {
 
-        Long id = complaintService.receiveComplaint(applicantId, complaintSubmitDto);
-        complaintService.analyzeComplaint(id, applicantId, complaintSubmitDto);
+        // 같은 Idempotency-Key로 재전송된 요청은 새 민원을 만들지 않고 최초 응답을 그대로 반환
+        return idempotencyService.execute("complaint:" + applicantId, idempotencyKey, complaintSubmitDto,
+                new TypeReference<Map<String, Object>>() {
+                }, () -> {
+                    Long id = complaintService.receiveComplaint(applicantId, complaintSubmitDto);
+
+                    return ResponseEntity.accepted().body(Map.of(
+                            "message", "전송이 완료되었습니다.",
+                            "complaintId", id));
+                });
+    }
+
+    @Operation(summary = "민원 AI 분석 상태 조회", description = "PENDING, PROCESSING, COMPLETED, FAILED 중 현재 상태를 반환")
+    @GetMapping("/api/applicant/complaints/{id}/analysis")
+    public ResponseEntity<ComplaintAnalysisStatusDto> getAnalysisStatus(@AuthenticationPrincipal String applicantId,
+            @PathVariable Long id) {
 
-        return ResponseEntity.ok("전송이 완료되었습니다.");
+        return ResponseEntity.ok(analysisOutboxService.getStatus(id, applicantId));
     }
 
     // 추가 민원 생성
     @PostMapping("/api/applicant/complaints/{id}/comments")
-    public ResponseEntity<String> postMethodName(@PathVariable Long id, @RequestBody ComplaintInquiryDto inquiryDto) {
+    public ResponseEntity<String> postMethodName(@AuthenticationPrincipal String applicantId, @PathVariable Long id,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody ComplaintInquiryDto inquiryDto) {
 
-        complaintService.crateNewInquiry(id, inquiryDto);
+        return idempotencyService.execute("inquiry:" + applicantId + ":" + id, idempotencyKey, inquiryDto,
+                new TypeReference<String>() {
+                }, () -> {
+                    complaintService.crateNewInquiry(id, inquiryDto);
 
-        return ResponseEntity.ok("");
+                    return ResponseEntity.ok("");
+                });
     }
 
     // 민원 통계 데이터
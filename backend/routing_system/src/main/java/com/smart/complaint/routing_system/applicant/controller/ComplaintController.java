@@ -1,8 +1,12 @@
 package com.smart.complaint.routing_system.applicant.controller;
 
+import com.smart.complaint.routing_system.applicant.domain.SearchQuality;
 import com.smart.complaint.routing_system.applicant.dto.*;
 import com.smart.complaint.routing_system.applicant.entity.User;
 import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+import com.smart.complaint.routing_system.applicant.service.AiService;
+import com.smart.complaint.routing_system.applicant.service.ComplaintNeighborService;
+import com.smart.complaint.routing_system.applicant.service.HybridSearchService;
 import com.smart.complaint.routing_system.applicant.service.ComplaintService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,6 +22,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+
 @Tag(name = "민원 API", description = "민원 관리 및 조회 API")
 @RestController
 @RequestMapping("/api/agent/complaints")
@@ -26,6 +32,9 @@ public class ComplaintController {
 
     private final ComplaintRepository complaintRepository;
     private final ComplaintService complaintService;
+    private final AiService aiService;
+    private final HybridSearchService hybridSearchService;
+    private final ComplaintNeighborService complaintNeighborService;
 
     @Operation(summary = "민원 리스트 조회", description = "로그인한 사용자의 부서에 배정된 민원 리스트를 전부 조회합니다.")
     @GetMapping
@@ -48,6 +57,43 @@ public class ComplaintController {
         return complaintRepository.getComplaintDetail(id);
     }
 
+    @Operation(summary = "유사 민원 조회", description = "민원 ID와 비슷한 과거 민원을 유사도 순으로 조회합니다.<br>"
+            + "자치구, 현재 담당 부서, 접수 기간(receivedFrom 이상 receivedTo 미만), 처리 상태(statuses, 여러 개 가능)로 "
+            + "범위를 좁힐 수 있습니다.<br>조건과 품질 없이 10건 이하를 조회하면 미리 계산된 목록으로 응답합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "알 수 없는 검색 품질"),
+            @ApiResponse(responseCode = "404", description = "민원 분석 결과(임베딩)가 아직 없음")
+    })
+    @GetMapping("/{id}/similar")
+    public List<ComplaintSearchResult> getSimilarComplaints(
+            @Parameter(description = "민원 ID", example = "1") @PathVariable Long id,
+            @ModelAttribute SimilarComplaintFilter filter,
+            @Parameter(description = "최대 결과 수 (1~50)") @RequestParam(defaultValue = "5") int limit,
+            @Parameter(description = "근사 검색 품질 (fast / balanced / accurate)") @RequestParam(required = false) String quality) {
+        // 조건/품질 지정 없는 상세 화면 조회는 사전 계산 목록으로 응답
+        if (!filter.hasConditions() && quality == null && limit >= 1 && complaintNeighborService.covers(limit)) {
+            return complaintNeighborService.findSimilar(id, limit);
+        }
+        return aiService.findSimilarToComplaint(id, filter, limit,
+                quality == null ? null : SearchQuality.from(quality));
+    }
+
+    @Operation(summary = "하이브리드 유사 민원 조회", description = "임베딩 유사도 검색과 전문 검색(제목, 본문, 요약) 결과를 "
+            + "RRF로 합쳐 조회합니다.<br>도로명, 버스 번호, 지번처럼 임베딩이 잘 구분하지 못하는 식별자를 q로 함께 찾을 수 있으며, "
+            + "q가 없으면 민원 제목으로 전문 검색합니다. 필터 조건은 두 검색에 모두 적용됩니다.<br>"
+            + "시간 예산 안에 끝나지 않은 검색은 skippedLegs에 표시되고 나머지 결과만 반환됩니다.")
+    @GetMapping("/{id}/similar/hybrid")
+    public HybridSearchResponse getHybridSimilarComplaints(
+            @Parameter(description = "민원 ID", example = "1") @PathVariable Long id,
+            @Parameter(description = "전문 검색어 (예: 472번 버스)") @RequestParam(required = false) String q,
+            @ModelAttribute SimilarComplaintFilter filter,
+            @Parameter(description = "최대 결과 수 (1~50)") @RequestParam(defaultValue = "5") int limit,
+            @Parameter(description = "근사 검색 품질 (fast / balanced / accurate)") @RequestParam(required = false) String quality) {
+        return hybridSearchService.search(id, q, filter, Math.max(1, Math.min(limit, 50)),
+                quality == null ? null : SearchQuality.from(quality));
+    }
+
     @Operation(summary = "담당자 배정 (Assign)", description = "해당 민원을 내 업무로 가져옵니다. (상태가 '처리중'으로 변경됨)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "배정 성공"),
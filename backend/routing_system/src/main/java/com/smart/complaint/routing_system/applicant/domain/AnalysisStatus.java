@@ -0,0 +1,9 @@
+package com.smart.complaint.routing_system.applicant.domain;
+
+// 민원 AI 분석(아웃박스) 진행 상태
+public enum AnalysisStatus {
+    PENDING,    // 분석 대기 (재시도 대기 포함)
+    PROCESSING, // 워커가 점유하여 분석 중
+    COMPLETED,  // 정규화 데이터 저장 완료
+    FAILED      // 최대 재시도 횟수 초과
+}
@@ -15,6 +15,15 @@ public enum ErrorMessage {
     EMAIL_SEND_FAILURE(454, "EMAIL_SEND_FAILURE", "이메일 전송에 실패했습니다."),
     NOT_ALLOWED(400, "NOT_ALLOWED", "잘못된 요청입니다."),
     PENDING_ANSWER_EXISTS(422, "PENDING_ANSWER_EXISTS", "이전 문의에 대한 답변이 아직 완료되지 않았습니다."),
+    ANALYSIS_NOT_FOUND(404, "ANALYSIS_NOT_FOUND", "민원 분석 요청을 찾을 수 없습니다."),
+    INVALID_SEARCH_QUALITY(400, "INVALID_SEARCH_QUALITY", "검색 품질은 fast, balanced, accurate 중 하나여야 합니다."),
+    EMBEDDING_NOT_FOUND(404, "EMBEDDING_NOT_FOUND", "유사 민원 검색에 필요한 민원 분석 결과가 아직 없습니다."),
+    AI_ANALYSIS_FAILED(502, "AI_ANALYSIS_FAILED", "AI 분석 서버 응답을 처리하지 못했습니다."),
+    AI_SERVER_UNAVAILABLE(503, "AI_SERVER_UNAVAILABLE", "AI 분석 서버가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요."),
+    IDEMPOTENCY_KEY_INVALID(400, "IDEMPOTENCY_KEY_INVALID", "Idempotency-Key 헤더 형식이 올바르지 않습니다."),
+    IDEMPOTENCY_IN_PROGRESS(409, "IDEMPOTENCY_IN_PROGRESS", "같은 요청이 아직 처리 중입니다. 잠시 후 다시 시도해주세요."),
+    IDEMPOTENCY_KEY_REUSED(422, "IDEMPOTENCY_KEY_REUSED", "이미 다른 요청에 사용된 Idempotency-Key입니다."),
+    TOO_MANY_REQUESTS(429, "TOO_MANY_REQUESTS", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
     DATABASE_ERROR(500, "DATABASE_ERROR", "서버 내부 오류가 발생했습니다. 잠시 후 다시 시도해주세요.");
 
     private final int status;
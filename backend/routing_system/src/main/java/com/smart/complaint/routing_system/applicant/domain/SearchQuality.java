@@ -0,0 +1,31 @@
+package com.smart.complaint.routing_system.applicant.domain;
+
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 유사 민원 DB 근사 검색 품질 (품질이 높을수록 재현율이 오르고 지연이 늘어남)
+@Getter
+@AllArgsConstructor
+public enum SearchQuality {
+
+    FAST(40, 1),       // pgvector 기본값
+    BALANCED(100, 10),
+    ACCURATE(400, 40);
+
+    // HNSW 색인 탐색 후보 수 (hnsw.ef_search, 결과 수 이상이어야 함)
+    private final int efSearch;
+    // IVFFlat 색인에서 탐색할 군집 수 (ivfflat.probes, lists 이상이면 전수 탐색과 같음)
+    private final int probes;
+
+    // 대소문자 무시, 알 수 없는 값이면 INVALID_SEARCH_QUALITY (오타가 조용히 기본 품질로 바뀌지 않도록)
+    public static SearchQuality from(String value) {
+        for (SearchQuality quality : values()) {
+            if (quality.name().equalsIgnoreCase(value)) {
+                return quality;
+            }
+        }
+        throw new BusinessException(ErrorMessage.INVALID_SEARCH_QUALITY);
+    }
+}
@@ -1,14 +1,41 @@
 package com.smart.complaint.routing_system.applicant.dto;
 
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class AiDto {
 
+        // 단건 전처리 응답 형식 (실제 해석은 AiResponseDecoder가 스트리밍으로 처리)
         public record Response(String status, String data, float[] embedding) {
         }
 
+        // 배치 전처리 요청 (/api/complaints/preprocess/batch)
+        // 응답은 AiResponseDecoder가 스트리밍으로 바로 AnalysisOutcome 목록으로 변환
+        public record BatchRequest(List<Map<String, Object>> items) {
+        }
+
+        // 파싱이 끝난 분석 결과 (AI 서버 응답 또는 분석 결과 캐시에서 생성)
+        public record AnalysisResult(Analysis analysis, float[] embedding) {
+        }
+
+        // 배치 분석의 민원 단위 결과 (성공 시 result, 실패 시 error)
+        public record AnalysisOutcome(Long complaintId, AnalysisResult result, String error) {
+
+                public static AnalysisOutcome success(Long complaintId, AnalysisResult result) {
+                        return new AnalysisOutcome(complaintId, result, null);
+                }
+
+                public static AnalysisOutcome failure(Long complaintId, String error) {
+                        return new AnalysisOutcome(complaintId, null, error);
+                }
+
+                public boolean isSuccess() {
+                        return result != null;
+                }
+        }
+
         public record Analysis(
                         List<Recommendation> recommendations,
                         @JsonProperty("original_analysis") OriginalAnalysis originalAnalysis) {
@@ -28,4 +55,4 @@ public class AiDto {
                         String category) {
         }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import com.smart.complaint.routing_system.applicant.domain.AnalysisStatus;
+import com.smart.complaint.routing_system.applicant.entity.ComplaintAnalysisOutbox;
+
+import java.time.LocalDateTime;
+
+// 프론트엔드 폴링용 민원 AI 분석 상태
+public record ComplaintAnalysisStatusDto(
+        Long complaintId,
+        AnalysisStatus status,
+        int attempts,
+        LocalDateTime requestedAt,
+        LocalDateTime completedAt) {
+
+    public static ComplaintAnalysisStatusDto from(ComplaintAnalysisOutbox outbox) {
+        return new ComplaintAnalysisStatusDto(
+                outbox.getComplaintId(),
+                outbox.getStatus(),
+                outbox.getAttempts(),
+                outbox.getCreatedAt(),
+                outbox.getCompletedAt());
+    }
+}
@@ -0,0 +1,9 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import java.util.List;
+
+// 하이브리드 검색 응답 (skippedLegs: 시간 예산 초과/실패로 결과에서 빠진 검색 - vector, lexical)
+public record HybridSearchResponse(
+        List<HybridSearchResult> results,
+        List<String> skippedLegs
+) {}
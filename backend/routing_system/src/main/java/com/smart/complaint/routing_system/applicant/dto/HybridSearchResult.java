@@ -0,0 +1,13 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+// 하이브리드 검색 결과 한 건 (어느 한쪽 검색에만 나온 민원이면 다른 쪽 점수/순위는 null)
+public record HybridSearchResult(
+        Long id,
+        String title,
+        String body,
+        Double fusedScore,      // RRF 점수 = sum(1 / (k + 순위))
+        Double vectorScore,     // 임베딩 유사도 (1 - L2 거리 또는 코사인 유사도)
+        Integer vectorRank,     // 1부터
+        Double lexicalScore,    // 전문 검색 ts_rank_cd
+        Integer lexicalRank
+) {}
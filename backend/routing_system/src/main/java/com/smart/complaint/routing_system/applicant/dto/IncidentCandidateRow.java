@@ -0,0 +1,17 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// 사건 자동 연결에 필요한 민원 한 건의 값 (민원 + 현재 정규화 데이터)
+public record IncidentCandidateRow(
+        Long complaintId,
+        Long incidentId, // 아직 연결 전이면 null
+        Integer districtId,
+        String districtName,
+        String targetObject,
+        String coreRequest,
+        Set<String> keywords,
+        float[] embedding,
+        LocalDateTime createdAt) {
+}
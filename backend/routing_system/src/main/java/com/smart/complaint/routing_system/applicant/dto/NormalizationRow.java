@@ -0,0 +1,14 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+// complaint_normalizations 한 행의 INSERT 값 (JDBC batch insert용)
+public record NormalizationRow(
+        Long complaintId,
+        String respDept,
+        String neutralSummary,
+        String coreRequest,
+        String targetObject,
+        String keywordsJson, // JSON 문자열
+        String routingRankJson, // JSON 문자열
+        float[] embedding,
+        boolean isCurrent) {
+}
@@ -0,0 +1,32 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import com.smart.complaint.routing_system.applicant.domain.ComplaintStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 유사 민원 검색 필터 (모두 선택, 지정한 조건은 AND로 묶여 최근접 검색 안에서 적용됨)
+@Data
+public class SimilarComplaintFilter {
+    private Integer districtId;     // 같은 자치구
+    private Long departmentId;      // 현재 담당 부서 (current_department_id)
+
+    // 접수 시각 범위 (from 이상, to 미만)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime receivedFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime receivedTo;
+
+    private List<ComplaintStatus> statuses; // 처리 상태 (여러 개면 그중 하나)
+
+    // 기준 민원 자신은 결과에서 제외 (요청 파라미터가 아니라 서비스에서 지정)
+    private Long excludeComplaintId;
+
+    // 검색 범위를 좁히는 조건이 하나라도 있는지 (제외 민원은 범위 조건이 아님)
+    public boolean hasConditions() {
+        return districtId != null || departmentId != null || receivedFrom != null || receivedTo != null
+                || (statuses != null && !statuses.isEmpty());
+    }
+}
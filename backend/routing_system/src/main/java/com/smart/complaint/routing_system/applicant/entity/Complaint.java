@@ -156,6 +156,12 @@ public class Complaint {
         this.incidentLinkedAt = LocalDateTime.now(); // 이동한 시간 기록
     }
 
+    // 사건 자동 연결 (연결 점수를 함께 기록, 새 사건이면 1.0)
+    public void linkIncident(Incident incident, BigDecimal linkScore) {
+        setIncident(incident);
+        this.incidentLinkScore = linkScore;
+    }
+
     public void newInquiry() {
         this.status = ComplaintStatus.IN_PROGRESS;
     }
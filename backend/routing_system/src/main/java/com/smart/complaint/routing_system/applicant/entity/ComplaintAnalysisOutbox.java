@@ -0,0 +1,92 @@
+package com.smart.complaint.routing_system.applicant.entity;
+
+import com.smart.complaint.routing_system.applicant.domain.AnalysisStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// 민원 접수와 같은 트랜잭션에 기록되는 AI 분석 요청 (Transactional Outbox)
+@Entity
+@Table(name = "complaint_analysis_outbox")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class ComplaintAnalysisOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "complaint_id", nullable = false)
+    private Long complaintId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    @Builder.Default
+    private AnalysisStatus status = AnalysisStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    // PENDING: 다음 시도 가능 시각, PROCESSING: 점유(lease) 만료 시각
+    @Column(name = "next_attempt_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // 워커가 작업을 점유 (lease 만료 전까지 다른 워커는 가져가지 않음)
+    public void claim(LocalDateTime leaseUntil) {
+        this.status = AnalysisStatus.PROCESSING;
+        this.attempts = this.attempts + 1;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    // 점유 당시의 시도 횟수로 아직 그 점유가 유효한지 확인 (lease 만료 후 다른 워커가 다시 점유했으면 false)
+    public boolean isClaimedBy(int claimedAttempts) {
+        return this.status == AnalysisStatus.PROCESSING && this.attempts == claimedAttempts;
+    }
+
+    // 실행하지 못한 점유를 반납 (시도 횟수에 포함하지 않음)
+    public void releaseClaim() {
+        this.status = AnalysisStatus.PENDING;
+        this.attempts = Math.max(0, this.attempts - 1);
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public void complete() {
+        this.status = AnalysisStatus.COMPLETED;
+        this.lastError = null;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    // 일시적 실패: 대기 상태로 되돌리고 다음 시도 시각 지정
+    public void retryAt(LocalDateTime nextAttemptAt, String error) {
+        this.status = AnalysisStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error;
+    }
+
+    // 최종 실패
+    public void fail(String error) {
+        this.status = AnalysisStatus.FAILED;
+        this.lastError = error;
+    }
+}
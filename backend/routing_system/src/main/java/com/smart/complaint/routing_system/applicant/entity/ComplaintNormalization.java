@@ -2,8 +2,10 @@ package com.smart.complaint.routing_system.applicant.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import com.smart.complaint.routing_system.applicant.repository.PgVectorType;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.Type;
 import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 
@@ -54,14 +56,18 @@ public class ComplaintNormalization {
     private Object routingRank;
 
     // pgvector (1024차원) 매핑
-    // Java는 String으로 관리, DB는 vector로 관리
+    // Java는 float[]로 관리, DB는 vector로 관리 (PgVectorType이 바이너리 형식으로 바인딩/조회)
     @Column(name = "embedding", columnDefinition = "vector(1024)")
-    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Type(PgVectorType.class)
     private float[] embedding;
 
     @Builder.Default
     private Boolean isCurrent = true;
 
+    // 민원별 분석 버전 (재분석마다 1씩 증가, 민원당 현재 행은 하나)
+    @Builder.Default
+    private Integer version = 1;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
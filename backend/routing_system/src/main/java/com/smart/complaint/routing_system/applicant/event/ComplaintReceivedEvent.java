@@ -0,0 +1,5 @@
+package com.smart.complaint.routing_system.applicant.event;
+
+// 민원 접수 트랜잭션 커밋 후 처리할 작업용 이벤트 (근접 중복 색인 등)
+public record ComplaintReceivedEvent(Long complaintId, Integer districtId, String title, String body) {
+}
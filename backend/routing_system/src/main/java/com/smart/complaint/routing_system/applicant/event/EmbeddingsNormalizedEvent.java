@@ -0,0 +1,5 @@
+package com.smart.complaint.routing_system.applicant.event;
+
+// 기존 정규화 임베딩의 단위 벡터 이관이 끝나 DB 검색을 코사인(내적) 기준으로 바꿀 수 있을 때 발행
+public record EmbeddingsNormalizedEvent(long normalizedRows) {
+}
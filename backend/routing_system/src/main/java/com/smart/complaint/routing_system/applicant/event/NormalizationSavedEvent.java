@@ -0,0 +1,7 @@
+package com.smart.complaint.routing_system.applicant.event;
+
+import java.util.List;
+
+// 정규화 데이터(임베딩) 저장 트랜잭션 커밋 후 처리할 작업용 이벤트 (유사 민원 색인 등)
+public record NormalizationSavedEvent(List<Long> complaintIds) {
+}
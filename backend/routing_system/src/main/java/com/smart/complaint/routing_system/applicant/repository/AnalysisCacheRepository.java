@@ -0,0 +1,56 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * AI 분석 결과 캐시의 DB 계층 (complaint_analysis_cache)
+ * - 조회와 동시에 hit_count/last_hit_at을 갱신해 한 번의 왕복으로 처리합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalysisCacheRepository {
+
+    private static final String FIND_SQL = "UPDATE complaint_analysis_cache " +
+            "SET hit_count = hit_count + 1, last_hit_at = CURRENT_TIMESTAMP " +
+            "WHERE content_hash = ? RETURNING analysis::text AS analysis, vector_send(embedding) AS embedding";
+
+    private static final String INSERT_SQL = "INSERT INTO complaint_analysis_cache " +
+            "(content_hash, analysis, embedding) VALUES (?, CAST(? AS jsonb), ?) " +
+            "ON CONFLICT (content_hash) DO NOTHING";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM complaint_analysis_cache WHERE last_hit_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 분석 JSON과 임베딩 (vector 바이너리에서 바로 복원)
+    public record CachedRow(String analysisJson, float[] embedding) {
+    }
+
+    public Optional<CachedRow> findAndTouch(String contentHash) {
+        List<CachedRow> rows = jdbcTemplate.query(FIND_SQL,
+                (rs, rowNum) -> new CachedRow(rs.getString("analysis"),
+                        PgVectorBinary.decode(rs.getBytes("embedding"))),
+                contentHash);
+        return rows.stream().findFirst();
+    }
+
+    public void insert(String contentHash, String analysisJson, float[] embedding) {
+        jdbcTemplate.update(INSERT_SQL, ps -> {
+            ps.setString(1, contentHash);
+            ps.setString(2, analysisJson);
+            PgVector.bind(ps, 3, embedding);
+        });
+    }
+
+    public int deleteNotHitSince(LocalDateTime threshold) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.valueOf(threshold));
+    }
+}
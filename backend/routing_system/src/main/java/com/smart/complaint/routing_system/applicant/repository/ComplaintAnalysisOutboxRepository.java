@@ -0,0 +1,39 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.entity.ComplaintAnalysisOutbox;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ComplaintAnalysisOutboxRepository extends JpaRepository<ComplaintAnalysisOutbox, Long> {
+
+    /**
+     * 처리 가능한 분석 요청을 잠금과 함께 조회합니다.
+     * - PENDING 이면서 재시도 시각이 지난 것 + lease가 만료된 PROCESSING(워커 비정상 종료)
+     * - SKIP LOCKED로 여러 백엔드 노드가 같은 행을 중복 점유하지 않도록 합니다.
+     */
+    @Query(value = "SELECT * FROM complaint_analysis_outbox " +
+            "WHERE status IN ('PENDING', 'PROCESSING') AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ComplaintAnalysisOutbox> findClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // 결과 반영용 행 잠금 조회 (반영 중에는 lease가 만료돼도 다른 워커가 점유하지 못하도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from ComplaintAnalysisOutbox o where o.id = :id")
+    Optional<ComplaintAnalysisOutbox> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from ComplaintAnalysisOutbox o where o.id in :ids order by o.id")
+    List<ComplaintAnalysisOutbox> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    Optional<ComplaintAnalysisOutbox> findFirstByComplaintIdOrderByIdDesc(Long complaintId);
+}
@@ -0,0 +1,141 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 유사 민원 top-K 사전 계산 테이블(complaint_neighbors)의 DB 계층
+ * - 민원 한 건의 이웃 목록을 배열 두 개(ID, 점수)로 한 행에 저장하므로 조회는 PK 한 번 + 민원 PK 조인입니다.
+ * - 배열은 드라이버가 long[]/float[]를 int8[]/float4[] 바이너리로 보냅니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ComplaintNeighborRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO complaint_neighbors " +
+            "(complaint_id, neighbor_ids, scores, kth_score, metric, stale, computed_at) " +
+            "VALUES (?, ?, ?, ?, ?, false, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (complaint_id) DO UPDATE SET neighbor_ids = EXCLUDED.neighbor_ids, " +
+            "scores = EXCLUDED.scores, kth_score = EXCLUDED.kth_score, metric = EXCLUDED.metric, " +
+            "stale = false, computed_at = EXCLUDED.computed_at";
+
+    // 목록 순서(ordinality)대로 민원 제목/본문과 함께 조회
+    // 이웃이 없는 행도 구분할 수 있도록 LEFT JOIN (이웃 없음 = id가 NULL인 한 행, 행 없음 = 아직 계산 전)
+    private static final String FIND_SQL = "SELECT c.id, c.title, c.body, nb.score " +
+            "FROM complaint_neighbors cn " +
+            "LEFT JOIN LATERAL unnest(cn.neighbor_ids, cn.scores) WITH ORDINALITY AS nb(id, score, ord) ON true " +
+            "LEFT JOIN complaints c ON c.id = nb.id " +
+            "WHERE cn.complaint_id = ? AND cn.metric = ? ORDER BY nb.ord LIMIT ?";
+
+    // 새 민원 점수가 기존 목록의 K번째 점수보다 높으면(또는 목록이 K건 미만이면) stale 표시
+    private static final String MARK_STALE_SQL = "UPDATE complaint_neighbors cn SET stale = true " +
+            "FROM unnest(CAST(? AS bigint[]), CAST(? AS real[])) AS cand(id, score) " +
+            "WHERE cn.complaint_id = cand.id AND cn.stale = false " +
+            "AND (cn.kth_score IS NULL OR cand.score > cn.kth_score)";
+
+    private static final String MARK_ALL_STALE_SQL = "UPDATE complaint_neighbors SET stale = true WHERE stale = false";
+
+    private static final String POSTPONE_SQL = "UPDATE complaint_neighbors SET computed_at = now() WHERE complaint_id = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM complaint_neighbors WHERE complaint_id = ?";
+
+    private static final String FIND_STALE_SQL = "SELECT complaint_id FROM complaint_neighbors " +
+            "WHERE stale = true ORDER BY computed_at LIMIT ?";
+
+    // 현재 임베딩이 있는데 아직 계산되지 않은 민원 (ID 순서 keyset)
+    private static final String FIND_MISSING_SQL = "SELECT n.complaint_id FROM complaint_normalizations n " +
+            "WHERE n.is_current = true AND n.embedding IS NOT NULL AND n.complaint_id > ? " +
+            "AND NOT EXISTS (SELECT 1 FROM complaint_neighbors cn WHERE cn.complaint_id = n.complaint_id) " +
+            "ORDER BY n.complaint_id LIMIT ?";
+
+    private static final String COUNTS_SQL = "SELECT count(*) AS total, count(*) FILTER (WHERE stale) AS stale " +
+            "FROM complaint_neighbors";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Counts(long total, long stale) {
+    }
+
+    /**
+     * @param kthScore K번째 점수 (K건 미만이면 null)
+     */
+    public void upsert(Long complaintId, long[] neighborIds, float[] scores, Float kthScore, String metric) {
+        jdbcTemplate.update(UPSERT_SQL, ps -> {
+            ps.setLong(1, complaintId);
+            ps.setObject(2, neighborIds);
+            ps.setObject(3, scores);
+            if (kthScore != null) {
+                ps.setFloat(4, kthScore);
+            } else {
+                ps.setNull(4, Types.REAL);
+            }
+            ps.setString(5, metric);
+        });
+    }
+
+    /**
+     * 사전 계산된 유사 민원 (유사도 내림차순)
+     * @return 아직 계산 전이거나 다른 유사도 기준으로 계산된 목록이면 empty
+     */
+    public Optional<List<ComplaintSearchResult>> find(Long complaintId, String metric, int limit) {
+        List<ComplaintSearchResult> results = new ArrayList<>();
+        boolean[] found = new boolean[1];
+        jdbcTemplate.query(FIND_SQL, rs -> {
+            found[0] = true;
+            long id = rs.getLong("id");
+            // 이웃이 없는 행 / 그사이 삭제된 민원
+            if (!rs.wasNull()) {
+                results.add(new ComplaintSearchResult(id, rs.getString("title"), rs.getString("body"),
+                        rs.getDouble("score")));
+            }
+        }, complaintId, metric, limit);
+        return found[0] ? Optional.of(results) : Optional.empty();
+    }
+
+    /**
+     * 새 민원이 들어갈 수 있는 기존 목록을 stale로 표시
+     * @param complaintIds 새 민원과 가까운 민원들, scores는 새 민원과의 유사도
+     * @return 표시한 행 수
+     */
+    public int markStaleIfEntered(long[] complaintIds, float[] scores) {
+        return jdbcTemplate.update(MARK_STALE_SQL, ps -> {
+            ps.setObject(1, complaintIds);
+            ps.setObject(2, scores);
+        });
+    }
+
+    public int markAllStale() {
+        return jdbcTemplate.update(MARK_ALL_STALE_SQL);
+    }
+
+    // 재계산 순서(computed_at)의 맨 뒤로
+    public void postpone(Long complaintId) {
+        jdbcTemplate.update(POSTPONE_SQL, complaintId);
+    }
+
+    public void delete(Long complaintId) {
+        jdbcTemplate.update(DELETE_SQL, complaintId);
+    }
+
+    public List<Long> findStale(int batchSize) {
+        return jdbcTemplate.queryForList(FIND_STALE_SQL, Long.class, batchSize);
+    }
+
+    public List<Long> findMissing(long afterComplaintId, int batchSize) {
+        return jdbcTemplate.queryForList(FIND_MISSING_SQL, Long.class, afterComplaintId, batchSize);
+    }
+
+    public Counts counts() {
+        return jdbcTemplate.queryForObject(COUNTS_SQL,
+                (rs, rowNum) -> new Counts(rs.getLong("total"), rs.getLong("stale")));
+    }
+}
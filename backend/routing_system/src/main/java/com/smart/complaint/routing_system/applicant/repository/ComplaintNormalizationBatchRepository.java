@@ -0,0 +1,137 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.dto.NormalizationRow;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정규화 데이터 JDBC batch insert
+ * - 여러 건을 하나의 배치로 전송합니다. (reWriteBatchedInserts 설정 시 multi-row INSERT로 재작성)
+ * - 현재 JPA 트랜잭션의 커넥션을 그대로 사용하므로 아웃박스 완료 처리와 함께 커밋/롤백됩니다.
+ * - DB 2단계 검색 보조 컬럼이 준비됐으면(DatabaseVectorSearch.storesQuantized()) 반정밀도/이진 양자화 값도 함께 기록합니다.
+ * - 임베딩은 PgVector로 vector 타입 바이너리를 바로 보냅니다. (float4[] 전송 후 서버 캐스팅 없음)
+ * - 재분석이면 같은 트랜잭션에서 이전 현재 행을 먼저 내리고 버전을 하나 올려 저장합니다.
+ *   (민원당 현재 행은 uq_normalizations_current로 하나만 허용 - 동시에 처음 저장하면 한쪽이 실패하고 아웃박스가 재시도)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ComplaintNormalizationBatchRepository {
+
+    // 민원별 다음 버전 (uq_normalizations_version 색인의 마지막 항목 조회)
+    private static final String NEXT_VERSION = "COALESCE((SELECT max(version) FROM complaint_normalizations " +
+            "WHERE complaint_id = ?), 0) + 1";
+
+    // 이전 현재 행 내리기 (행 잠금으로 같은 민원의 동시 재분석은 순서대로 처리됨)
+    private static final String RETIRE_CURRENT_SQL = "UPDATE complaint_normalizations SET is_current = false " +
+            "WHERE complaint_id = ANY(?) AND is_current = true";
+
+    private static final String INSERT_SQL = "INSERT INTO complaint_normalizations " +
+            "(complaint_id, resp_dept, neutral_summary, core_request, target_object, " +
+            "keywords_jsonb, routing_rank, embedding, is_current, version, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?, ?, " + NEXT_VERSION + ", CURRENT_TIMESTAMP)";
+
+    // 같은 임베딩 파라미터를 원본/반정밀도/이진 양자화 세 컬럼에 기록
+    private static final String INSERT_WITH_QUANTIZED_SQL = "INSERT INTO complaint_normalizations " +
+            "(complaint_id, resp_dept, neutral_summary, core_request, target_object, " +
+            "keywords_jsonb, routing_rank, embedding, embedding_half, embedding_bits, is_current, version, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?, " +
+            "CAST(? AS halfvec), binary_quantize(?), ?, " + NEXT_VERSION + ", CURRENT_TIMESTAMP)";
+
+    // 근접 중복 민원: 원본 민원의 현재 정규화 데이터를 새 민원 ID의 다음 버전으로 복사 (보조 컬럼은 원본 값 그대로)
+    private static final String COPY_CURRENT_SQL = "INSERT INTO complaint_normalizations " +
+            "(complaint_id, resp_dept, neutral_summary, core_request, target_object, " +
+            "keywords_jsonb, routing_rank, embedding%1$s, is_current, version, created_at) " +
+            "SELECT ?, resp_dept, neutral_summary, core_request, target_object, " +
+            "keywords_jsonb, routing_rank, embedding%1$s, true, " + NEXT_VERSION + ", CURRENT_TIMESTAMP " +
+            "FROM complaint_normalizations WHERE complaint_id = ? AND is_current = true " +
+            "ORDER BY id DESC LIMIT 1";
+
+    private static final String COPY_CURRENT_EMBEDDING_SQL = COPY_CURRENT_SQL.formatted("");
+    private static final String COPY_CURRENT_WITH_QUANTIZED_SQL =
+            COPY_CURRENT_SQL.formatted(", embedding_half, embedding_bits");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 정규화 데이터 저장 (현재 트랜잭션 안에서 호출)
+     * - 같은 민원이 여러 번 들어 있으면 마지막 행만 저장합니다.
+     * @param withQuantized 보조 컬럼(embedding_half, embedding_bits)도 기록
+     */
+    public void insertAll(List<NormalizationRow> rows, boolean withQuantized) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        rows = latestPerComplaint(rows);
+        retireCurrent(rows);
+        if (withQuantized) {
+            insertAllWithQuantized(rows);
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.complaintId());
+            ps.setString(2, row.respDept());
+            ps.setString(3, row.neutralSummary());
+            ps.setString(4, row.coreRequest());
+            ps.setString(5, row.targetObject());
+            ps.setString(6, row.keywordsJson());
+            ps.setString(7, row.routingRankJson());
+            PgVector.bind(ps, 8, row.embedding());
+            ps.setBoolean(9, row.isCurrent());
+            ps.setLong(10, row.complaintId());
+        });
+    }
+
+    private void insertAllWithQuantized(List<NormalizationRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_WITH_QUANTIZED_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.complaintId());
+            ps.setString(2, row.respDept());
+            ps.setString(3, row.neutralSummary());
+            ps.setString(4, row.coreRequest());
+            ps.setString(5, row.targetObject());
+            ps.setString(6, row.keywordsJson());
+            ps.setString(7, row.routingRankJson());
+            for (int index = 8; index <= 10; index++) {
+                PgVector.bind(ps, index, row.embedding());
+            }
+            ps.setBoolean(11, row.isCurrent());
+            ps.setLong(12, row.complaintId());
+        });
+    }
+
+    // 새로 현재 행이 될 민원들의 기존 현재 행을 내림
+    private void retireCurrent(List<NormalizationRow> rows) {
+        long[] complaintIds = rows.stream()
+                .filter(NormalizationRow::isCurrent)
+                .mapToLong(NormalizationRow::complaintId)
+                .toArray();
+        if (complaintIds.length > 0) {
+            jdbcTemplate.update(RETIRE_CURRENT_SQL, ps -> ps.setObject(1, complaintIds));
+        }
+    }
+
+    private static List<NormalizationRow> latestPerComplaint(List<NormalizationRow> rows) {
+        Map<Long, NormalizationRow> latest = new LinkedHashMap<>();
+        for (NormalizationRow row : rows) {
+            latest.remove(row.complaintId());
+            latest.put(row.complaintId(), row);
+        }
+        return latest.size() == rows.size() ? rows : new ArrayList<>(latest.values());
+    }
+
+    // 복사된 행 수 (원본에 정규화 데이터가 없으면 0, 현재 트랜잭션 안에서 호출)
+    public int copyCurrent(Long sourceComplaintId, Long targetComplaintId, boolean withQuantized) {
+        long[] targetIds = { targetComplaintId };
+        jdbcTemplate.update(RETIRE_CURRENT_SQL, ps -> ps.setObject(1, targetIds));
+        return jdbcTemplate.update(withQuantized ? COPY_CURRENT_WITH_QUANTIZED_SQL : COPY_CURRENT_EMBEDDING_SQL,
+                targetComplaintId, targetComplaintId, sourceComplaintId);
+    }
+}
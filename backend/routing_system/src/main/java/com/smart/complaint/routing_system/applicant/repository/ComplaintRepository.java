@@ -4,7 +4,10 @@ import com.smart.complaint.routing_system.applicant.entity.Complaint;
 
 import java.util.Optional;
 
+import jakarta.persistence.LockModeType;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.util.List;
@@ -13,6 +16,11 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long>, Com
 
     Optional<Complaint> findById(Long id);
 
+    // 행 잠금 조회 (사건 자동 연결 시 다른 인스턴스/수동 이동과 겹치지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Complaint c where c.id = :id")
+    Optional<Complaint> findByIdForUpdate(@Param("id") Long id);
+
     // 기본 CRUD(저장, 조회, 삭제)는 자동
     // queryFactory.selectFrom(complaint).where(complaint.district.name.eq("강남구"))
 
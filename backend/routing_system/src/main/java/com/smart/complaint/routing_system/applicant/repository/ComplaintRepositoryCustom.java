@@ -23,6 +23,9 @@ public interface ComplaintRepositoryCustom {
 
     List<ComplaintSearchResult> findSimilarComplaint(double[] queryEmbedding, int limit);
 
+    // metric=cosine: 단위 벡터 질의, 점수 = 코사인 유사도
+    List<ComplaintSearchResult> findSimilarComplaintByCosine(double[] unitQueryEmbedding, int limit);
+
     public ComplaintDetailResponse getComplaintDetail(Long complaintId);
 
     List<ComplaintDto> findTop3RecentComplaintByApplicantId(Long id);
@@ -5,7 +5,6 @@ import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
-import com.querydsl.core.types.dsl.NumberTemplate;
 import com.querydsl.core.types.dsl.StringTemplate;
 import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -62,6 +61,7 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
 
         private static final Logger log = LoggerFactory.getLogger(ComplaintRepositoryImpl.class);
         private final JPAQueryFactory queryFactory;
+        private final NormalizationVectorRepository vectorRepository;
         private final QComplaintNormalization normalization = QComplaintNormalization.complaintNormalization;
         private final QDepartment department = QDepartment.department;
         private final QUser user = QUser.user;
@@ -71,7 +71,8 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                 List<Tuple> results = queryFactory
                                 .select(complaint, normalization.neutralSummary,normalization.coreRequest, user.displayName)
                                 .from(complaint)
-                                .leftJoin(normalization).on(normalization.complaint.eq(complaint))
+                                .leftJoin(normalization).on(normalization.complaint.eq(complaint),
+                                                normalization.isCurrent.isTrue())
                                 .leftJoin(user).on(complaint.answeredBy.eq(user.id))
                                 .where(
                                                 complaint.currentDepartmentId.eq(departmentId),
@@ -103,7 +104,8 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                 Long total = queryFactory
                                 .select(complaint.count())
                                 .from(complaint)
-                                .leftJoin(normalization).on(normalization.complaint.eq(complaint)) // 검색 조건에
+                                .leftJoin(normalization).on(normalization.complaint.eq(complaint),
+                                                normalization.isCurrent.isTrue()) // 검색 조건에
                                                                                                    // normalization 포함시
                                                                                                    // 필요
                                 .where(
@@ -133,26 +135,25 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                 return null;
         }
 
+        // 벡터 연산자(<->, <#>)는 JPQL로 표현할 수 없어 질의 벡터를 텍스트로 만들지 않고
+        // JDBC 계층에서 vector 바이너리 파라미터로 바인딩 (거리 오름차순이라 embedding 근사 색인을 탐)
         @Override
         public List<ComplaintSearchResult> findSimilarComplaint(double[] queryEmbedding, int limit) {
-                String vectorString = java.util.Arrays.toString(queryEmbedding);
-                NumberTemplate<Double> similarity = Expressions.numberTemplate(Double.class,
-                                "1 - ({0} <-> cast({1} as vector))",
-                                normalization.embedding,
-                                vectorString);
+                return vectorRepository.findNearest(toFloatArray(queryEmbedding), limit, false);
+        }
 
-                return queryFactory
-                                .select(Projections.constructor(ComplaintSearchResult.class,
-                                                complaint.id,
-                                                complaint.title,
-                                                complaint.body,
-                                                similarity.as("score")))
-                                .from(normalization)
-                                .join(normalization.complaint, complaint)
-                                .where(normalization.isCurrent.isTrue())
-                                .orderBy(similarity.desc())
-                                .limit(limit)
-                                .fetch();
+        // 질의와 저장된 임베딩이 모두 단위 벡터일 때: 음의 내적(<#>) 오름차순, 점수 = 내적 = 코사인 유사도
+        @Override
+        public List<ComplaintSearchResult> findSimilarComplaintByCosine(double[] unitQueryEmbedding, int limit) {
+                return vectorRepository.findNearest(toFloatArray(unitQueryEmbedding), limit, true);
+        }
+
+        private static float[] toFloatArray(double[] values) {
+                float[] floats = new float[values.length];
+                for (int i = 0; i < values.length; i++) {
+                        floats[i] = (float) values[i];
+                }
+                return floats;
         }
 
         @Override
@@ -278,7 +279,7 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                                                 normalization.keywordsJsonb // JSONB는 드라이버가 지원하면 가져옴
                                 )
                                 .from(normalization)
-                                .where(normalization.complaint.eq(c))
+                                .where(normalization.complaint.eq(c), normalization.isCurrent.isTrue())
                                 .fetchFirst();
 
                 if (normTuple != null) {
@@ -490,7 +491,7 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                                                 complaint.count()))
                                 .from(normalization)
                                 .join(normalization.complaint, complaint)
-                                .where(complaint.receivedAt.between(start, end))
+                                .where(complaint.receivedAt.between(start, end), normalization.isCurrent.isTrue())
                                 .groupBy(normalization.targetObject)
                                 .orderBy(complaint.count().desc())
                                 .fetch();
@@ -592,7 +593,7 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                 String sql = "SELECT " +
                                 "  (SELECT ROUND(CAST(EXTRACT(EPOCH FROM AVG(updated_at - created_at)) / 86400 AS numeric), 1) FROM complaints) as total_avg, "
                                 +
-                                "  (SELECT cn.target_object FROM complaints c JOIN complaint_normalizations cn ON c.id = cn.complaint_id ORDER BY (c.updated_at - c.created_at) ASC LIMIT 1) as fastest_dept, "
+                                "  (SELECT cn.target_object FROM complaints c JOIN complaint_normalizations cn ON c.id = cn.complaint_id AND cn.is_current = true ORDER BY (c.updated_at - c.created_at) ASC LIMIT 1) as fastest_dept, "
                                 +
                                 "  (SELECT EXTRACT(EPOCH FROM AVG(updated_at - created_at)) FROM complaints WHERE created_at >= :currentStart AND created_at <= :currentEnd) as current_sec, "
                                 +
@@ -621,7 +622,7 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                 // 4. 차트 데이터 (Top 5 부서 평균) - 이건 별도 Native Query로 실행
                 String chartSql = "SELECT cn.target_object as category, ROUND(CAST(EXTRACT(EPOCH FROM AVG(c.updated_at - c.created_at)) / 86400 AS numeric), 1) as avgDays "
                                 +
-                                "FROM complaints c JOIN complaint_normalizations cn ON c.id = cn.complaint_id " +
+                                "FROM complaints c JOIN complaint_normalizations cn ON c.id = cn.complaint_id AND cn.is_current = true " +
                                 "WHERE c.updated_at > c.created_at GROUP BY cn.target_object ORDER BY avgDays ASC LIMIT 5";
 
                 List<Object[]> chartResults = entityManager.createNativeQuery(chartSql).getResultList();
@@ -641,6 +642,7 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                 // 이 함수는 배열 안의 요소들을 각각의 String 행으로 반환
                 String sql = "SELECT word as text, count(*) as value " +
                                 "FROM complaint_normalizations, jsonb_array_elements_text(keywords_jsonb) as word " +
+                                "WHERE is_current = true " +
                                 "GROUP BY word ORDER BY value DESC LIMIT 10";
 
                 @SuppressWarnings("unchecked")
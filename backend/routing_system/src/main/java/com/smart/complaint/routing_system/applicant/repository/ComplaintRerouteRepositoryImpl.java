@@ -53,7 +53,8 @@ public class ComplaintRerouteRepositoryImpl implements ComplaintRerouteRepositor
                 ))
                 .from(complaintReroute)
                 .join(complaintReroute.complaint, complaint)
-                .leftJoin(complaintNormalization).on(complaintNormalization.complaint.eq(complaint))
+                .leftJoin(complaintNormalization).on(complaintNormalization.complaint.eq(complaint),
+                        complaintNormalization.isCurrent.isTrue())
                 .join(originDept).on(complaintReroute.originDepartmentId.eq(originDept.id))
                 .join(targetDept).on(complaintReroute.targetDepartmentId.eq(targetDept.id))
                 .leftJoin(user).on(complaintReroute.requesterId.eq(user.id))
@@ -0,0 +1,97 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
+import com.smart.complaint.routing_system.applicant.dto.SimilarComplaintFilter;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 민원 전문 검색(full-text)의 DB 계층 (하이브리드 검색의 텍스트 검색 쪽)
+ * - 제목+본문(complaints)과 현재 정규화 요약(neutral_summary)을 'simple' 설정 tsvector로 검색합니다.
+ *   (형태소 분석 없이 공백/기호 기준 토큰이므로 도로명, 버스 번호, 지번 같은 식별자가 그대로 남음)
+ * - 검색어 토큰은 접두 일치(:*)의 OR로 묶어 '472'가 '472번'에, '테헤란'이 '테헤란로'에 걸리게 합니다.
+ * - 점수는 ts_rank_cd (제목 A > 본문 B > 요약 C 가중치), 두 테이블의 GIN 표현식 색인으로 후보를 찾습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ComplaintTextSearchRepository {
+
+    // 검색어에서 쓸 최대 토큰 수 (긴 본문을 검색어로 넘겨도 질의가 커지지 않도록)
+    private static final int MAX_TERMS = 16;
+
+    // to_tsvector 식은 schema.sql의 GIN 색인 식과 글자 그대로 같아야 색인을 탐
+    private static final String SEARCH_SQL = "WITH q AS (SELECT to_tsquery('simple', ?) AS query), " +
+            "matched AS (" +
+            "SELECT c.id FROM complaints c, q " +
+            "WHERE to_tsvector('simple', coalesce(c.title, '') || ' ' || coalesce(c.body, '')) @@ q.query " +
+            "UNION " +
+            "SELECT n.complaint_id FROM complaint_normalizations n, q WHERE n.is_current = true " +
+            "AND to_tsvector('simple', coalesce(n.neutral_summary, '')) @@ q.query) " +
+            "SELECT c.id, c.title, c.body, ts_rank_cd(" +
+            "setweight(to_tsvector('simple', coalesce(c.title, '')), 'A') || " +
+            "setweight(to_tsvector('simple', coalesce(c.body, '')), 'B') || " +
+            "setweight(to_tsvector('simple', coalesce(n.neutral_summary, '')), 'C'), q.query) AS score " +
+            "FROM matched m JOIN complaints c ON c.id = m.id " +
+            "LEFT JOIN complaint_normalizations n ON n.complaint_id = c.id AND n.is_current = true " +
+            "CROSS JOIN q WHERE true%s ORDER BY score DESC, c.id DESC LIMIT ?";
+
+    // 검색 파라미터 (현재 트랜잭션에만 적용, SET LOCAL과 같음)
+    private static final String SET_LOCAL_SQL = "SELECT set_config(?, ?, true)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param text 검색어 (토큰이 하나도 없으면 빈 결과)
+     */
+    public List<ComplaintSearchResult> search(String text, SimilarComplaintFilter filter, int limit) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> args = new ArrayList<>();
+        args.add(query);
+        String sql = SEARCH_SQL.formatted(NormalizationVectorRepository.filterClause(filter, args));
+        args.add(limit);
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new ComplaintSearchResult(rs.getLong("id"), rs.getString("title"),
+                        rs.getString("body"), rs.getDouble("score")),
+                args.toArray());
+    }
+
+    // 이번 트랜잭션의 문장 실행 시간 상한 (트랜잭션 안에서 호출)
+    public void setStatementTimeout(long timeoutMs) {
+        jdbcTemplate.queryForObject(SET_LOCAL_SQL, String.class, "statement_timeout", String.valueOf(timeoutMs));
+    }
+
+    /**
+     * 검색어 -> tsquery 문자열 ("토큰1:* | 토큰2:*")
+     * - 글자/숫자가 아닌 문자는 모두 구분자로 보므로 tsquery 연산자가 섞여 들어가지 않습니다.
+     * - 한 글자 토큰은 숫자(버스/번지 번호)만 남깁니다.
+     */
+    static String toPrefixQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.isEmpty() || (token.length() == 1 && !Character.isDigit(token.charAt(0)))) {
+                continue;
+            }
+            terms.add(token + ":*");
+            if (terms.size() == MAX_TERMS) {
+                break;
+            }
+        }
+        return String.join(" | ", terms);
+    }
+}
@@ -0,0 +1,8 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.smart.complaint.routing_system.applicant.entity.District;
+
+public interface DistrictRepository extends JpaRepository<District, Integer> {
+}
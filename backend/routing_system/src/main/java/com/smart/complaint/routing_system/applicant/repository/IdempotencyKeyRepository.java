@@ -0,0 +1,72 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 멱등성 키 저장소 (idempotency_keys)
+ * - 키 선점(claim)은 호출한 트랜잭션 안에서 이뤄지므로, 같은 키의 동시 요청은 먼저 들어온 트랜잭션이
+ *   끝날 때까지 PK 잠금에서 대기하다가 커밋된 응답을 읽거나(재전송) 롤백된 자리를 이어받습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    // 새 키이거나 만료된 키일 때만 1행이 반영됨
+    private static final String CLAIM_SQL = "INSERT INTO idempotency_keys " +
+            "(scope, idempotency_key, request_hash, expires_at) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (scope, idempotency_key) DO UPDATE SET " +
+            "request_hash = EXCLUDED.request_hash, response_status = NULL, response_body = NULL, " +
+            "created_at = CURRENT_TIMESTAMP, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_keys.expires_at < CURRENT_TIMESTAMP";
+
+    private static final String FIND_SQL = "SELECT request_hash, response_status, response_body " +
+            "FROM idempotency_keys WHERE scope = ? AND idempotency_key = ?";
+
+    private static final String COMPLETE_SQL = "UPDATE idempotency_keys " +
+            "SET response_status = ?, response_body = ? WHERE scope = ? AND idempotency_key = ?";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM idempotency_keys WHERE expires_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record StoredResponse(String requestHash, Integer status, String body) {
+    }
+
+    // 키 선점 성공 시 true (이미 유효한 키가 있으면 false)
+    public boolean claim(String scope, String key, String requestHash, LocalDateTime expiresAt) {
+        return jdbcTemplate.update(CLAIM_SQL, scope, key, requestHash, Timestamp.valueOf(expiresAt)) == 1;
+    }
+
+    public Optional<StoredResponse> find(String scope, String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(FIND_SQL,
+                (rs, rowNum) -> new StoredResponse(rs.getString("request_hash"),
+                        rs.getObject("response_status", Integer.class), rs.getString("response_body")),
+                scope, key);
+        return rows.stream().findFirst();
+    }
+
+    public void complete(String scope, String key, int status, String body) {
+        jdbcTemplate.update(COMPLETE_SQL, status, body, scope, key);
+    }
+
+    // 잠금 대기 시간은 키 선점 구문에만 적용하고 이후 업무 쿼리에는 기본값을 돌려줌
+    public void setLockTimeout(long millis) {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + Math.max(0, millis) + "ms'");
+    }
+
+    public void resetLockTimeout() {
+        jdbcTemplate.execute("SET LOCAL lock_timeout TO DEFAULT");
+    }
+
+    public int deleteExpiredBefore(LocalDateTime threshold) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.valueOf(threshold));
+    }
+}
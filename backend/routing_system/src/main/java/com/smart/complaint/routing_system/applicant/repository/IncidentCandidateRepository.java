@@ -0,0 +1,97 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.dto.IncidentCandidateRow;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 사건 자동 연결 후보/대상 민원 조회 (민원 + 현재 정규화 데이터)
+ * - 자치구는 민원(complaints.district_id) 기준입니다. (백엔드가 저장하는 정규화 행에는 자치구가 없음)
+ * - 키워드는 keywords_jsonb 배열을 text[]로, 임베딩은 vector_send 바이너리로 받습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IncidentCandidateRepository {
+
+    private static final String SELECT_SQL = "SELECT c.id, c.incident_id, c.district_id, d.name AS district_name, " +
+            "n.target_object, n.core_request, " +
+            "CASE WHEN jsonb_typeof(n.keywords_jsonb) = 'array' " +
+            "THEN ARRAY(SELECT jsonb_array_elements_text(n.keywords_jsonb)) END AS keywords, " +
+            "vector_send(n.embedding) AS embedding, c.created_at " +
+            "FROM complaints c JOIN complaint_normalizations n ON n.complaint_id = c.id AND n.is_current = true " +
+            "LEFT JOIN districts d ON d.id = c.district_id ";
+
+    // 후보 색인 구축: 기간 내 사건에 연결된 민원
+    private static final String LINKED_SINCE_SQL = SELECT_SQL +
+            "WHERE c.incident_id IS NOT NULL AND c.created_at > ?";
+
+    private static final String BY_IDS_SQL = SELECT_SQL + "WHERE c.id = ANY(?)";
+
+    // 따라잡기: 기간 내 아직 연결되지 않은 민원 (ID 순서 keyset)
+    private static final String UNLINKED_SQL = "SELECT c.id FROM complaints c " +
+            "WHERE c.incident_id IS NULL AND c.created_at > ? AND c.id > ? " +
+            "AND EXISTS (SELECT 1 FROM complaint_normalizations n WHERE n.complaint_id = c.id AND n.is_current = true) " +
+            "ORDER BY c.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 트랜잭션 안에서 호출해야 fetch size 단위로 끊어 읽음
+    public void forEachLinkedSince(LocalDateTime since, Consumer<IncidentCandidateRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LINKED_SINCE_SQL);
+            ps.setFetchSize(1000);
+            ps.setTimestamp(1, Timestamp.valueOf(since));
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(toRow(rs)));
+    }
+
+    public List<IncidentCandidateRow> findByComplaintIds(List<Long> complaintIds) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(BY_IDS_SQL);
+            ps.setArray(1, connection.createArrayOf("bigint", complaintIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> toRow(rs));
+    }
+
+    public List<Long> findUnlinked(LocalDateTime since, long afterComplaintId, int limit) {
+        return jdbcTemplate.queryForList(UNLINKED_SQL, Long.class, Timestamp.valueOf(since), afterComplaintId, limit);
+    }
+
+    private static IncidentCandidateRow toRow(ResultSet rs) throws SQLException {
+        byte[] embedding = rs.getBytes("embedding");
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new IncidentCandidateRow(
+                rs.getLong("id"),
+                rs.getObject("incident_id", Long.class),
+                rs.getObject("district_id", Integer.class),
+                rs.getString("district_name"),
+                rs.getString("target_object"),
+                rs.getString("core_request"),
+                keywords(rs.getArray("keywords")),
+                embedding == null ? null : PgVectorBinary.decode(embedding),
+                createdAt == null ? null : createdAt.toLocalDateTime());
+    }
+
+    private static Set<String> keywords(Array array) throws SQLException {
+        if (array == null) {
+            return Set.of();
+        }
+        return new LinkedHashSet<>(Arrays.asList((String[]) array.getArray()));
+    }
+}
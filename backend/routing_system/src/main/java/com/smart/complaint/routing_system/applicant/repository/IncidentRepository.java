@@ -3,11 +3,18 @@ package com.smart.complaint.routing_system.applicant.repository;
 import java.util.List;
 import com.smart.complaint.routing_system.applicant.entity.Incident;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 // [중요] JpaRepository와 IncidentRepositoryCustom을 모두 상속받아야 합니다.
 public interface IncidentRepository extends JpaRepository<Incident, Long>, IncidentRepositoryCustom {
 
     @Query("SELECT i FROM Incident i WHERE i.status = 'OPEN' AND i.complaintCount >= 5 ORDER BY i.closedAt DESC")
     List<Incident> findMajorIncidents();
+
+    // 민원 수 +1 (읽고 쓰는 사이 다른 연결/이동이 끼어들어도 잃지 않도록 DB에서 증가)
+    @Modifying
+    @Query("UPDATE Incident i SET i.complaintCount = COALESCE(i.complaintCount, 0) + 1 WHERE i.id = :id")
+    int incrementComplaintCount(@Param("id") Long id);
 }
\ No newline at end of file
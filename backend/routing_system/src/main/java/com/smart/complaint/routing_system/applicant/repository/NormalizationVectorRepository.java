@@ -0,0 +1,390 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
+import com.smart.complaint.routing_system.applicant.dto.SimilarComplaintFilter;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 정규화 임베딩 보조 컬럼(embedding_half, embedding_bits)의 DB 계층
+ * - 2단계 검색: 보조 컬럼의 HNSW 색인으로 후보 N건을 고른 뒤, 후보만 원본 vector(1024) 거리로 다시 정렬합니다.
+ *   (점수는 기존 findSimilarComplaint와 같은 1 - L2 거리, cosine 기준이면 코사인 유사도)
+ * - 원본 embedding 근사 색인 검색, 필터 검색(자치구/부서/접수 기간/상태), 정규화 이관(단위 벡터)도 이 계층에서 처리합니다.
+ * - 백필: 보조 컬럼이 비어 있는 현재 정규화 행을 ID 순서로 나눠 채웁니다.
+ *   (SKIP LOCKED로 여러 인스턴스가 동시에 돌아도 같은 행을 두 번 갱신하지 않음)
+ * - 보조 컬럼과 색인은 schema.sql이 아니라 2단계 검색을 켰을 때 DatabaseVectorSearch가 만듭니다. (halfvec 타입은 pgvector 0.7 이상)
+ */
+@Repository
+@RequiredArgsConstructor
+public class NormalizationVectorRepository {
+
+    public static final String HALFVEC = "halfvec";
+    public static final String BINARY = "binary";
+
+    private static final String HALF_INDEX = "idx_normalizations_embedding_half";
+    private static final String BITS_INDEX = "idx_normalizations_embedding_bits";
+
+    // 보조 컬럼 추가는 기본값이 없어 테이블을 다시 쓰지 않으며, 기존 행은 백필 작업이 나눠서 채움 (NULL은 색인에 들어가지 않음)
+    private static final String[] QUANTIZED_COLUMNS_DDL = {
+            "ALTER TABLE complaint_normalizations ADD COLUMN IF NOT EXISTS embedding_half halfvec(1024)",
+            "ALTER TABLE complaint_normalizations ADD COLUMN IF NOT EXISTS embedding_bits bit(1024)" };
+
+    private static final String QUANTIZED_INDEX_DDL = "CREATE INDEX CONCURRENTLY IF NOT EXISTS %s " +
+            "ON complaint_normalizations USING hnsw (%s) WHERE is_current = true";
+
+    private static final String QUANTIZED_COLUMNS_SQL = "SELECT count(*) FROM pg_attribute " +
+            "WHERE attrelid = to_regclass('complaint_normalizations') " +
+            "AND attname IN ('embedding_half', 'embedding_bits') AND NOT attisdropped";
+
+    // 이전 구축이 중간에 실패해 무효로 남은 색인
+    private static final String INVALID_INDEX_SQL = "SELECT EXISTS (SELECT 1 FROM pg_index " +
+            "WHERE indexrelid = to_regclass(?) AND NOT indisvalid)";
+
+    // 유사도 점수 식 (l2: 1 - L2 거리 / cosine: 단위 벡터의 내적 = 코사인 유사도, <#>는 음의 내적을 돌려줌)
+    // 질의 벡터는 PgVector로 vector 타입 바이너리 바인딩 (CAST(? AS vector) 불필요)
+    private static final String L2_SCORE = "1 - (%s <-> ?)";
+    private static final String COSINE_SCORE = "-(%s <#> ?)";
+
+    // 같은 질의 벡터를 후보 검색용(보조 컬럼 형식)과 재정렬용(원본)으로 두 번 바인딩
+    // 보조 컬럼 색인은 L2 기준이지만 단위 벡터에서는 L2 거리 순서와 내적 순서가 같으므로 cosine에서도 그대로 사용
+    private static final String HALFVEC_SQL = "WITH candidates AS (" +
+            "SELECT complaint_id, embedding FROM complaint_normalizations WHERE is_current = true " +
+            "ORDER BY embedding_half <-> CAST(? AS halfvec) LIMIT ?) " +
+            "SELECT c.id, c.title, c.body, %s AS score " +
+            "FROM candidates cand JOIN complaints c ON c.id = cand.complaint_id " +
+            "ORDER BY score DESC LIMIT ?";
+
+    private static final String BINARY_SQL = "WITH candidates AS (" +
+            "SELECT complaint_id, embedding FROM complaint_normalizations WHERE is_current = true " +
+            "ORDER BY embedding_bits <~> binary_quantize(?) LIMIT ?) " +
+            "SELECT c.id, c.title, c.body, %s AS score " +
+            "FROM candidates cand JOIN complaints c ON c.id = cand.complaint_id " +
+            "ORDER BY score DESC LIMIT ?";
+
+    private static final String HALFVEC_L2_SQL = HALFVEC_SQL.formatted(L2_SCORE.formatted("cand.embedding"));
+    private static final String HALFVEC_COSINE_SQL = HALFVEC_SQL.formatted(COSINE_SCORE.formatted("cand.embedding"));
+    private static final String BINARY_L2_SQL = BINARY_SQL.formatted(L2_SCORE.formatted("cand.embedding"));
+    private static final String BINARY_COSINE_SQL = BINARY_SQL.formatted(COSINE_SCORE.formatted("cand.embedding"));
+
+    // 원본 embedding 근사 색인(VectorIndexManager가 관리) 검색, 거리 오름차순이어야 색인을 탐
+    private static final String ANN_SQL = "WITH nearest AS (" +
+            "SELECT complaint_id, embedding %s ? AS distance FROM complaint_normalizations " +
+            "WHERE is_current = true ORDER BY distance LIMIT ?) " +
+            "SELECT c.id, c.title, c.body, %s AS score " +
+            "FROM nearest JOIN complaints c ON c.id = nearest.complaint_id ORDER BY nearest.distance";
+
+    private static final String ANN_L2_SQL = ANN_SQL.formatted("<->", "1 - nearest.distance");
+    private static final String ANN_COSINE_SQL = ANN_SQL.formatted("<#>", "-nearest.distance");
+
+    // 필터 검색: 조건에 맞는 현재 정규화 행을 먼저 추린 뒤(MATERIALIZED라 근사 색인을 타지 않음) 전수 정렬
+    // 조건에 맞는 행이 적을 때 사용 (민원 테이블 B-tree 색인으로 추림)
+    private static final String FILTERED_EXACT_SQL = "WITH filtered AS MATERIALIZED (" +
+            "SELECT n.complaint_id, n.embedding FROM complaint_normalizations n " +
+            "JOIN complaints c ON c.id = n.complaint_id " +
+            "WHERE n.is_current = true AND n.embedding IS NOT NULL%s), " +
+            "nearest AS (SELECT complaint_id, embedding %s ? AS distance FROM filtered ORDER BY distance LIMIT ?) " +
+            "SELECT c.id, c.title, c.body, %s AS score " +
+            "FROM nearest JOIN complaints c ON c.id = nearest.complaint_id ORDER BY nearest.distance";
+
+    // 필터 검색: 근사 색인을 거리순으로 훑으면서 조건을 함께 검사 (iterative scan이면 limit건을 채울 때까지 계속 탐색)
+    // relaxed_order 탐색은 결과 순서가 조금 어긋날 수 있으므로 바깥에서 거리순으로 다시 정렬
+    private static final String FILTERED_ANN_SQL = "WITH nearest AS MATERIALIZED (" +
+            "SELECT n.complaint_id, n.embedding %s ? AS distance FROM complaint_normalizations n " +
+            "JOIN complaints c ON c.id = n.complaint_id " +
+            "WHERE n.is_current = true%s ORDER BY distance LIMIT ?) " +
+            "SELECT c.id, c.title, c.body, %s AS score " +
+            "FROM nearest JOIN complaints c ON c.id = nearest.complaint_id ORDER BY nearest.distance";
+
+    // 조건에 맞는 현재 정규화 행 수 (cap + 1건까지만 세어 큰 결과 집합에서도 빨리 끝남)
+    private static final String FILTERED_COUNT_SQL = "SELECT count(*) FROM (SELECT 1 FROM complaint_normalizations n " +
+            "JOIN complaints c ON c.id = n.complaint_id " +
+            "WHERE n.is_current = true AND n.embedding IS NOT NULL%s LIMIT ?) matched";
+
+    private static final String CURRENT_EMBEDDING_SQL = "SELECT vector_send(embedding) AS embedding " +
+            "FROM complaint_normalizations WHERE complaint_id = ? AND is_current = true AND embedding IS NOT NULL " +
+            "ORDER BY id DESC LIMIT 1";
+
+    private static final String EXTENSION_VERSION_SQL = "SELECT extversion FROM pg_extension WHERE extname = 'vector'";
+
+    // 검색 파라미터 (현재 트랜잭션에만 적용, SET LOCAL과 같음)
+    private static final String SET_LOCAL_SQL = "SELECT set_config(?, ?, true)";
+
+    private static final String EXACT_IDS_SQL = "SELECT complaint_id FROM complaint_normalizations " +
+            "WHERE is_current = true ORDER BY embedding %s ? LIMIT ?";
+
+    private static final String EXACT_IDS_L2_SQL = EXACT_IDS_SQL.formatted("<->");
+    private static final String EXACT_IDS_COSINE_SQL = EXACT_IDS_SQL.formatted("<#>");
+
+    private static final String BACKFILL_SQL = "UPDATE complaint_normalizations " +
+            "SET embedding_half = CAST(embedding AS halfvec), embedding_bits = binary_quantize(embedding) " +
+            "WHERE id IN (SELECT id FROM complaint_normalizations " +
+            "WHERE id > ? AND is_current = true AND embedding IS NOT NULL " +
+            "AND (embedding_half IS NULL OR embedding_bits IS NULL) " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING id";
+
+    private static final String PENDING_SQL = "SELECT EXISTS (SELECT 1 FROM complaint_normalizations " +
+            "WHERE is_current = true AND embedding IS NOT NULL " +
+            "AND (embedding_half IS NULL OR embedding_bits IS NULL))";
+
+    // 단위 벡터 정규화 이관 (영벡터는 정규화할 수 없으므로 제외, 보조 컬럼이 있으면 반정밀도 값도 같은 값으로 갱신)
+    // 이진 양자화는 부호만 보므로 양수 배율인 정규화로 바뀌지 않음
+    private static final String NORMALIZE_SQL = "UPDATE complaint_normalizations " +
+            "SET embedding = l2_normalize(embedding)%s " +
+            "WHERE id IN (SELECT id FROM complaint_normalizations WHERE id > ? AND embedding IS NOT NULL " +
+            "AND vector_norm(embedding) > 0 AND abs(vector_norm(embedding) - 1) > ? " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING id";
+
+    private static final String NORMALIZE_EMBEDDING_SQL = NORMALIZE_SQL.formatted("");
+    private static final String NORMALIZE_WITH_HALF_SQL = NORMALIZE_SQL.formatted(
+            ", embedding_half = CASE WHEN embedding_half IS NULL THEN NULL " +
+            "ELSE CAST(l2_normalize(embedding) AS halfvec) END");
+
+    private static final String UNNORMALIZED_SQL = "SELECT EXISTS (SELECT 1 FROM complaint_normalizations " +
+            "WHERE embedding IS NOT NULL AND vector_norm(embedding) > 0 AND abs(vector_norm(embedding) - 1) > ?)";
+
+    private static final String MAX_ID_SQL = "SELECT COALESCE(max(id), 0) FROM complaint_normalizations";
+
+    private static final String SAMPLE_SQL = "SELECT complaint_id, vector_send(embedding) AS embedding " +
+            "FROM complaint_normalizations WHERE is_current = true AND embedding IS NOT NULL " +
+            "ORDER BY random() LIMIT ?";
+
+    private static final String INDEX_SIZE_SQL = "SELECT COALESCE(pg_relation_size(to_regclass(?)), 0)";
+
+    private static final RowMapper<ComplaintSearchResult> SEARCH_RESULT_MAPPER =
+            (rs, rowNum) -> new ComplaintSearchResult(rs.getLong("id"), rs.getString("title"),
+                    rs.getString("body"), rs.getDouble("score"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record SampleRow(Long complaintId, float[] embedding) {
+    }
+
+    /**
+     * 2단계 검색 (트랜잭션 안에서 호출해야 hnsw.ef_search 설정이 후보 검색에 적용됨)
+     * @param mode halfvec 또는 binary
+     */
+    public List<ComplaintSearchResult> findSimilarTwoStage(float[] query, String mode, int candidates, int limit,
+            boolean cosine) {
+        setLocal("hnsw.ef_search", candidates);
+        String sql = BINARY.equals(mode)
+                ? (cosine ? BINARY_COSINE_SQL : BINARY_L2_SQL)
+                : (cosine ? HALFVEC_COSINE_SQL : HALFVEC_L2_SQL);
+        return jdbcTemplate.query(sql, ps -> {
+            PgVector.bind(ps, 1, query);
+            ps.setInt(2, candidates);
+            PgVector.bind(ps, 3, query);
+            ps.setInt(4, limit);
+        }, SEARCH_RESULT_MAPPER);
+    }
+
+    /**
+     * 원본 embedding 근사 색인 검색 (트랜잭션 안에서 호출해야 parameter 설정이 적용됨)
+     * @param parameter hnsw.ef_search 또는 ivfflat.probes (null이면 세션 기본값)
+     * @param cosine    true면 내적(<#>) 기준 (query와 저장된 임베딩 모두 단위 벡터여야 점수가 코사인 유사도)
+     */
+    public List<ComplaintSearchResult> findSimilarAnn(float[] query, String parameter, int value, int limit,
+            boolean cosine) {
+        if (parameter != null) {
+            setLocal(parameter, value);
+        }
+        return findNearest(query, limit, cosine);
+    }
+
+    /**
+     * 원본 embedding 최근접 검색 (세션 기본 검색 파라미터, 트랜잭션 불필요)
+     * @param cosine true면 내적(<#>) 기준 (query와 저장된 임베딩 모두 단위 벡터여야 점수가 코사인 유사도)
+     */
+    public List<ComplaintSearchResult> findNearest(float[] query, int limit, boolean cosine) {
+        return jdbcTemplate.query(cosine ? ANN_COSINE_SQL : ANN_L2_SQL, ps -> {
+            PgVector.bind(ps, 1, query);
+            ps.setInt(2, limit);
+        }, SEARCH_RESULT_MAPPER);
+    }
+
+    /**
+     * 원본 vector 전수 정렬 결과의 민원 ID (근사 검색 품질 비교 기준)
+     * - 원본 컬럼에도 근사 색인이 있으므로 색인 스캔을 끄고 실행합니다. (트랜잭션 안에서 호출)
+     */
+    public List<Long> findSimilarComplaintIdsExact(float[] query, int limit, boolean cosine) {
+        jdbcTemplate.queryForObject(SET_LOCAL_SQL, String.class, "enable_indexscan", "off");
+        return jdbcTemplate.query(cosine ? EXACT_IDS_COSINE_SQL : EXACT_IDS_L2_SQL, ps -> {
+            PgVector.bind(ps, 1, query);
+            ps.setInt(2, limit);
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    /**
+     * 필터 검색 (트랜잭션 안에서 호출해야 setLocal로 지정한 탐색 파라미터가 적용됨)
+     * @param exact true면 조건으로 먼저 추린 뒤 전수 정렬, false면 근사 색인 탐색 중에 조건 검사
+     */
+    public List<ComplaintSearchResult> findSimilarFiltered(float[] query, SimilarComplaintFilter filter, int limit,
+            boolean cosine, boolean exact) {
+        String operator = cosine ? "<#>" : "<->";
+        String score = cosine ? "-nearest.distance" : "1 - nearest.distance";
+        List<Object> filterArgs = new ArrayList<>();
+        String where = filterClause(filter, filterArgs);
+
+        List<Object> args = new ArrayList<>();
+        String sql;
+        if (exact) {
+            sql = FILTERED_EXACT_SQL.formatted(where, operator, score);
+            args.addAll(filterArgs);
+            args.add(new PgVector(query));
+        } else {
+            sql = FILTERED_ANN_SQL.formatted(operator, where, score);
+            args.add(new PgVector(query));
+            args.addAll(filterArgs);
+        }
+        args.add(limit);
+        return jdbcTemplate.query(sql, ps -> {
+            PgVector.register(ps.getConnection());
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+        }, SEARCH_RESULT_MAPPER);
+    }
+
+    // 조건에 맞는 현재 정규화 행 수 (최대 cap + 1)
+    public long countFiltered(SimilarComplaintFilter filter, long cap) {
+        List<Object> args = new ArrayList<>();
+        String sql = FILTERED_COUNT_SQL.formatted(filterClause(filter, args));
+        args.add(cap + 1);
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args.toArray());
+        return count == null ? 0 : count;
+    }
+
+    // 민원 테이블(c) 기준 조건절 (" AND ..." 형태, 값은 모두 바인딩 파라미터, 텍스트 검색도 같은 조건 사용)
+    static String filterClause(SimilarComplaintFilter filter, List<Object> args) {
+        StringBuilder where = new StringBuilder();
+        if (filter.getDistrictId() != null) {
+            where.append(" AND c.district_id = ?");
+            args.add(filter.getDistrictId());
+        }
+        if (filter.getDepartmentId() != null) {
+            where.append(" AND c.current_department_id = ?");
+            args.add(filter.getDepartmentId());
+        }
+        if (filter.getReceivedFrom() != null) {
+            where.append(" AND c.received_at >= ?");
+            args.add(Timestamp.valueOf(filter.getReceivedFrom()));
+        }
+        if (filter.getReceivedTo() != null) {
+            where.append(" AND c.received_at < ?");
+            args.add(Timestamp.valueOf(filter.getReceivedTo()));
+        }
+        if (filter.getStatuses() != null && !filter.getStatuses().isEmpty()) {
+            where.append(" AND c.status IN (");
+            for (int i = 0; i < filter.getStatuses().size(); i++) {
+                where.append(i == 0 ? "" : ", ").append("CAST(? AS complaint_status)");
+                args.add(filter.getStatuses().get(i).name());
+            }
+            where.append(')');
+        }
+        if (filter.getExcludeComplaintId() != null) {
+            where.append(" AND c.id <> ?");
+            args.add(filter.getExcludeComplaintId());
+        }
+        return where.toString();
+    }
+
+    // 민원의 현재 정규화 임베딩 (분석 전이면 empty)
+    public Optional<float[]> findCurrentEmbedding(Long complaintId) {
+        List<float[]> rows = jdbcTemplate.query(CURRENT_EMBEDDING_SQL,
+                (rs, rowNum) -> PgVectorBinary.decode(rs.getBytes("embedding")), complaintId);
+        return rows.stream().findFirst();
+    }
+
+    // 설치된 pgvector 확장 버전 (없으면 empty)
+    public Optional<String> extensionVersion() {
+        return jdbcTemplate.queryForList(EXTENSION_VERSION_SQL, String.class).stream().findFirst();
+    }
+
+    private void setLocal(String parameter, int value) {
+        setLocal(parameter, String.valueOf(value));
+    }
+
+    // 현재 트랜잭션에만 적용할 검색 파라미터 (트랜잭션 밖에서 호출하면 효과 없음)
+    public void setLocal(String parameter, String value) {
+        jdbcTemplate.queryForObject(SET_LOCAL_SQL, String.class, parameter, value);
+    }
+
+    // 보조 컬럼(embedding_half, embedding_bits)이 모두 있는지
+    public boolean hasQuantizedColumns() {
+        Integer columns = jdbcTemplate.queryForObject(QUANTIZED_COLUMNS_SQL, Integer.class);
+        return columns != null && columns == 2;
+    }
+
+    /**
+     * 보조 컬럼과 HNSW 색인 생성 (이미 있으면 그대로, 무효로 남은 색인은 다시 만듦)
+     * - 색인은 쓰기를 막지 않는 CONCURRENTLY로 만들므로 자동 커밋 세션(VectorIndexRepository.withMaintenanceLock)에서 호출합니다.
+     */
+    public void createQuantizedStorage(JdbcTemplate session) {
+        for (String ddl : QUANTIZED_COLUMNS_DDL) {
+            session.execute(ddl);
+        }
+        createQuantizedIndex(session, HALF_INDEX, "embedding_half halfvec_l2_ops");
+        createQuantizedIndex(session, BITS_INDEX, "embedding_bits bit_hamming_ops");
+    }
+
+    private void createQuantizedIndex(JdbcTemplate session, String indexName, String column) {
+        if (Boolean.TRUE.equals(session.queryForObject(INVALID_INDEX_SQL, Boolean.class, indexName))) {
+            session.execute("DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+        }
+        session.execute(QUANTIZED_INDEX_DDL.formatted(indexName, column));
+    }
+
+    /**
+     * 보조 컬럼 백필 1회분
+     * @return 갱신한 행 ID (오름차순이 아닐 수 있음, 비어 있으면 afterId 이후로 남은 행 없음)
+     */
+    public List<Long> backfillQuantized(long afterId, int batchSize) {
+        return jdbcTemplate.queryForList(BACKFILL_SQL, Long.class, afterId, batchSize);
+    }
+
+    public boolean hasPendingQuantized() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(PENDING_SQL, Boolean.class));
+    }
+
+    /**
+     * 단위 벡터 정규화 이관 1회분
+     * @param tolerance 노름이 1에서 이만큼 넘게 벗어난 행만 갱신
+     * @param withHalf  반정밀도 보조 컬럼도 갱신 (hasQuantizedColumns()일 때만)
+     * @return 갱신한 행 ID (비어 있으면 afterId 이후로 남은 행 없음)
+     */
+    public List<Long> normalizeEmbeddings(long afterId, int batchSize, double tolerance, boolean withHalf) {
+        return jdbcTemplate.queryForList(withHalf ? NORMALIZE_WITH_HALF_SQL : NORMALIZE_EMBEDDING_SQL, Long.class,
+                afterId, tolerance, batchSize);
+    }
+
+    public boolean hasUnnormalized(double tolerance) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(UNNORMALIZED_SQL, Boolean.class, tolerance));
+    }
+
+    public long maxId() {
+        Long maxId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    public List<SampleRow> sampleCurrentEmbeddings(int size) {
+        return jdbcTemplate.query(SAMPLE_SQL,
+                (rs, rowNum) -> new SampleRow(rs.getLong("complaint_id"),
+                        PgVectorBinary.decode(rs.getBytes("embedding"))),
+                size);
+    }
+
+    // 보조 컬럼 색인 크기 (바이트, 색인이 없으면 0)
+    public long indexSize(String mode) {
+        Long size = jdbcTemplate.queryForObject(INDEX_SIZE_SQL, Long.class,
+                BINARY.equals(mode) ? BITS_INDEX : HALF_INDEX);
+        return size == null ? 0 : size;
+    }
+}
@@ -0,0 +1,169 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.util.PGBinaryObject;
+import org.postgresql.util.PGobject;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * pgvector vector 타입 JDBC 값 (PostgreSQL 드라이버 사용자 정의 타입)
+ * - 커넥션에 등록(register)되면 드라이버가 파라미터를 vector_recv 바이너리 형식으로 보내고,
+ *   서버 준비(prepared) 문장의 결과도 바이너리로 받아 setByteValue로 복원합니다. (숫자 텍스트 변환/파싱 없음)
+ * - 등록 전이거나 단순 질의 모드면 드라이버가 텍스트('[1,2,3]')로 주고받으므로 텍스트 변환도 함께 구현합니다.
+ * - 파라미터가 vector 타입으로 전달되므로 SQL에서 CAST(? AS vector)가 필요 없습니다.
+ */
+public class PgVector extends PGobject implements PGBinaryObject {
+
+    public static final String TYPE = "vector";
+
+    private float[] vector;
+
+    // 드라이버가 조회 결과를 만들 때 사용 (기본 생성자 필수)
+    public PgVector() {
+        setType(TYPE);
+    }
+
+    public PgVector(float[] vector) {
+        this();
+        this.vector = vector;
+    }
+
+    public float[] toArray() {
+        return vector;
+    }
+
+    /**
+     * vector 파라미터 바인딩 (커넥션에 타입이 등록되지 않았으면 먼저 등록)
+     * - null도 PgVector로 넘겨 vector 타입 NULL로 보냅니다. (binary_quantize(?)처럼 오버로드된 함수의 타입 추론용)
+     */
+    public static void bind(PreparedStatement ps, int index, float[] vector) throws SQLException {
+        register(ps.getConnection());
+        ps.setObject(index, new PgVector(vector));
+    }
+
+    /**
+     * 커넥션에 vector 타입 등록 (드라이버가 vector OID를 바이너리 송수신 대상으로 추가함)
+     * - 등록은 물리 커넥션 단위로 유지되므로 풀에서 다시 꺼낸 커넥션은 타입 캐시 조회만 하고 넘어갑니다.
+     * - pgvector 확장이 없는 DB면 드라이버가 바이너리 전송을 켜지 않고 텍스트로 처리합니다.
+     */
+    public static void register(Connection connection) throws SQLException {
+        BaseConnection base = connection.unwrap(BaseConnection.class);
+        if (base.getTypeInfo().getPGobject(TYPE) != PgVector.class) {
+            connection.unwrap(PGConnection.class).addDataType(TYPE, PgVector.class);
+        }
+    }
+
+    /**
+     * 조회 값 -> float[] (등록된 커넥션이면 PgVector, 아니면 텍스트를 담은 PGobject/String)
+     */
+    public static float[] toArray(Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof PgVector pgVector) {
+            return pgVector.vector;
+        }
+        if (value instanceof PGobject pgObject) {
+            return parse(pgObject.getValue());
+        }
+        return parse(value.toString());
+    }
+
+    @Override
+    public void setByteValue(byte[] value, int offset) {
+        this.vector = PgVectorBinary.decode(value, offset);
+    }
+
+    @Override
+    public int lengthInBytes() {
+        return vector == null ? 0 : PgVectorBinary.length(vector.length);
+    }
+
+    @Override
+    public void toBytes(byte[] bytes, int offset) {
+        PgVectorBinary.encode(vector, bytes, offset);
+    }
+
+    @Override
+    public void setValue(String value) throws SQLException {
+        this.vector = parse(value);
+    }
+
+    @Override
+    public String getValue() {
+        if (vector == null) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder(vector.length * 12).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(vector[i]);
+        }
+        return text.append(']').toString();
+    }
+
+    @Override
+    public boolean isNull() {
+        return vector == null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PgVector pgVector && Arrays.equals(vector, pgVector.vector);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(vector);
+    }
+
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        PgVector copy = (PgVector) super.clone();
+        copy.vector = vector == null ? null : vector.clone();
+        return copy;
+    }
+
+    // vector_out 텍스트 형식 '[1,2,3]'
+    private static float[] parse(String value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        String text = value.trim();
+        if (text.length() < 2 || text.charAt(0) != '[' || text.charAt(text.length() - 1) != ']') {
+            throw new SQLException("vector 텍스트 형식이 올바르지 않습니다: " + text);
+        }
+        if (text.length() == 2) {
+            return new float[0];
+        }
+
+        int count = 1;
+        for (int i = 1; i < text.length() - 1; i++) {
+            if (text.charAt(i) == ',') {
+                count++;
+            }
+        }
+        float[] parsed = new float[count];
+        int start = 1;
+        for (int i = 0; i < count; i++) {
+            int end = text.indexOf(',', start);
+            if (end < 0) {
+                end = text.length() - 1;
+            }
+            try {
+                parsed[i] = Float.parseFloat(text.substring(start, end).trim());
+            } catch (NumberFormatException e) {
+                throw new SQLException("vector 텍스트 형식이 올바르지 않습니다: " + text, e);
+            }
+            start = end + 1;
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,73 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * pgvector 바이너리 표현 변환 (vector_send 결과)
+ * - 형식: dim(int16) + unused(int16) + dim개의 float4, 모두 big-endian
+ * - 조회 시 embedding::text 대신 vector_send(embedding)을 받아 숫자 텍스트 변환/파싱 없이 float[]로 복원합니다.
+ * - 저장/질의 파라미터는 PgVector가 같은 형식으로 인코딩해 vector 타입 그대로 바이너리로 보냅니다.
+ */
+public final class PgVectorBinary {
+
+    private static final VarHandle SHORT_BE = MethodHandles.byteArrayViewVarHandle(short[].class,
+            ByteOrder.BIG_ENDIAN);
+    private static final VarHandle FLOAT_BE = MethodHandles.byteArrayViewVarHandle(float[].class,
+            ByteOrder.BIG_ENDIAN);
+
+    private static final int HEADER_BYTES = 4;
+
+    private PgVectorBinary() {
+    }
+
+    public static float[] decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        int dimensions = Short.toUnsignedInt((short) SHORT_BE.get(bytes, 0));
+        if (bytes.length != length(dimensions)) {
+            throw new IllegalArgumentException("vector 바이너리 길이가 올바르지 않습니다: " + bytes.length);
+        }
+        return decode(bytes, 0);
+    }
+
+    // offset부터 vector 하나를 읽음 (드라이버가 넘기는 수신 버퍼용)
+    public static float[] decode(byte[] bytes, int offset) {
+        int dimensions = Short.toUnsignedInt((short) SHORT_BE.get(bytes, offset));
+        if (bytes.length - offset < length(dimensions)) {
+            throw new IllegalArgumentException("vector 바이너리 길이가 올바르지 않습니다: " + (bytes.length - offset));
+        }
+
+        float[] vector = new float[dimensions];
+        int position = offset + HEADER_BYTES;
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) FLOAT_BE.get(bytes, position + i * Float.BYTES);
+        }
+        return vector;
+    }
+
+    // vector_recv가 받는 형식으로 offset부터 기록 (bytes에 length(vector.length)바이트 이상 남아 있어야 함)
+    public static void encode(float[] vector, byte[] bytes, int offset) {
+        if (vector.length > 0xFFFF) {
+            throw new IllegalArgumentException("vector 차원이 너무 큽니다: " + vector.length);
+        }
+        SHORT_BE.set(bytes, offset, (short) vector.length);
+        SHORT_BE.set(bytes, offset + 2, (short) 0);
+        int position = offset + HEADER_BYTES;
+        for (int i = 0; i < vector.length; i++) {
+            FLOAT_BE.set(bytes, position + i * Float.BYTES, vector[i]);
+        }
+    }
+
+    public static byte[] encode(float[] vector) {
+        byte[] bytes = new byte[length(vector.length)];
+        encode(vector, bytes, 0);
+        return bytes;
+    }
+
+    public static int length(int dimensions) {
+        return HEADER_BYTES + dimensions * Float.BYTES;
+    }
+}
@@ -0,0 +1,70 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * pgvector vector 컬럼 <-> float[] Hibernate 매핑 (@Type(PgVectorType.class))
+ * - 바인딩/조회 모두 PgVector를 거치므로 드라이버가 vector 바이너리 형식으로 주고받습니다.
+ */
+public class PgVectorType implements UserType<float[]> {
+
+    @Override
+    public int getSqlType() {
+        return Types.OTHER;
+    }
+
+    @Override
+    public Class<float[]> returnedClass() {
+        return float[].class;
+    }
+
+    @Override
+    public boolean equals(float[] x, float[] y) {
+        return Arrays.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(float[] x) {
+        return Arrays.hashCode(x);
+    }
+
+    @Override
+    public float[] nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        return PgVector.toArray(rs.getObject(position));
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, float[] value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        PgVector.bind(st, index, value);
+    }
+
+    @Override
+    public float[] deepCopy(float[] value) {
+        return value == null ? null : value.clone();
+    }
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public Serializable disassemble(float[] value) {
+        return deepCopy(value);
+    }
+
+    @Override
+    public float[] assemble(Serializable cached, Object owner) {
+        return deepCopy((float[]) cached);
+    }
+}
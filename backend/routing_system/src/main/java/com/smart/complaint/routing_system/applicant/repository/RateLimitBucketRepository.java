@@ -0,0 +1,55 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 여러 인스턴스가 공유하는 토큰 버킷 (rate_limit_buckets, GCRA)
+ * - 판정과 갱신을 upsert 한 문장으로 처리하고(행 잠금으로 직렬화), 시각은 DB 시계(clock_timestamp)를 써서
+ *   인스턴스 간 시계 차이를 없앱니다.
+ * - 허용되면 새 TAT가 반환되고, 거절되면 행이 갱신되지 않아 아무것도 반환되지 않습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RateLimitBucketRepository {
+
+    private static final String NOW_MS = "(EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::bigint";
+
+    // EXCLUDED.tat_ms = 현재 + interval 이므로 GREATEST(기존 TAT, 현재) + interval = GREATEST(기존 TAT + interval, EXCLUDED.tat_ms)
+    // 파라미터: key, interval, interval, interval, burst - interval
+    private static final String ACQUIRE_SQL = "INSERT INTO rate_limit_buckets AS b (bucket_key, tat_ms) " +
+            "VALUES (?, " + NOW_MS + " + ?) " +
+            "ON CONFLICT (bucket_key) DO UPDATE " +
+            "SET tat_ms = GREATEST(b.tat_ms + ?, EXCLUDED.tat_ms) " +
+            "WHERE GREATEST(b.tat_ms + ?, EXCLUDED.tat_ms) - EXCLUDED.tat_ms <= ? " +
+            "RETURNING tat_ms";
+
+    // 거절 시 다음 토큰까지 남은 시간 (파라미터: interval, burst, key)
+    private static final String WAIT_SQL = "SELECT GREATEST(tat_ms, " + NOW_MS + ") + ? - " + NOW_MS + " - ? " +
+            "FROM rate_limit_buckets WHERE bucket_key = ?";
+
+    private static final String DELETE_FULL_SQL = "DELETE FROM rate_limit_buckets WHERE tat_ms < " + NOW_MS;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return 0이면 허용, 양수면 다음 토큰까지 기다려야 하는 시간(밀리초)
+     */
+    public long tryAcquire(String key, long intervalMs, long burstMs) {
+        List<Long> acquired = jdbcTemplate.queryForList(ACQUIRE_SQL, Long.class,
+                key, intervalMs, intervalMs, intervalMs, burstMs - intervalMs);
+        if (!acquired.isEmpty()) {
+            return 0;
+        }
+        List<Long> wait = jdbcTemplate.queryForList(WAIT_SQL, Long.class, intervalMs, burstMs, key);
+        return wait.isEmpty() ? intervalMs : Math.max(1, wait.get(0));
+    }
+
+    public int deleteFullBuckets() {
+        return jdbcTemplate.update(DELETE_FULL_SQL);
+    }
+}
@@ -0,0 +1,111 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * complaint_normalizations.embedding 근사 최근접 색인(HNSW / IVFFlat)의 DDL 계층
+ * - CREATE/DROP INDEX CONCURRENTLY는 트랜잭션 안에서 실행할 수 없으므로 자동 커밋 커넥션에서 실행합니다.
+ * - 여러 백엔드 인스턴스가 동시에 같은 색인을 만들지 않도록 세션 advisory lock을 잡은 커넥션 하나에서
+ *   상태 조회부터 생성/교체까지 수행합니다. (잠금을 못 잡으면 이번 점검은 건너뜀)
+ */
+@Repository
+@RequiredArgsConstructor
+public class VectorIndexRepository {
+
+    // advisory lock 키 (다른 잠금과 겹치지 않는 임의 상수)
+    private static final long MAINTENANCE_LOCK_KEY = 7_302_118_401L;
+
+    private static final String STATE_SQL = "SELECT am.amname, i.indisvalid, pg_relation_size(c.oid) AS bytes, " +
+            "obj_description(c.oid, 'pg_class') AS description " +
+            "FROM pg_class c JOIN pg_index i ON i.indexrelid = c.oid JOIN pg_am am ON am.oid = c.relam " +
+            "WHERE c.oid = to_regclass(?)";
+
+    private static final String CURRENT_ROWS_SQL = "SELECT count(*) FROM complaint_normalizations " +
+            "WHERE is_current = true AND embedding IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param method      접근 방식 (hnsw / ivfflat)
+     * @param valid       구축이 끝난 색인인지 (CONCURRENTLY 구축이 중간에 실패하면 false로 남음)
+     * @param description 구축 시 기록한 설정/행 수 주석 (VectorIndexManager 형식)
+     */
+    public record IndexState(String method, boolean valid, long bytes, String description) {
+    }
+
+    /**
+     * 색인 관리 작업 실행 (advisory lock을 잡은 커넥션 하나로 묶은 JdbcTemplate을 넘김)
+     * @return 다른 인스턴스가 관리 중이면 empty
+     */
+    public <T> Optional<T> withMaintenanceLock(Function<JdbcTemplate, T> work) {
+        return jdbcTemplate.execute((ConnectionCallback<Optional<T>>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            if (!Boolean.TRUE.equals(session.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class,
+                    MAINTENANCE_LOCK_KEY))) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.ofNullable(work.apply(session));
+            } finally {
+                session.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, MAINTENANCE_LOCK_KEY);
+            }
+        });
+    }
+
+    public Optional<IndexState> state(JdbcTemplate session, String indexName) {
+        List<IndexState> states = session.query(STATE_SQL,
+                (rs, rowNum) -> new IndexState(rs.getString("amname"), rs.getBoolean("indisvalid"),
+                        rs.getLong("bytes"), rs.getString("description")),
+                indexName);
+        return states.stream().findFirst();
+    }
+
+    // 상태 조회 전용 (잠금 없이 풀의 커넥션 사용)
+    public Optional<IndexState> state(String indexName) {
+        return state(jdbcTemplate, indexName);
+    }
+
+    public long currentRows(JdbcTemplate session) {
+        Long rows = session.queryForObject(CURRENT_ROWS_SQL, Long.class);
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * 현재 정규화 행만 대상으로 하는 부분 색인 생성 (쓰기를 막지 않는 CONCURRENTLY)
+     * - indexName/method/opclass/withClause는 호출 측 상수와 정수 설정값으로만 만들어집니다.
+     * @param maintenanceWorkMem 구축 중에만 적용할 maintenance_work_mem (그래프/군집이 메모리에 들어가야 빠름)
+     */
+    public void create(JdbcTemplate session, String indexName, String method, String opclass, String withClause,
+            String maintenanceWorkMem) {
+        session.queryForObject("SELECT set_config('maintenance_work_mem', ?, false)", String.class,
+                maintenanceWorkMem);
+        try {
+            session.execute("CREATE INDEX CONCURRENTLY " + indexName + " ON complaint_normalizations USING "
+                    + method + " (embedding " + opclass + ") WITH (" + withClause + ") WHERE is_current = true");
+        } finally {
+            session.execute("RESET maintenance_work_mem");
+        }
+    }
+
+    public void dropConcurrently(JdbcTemplate session, String indexName) {
+        session.execute("DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+    }
+
+    public void rename(JdbcTemplate session, String from, String to) {
+        session.execute("ALTER INDEX " + from + " RENAME TO " + to);
+    }
+
+    public void describe(JdbcTemplate session, String indexName, String description) {
+        // COMMENT는 바인딩 파라미터를 받지 않으므로 따옴표만 이스케이프 (description은 내부에서 만든 문자열)
+        session.execute("COMMENT ON INDEX " + indexName + " IS '" + description.replace("'", "''") + "'");
+    }
+}
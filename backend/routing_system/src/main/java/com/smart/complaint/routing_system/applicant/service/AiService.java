@@ -1,61 +1,131 @@
 package com.smart.complaint.routing_system.applicant.service;
 
-import com.smart.complaint.routing_system.applicant.dto.ComplaintDto;
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.domain.SearchQuality;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
-import com.smart.complaint.routing_system.applicant.dto.NormalizationResponse;
+import com.smart.complaint.routing_system.applicant.dto.SimilarComplaintFilter;
+import com.smart.complaint.routing_system.applicant.entity.Complaint;
 import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
-import org.springframework.http.MediaType;
+import com.smart.complaint.routing_system.applicant.repository.NormalizationVectorRepository;
+import com.smart.complaint.routing_system.applicant.service.similarity.DatabaseVectorSearch;
+import com.smart.complaint.routing_system.applicant.service.similarity.EmbeddingNormalizer;
+import com.smart.complaint.routing_system.applicant.service.similarity.FilteredVectorSearch;
+import com.smart.complaint.routing_system.applicant.service.similarity.HnswIndex;
+import com.smart.complaint.routing_system.applicant.service.similarity.SimilarComplaintIndex;
+import com.smart.complaint.routing_system.applicant.service.similarity.VectorIndexManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
-import org.springframework.http.HttpStatusCode;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+// AI 서버 HTTP 호출은 AiServerClient(ai.server.base-url)로 일원화
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class AiService {
 
-    private final RestClient restClient;
+    private static final int SIMILAR_LIMIT = 3;
+    private static final int MAX_SIMILAR_LIMIT = 50;
+
     private final ComplaintRepository complaintRepository;
+    private final SimilarComplaintIndex similarComplaintIndex;
+    private final DatabaseVectorSearch databaseVectorSearch;
+    private final VectorIndexManager vectorIndexManager;
+    private final EmbeddingNormalizer embeddingNormalizer;
+    private final FilteredVectorSearch filteredVectorSearch;
+    private final NormalizationVectorRepository normalizationVectorRepository;
 
-    public AiService(ComplaintRepository complaintRepository) {
-        this.complaintRepository = complaintRepository;
-        this.restClient = RestClient.builder()
-                .baseUrl("http://localhost:8000") // FastAPI 주소
-                .build();
+    public List<ComplaintSearchResult> getSimilarityScore(double[] queryEmbedding) {
+        return getSimilarityScore(queryEmbedding, vectorIndexManager.defaultQuality());
     }
 
-    /*
-    public NormalizationResponse getNormalization(ComplaintDto dto) {
-        // Python FastAPI의 ComplaintRequest 구조에 맞춰 Map 생성
-        Map<String, String> pythonRequestBody = Map.of(
-                "title", dto.title(),
-                "body", dto.body(),
-                "district", dto.district()
-        );
-
-        return restClient.post()
-                .uri("/analyze") // Python 엔드포인트
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(pythonRequestBody)
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, (request, response) -> {
-                    throw new RuntimeException("AI 서버 호출 실패");
-                })
-                .body(NormalizationResponse.class);
+    /**
+     * @param quality DB 근사 색인 검색 품질 (hnsw.ef_search / ivfflat.probes), 인메모리 색인과 2단계 검색에는 영향 없음
+     */
+    public List<ComplaintSearchResult> getSimilarityScore(double[] queryEmbedding, SearchQuality quality) {
+        List<ComplaintSearchResult> results = search(queryEmbedding, SIMILAR_LIMIT, quality);
+
+        // 검색 결과가 비어있을 경우에 대한 처리
+        if (results.isEmpty()) {
+            log.debug("유사한 과거 민원을 찾지 못했습니다.");
+        }
+
+        return results;
     }
-    */
 
-    public List<ComplaintSearchResult> getSimilarityScore(double[] queryEmbedding) {
+    /**
+     * 기준 민원과 비슷한 민원 (자치구/부서/접수 기간/상태 조건은 최근접 검색 안에서 적용, 기준 민원 자신은 제외)
+     * @param limit   1 ~ MAX_SIMILAR_LIMIT
+     * @param quality null이면 설정의 기본 품질
+     */
+    public List<ComplaintSearchResult> findSimilarToComplaint(Long complaintId, SimilarComplaintFilter filter,
+            int limit, SearchQuality quality) {
+        float[] embedding = normalizationVectorRepository.findCurrentEmbedding(complaintId)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.EMBEDDING_NOT_FOUND));
+        double[] queryEmbedding = new double[embedding.length];
+        for (int i = 0; i < embedding.length; i++) {
+            queryEmbedding[i] = embedding[i];
+        }
+        int size = Math.max(1, Math.min(limit, MAX_SIMILAR_LIMIT));
+        if (quality == null) {
+            quality = vectorIndexManager.defaultQuality();
+        }
 
-        // 리포지토리를 호출하여 상위 3개의 유사 민원 가져오기
-        List<ComplaintSearchResult> results = complaintRepository.findSimilarComplaint(queryEmbedding, 3);
+        if (filter.hasConditions()) {
+            filter.setExcludeComplaintId(complaintId);
+            return filteredVectorSearch.search(queryEmbedding, filter, size, quality);
+        }
 
-        // 검색 결과가 비어있을 경우에 대한 처리
-        if (results.isEmpty()) {
-            System.out.println("[!] 유사한 과거 민원을 찾지 못했습니다.");
+        // 조건이 없으면 일반 검색 경로에서 한 건 더 찾아 기준 민원 자신을 뺌
+        List<ComplaintSearchResult> results = new ArrayList<>(search(queryEmbedding, size + 1, quality));
+        results.removeIf(result -> complaintId.equals(result.id()));
+        return results.size() > size ? results.subList(0, size) : results;
+    }
+
+    // 인메모리 색인이 준비됐으면 색인 검색, 아니면 DB(pgvector) 검색으로 상위 limit개의 유사 민원 가져오기
+    // (DB 검색은 보조 컬럼 백필이 끝났으면 halfvec/binary 2단계, 아니면 원본 embedding 근사 색인)
+    private List<ComplaintSearchResult> search(double[] queryEmbedding, int limit, SearchQuality quality) {
+        if (similarComplaintIndex.isReady()) {
+            return searchIndex(queryEmbedding, limit);
+        } else if (databaseVectorSearch.isTwoStage()) {
+            return databaseVectorSearch.search(queryEmbedding, limit);
+        } else if (vectorIndexManager.isManaged()) {
+            return vectorIndexManager.search(queryEmbedding, limit, quality);
+        } else if (embeddingNormalizer.isCosine()) {
+            return complaintRepository.findSimilarComplaintByCosine(
+                    EmbeddingNormalizer.normalize(queryEmbedding), limit);
+        }
+        return complaintRepository.findSimilarComplaint(queryEmbedding, limit);
+    }
+
+    // 색인에서 찾은 민원 ID 순서(유사도 내림차순)를 유지한 채 제목/본문 조회
+    private List<ComplaintSearchResult> searchIndex(double[] queryEmbedding, int limit) {
+        float[] query = new float[queryEmbedding.length];
+        for (int i = 0; i < query.length; i++) {
+            query[i] = (float) queryEmbedding[i];
         }
 
+        List<HnswIndex.Neighbor> neighbors = similarComplaintIndex.search(query, limit);
+        Map<Long, Complaint> complaints = complaintRepository
+                .findAllById(neighbors.stream().map(HnswIndex.Neighbor::complaintId).toList())
+                .stream()
+                .collect(Collectors.toMap(Complaint::getId, Function.identity()));
+
+        List<ComplaintSearchResult> results = new ArrayList<>(neighbors.size());
+        for (HnswIndex.Neighbor neighbor : neighbors) {
+            Complaint complaint = complaints.get(neighbor.complaintId());
+            if (complaint != null) {
+                results.add(new ComplaintSearchResult(complaint.getId(), complaint.getTitle(), complaint.getBody(),
+                        neighbor.score()));
+            }
+        }
         return results;
     }
 }
@@ -0,0 +1,174 @@
+package com.smart.complaint.routing_system.applicant.service;
+
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.config.ComplaintAnalysisProperties;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.dto.AiDto;
+import com.smart.complaint.routing_system.applicant.dto.ComplaintAnalysisStatusDto;
+import com.smart.complaint.routing_system.applicant.dto.NormalizationRow;
+import com.smart.complaint.routing_system.applicant.entity.ComplaintAnalysisOutbox;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintAnalysisOutboxRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// AI 분석 아웃박스의 상태 전이를 담당 (각 메서드는 짧은 개별 트랜잭션)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ComplaintAnalysisOutboxService {
+
+    private final ComplaintAnalysisOutboxRepository outboxRepository;
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintService complaintService;
+    private final ComplaintAnalysisProperties properties;
+
+    /**
+     * 1. 작업 점유 (Claim)
+     * - 처리 가능한 요청을 잠그고 PROCESSING + lease 만료 시각으로 바꾼 뒤 바로 커밋합니다.
+     * - AI 호출은 이 트랜잭션 밖에서 수행되므로 DB 커넥션을 오래 붙잡지 않습니다.
+     */
+    public List<ComplaintAnalysisOutbox> claim(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ComplaintAnalysisOutbox> claimed = outboxRepository.findClaimable(now, limit);
+        LocalDateTime leaseUntil = now.plusSeconds(properties.getLeaseSeconds());
+        claimed.forEach(outbox -> outbox.claim(leaseUntil));
+        return claimed;
+    }
+
+    /**
+     * 2. 분석 완료 (Complete)
+     * - 정규화 저장과 아웃박스 완료 처리를 하나의 짧은 트랜잭션으로 묶습니다.
+     * - 저장 중 예외가 나면 함께 롤백되어 재시도 대상으로 남습니다.
+     * - claimedAttempts는 점유 시점의 시도 횟수이며, 그 점유가 아직 유효할 때만 결과를 반영합니다.
+     */
+    public void complete(Long outboxId, int claimedAttempts, AiDto.AnalysisResult result) {
+        ComplaintAnalysisOutbox outbox = outboxRepository.findByIdForUpdate(outboxId)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.ANALYSIS_NOT_FOUND));
+        if (!outbox.isClaimedBy(claimedAttempts)) {
+            logStale(outbox, claimedAttempts);
+            return;
+        }
+
+        complaintService.applyAnalysis(outbox.getComplaintId(), result);
+        outbox.complete();
+    }
+
+    /**
+     * 2-1. 배치 분석 완료 (Complete Batch)
+     * - 항목별 결과를 검증/변환한 뒤 성공 건의 정규화 데이터를 한 번의 JDBC batch insert로 저장합니다.
+     * - 실패 항목은 같은 트랜잭션 안에서 재시도 예약되고, 나머지 항목의 완료 처리는 그대로 진행됩니다.
+     * - claims는 아웃박스 ID별 점유 시점의 시도 횟수이며, 점유를 잃은 항목은 건너뜁니다.
+     */
+    public void completeBatch(Map<Long, Integer> claims, List<AiDto.AnalysisOutcome> outcomes) {
+        Map<Long, AiDto.AnalysisOutcome> outcomeByComplaintId = outcomes.stream()
+                .filter(outcome -> outcome.complaintId() != null)
+                .collect(Collectors.toMap(AiDto.AnalysisOutcome::complaintId, Function.identity(),
+                        (first, second) -> first));
+
+        List<NormalizationRow> rows = new ArrayList<>();
+        List<ComplaintAnalysisOutbox> succeeded = new ArrayList<>();
+        int stale = 0;
+
+        for (ComplaintAnalysisOutbox outbox : outboxRepository.findAllByIdForUpdate(claims.keySet())) {
+            int claimedAttempts = claims.get(outbox.getId());
+            if (!outbox.isClaimedBy(claimedAttempts)) {
+                logStale(outbox, claimedAttempts);
+                stale++;
+                continue;
+            }
+
+            AiDto.AnalysisOutcome outcome = outcomeByComplaintId.get(outbox.getComplaintId());
+            if (outcome == null || !outcome.isSuccess()) {
+                applyFailure(outbox, outcome == null ? "배치 응답에 결과가 없습니다." : outcome.error());
+                continue;
+            }
+
+            try {
+                rows.add(complaintService.prepareNormalization(outbox.getComplaintId(), outcome.result()));
+                succeeded.add(outbox);
+            } catch (BusinessException e) {
+                applyFailure(outbox, e.getMessage());
+            }
+        }
+
+        complaintService.saveNormalizations(rows);
+        succeeded.forEach(ComplaintAnalysisOutbox::complete);
+        log.info("AI 배치 분석 반영 - 성공 {}건, 실패 {}건, 점유 만료 {}건",
+                succeeded.size(), claims.size() - succeeded.size() - stale, stale);
+    }
+
+    /**
+     * 3. 실패 처리 (Reschedule)
+     * - 최대 시도 횟수 전까지는 지수 백오프로 재시도 시각을 지정하고, 초과 시 FAILED로 종료합니다.
+     * - 점유를 잃은 뒤 늦게 도착한 실패는 무시합니다. (이미 완료된 작업이 다시 대기 상태로 돌아가지 않도록)
+     */
+    public void reschedule(Long outboxId, int claimedAttempts, String error) {
+        outboxRepository.findByIdForUpdate(outboxId).ifPresent(outbox -> {
+            if (outbox.isClaimedBy(claimedAttempts)) {
+                applyFailure(outbox, error);
+            } else {
+                logStale(outbox, claimedAttempts);
+            }
+        });
+    }
+
+    private void logStale(ComplaintAnalysisOutbox outbox, int claimedAttempts) {
+        log.warn("점유가 만료된 AI 분석 결과 무시 - 민원 ID: {}, 점유 시도: {}, 현재 상태: {} (시도 {}회)",
+                outbox.getComplaintId(), claimedAttempts, outbox.getStatus(), outbox.getAttempts());
+    }
+
+    private void applyFailure(ComplaintAnalysisOutbox outbox, String error) {
+        if (outbox.getAttempts() >= properties.getMaxAttempts()) {
+            log.error("AI 분석 최종 실패 - 민원 ID: {}, 시도: {}회, 사유: {}",
+                    outbox.getComplaintId(), outbox.getAttempts(), error);
+            outbox.fail(error);
+            return;
+        }
+
+        long delay = Math.min(properties.getBackoffMaxSeconds(),
+                properties.getBackoffBaseSeconds() << Math.min(outbox.getAttempts() - 1, 20));
+        outbox.retryAt(LocalDateTime.now().plusSeconds(Math.max(delay, 0)), error);
+        log.warn("AI 분석 재시도 예약 - 민원 ID: {}, {}초 후, 사유: {}", outbox.getComplaintId(), delay, error);
+    }
+
+    /**
+     * 4. 점유 해제 (Release)
+     * - 워커 큐가 가득 차 실행하지 못한 작업을 시도 횟수 차감 없이 즉시 대기 상태로 돌려놓습니다.
+     */
+    public void release(Long outboxId, int claimedAttempts) {
+        outboxRepository.findByIdForUpdate(outboxId)
+                .filter(outbox -> outbox.isClaimedBy(claimedAttempts))
+                .ifPresent(ComplaintAnalysisOutbox::releaseClaim);
+    }
+
+    // 본인이 접수한 민원의 분석 상태만 조회 가능
+    @Transactional(readOnly = true)
+    public ComplaintAnalysisStatusDto getStatus(Long complaintId, String applicantId) {
+        Long ownerId = complaintRepository.findById(complaintId)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.COMPLAINT_NOT_FOUND))
+                .getApplicantId();
+        if (!String.valueOf(ownerId).equals(applicantId)) {
+            log.warn("다른 민원인의 분석 상태 조회 차단 - 민원 ID: {}, 요청자: {}", complaintId, applicantId);
+            throw new BusinessException(ErrorMessage.NOT_ALLOWED);
+        }
+        return outboxRepository.findFirstByComplaintIdOrderByIdDesc(complaintId)
+                .map(ComplaintAnalysisStatusDto::from)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.ANALYSIS_NOT_FOUND));
+    }
+}
@@ -0,0 +1,119 @@
+package com.smart.complaint.routing_system.applicant.service;
+
+import com.smart.complaint.routing_system.applicant.config.ComplaintAnalysisProperties;
+import com.smart.complaint.routing_system.applicant.dto.AiDto;
+import com.smart.complaint.routing_system.applicant.entity.ComplaintAnalysisOutbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 민원 AI 분석 백그라운드 워커
+ * - 아웃박스를 주기적으로 폴링하여 워커 풀의 빈 자리만큼만 작업을 점유합니다. (작업 1개 = 배치 1개)
+ * - AI 서버 호출은 트랜잭션 밖에서, 결과 저장은 아웃박스 서비스의 짧은 트랜잭션에서 수행합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ComplaintAnalysisWorker {
+
+    private final ComplaintAnalysisOutboxService outboxService;
+    private final ComplaintService complaintService;
+    private final ComplaintAnalysisProperties properties;
+    private final ThreadPoolTaskExecutor analysisExecutor;
+
+    /**
+     * 마이크로 배칭: 폴링 시점에 대기 중인 건을 최대 batch-size(N)건씩 묶어 하나의 작업으로 실행합니다.
+     * - 따로 기다리며 모으지 않으므로 N건 미만이어도 바로 실행합니다. (배치 크기는 폴링 주기 poll-interval-ms 동안 쌓인 건수)
+     * - 대기 건이 N건 이상 쌓여 있으면 워커 풀의 빈 자리만큼 연속으로 배치를 만들고, N건 미만 배치가 나오면 멈춥니다.
+     */
+    @Scheduled(fixedDelayString = "${complaint.analysis.poll-interval-ms:1000}")
+    public void dispatch() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int slots = availableSlots();
+
+        for (int i = 0; i < slots; i++) {
+            List<ComplaintAnalysisOutbox> claimed;
+            try {
+                claimed = outboxService.claim(batchSize);
+            } catch (Exception e) {
+                log.error("AI 분석 아웃박스 조회 실패: {}", e.getMessage());
+                return;
+            }
+            if (claimed.isEmpty()) {
+                return;
+            }
+
+            submit(claimed);
+
+            if (claimed.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void submit(List<ComplaintAnalysisOutbox> claimed) {
+        try {
+            if (claimed.size() == 1) {
+                ComplaintAnalysisOutbox outbox = claimed.get(0);
+                analysisExecutor.execute(() -> analyze(outbox.getId(), outbox.getAttempts(), outbox.getComplaintId()));
+            } else {
+                // 아웃박스 ID -> 점유 시점의 시도 횟수 (결과 반영 시 점유가 아직 유효한지 확인하는 값)
+                Map<Long, Integer> claims = claimed.stream().collect(Collectors.toMap(
+                        ComplaintAnalysisOutbox::getId, ComplaintAnalysisOutbox::getAttempts));
+                List<Long> complaintIds = claimed.stream().map(ComplaintAnalysisOutbox::getComplaintId).toList();
+                analysisExecutor.execute(() -> analyzeBatch(claims, complaintIds));
+            }
+        } catch (TaskRejectedException e) {
+            // 워커 큐가 가득 찬 경우: 점유를 반납하고 다음 폴링에서 다시 시도
+            claimed.forEach(outbox -> outboxService.release(outbox.getId(), outbox.getAttempts()));
+        }
+    }
+
+    private void analyze(Long outboxId, int claimedAttempts, Long complaintId) {
+        try {
+            AiDto.AnalysisResult result = complaintService.analyzeComplaint(complaintId);
+            outboxService.complete(outboxId, claimedAttempts, result);
+            log.info("AI 분석 및 정규화 데이터 저장 성공 - 민원 ID: {}", complaintId);
+        } catch (Exception e) {
+            log.warn("AI 분석 실패 - 민원 ID: {}, 사유: {}", complaintId, e.getMessage());
+            reschedule(outboxId, claimedAttempts, e.getMessage());
+        }
+    }
+
+    private void analyzeBatch(Map<Long, Integer> claims, List<Long> complaintIds) {
+        try {
+            List<AiDto.AnalysisOutcome> outcomes = complaintService.analyzeComplaints(complaintIds);
+            outboxService.completeBatch(claims, outcomes);
+        } catch (Exception e) {
+            // 요청 자체 또는 일괄 저장이 실패한 경우: 배치 전체를 재시도 대상으로
+            log.warn("AI 배치 분석 실패 - {}건, 사유: {}", claims.size(), e.getMessage());
+            claims.forEach((outboxId, claimedAttempts) -> reschedule(outboxId, claimedAttempts, e.getMessage()));
+        }
+    }
+
+    private void reschedule(Long outboxId, int claimedAttempts, String error) {
+        try {
+            outboxService.reschedule(outboxId, claimedAttempts, error);
+        } catch (Exception rescheduleError) {
+            // lease가 만료되면 다른 폴링에서 다시 점유되므로 여기서는 로그만 남김
+            log.error("AI 분석 재시도 예약 실패 - 아웃박스 ID: {}, 사유: {}", outboxId, rescheduleError.getMessage());
+        }
+    }
+
+    // 워커 풀이 지금 받아들일 수 있는 작업 수 (유휴 스레드 + 큐 여유분)
+    private int availableSlots() {
+        int idleThreads = analysisExecutor.getMaxPoolSize() - analysisExecutor.getActiveCount();
+        int queueSpace = analysisExecutor.getQueueCapacity() - analysisExecutor.getQueueSize();
+        return Math.max(0, idleThreads + queueSpace);
+    }
+}
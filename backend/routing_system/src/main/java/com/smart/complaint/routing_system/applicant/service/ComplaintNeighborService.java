@@ -0,0 +1,294 @@
+package com.smart.complaint.routing_system.applicant.service;
+
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.config.SimilaritySearchProperties;
+import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
+import com.smart.complaint.routing_system.applicant.dto.SimilarComplaintFilter;
+import com.smart.complaint.routing_system.applicant.event.EmbeddingsNormalizedEvent;
+import com.smart.complaint.routing_system.applicant.event.NormalizationSavedEvent;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintNeighborRepository;
+import com.smart.complaint.routing_system.applicant.service.similarity.EmbeddingNormalizer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 민원별 유사 민원 top-K 사전 계산 (complaint_neighbors)
+ * - 정규화 저장 트랜잭션이 커밋되면 해당 민원의 top-K를 한 번 계산해 저장하므로
+ *   상세 화면의 유사 사례 조회는 PK 조회 한 번으로 끝납니다.
+ * - 새 민원과 가까운 기존 민원 중 새 민원이 top-K에 들어갈 만한 목록(점수 > K번째 점수)은 stale로 표시하고,
+ *   주기 작업이 다시 계산합니다. (새 민원의 상위 neighbors-reverse-candidates건만 확인하는 근사 - 놓친 목록은 다음 재계산 때 반영)
+ * - 유사도 기준(l2/cosine)이 바뀌면 전체를 stale로 표시하며, 목록의 기준이 현재 기준과 다르면 실시간 검색으로 응답합니다.
+ * - 계산은 전용 단일 스레드에서 하므로 분석 워커와 요청 스레드는 기다리지 않습니다.
+ *   대기열은 COMPUTE_QUEUE_CAPACITY건으로 제한하고 가득 차면 버립니다. (버린 민원은 다음 갱신 작업의 백필/재계산에서 계산)
+ * - 조회 미스로 요청한 계산은 민원별로 하나만 대기열에 두고, 계산이 실패한 민원은 지수 백오프 동안 다시 시도하지 않습니다.
+ * - 임의 텍스트 검색(AiService.getSimilarityScore)과 필터 검색은 그대로 실시간 검색입니다.
+ */
+@Slf4j
+@Service
+public class ComplaintNeighborService {
+
+    // 갱신 작업 한 번에 처리할 최대 배치 수 (스케줄러 스레드를 오래 잡지 않도록)
+    private static final int MAX_BATCHES_PER_RUN = 10;
+
+    // 계산 대기열 최대 길이 (조회 미스가 몰려도 메모리가 늘지 않도록)
+    private static final int COMPUTE_QUEUE_CAPACITY = 1_000;
+
+    // 계산 실패 민원의 재시도 간격 (1분부터 실패할 때마다 두 배, 최대 1시간)
+    private static final long RETRY_BASE_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final long RETRY_MAX_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final SimilaritySearchProperties properties;
+    private final AiService aiService;
+    private final ComplaintNeighborRepository repository;
+    private final EmbeddingNormalizer embeddingNormalizer;
+    private final ThreadPoolExecutor computer;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Failure> failures = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter discardedCounter;
+
+    // 누락 행 백필 keyset 위치 (끝까지 가면 처음부터 다시)
+    private volatile long missingCursor;
+
+    public ComplaintNeighborService(SimilaritySearchProperties properties, AiService aiService,
+            ComplaintNeighborRepository repository, EmbeddingNormalizer embeddingNormalizer,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.aiService = aiService;
+        this.repository = repository;
+        this.embeddingNormalizer = embeddingNormalizer;
+        this.computer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(COMPUTE_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "complaint-neighbors");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.hitCounter = Counter.builder("complaint.similarity.neighbors.lookup").tag("result", "hit")
+                .description("사전 계산된 유사 민원 조회").register(meterRegistry);
+        this.missCounter = Counter.builder("complaint.similarity.neighbors.lookup").tag("result", "miss")
+                .description("사전 계산된 유사 민원 조회").register(meterRegistry);
+        this.discardedCounter = Counter.builder("complaint.similarity.neighbors.discarded")
+                .description("계산 대기열이 가득 차 버린 계산 요청").register(meterRegistry);
+    }
+
+    /**
+     * 유사 민원 (사전 계산 목록, 없으면 실시간 검색 후 계산 요청)
+     * @param limit neighbors-k 이하 (호출 측에서 확인)
+     */
+    public List<ComplaintSearchResult> findSimilar(Long complaintId, int limit) {
+        Optional<List<ComplaintSearchResult>> precomputed = repository.find(complaintId,
+                embeddingNormalizer.activeMetric(), limit);
+        if (precomputed.isPresent()) {
+            hitCounter.increment();
+            return precomputed.get();
+        }
+        missCounter.increment();
+        List<ComplaintSearchResult> results = aiService.findSimilarToComplaint(complaintId,
+                new SimilarComplaintFilter(), limit, null);
+        // 같은 민원은 대기 중인 계산이 있거나 재시도 대기 중이면 다시 요청하지 않음
+        if (!isBackingOff(complaintId) && pending.add(complaintId) && !submit(() -> {
+            try {
+                computeQuietly(complaintId, false);
+            } finally {
+                pending.remove(complaintId);
+            }
+        })) {
+            pending.remove(complaintId);
+        }
+        return results;
+    }
+
+    public boolean covers(int limit) {
+        return limit <= properties.getNeighborsK();
+    }
+
+    // 분석 결과가 커밋된 민원만 계산 (롤백된 임베딩이 목록에 들어가지 않도록)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNormalizationSaved(NormalizationSavedEvent event) {
+        if (!event.complaintIds().isEmpty()) {
+            submit(() -> event.complaintIds().forEach(id -> computeQuietly(id, true)));
+        }
+    }
+
+    // 기존 행 정규화(l2 -> cosine)가 끝나면 점수 기준이 바뀌므로 전체 재계산
+    @EventListener(EmbeddingsNormalizedEvent.class)
+    public void onEmbeddingsNormalized() {
+        // 대기열이 가득 차도 빠지면 안 되므로 이 스레드에서 바로 표시 (UPDATE 한 번)
+        log.info("유사도 기준 변경 - 사전 계산 목록 {}건 stale 표시", repository.markAllStale());
+    }
+
+    /**
+     * stale 목록 재계산 + 아직 계산되지 않은 민원 백필
+     * - 계산 자체는 전용 스레드에서 하며, 이전 실행이 끝나지 않았으면 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${complaint.similarity.neighbors-refresh-interval-ms:60000}",
+            initialDelayString = "${complaint.similarity.neighbors-refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        boolean submitted = submit(() -> {
+            try {
+                int refreshed = 0;
+                for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                    List<Long> ids = repository.findStale(properties.getNeighborsRefreshBatchSize());
+                    ids.forEach(id -> retryQuietly(id, false));
+                    refreshed += ids.size();
+                    if (ids.size() < properties.getNeighborsRefreshBatchSize()) {
+                        break;
+                    }
+                }
+                int filled = 0;
+                for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                    List<Long> ids = repository.findMissing(missingCursor, properties.getNeighborsRefreshBatchSize());
+                    if (ids.isEmpty()) {
+                        missingCursor = 0;
+                        break;
+                    }
+                    ids.forEach(id -> retryQuietly(id, true));
+                    missingCursor = ids.get(ids.size() - 1);
+                    filled += ids.size();
+                }
+                if (refreshed + filled > 0) {
+                    log.info("유사 민원 사전 계산 갱신 - 재계산 {}건, 신규 {}건", refreshed, filled);
+                }
+            } catch (Exception e) {
+                log.warn("유사 민원 사전 계산 갱신 실패: {}", e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        });
+        if (!submitted) {
+            refreshing.set(false);
+        }
+    }
+
+    // 대기열이 가득 차면 버림 (false)
+    private boolean submit(Runnable task) {
+        try {
+            computer.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            discardedCounter.increment();
+            return false;
+        }
+    }
+
+    private boolean isBackingOff(Long complaintId) {
+        Failure failure = failures.get(complaintId);
+        return failure != null && System.currentTimeMillis() < failure.retryAt();
+    }
+
+    // 갱신 작업용 - 재시도 대기 중인 민원은 건너뜀
+    private void retryQuietly(Long complaintId, boolean markReverse) {
+        if (!isBackingOff(complaintId)) {
+            computeQuietly(complaintId, markReverse);
+        }
+    }
+
+    private void computeQuietly(Long complaintId, boolean markReverse) {
+        try {
+            compute(complaintId, markReverse);
+            failures.remove(complaintId);
+        } catch (BusinessException e) {
+            // 그사이 현재 임베딩이 없어진 민원 - 목록을 지우고, 임베딩이 다시 저장되면 백필에서 계산
+            repository.delete(complaintId);
+            failures.remove(complaintId);
+            log.debug("유사 민원 사전 계산 건너뜀 - 민원 {}: {}", complaintId, e.getMessage());
+        } catch (Exception e) {
+            Failure failure = failures.merge(complaintId, Failure.first(),
+                    (previous, ignored) -> previous.next());
+            log.warn("유사 민원 사전 계산 실패 - 민원 {} ({}회째, {}초 뒤 재시도): {}", complaintId, failure.attempts(),
+                    (failure.retryAt() - System.currentTimeMillis()) / 1000, e.getMessage());
+            // stale 목록이면 계산 시각을 미뤄 다음 배치가 같은 민원만 다시 가져오지 않게 함
+            try {
+                repository.postpone(complaintId);
+            } catch (Exception ignored) {
+                // 목록 갱신은 다음 재시도에서
+            }
+        }
+    }
+
+    private record Failure(int attempts, long retryAt) {
+
+        static Failure first() {
+            return new Failure(1, System.currentTimeMillis() + RETRY_BASE_MS);
+        }
+
+        Failure next() {
+            long delay = Math.min(RETRY_MAX_MS, RETRY_BASE_MS << Math.min(attempts, 6));
+            return new Failure(attempts + 1, System.currentTimeMillis() + delay);
+        }
+    }
+
+    /**
+     * @param markReverse 새로 들어온 민원이면 이 민원이 들어갈 수 있는 기존 목록을 stale로 표시
+     */
+    private void compute(Long complaintId, boolean markReverse) {
+        int k = properties.getNeighborsK();
+        int candidates = markReverse ? Math.max(k, properties.getNeighborsReverseCandidates()) : k;
+        String metric = embeddingNormalizer.activeMetric();
+        List<ComplaintSearchResult> results = aiService.findSimilarToComplaint(complaintId,
+                new SimilarComplaintFilter(), candidates, null);
+
+        int size = Math.min(k, results.size());
+        long[] ids = new long[size];
+        float[] scores = new float[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = results.get(i).id();
+            scores[i] = (float) results.get(i).simScore();
+        }
+        repository.upsert(complaintId, ids, scores, size == k ? scores[k - 1] : null, metric);
+
+        if (markReverse && !results.isEmpty()) {
+            long[] reverseIds = new long[results.size()];
+            float[] reverseScores = new float[results.size()];
+            for (int i = 0; i < results.size(); i++) {
+                reverseIds[i] = results.get(i).id();
+                reverseScores[i] = (float) results.get(i).simScore();
+            }
+            repository.markStaleIfEntered(reverseIds, reverseScores);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 계산 중이던 목록은 행이 없거나 stale로 남아 다음 갱신 작업에서 다시 계산
+        computer.shutdownNow();
+        computer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    public Map<String, Object> stats() {
+        ComplaintNeighborRepository.Counts counts = repository.counts();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("k", properties.getNeighborsK());
+        stats.put("rows", counts.total());
+        stats.put("stale", counts.stale());
+        stats.put("hits", hitCounter.count());
+        stats.put("misses", missCounter.count());
+        return stats;
+    }
+}
@@ -2,6 +2,7 @@ package com.smart.complaint.routing_system.applicant.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.domain.AnalysisStatus;
 import com.smart.complaint.routing_system.applicant.domain.ComplaintStatus;
 import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
 import com.smart.complaint.routing_system.applicant.dto.AiDto;
@@ -12,36 +13,53 @@ import com.smart.complaint.routing_system.applicant.dto.ComplaintRerouteRequest;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintStatDto;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintSubmitDto;
 import com.smart.complaint.routing_system.applicant.dto.KeywordsDto;
+import com.smart.complaint.routing_system.applicant.dto.NormalizationRow;
 import com.smart.complaint.routing_system.applicant.entity.ChildComplaint;
 import com.smart.complaint.routing_system.applicant.entity.Complaint;
+import com.smart.complaint.routing_system.applicant.entity.ComplaintAnalysisOutbox;
 import com.smart.complaint.routing_system.applicant.entity.ComplaintNormalization;
 import com.smart.complaint.routing_system.applicant.entity.ComplaintReroute;
 import com.smart.complaint.routing_system.applicant.entity.Department;
+import com.smart.complaint.routing_system.applicant.entity.District;
+import com.smart.complaint.routing_system.applicant.entity.Incident;
+import com.smart.complaint.routing_system.applicant.event.ComplaintReceivedEvent;
+import com.smart.complaint.routing_system.applicant.event.NormalizationSavedEvent;
 import com.smart.complaint.routing_system.applicant.repository.ChildComplaintRepository;
-import com.smart.complaint.routing_system.applicant.repository.ComplaintNormalizationRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintAnalysisOutboxRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintNormalizationBatchRepository;
 import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
 import com.smart.complaint.routing_system.applicant.repository.ComplaintRerouteRepository;
 import com.smart.complaint.routing_system.applicant.repository.DepartmentRepository;
+import com.smart.complaint.routing_system.applicant.repository.DistrictRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentRepository;
+import com.smart.complaint.routing_system.applicant.service.ai.AiResponseDecoder;
+import com.smart.complaint.routing_system.applicant.service.ai.AiServerClient;
+import com.smart.complaint.routing_system.applicant.service.ai.AnalysisResultCache;
+import com.smart.complaint.routing_system.applicant.service.dedup.LshIndex;
+import com.smart.complaint.routing_system.applicant.service.dedup.NearDuplicateDetector;
+import com.smart.complaint.routing_system.applicant.service.similarity.DatabaseVectorSearch;
+import com.smart.complaint.routing_system.applicant.service.similarity.EmbeddingNormalizer;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -54,8 +72,17 @@ public class ComplaintService {
     private final ComplaintRerouteRepository rerouteRepository;
     private final ChildComplaintRepository childComplaintRepository;
     private final DepartmentRepository departmentRepository;
-    private final ComplaintNormalizationRepository complaintNormalizationRepository;
-    private final RestTemplate restTemplate;
+    private final DistrictRepository districtRepository;
+    private final IncidentRepository incidentRepository;
+    private final ComplaintNormalizationBatchRepository normalizationBatchRepository;
+    private final ComplaintAnalysisOutboxRepository analysisOutboxRepository;
+    private final AiServerClient aiServerClient;
+    private final AiResponseDecoder aiResponseDecoder;
+    private final AnalysisResultCache analysisResultCache;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmbeddingNormalizer embeddingNormalizer;
+    private final DatabaseVectorSearch databaseVectorSearch;
 
     /**
      * 1. 담당자 배정 (Assign)
@@ -193,6 +220,11 @@ public class ComplaintService {
 
         log.info("민원 접수 프로세스 시작 - 민원인 ID: {}", applicantId);
 
+        // 발생 구역은 근접 중복 탐지와 사건 연결의 자치구 파티션 기준이므로 접수 시점에 바로 연결
+        Integer districtId = complaintSubmitDto.getDistrictId() == null ? null
+                : Math.toIntExact(complaintSubmitDto.getDistrictId());
+        District district = districtId == null ? null : districtRepository.getReferenceById(districtId);
+
         Complaint newComplaint = Complaint.builder()
                 .applicantId(Long.parseLong(applicantId))
                 .title(complaintSubmitDto.getTitle())
@@ -200,6 +232,7 @@ public class ComplaintService {
                 .addressText(complaintSubmitDto.getAddressText())
                 .lat(complaintSubmitDto.getLat())
                 .lon(complaintSubmitDto.getLon())
+                .district(district)
                 .status(ComplaintStatus.RECEIVED) // 테이블의 DEFAULT값과 일치시키거나 열거형 사용
                 .receivedAt(LocalDateTime.now())
                 .createdAt(LocalDateTime.now())
@@ -207,36 +240,99 @@ public class ComplaintService {
                 .build();
 
         complaintRepository.save(newComplaint);
-        log.info("민원 기본 저장 완료. ID: {}", newComplaint.getId());
+
+        boolean linked = nearDuplicateDetector.findDuplicate(districtId, newComplaint.getTitle(), newComplaint.getBody())
+                .map(match -> linkToDuplicate(newComplaint, match))
+                .orElse(false);
+
+        if (linked) {
+            // 기존 분석 결과를 재사용했으므로 분석 요청은 완료 상태로만 기록 (상태 조회 API 호환)
+            analysisOutboxRepository.save(ComplaintAnalysisOutbox.builder()
+                    .complaintId(newComplaint.getId())
+                    .status(AnalysisStatus.COMPLETED)
+                    .completedAt(LocalDateTime.now())
+                    .build());
+        } else {
+            // AI 분석 요청을 같은 트랜잭션에 기록 -> 커밋 후 백그라운드 워커가 처리
+            analysisOutboxRepository.save(ComplaintAnalysisOutbox.builder()
+                    .complaintId(newComplaint.getId())
+                    .build());
+        }
+        eventPublisher.publishEvent(new ComplaintReceivedEvent(newComplaint.getId(), districtId,
+                newComplaint.getTitle(), newComplaint.getBody()));
+        log.info("민원 기본 저장 및 분석 요청 등록 완료. ID: {}", newComplaint.getId());
 
         return newComplaint.getId();
     }
 
-    @Transactional
-    public void processAiResponse(String rawResponseBody, Long complaintId) {
-        try {
-            // 1. 전체 응답 파싱 (status, data) -> {"status": "success", "data": "..."} 받아온 데이터
-            AiDto.Response responseWrapper = objectMapper.readValue(rawResponseBody, AiDto.Response.class);
+    /**
+     * 근접 중복 민원 연결
+     * - 원본 민원의 현재 정규화 데이터(분석 결과/임베딩)를 복사하고, 배정 부서와 사건(incident)을 그대로 따릅니다.
+     * - 사건 민원 수는 UPDATE 한 문장으로 올려 동시에 들어온 중복 민원의 증가분이 사라지지 않게 하고,
+     *   연결 점수에는 근접 중복 유사도를 기록합니다.
+     * - 원본이 아직 분석 전이면 연결하지 않고 일반 분석 경로로 보냅니다.
+     */
+    private boolean linkToDuplicate(Complaint complaint, LshIndex.Match match) {
+        Complaint source = complaintRepository.findById(match.id()).orElse(null);
+        if (source == null || normalizationBatchRepository.copyCurrent(source.getId(), complaint.getId(),
+                databaseVectorSearch.storesQuantized()) == 0) {
+            return false;
+        }
+
+        eventPublisher.publishEvent(new NormalizationSavedEvent(List.of(complaint.getId())));
 
-            // 2. data 내 마크다운 제거 (```json ... ``` 부분 추출)
-            // langflow는 앞에 '''json을 붙인다
-            String cleanJson = responseWrapper.data()
-                    .replaceAll("```json", "")
-                    .replaceAll("```", "")
-                    .trim();
+        complaint.setDepartment(source.getCurrentDepartmentId());
+        complaint.setAiPredicted(source.getAiPredictedDepartmentId());
 
-            // 3. 실제 분석 데이터 객체로 변환 -> 추천 순위와 분석 데이터
-            AiDto.Analysis analysis = objectMapper.readValue(cleanJson, AiDto.Analysis.class);
+        Incident incident = source.getIncident();
+        if (incident != null) {
+            incidentRepository.incrementComplaintCount(incident.getId());
+            complaint.linkIncident(incident, BigDecimal.valueOf(match.similarity()).setScale(4, RoundingMode.HALF_UP));
+        }
 
-            // 4. DB 저장 처리
-            saveNormalizationData(complaintId, analysis, responseWrapper.embedding());
+        log.info("근접 중복 민원 연결 - 민원 ID: {}, 원본 ID: {}, 유사도: {}",
+                complaint.getId(), source.getId(), String.format("%.3f", match.similarity()));
+        return true;
+    }
 
+    /**
+     * 분석 결과 반영 (단건)
+     * - 정규화 데이터를 저장하고 민원의 배정 부서를 갱신합니다.
+     */
+    @Transactional
+    public void applyAnalysis(Long complaintId, AiDto.AnalysisResult result) {
+        saveNormalizations(List.of(prepareNormalization(complaintId, result)));
+    }
+
+    /**
+     * 분석 결과 1건을 정규화 INSERT 값으로 변환하고 민원의 배정 부서를 갱신합니다.
+     * - 배치 처리 시 항목 하나의 실패가 전체 트랜잭션을 롤백 전용으로 만들지 않도록
+     * BusinessException은 롤백 대상에서 제외합니다. (실패 항목은 호출 측에서 재시도 처리)
+     */
+    @Transactional(noRollbackFor = BusinessException.class)
+    public NormalizationRow prepareNormalization(Long complaintId, AiDto.AnalysisResult result) {
+        try {
+            return buildNormalizationData(complaintId, result.analysis(), result.embedding());
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("AI 데이터 파싱 및 저장 실패: {}", e.getMessage());
+            // 예외를 전파하여 아웃박스 재시도 대상으로 남긴다
+            log.error("AI 데이터 변환 및 저장 실패: {}", e.getMessage());
+            throw new BusinessException(ErrorMessage.AI_ANALYSIS_FAILED);
+        }
+    }
+
+    // 정규화 데이터 저장 (여러 건을 한 번의 JDBC batch insert로 전송)
+    @Transactional
+    public void saveNormalizations(List<NormalizationRow> rows) {
+        normalizationBatchRepository.insertAll(rows, databaseVectorSearch.storesQuantized());
+        if (!rows.isEmpty()) {
+            eventPublisher.publishEvent(new NormalizationSavedEvent(
+                    rows.stream().map(NormalizationRow::complaintId).toList()));
         }
     }
 
-    private void saveNormalizationData(Long complaintId, AiDto.Analysis analysis, float[] embeddingArray)
+    private NormalizationRow buildNormalizationData(Long complaintId, AiDto.Analysis analysis, float[] embeddingArray)
             throws Exception {
 
         List<String> keywordList = Arrays.stream(analysis.originalAnalysis().keywords().split(","))
@@ -274,7 +370,7 @@ public class ComplaintService {
         complaint.setDepartment(departmentId);
         complaint.setAiPredicted(departmentId);
 
-        complaintNormalizationRepository.insertNormalization(
+        return new NormalizationRow(
                 complaintId,
                 analysis.recommendations().isEmpty() ? "미지정" : analysis.recommendations().get(0).recommendedDept(),
                 neutralSummary,
@@ -282,46 +378,94 @@ public class ComplaintService {
                 analysis.originalAnalysis().category(),
                 keywordsJson,
                 routingRankJson,
-                embeddingArray, // float[]를 그대로 전달
+                embeddingNormalizer.forStorage(embeddingArray), // metric=cosine이면 단위 벡터로 정규화
                 true);
     }
 
-    public void analyzeComplaint(Long id, String applicantId, ComplaintSubmitDto complaintSubmitDto) {
-        String pythonUrl = "http://complaint-ai-server:8000/api/complaints/preprocess";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        Map<String, Object> pythonRequest = new HashMap<>();
-        pythonRequest.put("id", id); // 생성된 ID 추가
-        pythonRequest.put("title", complaintSubmitDto.getTitle());
-        pythonRequest.put("body", complaintSubmitDto.getBody());
-        pythonRequest.put("addressText", complaintSubmitDto.getAddressText());
-        pythonRequest.put("lat", complaintSubmitDto.getLat());
-        pythonRequest.put("lon", complaintSubmitDto.getLon());
-        pythonRequest.put("applicantId", applicantId);
-        pythonRequest.put("districtId", 3);
+    /**
+     * AI 분석 서버 호출 - 단건 (아웃박스 워커 전용)
+     * - 트랜잭션 없이 실행하여 LLM 응답을 기다리는 동안 DB 커넥션을 점유하지 않습니다.
+     * - 같은 내용(정규화한 제목+본문)의 분석 결과가 캐시에 있으면 AI 서버를 호출하지 않습니다.
+     * - 실패 시 예외를 던져 워커가 재시도하도록 합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AiDto.AnalysisResult analyzeComplaint(Long id) {
+        Complaint complaint = complaintRepository.findById(id)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.COMPLAINT_NOT_FOUND));
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(pythonRequest, headers);
-        try {
-            // Python 서버 호출 (POST)
-            ResponseEntity<String> response = restTemplate.postForEntity(pythonUrl, entity, String.class);
+        Optional<AiDto.AnalysisResult> cached = analysisResultCache.get(complaint.getTitle(), complaint.getBody());
+        if (cached.isPresent()) {
+            log.info("AI 분석 캐시 적중 - 민원 ID: {}", id);
+            return cached.get();
+        }
 
-            // 2. 응답 상태가 성공(2xx)인 경우에만 후속 처리 진행
-            if (response.getStatusCode().is2xxSuccessful()) {
-                String responseBody = response.getBody(); // 내용물(String)만 추출
+        // Python 서버 호출 (POST) - 레플리카 선택/헤지/타임아웃/서킷 브레이커는 AiServerClient가 담당
+        byte[] responseBody = aiServerClient.preprocess(id, toPreprocessRequest(complaint));
 
-                log.info("AI 분석 서버 응답 수신 성공");
+        AiDto.AnalysisResult result = aiResponseDecoder.decode(responseBody);
+        analysisResultCache.put(complaint.getTitle(), complaint.getBody(), result);
 
-                // 3. 추출한 String 본문을 파싱 로직으로 전달 id는 민원의 PK
-                processAiResponse(responseBody, id);
+        log.info("AI 분석 서버 응답 수신 성공 - 민원 ID: {}", id);
+        return result;
+    }
 
-                log.info("AI 분석 및 정규화 데이터 저장 성공");
+    /**
+     * AI 분석 서버 호출 - 배치 (아웃박스 워커 전용)
+     * - 캐시에 없는 민원만 모아 한 번의 요청으로 전송하고 민원 단위 결과를 반환합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<AiDto.AnalysisOutcome> analyzeComplaints(List<Long> ids) {
+        List<AiDto.AnalysisOutcome> outcomes = new ArrayList<>();
+        Map<Long, Complaint> misses = new HashMap<>();
+
+        for (Complaint complaint : complaintRepository.findAllById(ids)) {
+            Optional<AiDto.AnalysisResult> cached = analysisResultCache.get(complaint.getTitle(), complaint.getBody());
+            if (cached.isPresent()) {
+                outcomes.add(AiDto.AnalysisOutcome.success(complaint.getId(), cached.get()));
             } else {
-                log.warn("AI 분석 서버 응답은 성공이나 상태 코드가 2xx가 아님: {}", response.getStatusCode());
+                misses.put(complaint.getId(), complaint);
             }
-        } catch (Exception e) {
-            log.error("AI 분석 서버 통신 실패 (민원은 접수됨): {}", e.getMessage());
         }
+
+        if (misses.isEmpty()) {
+            log.info("AI 배치 분석 - 요청 {}건 모두 캐시 적중", ids.size());
+            return outcomes;
+        }
+
+        List<Map<String, Object>> items = misses.values().stream()
+                .map(this::toPreprocessRequest)
+                .toList();
+        List<AiDto.AnalysisOutcome> results = aiResponseDecoder.decodeBatch(
+                aiServerClient.preprocessBatch(new AiDto.BatchRequest(items)));
+
+        for (AiDto.AnalysisOutcome outcome : results) {
+            Complaint complaint = misses.get(outcome.complaintId());
+            if (complaint == null) {
+                continue;
+            }
+            if (outcome.isSuccess()) {
+                analysisResultCache.put(complaint.getTitle(), complaint.getBody(), outcome.result());
+            }
+            outcomes.add(outcome);
+        }
+
+        log.info("AI 배치 분석 응답 수신 - 요청 {}건, 캐시 적중 {}건, 결과 {}건",
+                ids.size(), ids.size() - misses.size(), results.size());
+        return outcomes;
+    }
+
+    // Python ComplaintRequest 구조에 맞춘 전처리 요청 본문
+    private Map<String, Object> toPreprocessRequest(Complaint complaint) {
+        Map<String, Object> pythonRequest = new HashMap<>();
+        pythonRequest.put("id", complaint.getId()); // 생성된 ID 추가
+        pythonRequest.put("title", complaint.getTitle());
+        pythonRequest.put("body", complaint.getBody());
+        pythonRequest.put("addressText", complaint.getAddressText());
+        pythonRequest.put("lat", complaint.getLat());
+        pythonRequest.put("lon", complaint.getLon());
+        pythonRequest.put("applicantId", complaint.getApplicantId());
+        pythonRequest.put("districtId", 3);
+        return pythonRequest;
     }
 
     @Transactional
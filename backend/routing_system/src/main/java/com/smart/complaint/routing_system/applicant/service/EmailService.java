@@ -6,6 +6,7 @@ import com.smart.complaint.routing_system.applicant.config.BusinessException;
 import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
 
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -14,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 public class EmailService {
     
     private final JavaMailSender mailSender;
+    private final ThreadPoolTaskExecutor mailExecutor;
 
     public void sendMail(String to, String subject, String body) {
 
@@ -23,7 +25,11 @@ public class EmailService {
             helper.setTo(to);
             helper.setSubject(subject);
             helper.setText(body, true); // true indicates HTML content
-            mailSender.send(message);
+            // SMTP 발송은 메일 전용 플랫폼 스레드에서 (가상 스레드 pinning 방지), 결과는 기다려서 실패를 그대로 알림
+            mailExecutor.submit(() -> mailSender.send(message)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorMessage.EMAIL_SEND_FAILURE);
         } catch (Exception e) {
             throw new BusinessException(ErrorMessage.EMAIL_SEND_FAILURE);
         }
@@ -0,0 +1,186 @@
+package com.smart.complaint.routing_system.applicant.service;
+
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.config.SimilaritySearchProperties;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.domain.SearchQuality;
+import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
+import com.smart.complaint.routing_system.applicant.dto.HybridSearchResponse;
+import com.smart.complaint.routing_system.applicant.dto.HybridSearchResult;
+import com.smart.complaint.routing_system.applicant.dto.SimilarComplaintFilter;
+import com.smart.complaint.routing_system.applicant.entity.Complaint;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintTextSearchRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 하이브리드 유사 민원 검색 (임베딩 최근접 + 전문 검색, Reciprocal Rank Fusion)
+ * - 임베딩 검색은 도로명/버스 번호/지번 같은 식별자를 잘 구분하지 못하므로 전문 검색 결과와 순위를 합칩니다.
+ * - 두 검색은 hybridSearchExecutor에서 병렬로 실행하고, 각자 시간 예산 안에 끝난 결과만 합칩니다.
+ *   (CompletableFuture는 취소해도 실행 중인 작업을 멈추지 않으므로, 두 검색 모두 같은 예산으로 DB statement_timeout을 걸어
+ *    예산을 넘긴 쿼리가 executor 스레드와 DB 연결을 계속 잡고 있지 않게 함)
+ * - RRF 점수 = sum(1 / (k + 순위)) - 두 검색의 점수 척도가 달라도 순위만으로 합칠 수 있습니다.
+ */
+@Slf4j
+@Service
+public class HybridSearchService {
+
+    public static final String VECTOR = "vector";
+    public static final String LEXICAL = "lexical";
+
+    private final SimilaritySearchProperties properties;
+    private final AiService aiService;
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintTextSearchRepository textSearchRepository;
+    private final ThreadPoolTaskExecutor hybridSearchExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<String, Timer> legTimers = new LinkedHashMap<>();
+    private final Map<String, Counter> skippedCounters = new LinkedHashMap<>();
+
+    public HybridSearchService(SimilaritySearchProperties properties, AiService aiService,
+            ComplaintRepository complaintRepository, ComplaintTextSearchRepository textSearchRepository,
+            ThreadPoolTaskExecutor hybridSearchExecutor, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.aiService = aiService;
+        this.complaintRepository = complaintRepository;
+        this.textSearchRepository = textSearchRepository;
+        this.hybridSearchExecutor = hybridSearchExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        for (String leg : List.of(VECTOR, LEXICAL)) {
+            legTimers.put(leg, Timer.builder("complaint.similarity.hybrid.leg").tag("leg", leg)
+                    .description("하이브리드 검색 구성 검색별 실행 시간").register(meterRegistry));
+            skippedCounters.put(leg, Counter.builder("complaint.similarity.hybrid.skipped").tag("leg", leg)
+                    .description("시간 예산 초과/실패로 결과에서 빠진 횟수").register(meterRegistry));
+        }
+    }
+
+    /**
+     * @param complaintId 기준 민원 (임베딩 검색의 질의, 자신은 결과에서 제외)
+     * @param text        전문 검색어 (비어 있으면 기준 민원 제목)
+     * @param filter      두 검색에 같이 적용할 조건
+     */
+    public HybridSearchResponse search(Long complaintId, String text, SimilarComplaintFilter filter, int limit,
+            SearchQuality quality) {
+        String lexicalQuery = StringUtils.hasText(text) ? text : complaintRepository.findById(complaintId)
+                .map(Complaint::getTitle)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.COMPLAINT_NOT_FOUND));
+        filter.setExcludeComplaintId(complaintId);
+        int candidates = Math.max(limit, properties.getHybridCandidates());
+
+        long start = System.nanoTime();
+        // 임베딩 검색 안의 조회/트랜잭션은 이 읽기 전용 트랜잭션에 합류하므로 statement_timeout이 모두에 걸림
+        CompletableFuture<List<ComplaintSearchResult>> vector = submit(VECTOR,
+                () -> readOnlyTransaction.execute(status -> {
+                    textSearchRepository.setStatementTimeout(properties.getHybridVectorBudgetMs());
+                    return aiService.findSimilarToComplaint(complaintId, filter, candidates, quality);
+                }));
+        CompletableFuture<List<ComplaintSearchResult>> lexical = submit(LEXICAL,
+                () -> readOnlyTransaction.execute(status -> {
+                    textSearchRepository.setStatementTimeout(properties.getHybridLexicalBudgetMs());
+                    return textSearchRepository.search(lexicalQuery, filter, candidates);
+                }));
+
+        List<String> skipped = new ArrayList<>();
+        List<ComplaintSearchResult> vectorResults = await(VECTOR, vector,
+                start + TimeUnit.MILLISECONDS.toNanos(properties.getHybridVectorBudgetMs()), skipped);
+        List<ComplaintSearchResult> lexicalResults = await(LEXICAL, lexical,
+                start + TimeUnit.MILLISECONDS.toNanos(properties.getHybridLexicalBudgetMs()), skipped);
+
+        return new HybridSearchResponse(fuse(vectorResults, lexicalResults, properties.getHybridRrfK(), limit), skipped);
+    }
+
+    private CompletableFuture<List<ComplaintSearchResult>> submit(String leg,
+            Supplier<List<ComplaintSearchResult>> work) {
+        Timer timer = legTimers.get(leg);
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(work), hybridSearchExecutor);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 마감 시각까지 기다린 결과 (초과/실패면 빈 결과로 두고 skipped에 기록)
+    private List<ComplaintSearchResult> await(String leg, CompletableFuture<List<ComplaintSearchResult>> future,
+            long deadlineNanos, List<String> skipped) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 실행 중인 쿼리는 statement_timeout으로 DB에서 끝나므로 여기서는 결과만 버림
+            log.debug("하이브리드 검색 {} 시간 예산 초과", leg);
+        } catch (ExecutionException e) {
+            // 분석 전 민원(임베딩 없음)은 전문 검색만으로 응답
+            if (!(e.getCause() instanceof BusinessException)) {
+                log.warn("하이브리드 검색 {} 실패: {}", leg, e.getCause().getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        skippedCounters.get(leg).increment();
+        skipped.add(leg);
+        return List.of();
+    }
+
+    // 두 검색 결과를 RRF 점수 내림차순으로 합침 (점수가 같으면 임베딩 검색에 먼저 나온 민원이 앞)
+    static List<HybridSearchResult> fuse(List<ComplaintSearchResult> vectorResults,
+            List<ComplaintSearchResult> lexicalResults, int rrfK, int limit) {
+        Map<Long, Fused> fused = new LinkedHashMap<>();
+        for (int i = 0; i < vectorResults.size(); i++) {
+            ComplaintSearchResult result = vectorResults.get(i);
+            Fused entry = fused.computeIfAbsent(result.id(), id -> new Fused(result));
+            entry.vectorScore = result.simScore();
+            entry.vectorRank = i + 1;
+            entry.score += 1.0 / (rrfK + i + 1);
+        }
+        for (int i = 0; i < lexicalResults.size(); i++) {
+            ComplaintSearchResult result = lexicalResults.get(i);
+            Fused entry = fused.computeIfAbsent(result.id(), id -> new Fused(result));
+            entry.lexicalScore = result.simScore();
+            entry.lexicalRank = i + 1;
+            entry.score += 1.0 / (rrfK + i + 1);
+        }
+
+        return fused.values().stream()
+                .sorted(Comparator.comparingDouble((Fused entry) -> entry.score).reversed())
+                .limit(limit)
+                .map(entry -> new HybridSearchResult(entry.source.id(), entry.source.title(), entry.source.body(),
+                        entry.score, entry.vectorScore, entry.vectorRank, entry.lexicalScore, entry.lexicalRank))
+                .toList();
+    }
+
+    private static final class Fused {
+        private final ComplaintSearchResult source;
+        private double score;
+        private Double vectorScore;
+        private Integer vectorRank;
+        private Double lexicalScore;
+        private Integer lexicalRank;
+
+        private Fused(ComplaintSearchResult source) {
+            this.source = source;
+        }
+    }
+}
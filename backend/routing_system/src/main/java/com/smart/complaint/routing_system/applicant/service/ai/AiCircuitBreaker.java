@@ -0,0 +1,121 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.smart.complaint.routing_system.applicant.config.AiServerProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AI 서버 호출용 서킷 브레이커 (횟수 기반 슬라이딩 윈도우)
+ * - CLOSED: 최근 N건의 실패율이 임계치를 넘으면 OPEN으로 전환합니다.
+ * - OPEN: 설정된 시간 동안 호출을 즉시 거절합니다.
+ * - HALF_OPEN: 소수의 시험 호출이 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN.
+ */
+@Slf4j
+public class AiCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final AiServerProperties.CircuitBreaker config;
+
+    // 최근 호출 결과 (true = 실패)
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenIssued;
+    private int halfOpenSucceeded;
+
+    public AiCircuitBreaker(AiServerProperties.CircuitBreaker config) {
+        this.config = config;
+        this.window = new boolean[Math.max(1, config.getSlidingWindowSize())];
+    }
+
+    // 호출 허용 여부 (허용된 호출은 반드시 onSuccess/onFailure/onIgnored 중 하나로 결과를 보고해야 함)
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < config.getOpenDurationMs()) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (halfOpenIssued >= config.getHalfOpenCalls()) {
+                return false;
+            }
+            halfOpenIssued++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            halfOpenSucceeded++;
+            if (halfOpenSucceeded >= config.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+
+        if (state == State.CLOSED && windowCount >= config.getMinimumCalls()
+                && windowFailures * 100 >= config.getFailureRateThreshold() * windowCount) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    // 4xx 등 AI 서버 상태와 무관한 결과: 윈도우에 기록하지 않고, 반쯤 열림 상태면 시험 호출 자리만 돌려줌
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenIssued > 0) {
+            halfOpenIssued--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("AI 서버 서킷 브레이커 상태 변경: {} -> {}", state, next);
+        state = next;
+        halfOpenIssued = 0;
+        halfOpenSucceeded = 0;
+
+        if (next == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        }
+        if (next == State.CLOSED) {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+}
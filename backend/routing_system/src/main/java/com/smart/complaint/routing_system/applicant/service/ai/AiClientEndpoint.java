@@ -0,0 +1,32 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// AI 서버 클라이언트 상태 조회 (GET /actuator/aiClient)
+@Component
+@Endpoint(id = "aiClient")
+@RequiredArgsConstructor
+public class AiClientEndpoint {
+
+    private final AiServerClient aiServerClient;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        AiConcurrencyLimiter limiter = aiServerClient.getLimiter();
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("limit", limiter.getLimit());
+        status.put("inFlight", limiter.getInFlight());
+        status.put("queued", limiter.getQueued());
+        status.put("baselineRttMs", limiter.getLongRttMs());
+        status.put("circuitState", aiServerClient.getCircuitState());
+        return status;
+    }
+}
@@ -0,0 +1,184 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.smart.complaint.routing_system.applicant.config.AiServerProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AI 서버 호출용 적응형 동시성 제한기 (gradient 방식 + 실패 시 곱셈 감소)
+ * - 장기 평균 응답 시간(baseline) 대비 최근 응답 시간이 늘어나면 한도를 줄이고, 여유가 있으면 늘립니다.
+ *   newLimit = limit * clamp(tolerance * longRtt / rtt, 0.5, 1.0) + sqrt(limit)
+ * - 타임아웃/5xx 등 실패 시에는 한도를 backoffRatio 배로 즉시 줄입니다.
+ * - 한도를 넘는 요청은 최대 maxQueue 건까지 queueTimeoutMs 동안 대기하고, 그 이상은 거절(shed)합니다.
+ */
+public class AiConcurrencyLimiter {
+
+    private final AiServerProperties.Limiter config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+
+    // 장기 평균 RTT (지수 이동 평균, 나노초)
+    private double longRttNanos;
+    private long samples;
+
+    public AiConcurrencyLimiter(AiServerProperties.Limiter config) {
+        this.config = config;
+        this.limit = clamp(config.getInitialLimit());
+    }
+
+    /**
+     * 호출 권한 획득 (한도 초과 시 대기, 대기열이 가득 차거나 시간 초과 시 false)
+     * - true를 받은 호출은 반드시 onSuccess/onDropped/onIgnored 중 하나로 반납해야 합니다.
+     */
+    public boolean acquire() {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return true;
+            }
+            if (queued >= config.getMaxQueue()) {
+                return false;
+            }
+
+            queued++;
+            try {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(config.getQueueTimeoutMs());
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 대기 없이 여유가 있을 때만 권한 획득 (헤지 요청용)
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 정상 응답: 응답 시간을 반영해 한도 조정
+    public void onSuccess(long rttNanos) {
+        lock.lock();
+        try {
+            boolean saturated = inFlight * 2 >= currentLimit();
+            inFlight--;
+            updateLongRtt(rttNanos);
+
+            // 요청이 적어 한도를 다 쓰지 않는 구간에서는 한도를 키우지 않음
+            double gradient = Math.max(0.5, Math.min(1.0, config.getRttTolerance() * longRttNanos / rttNanos));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            if (!saturated && newLimit > limit) {
+                newLimit = limit;
+            }
+            limit = clamp(limit * (1 - config.getSmoothing()) + newLimit * config.getSmoothing());
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 타임아웃/연결 실패/5xx: 한도를 곱셈 감소
+    public void onDropped() {
+        lock.lock();
+        try {
+            inFlight--;
+            limit = clamp(limit * config.getBackoffRatio());
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 요청 자체의 문제(4xx 등): 한도에 반영하지 않고 반납만
+    public void onIgnored() {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getLongRttMs() {
+        lock.lock();
+        try {
+            return longRttNanos / 1_000_000.0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void updateLongRtt(long rttNanos) {
+        samples++;
+        if (samples == 1) {
+            longRttNanos = rttNanos;
+            return;
+        }
+        double alpha = 2.0 / (Math.min(samples, config.getLongWindow()) + 1);
+        longRttNanos = longRttNanos * (1 - alpha) + rttNanos * alpha;
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private double clamp(double value) {
+        return Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), value));
+    }
+}
@@ -0,0 +1,40 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import java.util.Arrays;
+
+/**
+ * 최근 응답 시간 표본 (고정 크기 링 버퍼)
+ * - 헤지 요청을 보낼 시점을 정하기 위해 엔드포인트별 지연 백분위를 계산합니다.
+ */
+public class AiLatencyWindow {
+
+    private final long[] samples;
+    private int index;
+    private int count;
+
+    public AiLatencyWindow(int size) {
+        this.samples = new long[Math.max(1, size)];
+    }
+
+    public synchronized void add(long elapsedMs) {
+        samples[index] = elapsedMs;
+        index = (index + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    // 표본이 minSamples 미만이면 -1
+    public long percentile(double percentile, int minSamples) {
+        long[] copy;
+        synchronized (this) {
+            if (count < Math.max(1, minSamples)) {
+                return -1;
+            }
+            copy = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(copy);
+        int rank = (int) Math.ceil(percentile * copy.length) - 1;
+        return copy[Math.max(0, Math.min(copy.length - 1, rank))];
+    }
+}
@@ -0,0 +1,72 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 서버 레플리카 선택기 (least-outstanding-requests)
+ * - 진행 중인 요청이 가장 적은 레플리카를 고르고, 동률이면 무작위로 나눕니다.
+ * - 헤지 요청은 원 요청과 다른 레플리카로 보내기 위해 제외 대상을 받을 수 있습니다.
+ */
+public class AiReplicaBalancer {
+
+    private final List<Replica> replicas;
+
+    public AiReplicaBalancer(List<String> baseUrls) {
+        this.replicas = baseUrls.stream().map(Replica::new).toList();
+    }
+
+    // exclude를 제외한 레플리카 중 하나 (후보가 없으면 null)
+    public Replica select(Replica exclude) {
+        Replica selected = null;
+        int selectedOutstanding = Integer.MAX_VALUE;
+        int ties = 0;
+
+        for (Replica replica : replicas) {
+            if (replica == exclude) {
+                continue;
+            }
+            int outstanding = replica.getOutstanding();
+            if (outstanding < selectedOutstanding) {
+                selected = replica;
+                selectedOutstanding = outstanding;
+                ties = 1;
+            } else if (outstanding == selectedOutstanding
+                    && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                // 동률 후보 사이에서 균등하게 선택 (reservoir sampling)
+                selected = replica;
+            }
+        }
+        return selected;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public static class Replica {
+        private final String baseUrl;
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        Replica(String baseUrl) {
+            this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public int getOutstanding() {
+            return outstanding.get();
+        }
+
+        void begin() {
+            outstanding.incrementAndGet();
+        }
+
+        void end() {
+            outstanding.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.dto.AiDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * AI 서버 전처리 응답 디코더 (Jackson 스트리밍 토큰 API)
+ * - 응답 본문(UTF-8 바이트)을 한 번만 훑으면서 status/data/embedding을 읽습니다.
+ * - data 안의 마크다운 코드 펜스(```json ... ```)는 정규식 없이 파서의 문자 버퍼에서 범위만 찾아
+ *   그 구간을 바로 분석 결과 객체로 파싱합니다. (중간 String 생성 없음)
+ * - 임베딩은 스레드별로 재사용하는 float[] 버퍼에 바로 채운 뒤 실제 길이만큼 한 번만 복사합니다.
+ * - X-Embedding-Encoding으로 협상한 base64 임베딩(f32/f16, little-endian)은 재사용 바이트 버퍼로
+ *   바로 디코딩한 뒤 float[]로 변환합니다. (숫자 텍스트 파싱 없음)
+ */
+@Slf4j
+@Component
+public class AiResponseDecoder {
+
+    private static final String SUCCESS = "success";
+    private static final int INITIAL_EMBEDDING_CAPACITY = 1024;
+
+    private static final ThreadLocal<float[]> EMBEDDING_BUFFER =
+            ThreadLocal.withInitial(() -> new float[INITIAL_EMBEDDING_CAPACITY]);
+    private static final ThreadLocal<BinarySink> BINARY_BUFFER =
+            ThreadLocal.withInitial(() -> new BinarySink(INITIAL_EMBEDDING_CAPACITY * Float.BYTES));
+
+    private static final VarHandle FLOAT_LE = MethodHandles.byteArrayViewVarHandle(float[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle SHORT_LE = MethodHandles.byteArrayViewVarHandle(short[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private final JsonFactory jsonFactory;
+    private final ObjectReader analysisReader;
+
+    public AiResponseDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory().rebuild()
+                .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+                .build();
+        this.analysisReader = objectMapper.readerFor(AiDto.Analysis.class);
+    }
+
+    // 단건 응답: {"status": "success", "data": "```json {...} ```", "embedding": [...]}
+    public AiDto.AnalysisResult decode(byte[] body) {
+        Item item;
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("응답이 JSON 객체가 아님");
+            }
+            item = readItem(parser);
+        } catch (IOException e) {
+            log.error("AI 응답 파싱 실패: {}", e.getMessage());
+            throw new BusinessException(ErrorMessage.AI_ANALYSIS_FAILED);
+        }
+        return item.toResult();
+    }
+
+    // 배치 응답: {"status": "success", "results": [{"id": 1, "status": ..., "data": ..., "embedding": ...}, ...]}
+    public List<AiDto.AnalysisOutcome> decodeBatch(byte[] body) {
+        List<AiDto.AnalysisOutcome> outcomes = null;
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("응답이 JSON 객체가 아님");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("results".equals(field) && token == JsonToken.START_ARRAY) {
+                    outcomes = readBatchItems(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            log.error("AI 배치 응답 파싱 실패: {}", e.getMessage());
+            throw new BusinessException(ErrorMessage.AI_ANALYSIS_FAILED);
+        }
+
+        if (outcomes == null) {
+            log.error("AI 배치 응답에 results가 없음");
+            throw new BusinessException(ErrorMessage.AI_ANALYSIS_FAILED);
+        }
+        return outcomes;
+    }
+
+    private List<AiDto.AnalysisOutcome> readBatchItems(JsonParser parser) throws IOException {
+        List<AiDto.AnalysisOutcome> outcomes = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            Item item = readItem(parser);
+            if (item.id == null) {
+                continue;
+            }
+            if (!item.isSuccess()) {
+                outcomes.add(AiDto.AnalysisOutcome.failure(item.id,
+                        item.message != null ? item.message : "AI 분석 실패"));
+                continue;
+            }
+            try {
+                outcomes.add(AiDto.AnalysisOutcome.success(item.id, item.toResult()));
+            } catch (BusinessException e) {
+                outcomes.add(AiDto.AnalysisOutcome.failure(item.id, e.getMessage()));
+            }
+        }
+        return outcomes;
+    }
+
+    // 현재 토큰이 START_OBJECT인 상태에서 호출, END_OBJECT까지 소비
+    private Item readItem(JsonParser parser) throws IOException {
+        Item item = new Item();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "id" -> item.id = token == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                case "status" -> item.status = parser.getValueAsString();
+                case "message" -> item.message = parser.getValueAsString();
+                case "data" -> {
+                    if (token == JsonToken.VALUE_STRING) {
+                        item.hasData = true;
+                        // 필드 순서와 무관하게 처리하도록 바로 파싱하고, 실패는 기록만 해 둠
+                        try {
+                            item.analysis = readFencedAnalysis(parser);
+                        } catch (IOException e) {
+                            item.dataError = e.getMessage();
+                        }
+                    }
+                }
+                case "embedding_encoding" -> item.embeddingEncoding = parser.getValueAsString();
+                case "embedding" -> {
+                    if (token == JsonToken.START_ARRAY) {
+                        item.embedding = readEmbedding(parser);
+                    } else if (token == JsonToken.VALUE_STRING) {
+                        item.embeddingBinary = readBinary(parser);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        // 인코딩 필드가 임베딩 뒤에 와도 처리되도록 항목 끝에서 변환
+        if (item.embeddingBinary != null) {
+            item.embedding = decodeBinaryEmbedding(item.embeddingBinary, item.embeddingEncoding);
+        }
+        return item;
+    }
+
+    // base64 문자열을 스레드별 재사용 버퍼로 바로 디코딩
+    private BinarySink readBinary(JsonParser parser) throws IOException {
+        BinarySink sink = BINARY_BUFFER.get();
+        sink.reset();
+        parser.readBinaryValue(sink);
+        return sink;
+    }
+
+    // little-endian float32 / float16 바이트 -> float[]
+    static float[] decodeBinaryEmbedding(BinarySink bytes, String encoding) throws IOException {
+        String format = encoding == null ? "f32" : encoding;
+        int width = switch (format) {
+            case "f32" -> Float.BYTES;
+            case "f16" -> Short.BYTES;
+            default -> throw new IOException("지원하지 않는 임베딩 인코딩: " + format);
+        };
+        if (bytes.size % width != 0) {
+            throw new IOException("임베딩 바이트 길이가 올바르지 않음: " + bytes.size);
+        }
+
+        float[] embedding = new float[bytes.size / width];
+        for (int i = 0; i < embedding.length; i++) {
+            embedding[i] = width == Float.BYTES
+                    ? (float) FLOAT_LE.get(bytes.buffer, i * Float.BYTES)
+                    : halfToFloat((short) SHORT_LE.get(bytes.buffer, i * Short.BYTES));
+        }
+        return embedding;
+    }
+
+    // IEEE 754 binary16 -> binary32
+    static float halfToFloat(short half) {
+        int sign = (half & 0x8000) << 16;
+        int exponent = (half >>> 10) & 0x1f;
+        int mantissa = half & 0x3ff;
+        if (exponent == 0x1f) {
+            return Float.intBitsToFloat(sign | 0x7f800000 | (mantissa << 13)); // Inf / NaN
+        }
+        if (exponent == 0) {
+            float subnormal = mantissa * 0x1p-24f; // 0 또는 비정규화 수
+            return sign == 0 ? subnormal : -subnormal;
+        }
+        return Float.intBitsToFloat(sign | ((exponent + 112) << 23) | (mantissa << 13));
+    }
+
+    // data 문자열에서 코드 펜스 안쪽 범위를 찾아 그 구간만 파싱
+    private AiDto.Analysis readFencedAnalysis(JsonParser parser) throws IOException {
+        char[] text = parser.getTextCharacters();
+        int from = parser.getTextOffset();
+        int to = from + parser.getTextLength();
+
+        int open = indexOfFence(text, from, to);
+        if (open >= 0) {
+            from = open + 3;
+            // 언어 표기(json 등) 건너뛰기
+            while (from < to && Character.isLetter(text[from])) {
+                from++;
+            }
+            int close = lastIndexOfFence(text, from, to);
+            if (close >= 0) {
+                to = close;
+            }
+        }
+        while (from < to && Character.isWhitespace(text[from])) {
+            from++;
+        }
+        while (to > from && Character.isWhitespace(text[to - 1])) {
+            to--;
+        }
+        if (from == to) {
+            throw new IOException("data가 비어 있음");
+        }
+
+        try (JsonParser inner = jsonFactory.createParser(text, from, to - from)) {
+            return analysisReader.readValue(inner);
+        }
+    }
+
+    // 현재 토큰이 START_ARRAY인 상태에서 호출, END_ARRAY까지 소비
+    private float[] readEmbedding(JsonParser parser) throws IOException {
+        float[] buffer = EMBEDDING_BUFFER.get();
+        int size = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+                throw new IOException("임베딩 값이 숫자가 아님: " + token);
+            }
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, size * 2);
+                EMBEDDING_BUFFER.set(buffer);
+            }
+            buffer[size++] = parser.getFloatValue();
+        }
+        return Arrays.copyOf(buffer, size);
+    }
+
+    static int indexOfFence(char[] text, int from, int to) {
+        for (int i = from; i + 2 < to; i++) {
+            if (text[i] == '`' && text[i + 1] == '`' && text[i + 2] == '`') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int lastIndexOfFence(char[] text, int from, int to) {
+        for (int i = to - 3; i >= from; i--) {
+            if (text[i] == '`' && text[i + 1] == '`' && text[i + 2] == '`') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Item {
+
+        private Long id;
+        private String status;
+        private String message;
+        private boolean hasData;
+        private AiDto.Analysis analysis;
+        private String dataError;
+        private float[] embedding;
+        private String embeddingEncoding;
+        private BinarySink embeddingBinary;
+
+        boolean isSuccess() {
+            return SUCCESS.equals(status);
+        }
+
+        AiDto.AnalysisResult toResult() {
+            if (!isSuccess() || !hasData) {
+                log.warn("AI 분석 서버가 실패 응답을 반환: {}", status);
+                throw new BusinessException(ErrorMessage.AI_ANALYSIS_FAILED);
+            }
+            if (analysis == null) {
+                log.error("AI 분석 데이터 파싱 실패: {}", dataError);
+                throw new BusinessException(ErrorMessage.AI_ANALYSIS_FAILED);
+            }
+            return new AiDto.AnalysisResult(analysis, embedding);
+        }
+    }
+
+    // 크기만 늘어나는 재사용 바이트 버퍼 (base64 디코딩 대상)
+    static final class BinarySink extends OutputStream {
+
+        private byte[] buffer;
+        private int size;
+
+        BinarySink(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(size + 1);
+            buffer[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(size + length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,498 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.config.AiServerProperties;
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.dto.AiDto;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * AI 분석 서버(FastAPI) 전용 HTTP 클라이언트
+ * - keep-alive 커넥션 풀을 재사용하고, 엔드포인트별 응답 타임아웃을 적용합니다.
+ * - 여러 레플리카 중 진행 중인 요청이 가장 적은 곳으로 보내고, 단건 전처리는 지연 백분위를 넘기면
+ *   다른 레플리카로 헤지 요청을 보낸 뒤 먼저 끝난 쪽을 채택하고 나머지는 취소합니다.
+ * - 적응형 동시성 제한기가 응답 시간에 맞춰 동시 호출 수를 조절하고, 초과분은 대기시키거나 거절합니다.
+ * - 벌크헤드(동시 호출 상한)와 서킷 브레이커로 AI 서버 장애 시 즉시 실패합니다.
+ *   (AI 서버는 LLM 실패를 200 + {"status": "error"}로 돌려주기도 하므로 본문의 status까지 보고 판단)
+ * - 호출 지연/결과와 풀 포화 상태를 Micrometer 지표(ai.client.*)로 노출합니다.
+ */
+@Slf4j
+@Component
+public class AiServerClient {
+
+    private static final String PREPROCESS_PATH = "/api/complaints/preprocess";
+    private static final String PREPROCESS_BATCH_PATH = "/api/complaints/preprocess/batch";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String EMBEDDING_ENCODING_HEADER = "X-Embedding-Encoding";
+
+    private final AiServerProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final AiReplicaBalancer balancer;
+    private final AiConcurrencyLimiter limiter;
+    private final Semaphore bulkhead;
+    private final AiCircuitBreaker circuitBreaker;
+    private final Map<String, AiLatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final ExecutorService hedgeExecutor;
+
+    public AiServerClient(AiServerProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            Environment environment) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeoutMs()))
+                        .setTimeToLive(TimeValue.ofSeconds(properties.getConnectionTtlSeconds()))
+                        .build())
+                .build();
+
+        // 재시도는 아웃박스 워커가 담당하므로 클라이언트 자동 재시도는 끔
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(properties.getIdleEvictSeconds()))
+                .disableAutomaticRetries()
+                .build();
+
+        List<String> replicas = properties.getReplicas().isEmpty()
+                ? List.of(properties.getBaseUrl())
+                : properties.getReplicas();
+        this.balancer = new AiReplicaBalancer(replicas);
+        // 헤지 요청은 대부분 I/O 대기이므로 가상 스레드 모드에서는 가상 스레드로 실행
+        ThreadFactory hedgeThreads = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("ai-hedge-").getVirtualThreadFactory()
+                : new CustomizableThreadFactory("ai-hedge-");
+        this.hedgeExecutor = Executors.newCachedThreadPool(hedgeThreads);
+        log.info("AI 서버 레플리카: {}", replicas);
+
+        this.limiter = new AiConcurrencyLimiter(properties.getLimiter());
+        this.bulkhead = new Semaphore(properties.getBulkhead().getMaxConcurrentCalls(), true);
+        this.circuitBreaker = new AiCircuitBreaker(properties.getCircuitBreaker());
+
+        registerGauges();
+    }
+
+    /**
+     * 단건 전처리 요청
+     * - 민원 ID를 멱등 키로 보내므로 헤지/재시도로 같은 요청이 중복 전송되어도 안전합니다.
+     * - 성공 시 원본 응답 본문(JSON, UTF-8)을 그대로 반환합니다. 해석은 {@link AiResponseDecoder}가 담당합니다.
+     */
+    public byte[] preprocess(Long complaintId, Map<String, Object> request) {
+        return post("preprocess", PREPROCESS_PATH, request, properties.getPreprocessTimeoutMs(),
+                "complaint-" + complaintId, properties.getHedge().isEnabled());
+    }
+
+    /**
+     * 배치 전처리 요청
+     * - 항목 단위 성공/실패가 담긴 원본 응답 본문(JSON, UTF-8)을 반환합니다.
+     */
+    public byte[] preprocessBatch(AiDto.BatchRequest request) {
+        return post("preprocess_batch", PREPROCESS_BATCH_PATH, request, properties.getBatchTimeoutMs(),
+                null, false);
+    }
+
+    public AiCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public AiConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    private byte[] post(String endpoint, String path, Object payload, long responseTimeoutMs,
+            String idempotencyKey, boolean hedge) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(ErrorMessage.AI_ANALYSIS_FAILED);
+        }
+
+        if (!limiter.acquire()) {
+            record(endpoint, "limited", 0);
+            log.warn("AI 서버 동시 호출 한도 초과로 거절 - 엔드포인트: {}, 한도: {}", endpoint, limiter.getLimit());
+            throw new BusinessException(ErrorMessage.AI_SERVER_UNAVAILABLE);
+        }
+
+        if (!acquireBulkhead()) {
+            limiter.onIgnored();
+            record(endpoint, "bulkhead_full", 0);
+            log.warn("AI 서버 동시 호출 상한 초과 - 엔드포인트: {}", endpoint);
+            throw new BusinessException(ErrorMessage.AI_SERVER_UNAVAILABLE);
+        }
+
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                limiter.onIgnored();
+                record(endpoint, "circuit_open", 0);
+                throw new BusinessException(ErrorMessage.AI_SERVER_UNAVAILABLE);
+            }
+
+            long start = System.nanoTime();
+            try {
+                // 레플리카가 하나뿐이면 AI 서버의 멱등 키 처리로 중복 요청이 합쳐지므로 헤지하지 않음
+                byte[] body = hedge && balancer.getReplicas().size() > 1
+                        ? executeHedged(endpoint, path, json, responseTimeoutMs, idempotencyKey)
+                        : executeOnce(path, json, responseTimeoutMs, idempotencyKey);
+                long elapsed = System.nanoTime() - start;
+                circuitBreaker.onSuccess();
+                limiter.onSuccess(elapsed);
+                record(endpoint, "success", elapsed);
+                latencyWindow(endpoint).add(TimeUnit.NANOSECONDS.toMillis(elapsed));
+                return body;
+            } catch (AiServerErrorException e) {
+                circuitBreaker.onFailure();
+                limiter.onDropped();
+                record(endpoint, "server_error", System.nanoTime() - start);
+                log.warn("AI 서버 오류 응답 - 엔드포인트: {}, 사유: {}", endpoint, e.getMessage());
+                throw new BusinessException(ErrorMessage.AI_ANALYSIS_FAILED);
+            } catch (IOException e) {
+                // 연결 실패, 응답 타임아웃 등
+                circuitBreaker.onFailure();
+                limiter.onDropped();
+                record(endpoint, "io_error", System.nanoTime() - start);
+                log.warn("AI 서버 호출 실패 - 엔드포인트: {}, 사유: {}", endpoint, e.getMessage());
+                throw new BusinessException(ErrorMessage.AI_ANALYSIS_FAILED);
+            } catch (RuntimeException e) {
+                // 4xx 등 요청 자체의 문제는 AI 서버 장애로도, 정상 응답으로도 집계하지 않음
+                circuitBreaker.onIgnored();
+                limiter.onIgnored();
+                record(endpoint, "client_error", System.nanoTime() - start);
+                throw e;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 헤지 요청 실행
+     * - 원 요청이 최근 지연 백분위(hedge.percentile)를 넘기도록 끝나지 않으면 다른 레플리카로 한 번 더 보냅니다.
+     * - 먼저 성공한 응답을 채택하고, 남은 요청은 HTTP 수준에서 취소해 커넥션과 AI 서버 자원을 돌려줍니다.
+     * - 헤지 요청은 limiter/벌크헤드에 여유가 있을 때만 보내 부하 상황에서 중복 요청이 더해지지 않게 합니다.
+     */
+    private byte[] executeHedged(String endpoint, String path, String json, long responseTimeoutMs,
+            String idempotencyKey) throws IOException {
+        AiReplicaBalancer.Replica primary = balancer.select(null);
+        HttpPost primaryRequest = newRequest(primary, path, json, responseTimeoutMs, idempotencyKey);
+        CompletableFuture<byte[]> primaryCall = submit(primary, primaryRequest);
+
+        try {
+            return await(primaryCall, hedgeDelayMs(endpoint));
+        } catch (TimeoutException e) {
+            // 지연 백분위 초과 -> 헤지 요청 검토
+        }
+
+        AiReplicaBalancer.Replica secondary = balancer.select(primary);
+        if (secondary == null || !limiter.tryAcquire()) {
+            return await(primaryCall);
+        }
+        if (!bulkhead.tryAcquire()) {
+            limiter.onIgnored();
+            return await(primaryCall);
+        }
+
+        HttpPost hedgeRequest = newRequest(secondary, path, json, responseTimeoutMs, idempotencyKey);
+        try {
+            CompletableFuture<byte[]> hedgeCall = submit(secondary, hedgeRequest);
+            meterRegistry.counter("ai.client.hedges", "endpoint", endpoint).increment();
+
+            // 먼저 성공한 쪽을 채택 (둘 다 실패하면 나중 실패를 전달)
+            CompletableFuture<byte[]> winner = new CompletableFuture<>();
+            AtomicInteger failures = new AtomicInteger();
+            AtomicReference<String> winnerName = new AtomicReference<>();
+            Map.of("primary", primaryCall, "hedge", hedgeCall).forEach((name, call) ->
+                    call.whenComplete((body, error) -> {
+                        if (error == null) {
+                            if (winnerName.compareAndSet(null, name)) {
+                                winner.complete(body);
+                            }
+                        } else if (failures.incrementAndGet() == 2) {
+                            winner.completeExceptionally(error);
+                        }
+                    }));
+
+            byte[] body = await(winner);
+            meterRegistry.counter("ai.client.hedge.wins", "endpoint", endpoint, "winner", winnerName.get())
+                    .increment();
+            return body;
+        } finally {
+            // 끝난 요청에 대한 cancel은 무시되므로 양쪽 모두 취소 요청
+            primaryRequest.cancel();
+            hedgeRequest.cancel();
+            bulkhead.release();
+            limiter.onIgnored();
+        }
+    }
+
+    private CompletableFuture<byte[]> submit(AiReplicaBalancer.Replica replica, HttpPost request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return execute(replica, request);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, hedgeExecutor);
+    }
+
+    private byte[] await(CompletableFuture<byte[]> call) throws IOException {
+        try {
+            return await(call, -1);
+        } catch (TimeoutException e) {
+            throw new IOException(e);
+        }
+    }
+
+    // timeoutMs < 0 이면 완료까지 대기 (각 요청에는 응답 타임아웃이 걸려 있음)
+    private byte[] await(CompletableFuture<byte[]> call, long timeoutMs) throws IOException, TimeoutException {
+        try {
+            return timeoutMs < 0 ? call.get() : call.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("AI 서버 호출 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause()
+                    : e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    // 헤지 대기 시간: 최근 지연 백분위 (표본이 부족하면 min-delay-ms)
+    private long hedgeDelayMs(String endpoint) {
+        AiServerProperties.Hedge hedge = properties.getHedge();
+        long percentile = latencyWindow(endpoint).percentile(hedge.getPercentile(), hedge.getMinSamples());
+        return Math.max(hedge.getMinDelayMs(), percentile);
+    }
+
+    private AiLatencyWindow latencyWindow(String endpoint) {
+        return latencies.computeIfAbsent(endpoint, key -> new AiLatencyWindow(properties.getHedge().getWindowSize()));
+    }
+
+    private byte[] executeOnce(String path, String json, long responseTimeoutMs, String idempotencyKey)
+            throws IOException {
+        AiReplicaBalancer.Replica replica = balancer.select(null);
+        return execute(replica, newRequest(replica, path, json, responseTimeoutMs, idempotencyKey));
+    }
+
+    private HttpPost newRequest(AiReplicaBalancer.Replica replica, String path, String json, long responseTimeoutMs,
+            String idempotencyKey) {
+        HttpPost post = new HttpPost(replica.getBaseUrl() + path);
+        post.setConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getConnectionRequestTimeoutMs()))
+                .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                .build());
+        post.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
+        if (idempotencyKey != null) {
+            post.setHeader(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        if (!"json".equals(properties.getEmbeddingEncoding())) {
+            post.setHeader(EMBEDDING_ENCODING_HEADER, properties.getEmbeddingEncoding());
+        }
+        return post;
+    }
+
+    private byte[] execute(AiReplicaBalancer.Replica replica, HttpPost request) throws IOException {
+        replica.begin();
+        try {
+            return httpClient.execute(request, response -> {
+                int status = response.getCode();
+                // 응답 본문은 바이트 그대로 넘겨 디코더가 UTF-8에서 바로 파싱하도록 함 (String 변환 생략)
+                byte[] body = response.getEntity() == null ? null : EntityUtils.toByteArray(response.getEntity());
+
+                if (status >= 500) {
+                    throw new AiServerErrorException(status);
+                }
+                if (status < 200 || status >= 300 || body == null) {
+                    log.warn("AI 분석 서버 응답 상태 코드가 2xx가 아님: {}", status);
+                    throw new BusinessException(ErrorMessage.AI_ANALYSIS_FAILED);
+                }
+                if (reportsFailure(objectMapper.getFactory(), body)) {
+                    throw new AiServerErrorException(status, "status=error 응답");
+                }
+                return body;
+            });
+        } finally {
+            replica.end();
+        }
+    }
+
+    /**
+     * 2xx 본문이 실제로는 실패인지 판단 (서킷 브레이커 집계용)
+     * - 단건: 최상위 status가 success가 아니면 실패 (status는 맨 앞 필드이므로 거기서 바로 끝냄)
+     * - 배치: 항목이 하나 이상이고 모두 status=error면 실패 (일부 항목 실패는 항목 단위 재시도로 처리)
+     * - 문자열/숫자 값은 건너뛰기만 하므로 data/embedding을 해석하지 않습니다. 형식 오류는 디코더가 보고합니다.
+     */
+    static boolean reportsFailure(JsonFactory jsonFactory, byte[] body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("status".equals(field)) {
+                    if (!"success".equals(parser.getValueAsString())) {
+                        return true;
+                    }
+                } else if ("results".equals(field) && token == JsonToken.START_ARRAY) {
+                    int items = 0;
+                    int errors = 0;
+                    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                        items++;
+                        if (token == JsonToken.START_OBJECT && isErrorItem(parser)) {
+                            errors++;
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    return items > 0 && errors == items;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        return false;
+    }
+
+    // 현재 토큰이 START_OBJECT인 상태에서 호출, END_OBJECT까지 소비
+    private static boolean isErrorItem(JsonParser parser) throws IOException {
+        boolean error = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("status".equals(field)) {
+                error = "error".equals(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return error;
+    }
+
+    private boolean acquireBulkhead() {
+        long maxWaitMs = properties.getBulkhead().getMaxWaitMs();
+        if (maxWaitMs <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(String endpoint, String outcome, long elapsedNanos) {
+        Timer.builder("ai.client.requests")
+                .description("AI 서버 호출 지연 시간")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void registerGauges() {
+        Gauge.builder("ai.client.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .description("사용 중인 AI 서버 커넥션 수").register(meterRegistry);
+        Gauge.builder("ai.client.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .description("커넥션을 기다리는 요청 수").register(meterRegistry);
+        Gauge.builder("ai.client.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .description("유휴 AI 서버 커넥션 수").register(meterRegistry);
+        Gauge.builder("ai.client.pool.max", connectionManager, cm -> cm.getTotalStats().getMax())
+                .description("AI 서버 커넥션 풀 최대 크기").register(meterRegistry);
+        Gauge.builder("ai.client.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("벌크헤드 잔여 호출 수").register(meterRegistry);
+        Gauge.builder("ai.client.limiter.limit", limiter, AiConcurrencyLimiter::getLimit)
+                .description("적응형 동시 호출 한도").register(meterRegistry);
+        Gauge.builder("ai.client.limiter.in_flight", limiter, AiConcurrencyLimiter::getInFlight)
+                .description("진행 중인 AI 서버 호출 수").register(meterRegistry);
+        Gauge.builder("ai.client.limiter.queued", limiter, AiConcurrencyLimiter::getQueued)
+                .description("한도 대기 중인 호출 수").register(meterRegistry);
+        for (AiReplicaBalancer.Replica replica : balancer.getReplicas()) {
+            Gauge.builder("ai.client.replica.outstanding", replica, AiReplicaBalancer.Replica::getOutstanding)
+                    .description("레플리카별 진행 중인 요청 수")
+                    .tag("replica", replica.getBaseUrl())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("ai.client.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("서킷 브레이커 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        hedgeExecutor.shutdownNow();
+        httpClient.close();
+    }
+
+    // 5xx 또는 status=error 응답 (서킷 브레이커 실패로 집계)
+    private static class AiServerErrorException extends IOException {
+
+        AiServerErrorException(int statusCode) {
+            super("AI 서버 응답 상태 코드: " + statusCode);
+        }
+
+        AiServerErrorException(int statusCode, String reason) {
+            super("AI 서버 응답 상태 코드: " + statusCode + ", " + reason);
+        }
+    }
+}
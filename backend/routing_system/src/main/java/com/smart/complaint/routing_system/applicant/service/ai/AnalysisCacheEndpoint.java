@@ -0,0 +1,23 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// AI 분석 결과 캐시 적중/미스 통계 조회 (GET /actuator/aiCache)
+@Component
+@Endpoint(id = "aiCache")
+@RequiredArgsConstructor
+public class AnalysisCacheEndpoint {
+
+    private final AnalysisResultCache analysisResultCache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return analysisResultCache.stats();
+    }
+}
@@ -0,0 +1,171 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.config.AnalysisCacheProperties;
+import com.smart.complaint.routing_system.applicant.dto.AiDto;
+import com.smart.complaint.routing_system.applicant.repository.AnalysisCacheRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * AI 분석 결과 캐시 (내용 주소 기반)
+ * - 키: 정규화(NFKC, 소문자, 공백 축약)한 제목+본문의 SHA-256
+ * - 메모리 계층(LRU) -> DB 계층(complaint_analysis_cache) 순으로 조회하고, DB 적중 시 메모리에 올립니다.
+ * - 캐시는 최선 노력(best-effort)으로만 동작하며, DB 계층 오류는 로그만 남기고 AI 서버 호출로 넘어갑니다.
+ * - 적중/미스 통계는 ai.cache.requests{tier, result} 지표와 /actuator/aiCache 로 노출합니다.
+ */
+@Slf4j
+@Component
+public class AnalysisResultCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final AnalysisCacheProperties properties;
+    private final AnalysisCacheRepository cacheRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, AiDto.AnalysisResult> memory;
+
+    private final Counter memoryHits;
+    private final Counter dbHits;
+    private final Counter misses;
+
+    public AnalysisResultCache(AnalysisCacheProperties properties, AnalysisCacheRepository cacheRepository,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cacheRepository = cacheRepository;
+        this.objectMapper = objectMapper;
+
+        int maxEntries = Math.max(1, properties.getMaxEntries());
+        this.memory = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AiDto.AnalysisResult> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        this.memoryHits = meterRegistry.counter("ai.cache.requests", "tier", "memory", "result", "hit");
+        this.dbHits = meterRegistry.counter("ai.cache.requests", "tier", "db", "result", "hit");
+        this.misses = meterRegistry.counter("ai.cache.requests", "tier", "all", "result", "miss");
+        Gauge.builder("ai.cache.memory.size", memory, Map::size)
+                .description("메모리 계층에 올라간 분석 결과 수").register(meterRegistry);
+    }
+
+    public Optional<AiDto.AnalysisResult> get(String title, String body) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        String key = contentHash(title, body);
+
+        AiDto.AnalysisResult cached = memory.get(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return Optional.of(cached);
+        }
+
+        if (properties.isDbTierEnabled()) {
+            try {
+                Optional<AiDto.AnalysisResult> stored = cacheRepository.findAndTouch(key).map(this::toResult);
+                if (stored.isPresent()) {
+                    dbHits.increment();
+                    memory.put(key, stored.get());
+                    return stored;
+                }
+            } catch (Exception e) {
+                log.warn("분석 결과 캐시(DB) 조회 실패: {}", e.getMessage());
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    // 새 분석 결과 등록 (메모리에 이미 있으면 DB 쓰기를 생략)
+    public void put(String title, String body, AiDto.AnalysisResult result) {
+        if (!properties.isEnabled() || result.analysis() == null) {
+            return;
+        }
+        String key = contentHash(title, body);
+        if (memory.put(key, result) != null || !properties.isDbTierEnabled()) {
+            return;
+        }
+
+        try {
+            cacheRepository.insert(key, objectMapper.writeValueAsString(result.analysis()), result.embedding());
+        } catch (Exception e) {
+            log.warn("분석 결과 캐시(DB) 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        double memoryHit = memoryHits.count();
+        double dbHit = dbHits.count();
+        double miss = misses.count();
+        double total = memoryHit + dbHit + miss;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("memoryHits", (long) memoryHit);
+        stats.put("dbHits", (long) dbHit);
+        stats.put("misses", (long) miss);
+        stats.put("hitRatio", total == 0 ? 0.0 : (memoryHit + dbHit) / total);
+        stats.put("memorySize", memory.size());
+        stats.put("memoryCapacity", properties.getMaxEntries());
+        return stats;
+    }
+
+    // 매일 새벽 오래 조회되지 않은 DB 캐시 정리
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeExpired() {
+        if (!properties.isEnabled() || !properties.isDbTierEnabled()) {
+            return;
+        }
+        int deleted = cacheRepository.deleteNotHitSince(LocalDateTime.now().minusDays(properties.getTtlDays()));
+        log.info("분석 결과 캐시 정리 - {}건 삭제", deleted);
+    }
+
+    String contentHash(String title, String body) {
+        String normalized = properties.getNamespace() + "\n" + normalize(title) + "\n" + normalize(body);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(folded).replaceAll(" ").trim();
+    }
+
+    private AiDto.AnalysisResult toResult(AnalysisCacheRepository.CachedRow row) {
+        try {
+            AiDto.Analysis analysis = objectMapper.readValue(row.analysisJson(), AiDto.Analysis.class);
+            return new AiDto.AnalysisResult(analysis, row.embedding());
+        } catch (Exception e) {
+            throw new IllegalStateException("분석 결과 캐시 역직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.smart.complaint.routing_system.applicant.service.dedup;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MinHash 서명용 LSH 색인 (파티션 = 자치구)
+ * - 서명을 bands개의 구간으로 나눠 구간 해시가 하나라도 같은 문서를 후보로 뽑습니다.
+ *   (rows = numHashes / bands, 유사도 s인 문서가 후보가 될 확률 = 1 - (1 - s^rows)^bands)
+ * - 후보 검증은 해시값의 하위 8bit만 저장한 b-bit 서명으로 Jaccard 유사도를 추정합니다. (문서당 numHashes 바이트)
+ * - 박싱 없는 배열 기반 구조라 100만 건 규모에서도 메모리/GC 부담이 작고, 추가는 항상 점진적(incremental)입니다.
+ */
+public class LshIndex {
+
+    private static final double BBIT_COLLISION = 1.0 / 256;
+
+    private final int numHashes;
+    private final int bands;
+    private final int rows;
+    private final int maxCandidates;
+
+    private final Map<Integer, Partition> partitions = new ConcurrentHashMap<>();
+
+    public record Match(long id, double similarity) {
+    }
+
+    public LshIndex(int numHashes, int bands, int maxCandidates) {
+        if (bands <= 0 || numHashes % bands != 0) {
+            throw new IllegalArgumentException("numHashes는 bands의 배수여야 합니다: " + numHashes + "/" + bands);
+        }
+        this.numHashes = numHashes;
+        this.bands = bands;
+        this.rows = numHashes / bands;
+        this.maxCandidates = maxCandidates;
+    }
+
+    public void add(int partitionKey, long id, int[] signature) {
+        partitions.computeIfAbsent(partitionKey, key -> new Partition()).add(id, signature);
+    }
+
+    // 추정 유사도가 threshold 이상인 후보 중 가장 유사한 문서
+    public Optional<Match> findBest(int partitionKey, int[] signature, double threshold) {
+        Partition partition = partitions.get(partitionKey);
+        return partition == null ? Optional.empty() : partition.findBest(signature, threshold);
+    }
+
+    public int size() {
+        return partitions.values().stream().mapToInt(Partition::size).sum();
+    }
+
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    private int bandKey(int[] signature, int band) {
+        long hash = band;
+        int from = band * rows;
+        for (int i = from; i < from + rows; i++) {
+            hash = MinHasher.mix64(hash ^ signature[i]);
+        }
+        return (int) hash;
+    }
+
+    private final class Partition {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private long[] ids = new long[1024];
+        private byte[] sketches = new byte[1024 * numHashes];
+        private final BandTable[] tables = new BandTable[bands];
+        private int count;
+
+        Partition() {
+            for (int band = 0; band < bands; band++) {
+                tables[band] = new BandTable();
+            }
+        }
+
+        void add(long id, int[] signature) {
+            lock.writeLock().lock();
+            try {
+                if (count == ids.length) {
+                    int capacity = ids.length * 2;
+                    ids = Arrays.copyOf(ids, capacity);
+                    sketches = Arrays.copyOf(sketches, capacity * numHashes);
+                    for (BandTable table : tables) {
+                        table.growDocs(capacity);
+                    }
+                }
+
+                int doc = count++;
+                ids[doc] = id;
+                int offset = doc * numHashes;
+                for (int i = 0; i < numHashes; i++) {
+                    sketches[offset + i] = (byte) signature[i];
+                }
+                for (int band = 0; band < bands; band++) {
+                    tables[band].put(bandKey(signature, band), doc);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Optional<Match> findBest(int[] signature, double threshold) {
+            int[] keys = new int[bands];
+            for (int band = 0; band < bands; band++) {
+                keys[band] = bandKey(signature, band);
+            }
+
+            lock.readLock().lock();
+            try {
+                int[] seen = new int[Math.min(maxCandidates, count)];
+                int seenCount = 0;
+                int bestDoc = -1;
+                double bestSimilarity = threshold;
+
+                // 체인은 최신 문서부터 이어지므로 후보 상한에 걸려도 최근 민원이 우선 검사됨
+                for (int band = 0; band < bands && seenCount < seen.length; band++) {
+                    for (int doc = tables[band].head(keys[band]); doc >= 0 && seenCount < seen.length;
+                            doc = tables[band].next(doc)) {
+                        if (contains(seen, seenCount, doc)) {
+                            continue;
+                        }
+                        seen[seenCount++] = doc;
+
+                        double similarity = estimate(signature, doc);
+                        if (similarity >= bestSimilarity) {
+                            bestSimilarity = similarity;
+                            bestDoc = doc;
+                        }
+                    }
+                }
+                return bestDoc < 0 ? Optional.empty() : Optional.of(new Match(ids[bestDoc], bestSimilarity));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return count;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // b-bit MinHash 유사도 추정 (하위 8bit 우연 일치 확률 보정)
+        private double estimate(int[] signature, int doc) {
+            int offset = doc * numHashes;
+            int matches = 0;
+            for (int i = 0; i < numHashes; i++) {
+                if (sketches[offset + i] == (byte) signature[i]) {
+                    matches++;
+                }
+            }
+            double raw = (double) matches / numHashes;
+            return Math.max(0.0, (raw - BBIT_COLLISION) / (1 - BBIT_COLLISION));
+        }
+
+        private boolean contains(int[] seen, int seenCount, int doc) {
+            for (int i = 0; i < seenCount; i++) {
+                if (seen[i] == doc) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 구간 해시 -> 문서 체인 (오픈 어드레싱)
+     * - heads: 구간 해시별 가장 최근 문서, next: 같은 해시를 가진 이전 문서 (문서 번호로 인덱싱)
+     */
+    private static final class BandTable {
+
+        private int[] keys = new int[2048];
+        private int[] heads = new int[2048]; // 문서 번호 + 1 (0 = 빈 칸)
+        private int[] next = new int[1024];
+        private int size;
+
+        void put(int key, int doc) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                rehash(keys.length * 2);
+            }
+            int slot = slot(key);
+            if (heads[slot] == 0) {
+                keys[slot] = key;
+                size++;
+                next[doc] = -1;
+            } else {
+                next[doc] = heads[slot] - 1;
+            }
+            heads[slot] = doc + 1;
+        }
+
+        int head(int key) {
+            int slot = slot(key);
+            return heads[slot] - 1;
+        }
+
+        int next(int doc) {
+            return next[doc];
+        }
+
+        void growDocs(int capacity) {
+            next = Arrays.copyOf(next, capacity);
+        }
+
+        private int slot(int key) {
+            int mask = keys.length - 1;
+            int slot = (key * 0x9E3779B9) >>> 1 & mask;
+            while (heads[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldHeads = heads;
+            keys = new int[capacity];
+            heads = new int[capacity];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldHeads[i] != 0) {
+                    int slot = slot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    heads[slot] = oldHeads[i];
+                }
+            }
+        }
+    }
+}
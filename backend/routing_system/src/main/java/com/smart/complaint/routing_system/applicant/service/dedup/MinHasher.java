@@ -0,0 +1,82 @@
+package com.smart.complaint.routing_system.applicant.service.dedup;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash 서명 계산기
+ * - 제목+본문을 정규화(NFKC, 소문자, 문자/숫자 외 제거)한 뒤 글자 k-gram으로 쪼갭니다.
+ *   (한국어는 띄어쓰기 변형이 많아 단어보다 글자 단위 shingle이 안정적입니다.)
+ * - 각 shingle의 64bit 해시를 numHashes개의 시드로 섞어 해시 함수별 최솟값을 서명으로 사용합니다.
+ */
+public class MinHasher {
+
+    private static final Pattern NON_TEXT = Pattern.compile("[^\\p{L}\\p{N}]");
+
+    private final int shingleSize;
+    private final long[] seeds;
+
+    public MinHasher(int shingleSize, int numHashes, long seed) {
+        this.shingleSize = Math.max(1, shingleSize);
+        this.seeds = new long[numHashes];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    public int numHashes() {
+        return seeds.length;
+    }
+
+    // 정규화 후 내용이 없으면 null
+    public int[] signature(String title, String body) {
+        String text = normalize(title) + normalize(body);
+        if (text.isEmpty()) {
+            return null;
+        }
+
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        int last = Math.max(0, text.length() - shingleSize);
+        for (int start = 0; start <= last; start++) {
+            long shingle = hashShingle(text, start, Math.min(text.length(), start + shingleSize));
+            for (int i = 0; i < seeds.length; i++) {
+                int value = (int) (mix64(shingle ^ seeds[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return NON_TEXT.matcher(folded).replaceAll("");
+    }
+
+    // FNV-1a (64bit)
+    private static long hashShingle(String text, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,161 @@
+package com.smart.complaint.routing_system.applicant.service.dedup;
+
+import com.smart.complaint.routing_system.applicant.config.NearDuplicateProperties;
+import com.smart.complaint.routing_system.applicant.event.ComplaintReceivedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 접수 단계 근접 중복 민원 탐지기 (MinHash + LSH, 자치구별 파티션)
+ * - 기동 시 최근 window-days 기간의 민원으로 색인을 만들고, 이후 접수 건은 커밋 직후 점진적으로 추가합니다.
+ * - 매일 새벽 색인을 새로 만들어 교체하며(기간이 지난 민원 제외), 재구성 중 들어온 민원은 양쪽에 모두 추가합니다.
+ */
+@Slf4j
+@Component
+public class NearDuplicateDetector {
+
+    private static final String LOAD_SQL = "SELECT id, district_id, title, body FROM complaints " +
+            "WHERE received_at >= ? ORDER BY id";
+
+    private final NearDuplicateProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MinHasher minHasher;
+
+    private final Timer lookupTimer;
+    private final Counter duplicates;
+    private final Counter uniques;
+
+    private final AtomicBoolean rebuildInProgress = new AtomicBoolean();
+    private volatile LshIndex index;
+    private volatile LshIndex rebuilding;
+
+    public NearDuplicateDetector(NearDuplicateProperties properties, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.minHasher = new MinHasher(properties.getShingleSize(), properties.getNumHashes(), properties.getSeed());
+        this.index = newIndex();
+
+        this.lookupTimer = Timer.builder("complaint.dedup.lookup")
+                .description("근접 중복 탐지 질의 시간").register(meterRegistry);
+        this.duplicates = meterRegistry.counter("complaint.dedup.lookups", "result", "duplicate");
+        this.uniques = meterRegistry.counter("complaint.dedup.lookups", "result", "unique");
+        Gauge.builder("complaint.dedup.index.size", this, detector -> detector.index.size())
+                .description("근접 중복 색인에 올라간 민원 수").register(meterRegistry);
+    }
+
+    // 같은 자치구의 최근 민원 중 가장 유사한 근접 중복 민원
+    public Optional<LshIndex.Match> findDuplicate(Integer districtId, String title, String body) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        int[] signature = minHasher.signature(title, body);
+        Optional<LshIndex.Match> match = signature == null
+                ? Optional.empty()
+                : index.findBest(partition(districtId), signature, properties.getThreshold());
+        lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        (match.isPresent() ? duplicates : uniques).increment();
+        return match;
+    }
+
+    // 접수 트랜잭션이 커밋된 민원만 색인 (롤백된 민원이 후보로 잡히지 않도록)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onComplaintReceived(ComplaintReceivedEvent event) {
+        if (properties.isEnabled()) {
+            add(event.complaintId(), event.districtId(), event.title(), event.body());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::rebuild, "dedup-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(cron = "${complaint.dedup.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        if (!properties.isEnabled() || !rebuildInProgress.compareAndSet(false, true)) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        LshIndex next = newIndex();
+        rebuilding = next;
+        try {
+            Timestamp since = Timestamp.valueOf(LocalDateTime.now().minusDays(properties.getWindowDays()));
+            // PostgreSQL은 트랜잭션 안에서만 fetch size 단위로 끊어 읽음
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(LOAD_SQL);
+                ps.setFetchSize(1000);
+                ps.setTimestamp(1, since);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                Integer districtId = rs.getObject("district_id", Integer.class);
+                int[] signature = minHasher.signature(rs.getString("title"), rs.getString("body"));
+                if (signature != null) {
+                    next.add(partition(districtId), rs.getLong("id"), signature);
+                }
+            }));
+
+            index = next;
+            log.info("근접 중복 색인 재구성 완료 - {}건, 자치구 {}개, {}ms",
+                    next.size(), next.partitionCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("근접 중복 색인 재구성 실패 (기존 색인 유지): {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+            rebuildInProgress.set(false);
+        }
+    }
+
+    private void add(Long complaintId, Integer districtId, String title, String body) {
+        int[] signature = minHasher.signature(title, body);
+        if (signature == null) {
+            return;
+        }
+        index.add(partition(districtId), complaintId, signature);
+
+        LshIndex next = rebuilding;
+        if (next != null && next != index) {
+            next.add(partition(districtId), complaintId, signature);
+        }
+    }
+
+    private LshIndex newIndex() {
+        return new LshIndex(properties.getNumHashes(), properties.getBands(), properties.getMaxCandidates());
+    }
+
+    // 자치구 미지정 민원은 0번 파티션
+    private static int partition(Integer districtId) {
+        return districtId == null ? 0 : districtId;
+    }
+}
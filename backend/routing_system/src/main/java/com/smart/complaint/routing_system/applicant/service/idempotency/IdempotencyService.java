@@ -0,0 +1,163 @@
+package com.smart.complaint.routing_system.applicant.service.idempotency;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.config.IdempotencyProperties;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.repository.IdempotencyKeyRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더 기반 요청 중복 제거
+ * - 키 선점, 실제 처리, 응답 저장을 한 트랜잭션으로 묶어 처리가 롤백되면 키도 함께 사라집니다. (재시도 가능)
+ * - 같은 키로 동시에 들어온 요청은 먼저 들어온 요청이 끝날 때까지 대기한 뒤 저장된 응답을 그대로 돌려받고,
+ *   lock-timeout-ms 안에 끝나지 않으면 409로 응답합니다.
+ * - 같은 키에 다른 본문이 오면 422로 거절합니다. 헤더가 없으면 기존과 동일하게 바로 처리합니다.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyKeyRepository keyRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter conflicts;
+
+    public IdempotencyService(IdempotencyProperties properties, IdempotencyKeyRepository keyRepository,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.keyRepository = keyRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.executed = meterRegistry.counter("complaint.idempotency.requests", "result", "executed");
+        this.replayed = meterRegistry.counter("complaint.idempotency.requests", "result", "replayed");
+        this.conflicts = meterRegistry.counter("complaint.idempotency.requests", "result", "conflict");
+    }
+
+    /**
+     * @param scope    키가 유효한 범위 (사용자 + 엔드포인트)
+     * @param key      Idempotency-Key 헤더 값 (없으면 멱등성 처리 없이 실행)
+     * @param request  요청 본문 (같은 키의 재사용 여부 판별용)
+     * @param bodyType 응답 본문 타입 (저장된 응답 복원용)
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, TypeReference<T> bodyType,
+            Supplier<ResponseEntity<T>> action) {
+        if (!properties.isEnabled() || key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+            throw new BusinessException(ErrorMessage.IDEMPOTENCY_KEY_INVALID);
+        }
+
+        String requestHash = requestHash(request);
+        return transactionTemplate.execute(status -> {
+            if (!claim(scope, key, requestHash)) {
+                return replay(scope, key, requestHash, bodyType);
+            }
+
+            ResponseEntity<T> response = action.get();
+            keyRepository.complete(scope, key, response.getStatusCode().value(), writeBody(response.getBody()));
+            executed.increment();
+            return response;
+        });
+    }
+
+    // 매시간 만료된 키 정리
+    @Scheduled(cron = "0 15 * * * *")
+    public void purgeExpired() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int deleted = keyRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("만료된 멱등성 키 정리 - {}건 삭제", deleted);
+        }
+    }
+
+    private boolean claim(String scope, String key, String requestHash) {
+        try {
+            keyRepository.setLockTimeout(properties.getLockTimeoutMs());
+            boolean claimed = keyRepository.claim(scope, key, requestHash,
+                    LocalDateTime.now().plusHours(properties.getTtlHours()));
+            keyRepository.resetLockTimeout();
+            return claimed;
+        } catch (PessimisticLockingFailureException e) {
+            // 먼저 들어온 같은 키의 요청이 아직 처리 중
+            conflicts.increment();
+            throw new BusinessException(ErrorMessage.IDEMPOTENCY_IN_PROGRESS);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(String scope, String key, String requestHash, TypeReference<T> bodyType) {
+        IdempotencyKeyRepository.StoredResponse stored = keyRepository.find(scope, key)
+                .filter(row -> row.status() != null)
+                .orElseThrow(() -> {
+                    conflicts.increment();
+                    return new BusinessException(ErrorMessage.IDEMPOTENCY_IN_PROGRESS);
+                });
+        if (!stored.requestHash().equals(requestHash)) {
+            conflicts.increment();
+            throw new BusinessException(ErrorMessage.IDEMPOTENCY_KEY_REUSED);
+        }
+
+        replayed.increment();
+        log.info("멱등성 키 재요청 - 저장된 응답 반환 (scope={})", scope);
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(readBody(stored.body(), bodyType));
+    }
+
+    private String requestHash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] json = objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(digest.digest(json));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (Exception e) {
+            throw new BusinessException(ErrorMessage.NOT_ALLOWED);
+        }
+    }
+
+    private String writeBody(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("멱등성 응답 직렬화 실패", e);
+        }
+    }
+
+    private <T> T readBody(String body, TypeReference<T> bodyType) {
+        try {
+            return body == null ? null : objectMapper.readValue(body, bodyType);
+        } catch (Exception e) {
+            throw new IllegalStateException("멱등성 응답 역직렬화 실패", e);
+        }
+    }
+}
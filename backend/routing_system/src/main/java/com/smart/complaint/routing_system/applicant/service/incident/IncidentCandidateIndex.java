@@ -0,0 +1,112 @@
+package com.smart.complaint.routing_system.applicant.service.incident;
+
+import com.smart.complaint.routing_system.applicant.service.similarity.EmbeddingNormalizer;
+import com.smart.complaint.routing_system.applicant.service.similarity.VectorKernels;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사건 연결 후보 색인 (묶음 = (자치구, 대상), 사건에 연결된 최근 민원만 보관)
+ * - 같은 자치구/대상의 민원만 후보이므로 새 민원은 자기 묶음 안에서만 점수를 계산합니다.
+ * - 임베딩은 단위 벡터로 저장해 코사인 유사도를 내적 한 번으로 구합니다.
+ * - 묶음 단위 접근은 호출 측(IncidentLinker)이 묶음별 잠금을 잡은 상태에서 합니다. (묶음 목록 자체는 동기화하지 않음)
+ */
+public class IncidentCandidateIndex {
+
+    private static final VectorKernels KERNELS = VectorKernels.preferred();
+
+    private final Map<ShardKey, List<Candidate>> shards = new ConcurrentHashMap<>();
+
+    // 자치구/대상이 없는 민원은 없는 것끼리 한 묶음 (기존 배치와 같은 기준)
+    public record ShardKey(Integer districtId, String targetObject) {
+    }
+
+    public record Candidate(long complaintId, long incidentId, float[] embedding, Set<String> keywords,
+            String coreRequest, LocalDateTime createdAt) {
+    }
+
+    public record Match(Candidate candidate, double score) {
+    }
+
+    /**
+     * @param embedding 원본 임베딩 (null이면 코사인 0으로 계산)
+     */
+    public static Candidate candidate(long complaintId, long incidentId, float[] embedding, Set<String> keywords,
+            String coreRequest, LocalDateTime createdAt) {
+        return new Candidate(complaintId, incidentId, embedding == null ? null : EmbeddingNormalizer.normalize(embedding),
+                keywords, coreRequest, createdAt);
+    }
+
+    public void add(ShardKey key, Candidate candidate) {
+        shards.computeIfAbsent(key, k -> new ArrayList<>()).add(candidate);
+    }
+
+    /**
+     * 묶음 안에서 연결 점수가 가장 높은 후보 (기간이 지난 후보는 이때 함께 제거)
+     * @param embedding 단위 벡터 (candidate()와 같은 방식으로 정규화한 값)
+     */
+    public Optional<Match> findBest(ShardKey key, float[] embedding, Set<String> keywords, LocalDateTime since,
+            double embeddingWeight, double keywordWeight) {
+        List<Candidate> shard = shards.get(key);
+        if (shard == null) {
+            return Optional.empty();
+        }
+        shard.removeIf(candidate -> candidate.createdAt() != null && !candidate.createdAt().isAfter(since));
+
+        Candidate best = null;
+        double bestScore = -1;
+        for (Candidate candidate : shard) {
+            double cosine = embedding == null || candidate.embedding() == null
+                    ? 0 : KERNELS.dot(embedding, candidate.embedding());
+            double score = cosine * embeddingWeight + jaccard(keywords, candidate.keywords()) * keywordWeight;
+            if (score > bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        return best == null ? Optional.empty() : Optional.of(new Match(best, bestScore));
+    }
+
+    static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 0;
+        }
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int intersection = 0;
+        for (String keyword : smaller) {
+            if (larger.contains(keyword)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    static int overlap(Set<String> a, Set<String> b) {
+        int count = 0;
+        for (String keyword : a) {
+            if (b.contains(keyword)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int size() {
+        int size = 0;
+        for (List<Candidate> shard : shards.values()) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+}
@@ -0,0 +1,334 @@
+package com.smart.complaint.routing_system.applicant.service.incident;
+
+import com.smart.complaint.routing_system.applicant.config.IncidentLinkProperties;
+import com.smart.complaint.routing_system.applicant.domain.IncidentStatus;
+import com.smart.complaint.routing_system.applicant.dto.IncidentCandidateRow;
+import com.smart.complaint.routing_system.applicant.entity.Complaint;
+import com.smart.complaint.routing_system.applicant.entity.Incident;
+import com.smart.complaint.routing_system.applicant.event.NormalizationSavedEvent;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentCandidateRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentRepository;
+import com.smart.complaint.routing_system.applicant.service.similarity.EmbeddingNormalizer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 사건(incident) 자동 연결 (기존 crawling/Daily_cluster.py 주기 배치 대체)
+ * - 정규화 저장 트랜잭션이 커밋되면 바로 같은 (자치구, 대상) 묶음의 최근 연결 민원과 비교해
+ *   가장 가까운 사건에 연결하거나, 조건을 넘는 후보가 없으면 새 사건을 만듭니다.
+ * - 점수 = 임베딩 코사인 x 0.6 + 키워드 Jaccard x 0.4, 연결 조건(점수/공통 키워드/문장 유사도)은 기존 배치와 같습니다.
+ * - 같은 묶음의 연결은 묶음별 잠금(striped lock)으로 순서대로 처리하므로, 같은 사안의 민원이 동시에 들어와도
+ *   먼저 처리된 민원이 만든 사건에 뒤의 민원이 연결됩니다. 다른 묶음끼리는 병렬로 처리합니다.
+ * - 민원 연결, 연결 점수, 사건 민원 수 증가는 하나의 짧은 트랜잭션에서 반영합니다.
+ * - 후보 색인은 기동 시와 매일 새벽 window-days 기간으로 새로 만들고(기간 경과/수동 이동 반영),
+ *   재구성 중 연결된 민원은 양쪽에 모두 추가합니다.
+ * - 색인이 준비되기 전 이벤트와 거절/실패한 연결은 주기 따라잡기 작업이 처리합니다.
+ */
+@Slf4j
+@Component
+public class IncidentLinker {
+
+    private static final String JOINED = "joined";
+    private static final String CREATED = "created";
+
+    // 새 사건 제목: 자치구가 없을 때 이름 / 핵심 요청 요약 최대 길이
+    private static final String DEFAULT_DISTRICT_NAME = "서울시";
+    private static final int TITLE_SUMMARY_LENGTH = 30;
+
+    private final IncidentLinkProperties properties;
+    private final IncidentCandidateRepository candidateRepository;
+    private final ComplaintRepository complaintRepository;
+    private final IncidentRepository incidentRepository;
+    private final ThreadPoolTaskExecutor incidentLinkExecutor;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantLock[] locks;
+
+    private final Timer linkTimer;
+    private final Counter joined;
+    private final Counter created;
+
+    private final AtomicBoolean rebuildInProgress = new AtomicBoolean();
+    private final AtomicBoolean catchingUp = new AtomicBoolean();
+    private volatile IncidentCandidateIndex index = new IncidentCandidateIndex();
+    private volatile IncidentCandidateIndex rebuilding;
+    private volatile boolean ready;
+
+    // 따라잡기 keyset 위치 (끝까지 가면 처음부터 다시)
+    private volatile long catchUpCursor;
+
+    public IncidentLinker(IncidentLinkProperties properties, IncidentCandidateRepository candidateRepository,
+            ComplaintRepository complaintRepository, IncidentRepository incidentRepository,
+            ThreadPoolTaskExecutor incidentLinkExecutor, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.candidateRepository = candidateRepository;
+        this.complaintRepository = complaintRepository;
+        this.incidentRepository = incidentRepository;
+        this.incidentLinkExecutor = incidentLinkExecutor;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.locks = new ReentrantLock[Math.max(1, properties.getLockStripes())];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        this.linkTimer = Timer.builder("complaint.incident.link")
+                .description("사건 자동 연결 시간 (잠금 대기 포함)").register(meterRegistry);
+        this.joined = meterRegistry.counter("complaint.incident.links", "result", JOINED);
+        this.created = meterRegistry.counter("complaint.incident.links", "result", CREATED);
+        Gauge.builder("complaint.incident.candidates", this, linker -> linker.index.size())
+                .description("사건 연결 후보 색인에 올라간 민원 수").register(meterRegistry);
+    }
+
+    // 분석 결과가 커밋된 민원만 연결 (롤백된 정규화 데이터로 사건이 만들어지지 않도록)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNormalizationSaved(NormalizationSavedEvent event) {
+        if (!properties.isEnabled() || !ready || event.complaintIds().isEmpty()) {
+            return;
+        }
+        try {
+            incidentLinkExecutor.execute(() -> link(event.complaintIds()));
+        } catch (TaskRejectedException e) {
+            log.debug("사건 자동 연결 대기열 초과 - 따라잡기 작업에서 처리: {}", event.complaintIds());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::rebuild, "incident-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(cron = "${complaint.incident.rebuild-cron:0 30 4 * * *}")
+    public void rebuild() {
+        if (!properties.isEnabled() || !rebuildInProgress.compareAndSet(false, true)) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        IncidentCandidateIndex next = new IncidentCandidateIndex();
+        rebuilding = next;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> candidateRepository.forEachLinkedSince(since(), row -> {
+                IncidentCandidateIndex.ShardKey key = shardKey(row);
+                ReentrantLock lock = lock(key);
+                lock.lock();
+                try {
+                    next.add(key, IncidentCandidateIndex.candidate(row.complaintId(), row.incidentId(),
+                            row.embedding(), row.keywords(), row.coreRequest(), row.createdAt()));
+                } finally {
+                    lock.unlock();
+                }
+            }));
+
+            index = next;
+            ready = true;
+            log.info("사건 연결 후보 색인 재구성 완료 - {}건, 묶음 {}개, {}ms",
+                    next.size(), next.shardCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("사건 연결 후보 색인 재구성 실패 (기존 색인 유지): {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+            rebuildInProgress.set(false);
+        }
+    }
+
+    /**
+     * 주기 따라잡기
+     * - 색인 준비 전에 저장된 민원, 대기열 초과/실패로 연결되지 않은 민원을 처리합니다.
+     */
+    @Scheduled(fixedDelayString = "${complaint.incident.catch-up-interval-ms:30000}",
+            initialDelayString = "${complaint.incident.catch-up-interval-ms:30000}")
+    public void catchUp() {
+        if (!properties.isEnabled() || !ready || !catchingUp.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<Long> ids = candidateRepository.findUnlinked(since(), catchUpCursor, properties.getCatchUpBatchSize());
+            if (ids.isEmpty()) {
+                catchUpCursor = 0;
+                return;
+            }
+            catchUpCursor = ids.get(ids.size() - 1);
+            incidentLinkExecutor.execute(() -> {
+                try {
+                    link(ids);
+                } finally {
+                    catchingUp.set(false);
+                }
+            });
+            log.info("사건 자동 연결 따라잡기 - {}건", ids.size());
+            return;
+        } catch (TaskRejectedException e) {
+            log.debug("사건 자동 연결 대기열 초과 - 다음 주기에 다시 시도");
+        } catch (Exception e) {
+            log.warn("사건 자동 연결 따라잡기 실패: {}", e.getMessage());
+        }
+        catchingUp.set(false);
+    }
+
+    private void link(List<Long> complaintIds) {
+        List<IncidentCandidateRow> rows;
+        try {
+            rows = candidateRepository.findByComplaintIds(complaintIds);
+        } catch (Exception e) {
+            log.warn("사건 자동 연결 대상 조회 실패 - {}: {}", complaintIds, e.getMessage());
+            return;
+        }
+        for (IncidentCandidateRow row : rows) {
+            if (row.incidentId() != null) {
+                continue; // 근접 중복 연결 등으로 이미 사건이 있는 민원
+            }
+            try {
+                linkTimer.record(() -> linkOne(row));
+            } catch (Exception e) {
+                log.warn("사건 자동 연결 실패 - 민원 {}: {}", row.complaintId(), e.getMessage());
+            }
+        }
+    }
+
+    private void linkOne(IncidentCandidateRow row) {
+        IncidentCandidateIndex.ShardKey key = shardKey(row);
+        float[] embedding = row.embedding() == null ? null : EmbeddingNormalizer.normalize(row.embedding());
+        ReentrantLock lock = lock(key);
+        lock.lock();
+        try {
+            // 재구성 중 교체되더라도 연결한 민원이 새 색인에 빠지지 않도록 두 색인을 먼저 잡아 둠
+            IncidentCandidateIndex target = index;
+            IncidentCandidateIndex next = rebuilding;
+            IncidentCandidateIndex.Match accepted = target.findBest(key, embedding, row.keywords(), since(),
+                            properties.getEmbeddingWeight(), properties.getKeywordWeight())
+                    .filter(match -> verify(match, row))
+                    .orElse(null);
+
+            Long incidentId = transaction.execute(status -> apply(row, accepted));
+            if (incidentId == null) {
+                return; // 그사이 다른 경로로 연결된 민원
+            }
+
+            IncidentCandidateIndex.Candidate candidate = new IncidentCandidateIndex.Candidate(row.complaintId(),
+                    incidentId, embedding, row.keywords(), row.coreRequest(), row.createdAt());
+            target.add(key, candidate);
+            if (next != null && next != target) {
+                next.add(key, candidate);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 기존 배치의 3단계 확인: 연결 점수, 공통 키워드 수, 핵심 요청 문장 유사도
+    private boolean verify(IncidentCandidateIndex.Match match, IncidentCandidateRow row) {
+        IncidentCandidateIndex.Candidate candidate = match.candidate();
+        return match.score() >= properties.getThreshold()
+                && IncidentCandidateIndex.overlap(row.keywords(), candidate.keywords())
+                        >= properties.getMinKeywordOverlap()
+                && TextSimilarity.ratio(row.coreRequest(), candidate.coreRequest())
+                        >= properties.getMinTextSimilarity();
+    }
+
+    /**
+     * 민원 연결 + 연결 점수 + 사건 민원 수를 한 트랜잭션에서 반영
+     * @return 연결한 사건 ID (이미 연결된 민원이면 null)
+     */
+    private Long apply(IncidentCandidateRow row, IncidentCandidateIndex.Match accepted) {
+        Complaint complaint = complaintRepository.findByIdForUpdate(row.complaintId()).orElse(null);
+        if (complaint == null || complaint.getIncident() != null) {
+            return null;
+        }
+
+        // 후보의 사건이 그사이 삭제됐으면 새 사건으로
+        Optional<Incident> existing = accepted == null
+                ? Optional.empty()
+                : incidentRepository.findById(accepted.candidate().incidentId());
+        if (existing.isPresent()) {
+            Incident incident = existing.get();
+            incidentRepository.incrementComplaintCount(incident.getId());
+            complaint.linkIncident(incident, linkScore(accepted.score()));
+            joined.increment();
+            log.debug("사건 연결 - 민원 {} -> 사건 {} (점수 {})", row.complaintId(), incident.getId(),
+                    String.format("%.3f", accepted.score()));
+            return incident.getId();
+        }
+
+        Incident incident = incidentRepository.save(newIncident(row));
+        complaint.linkIncident(incident, linkScore(1.0));
+        created.increment();
+        log.debug("새 사건 생성 - 민원 {} -> 사건 {} {}", row.complaintId(), incident.getId(), incident.getTitle());
+        return incident.getId();
+    }
+
+    // 기존 배치와 같은 형식: "{자치구} {키워드 2개} {핵심 요청 30자}..."
+    private static Incident newIncident(IncidentCandidateRow row) {
+        String districtName = row.districtName() != null ? row.districtName() : DEFAULT_DISTRICT_NAME;
+        String keywords = row.keywords().stream().limit(2).collect(Collectors.joining(" "));
+        String summary = cleanForTitle(row.coreRequest());
+        if (summary.length() > TITLE_SUMMARY_LENGTH) {
+            summary = summary.substring(0, TITLE_SUMMARY_LENGTH);
+        }
+        String title = keywords.isEmpty()
+                ? districtName + " " + summary + "..."
+                : districtName + " " + keywords + " " + summary + "...";
+
+        return Incident.builder()
+                .title(title)
+                .status(IncidentStatus.OPEN)
+                .complaintCount(1)
+                .keywords(keywords)
+                .districtId(row.districtId() != null && row.districtId() > 0 ? row.districtId() : null)
+                .openedAt(LocalDateTime.now())
+                .build();
+    }
+
+    // 글자/숫자/공백 외 문자는 공백으로 바꾸고 연속 공백을 하나로
+    private static String cleanForTitle(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replaceAll("[^\\p{L}\\p{N}_\\s]", " ").trim().replaceAll("\\s+", " ");
+    }
+
+    private static BigDecimal linkScore(double score) {
+        return BigDecimal.valueOf(score).setScale(4, RoundingMode.HALF_UP);
+    }
+
+    private ReentrantLock lock(IncidentCandidateIndex.ShardKey key) {
+        return locks[Math.floorMod(key.hashCode(), locks.length)];
+    }
+
+    private static IncidentCandidateIndex.ShardKey shardKey(IncidentCandidateRow row) {
+        return new IncidentCandidateIndex.ShardKey(row.districtId(), row.targetObject());
+    }
+
+    private LocalDateTime since() {
+        return LocalDateTime.now().minusDays(properties.getWindowDays());
+    }
+}
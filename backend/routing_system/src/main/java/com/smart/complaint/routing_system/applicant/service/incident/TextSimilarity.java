@@ -0,0 +1,59 @@
+package com.smart.complaint.routing_system.applicant.service.incident;
+
+/**
+ * 문장 유사도 (Ratcliff-Obershelp, Python difflib.SequenceMatcher.ratio()와 같은 값)
+ * - 가장 긴 공통 부분 문자열을 찾고 그 좌우에서 같은 방식으로 반복한 일치 글자 수 M으로 2M / (len(a) + len(b))
+ * - 핵심 요청 문장은 짧으므로(수백 자 이하) difflib의 자동 junk 처리(200자 이상에서 흔한 글자 무시)는 적용하지 않습니다.
+ */
+public final class TextSimilarity {
+
+    private TextSimilarity() {
+    }
+
+    public static double ratio(String a, String b) {
+        String left = a == null ? "" : a;
+        String right = b == null ? "" : b;
+        int total = left.length() + right.length();
+        if (total == 0) {
+            return 1.0;
+        }
+        return 2.0 * matches(left, 0, left.length(), right, 0, right.length()) / total;
+    }
+
+    private static int matches(String a, int aStart, int aEnd, String b, int bStart, int bEnd) {
+        if (aStart >= aEnd || bStart >= bEnd) {
+            return 0;
+        }
+        // 가장 긴 공통 부분 문자열 (길이가 같으면 a, b에서 먼저 나온 것 - difflib과 같은 선택)
+        int bestI = aStart;
+        int bestJ = bStart;
+        int bestSize = 0;
+        int[] previous = new int[bEnd - bStart + 1];
+        int[] current = new int[bEnd - bStart + 1];
+        for (int i = aStart; i < aEnd; i++) {
+            char ch = a.charAt(i);
+            for (int j = bStart; j < bEnd; j++) {
+                int k = j - bStart + 1;
+                if (ch == b.charAt(j)) {
+                    current[k] = previous[k - 1] + 1;
+                    if (current[k] > bestSize) {
+                        bestSize = current[k];
+                        bestI = i - bestSize + 1;
+                        bestJ = j - bestSize + 1;
+                    }
+                } else {
+                    current[k] = 0;
+                }
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        if (bestSize == 0) {
+            return 0;
+        }
+        return bestSize
+                + matches(a, aStart, bestI, b, bStart, bestJ)
+                + matches(a, bestI + bestSize, aEnd, b, bestJ + bestSize, bEnd);
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -16,6 +17,7 @@ import java.io.IOException;
 import java.util.Collections;
 
 // 요청 한 번 마다 확인할 수 있도록 요청
+@Slf4j
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -31,8 +33,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String path = request.getRequestURI();
 
-        // 로그를 찍어 현재 어떤 주소가 들어오는지 확인해보세요.
-        System.out.println("Request Path: " + path);
+        // 로그를 찍어 현재 어떤 주소가 들어오는지 확인해보세요. (모든 요청 경로이므로 debug 레벨)
+        log.debug("Request Path: {}", path);
 
         // 공무원 API 경로는 JWT 검사를 아예 하지 않음
         if (path.startsWith("/api/agent/")) {
@@ -59,18 +61,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
              */
 
             try {
-                System.out.println("토큰 검증 성공, 유저 정보 추출 시작...");
+                log.debug("토큰 검증 성공, 유저 정보 추출 시작...");
                 String providerId = jwtTokenProvider.getProviderId(token);
-                System.out.println("추출된 providerId: " + providerId);
+                log.debug("추출된 providerId: {}", providerId);
 
                 Authentication auth = new UsernamePasswordAuthenticationToken(providerId, null,
                         Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
-                System.out.println("SecurityContext에 인증 객체 저장 완료!");
+                log.debug("SecurityContext에 인증 객체 저장 완료!");
             } catch (Exception e) {
-                System.err.println("인증 객체 생성 중 에러 발생: " + e.getMessage());
-                e.printStackTrace();
+                log.warn("인증 객체 생성 중 에러 발생", e);
             }
         }
 
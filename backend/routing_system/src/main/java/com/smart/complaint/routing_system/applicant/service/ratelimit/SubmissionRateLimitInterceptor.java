@@ -0,0 +1,36 @@
+package com.smart.complaint.routing_system.applicant.service.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// 민원 접수/추가 문의 POST 요청에 유입 제한 적용 (보안 필터 이후 실행되므로 JWT subject 사용 가능)
+@Component
+@RequiredArgsConstructor
+public class SubmissionRateLimitInterceptor implements HandlerInterceptor {
+
+    private final SubmissionRateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("POST".equalsIgnoreCase(request.getMethod())) {
+            rateLimiter.check(applicantId(), request.getRemoteAddr());
+        }
+        return true;
+    }
+
+    private String applicantId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
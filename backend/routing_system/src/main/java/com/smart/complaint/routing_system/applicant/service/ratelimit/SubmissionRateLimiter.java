@@ -0,0 +1,116 @@
+package com.smart.complaint.routing_system.applicant.service.ratelimit;
+
+import com.smart.complaint.routing_system.applicant.config.RateLimitExceededException;
+import com.smart.complaint.routing_system.applicant.config.RateLimitProperties;
+import com.smart.complaint.routing_system.applicant.repository.RateLimitBucketRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 민원 접수/추가 문의 유입 제한 (토큰 버킷)
+ * - 민원인(JWT subject)별, 인증 정보가 없으면 IP별 버킷을 먼저 확인하고, 통과하면 전체 버킷을 확인합니다.
+ *   (한 클라이언트가 몰아서 보내도 개인 버킷에서 먼저 걸러져 전체 한도를 소진하지 못함)
+ * - store=memory: 인스턴스 내 잠금 없는 버킷, store=postgres: rate_limit_buckets 테이블로 인스턴스 간 공유
+ * - postgres 저장소 오류 시에는 접수를 막지 않도록 허용(fail-open)하고 지표만 남깁니다.
+ * - 결과는 complaint.ratelimit.requests{scope, result} 지표로 노출합니다.
+ */
+@Slf4j
+@Component
+public class SubmissionRateLimiter {
+
+    private static final String GLOBAL_KEY = "global";
+
+    private final RateLimitProperties properties;
+    private final RateLimitBucketRepository bucketRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public SubmissionRateLimiter(RateLimitProperties properties, RateLimitBucketRepository bucketRepository,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bucketRepository = bucketRepository;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("complaint.ratelimit.buckets", buckets, Map::size)
+                .description("메모리에 유지 중인 토큰 버킷 수").register(meterRegistry);
+    }
+
+    /**
+     * 요청 1건 허용 여부 확인 (초과 시 RateLimitExceededException -> 429)
+     * @param applicantId JWT subject (없으면 IP 기준)
+     */
+    public void check(String applicantId, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        boolean authenticated = applicantId != null;
+        String scope = authenticated ? "applicant" : "ip";
+        String key = authenticated ? "applicant:" + applicantId : "ip:" + clientIp;
+        acquire(scope, key, authenticated ? properties.getApplicant() : properties.getIp());
+        acquire(GLOBAL_KEY, GLOBAL_KEY, properties.getGlobal());
+    }
+
+    // 매분 가득 찬(유휴) 버킷 정리
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFullBuckets() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (isPostgres()) {
+            try {
+                bucketRepository.deleteFullBuckets();
+            } catch (Exception e) {
+                log.warn("유입 제한 버킷 정리 실패: {}", e.getMessage());
+            }
+            return;
+        }
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private void acquire(String scope, String key, RateLimitProperties.Bucket spec) {
+        long waitNanos;
+        try {
+            waitNanos = isPostgres() ? acquireShared(key, spec) : acquireLocal(key, spec);
+        } catch (Exception e) {
+            meterRegistry.counter("complaint.ratelimit.requests", "scope", scope, "result", "error").increment();
+            log.warn("유입 제한 버킷 확인 실패 (허용 처리) - {}: {}", scope, e.getMessage());
+            return;
+        }
+
+        if (waitNanos > 0) {
+            meterRegistry.counter("complaint.ratelimit.requests", "scope", scope, "result", "rejected").increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            log.warn("유입 제한 초과 - {}, {}초 후 재시도 가능", key, retryAfterSeconds);
+            throw new RateLimitExceededException(retryAfterSeconds);
+        }
+        meterRegistry.counter("complaint.ratelimit.requests", "scope", scope, "result", "allowed").increment();
+    }
+
+    private long acquireLocal(String key, RateLimitProperties.Bucket spec) {
+        long now = System.nanoTime();
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(spec.getCapacity(), spec.intervalNanos(), now))
+                .tryAcquire(now);
+    }
+
+    private long acquireShared(String key, RateLimitProperties.Bucket spec) {
+        long intervalMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(spec.intervalNanos()));
+        long burstMs = intervalMs * Math.max(1, spec.getCapacity());
+        return TimeUnit.MILLISECONDS.toNanos(bucketRepository.tryAcquire(key, intervalMs, burstMs));
+    }
+
+    private boolean isPostgres() {
+        return "postgres".equalsIgnoreCase(properties.getStore());
+    }
+}
@@ -0,0 +1,44 @@
+package com.smart.complaint.routing_system.applicant.service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 잠금 없는 토큰 버킷 (GCRA: Generic Cell Rate Algorithm)
+ * - 남은 토큰 수 대신 "버킷이 다시 가득 차는 시각(TAT)" 하나만 AtomicLong으로 관리해 CAS 한 번으로 판정합니다.
+ * - 요청마다 TAT를 토큰 1개 보충 시간(interval)만큼 미루고, TAT가 현재보다 capacity * interval 이상 앞서면 거절합니다.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, long intervalNanos, long nowNanos) {
+        this.intervalNanos = intervalNanos;
+        this.burstNanos = Math.max(1, capacity) * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 토큰 1개 획득 시도
+     * @return 0이면 허용, 양수면 다음 토큰까지 기다려야 하는 시간(나노초)
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // 가득 찬 버킷 (제거해도 다음 요청에서 같은 상태로 다시 만들어짐)
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
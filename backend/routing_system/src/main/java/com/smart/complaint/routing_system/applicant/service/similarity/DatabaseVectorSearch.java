@@ -0,0 +1,259 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import com.smart.complaint.routing_system.applicant.config.SimilaritySearchProperties;
+import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
+import com.smart.complaint.routing_system.applicant.repository.NormalizationVectorRepository;
+import com.smart.complaint.routing_system.applicant.repository.VectorIndexRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * DB(pgvector) 2단계 유사 민원 검색 (인메모리 색인이 준비되지 않았을 때의 대체 경로)
+ * - db-search-mode=halfvec|binary면 보조 컬럼 색인으로 후보 db-candidates건을 고르고 원본 vector로 재정렬합니다.
+ * - 보조 컬럼(halfvec/bit)과 HNSW 색인은 이 모드를 켠 경우에만 pgvector 버전(0.7 이상)을 확인한 뒤 만듭니다.
+ *   (exact면 스키마를 건드리지 않고, 버전이 낮으면 exact를 유지)
+ * - 기존 행의 보조 컬럼은 주기적 백필로 채우며, 백필이 끝나기 전에는 원본 전수 정렬(exact)을 그대로 씁니다.
+ * - 백필이 끝나면 표본 질의로 원본 전수 정렬과의 top-3 일치율을 한 번 측정해 로그/상태 조회에 남깁니다.
+ */
+@Slf4j
+@Component
+public class DatabaseVectorSearch {
+
+    private static final String EXACT = "exact";
+
+    // halfvec 타입과 binary_quantize가 들어온 pgvector 버전 (0.7)
+    private static final int QUANTIZED_TYPES_MIN_MINOR = 7;
+
+    // 예약 작업 스레드를 오래 붙잡지 않도록 1회 실행당 처리할 최대 배치 수
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    // top-3 일치율 측정 표본 수 (표본마다 원본 전수 정렬을 한 번씩 수행)
+    private static final int AGREEMENT_SAMPLE_SIZE = 20;
+    private static final int AGREEMENT_K = 3;
+
+    private final SimilaritySearchProperties properties;
+    private final NormalizationVectorRepository repository;
+    private final VectorIndexRepository indexRepository;
+    private final EmbeddingNormalizer normalizer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer halfvecTimer;
+    private final Timer binaryTimer;
+
+    private volatile boolean storageReady;
+    private volatile boolean storageUnsupported;
+    private volatile boolean backfilled;
+    private volatile long backfillCursor;
+    private volatile long backfilledRows;
+    private volatile double lastTop3Agreement = Double.NaN;
+
+    public DatabaseVectorSearch(SimilaritySearchProperties properties, NormalizationVectorRepository repository,
+            VectorIndexRepository indexRepository, EmbeddingNormalizer normalizer,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.repository = repository;
+        this.indexRepository = indexRepository;
+        this.normalizer = normalizer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.halfvecTimer = Timer.builder("complaint.similarity.db.search")
+                .tag("mode", NormalizationVectorRepository.HALFVEC)
+                .description("DB 2단계 유사 민원 검색 시간").register(meterRegistry);
+        this.binaryTimer = Timer.builder("complaint.similarity.db.search")
+                .tag("mode", NormalizationVectorRepository.BINARY)
+                .description("DB 2단계 유사 민원 검색 시간").register(meterRegistry);
+    }
+
+    // 2단계 검색 사용 여부 (설정이 halfvec/binary이고 보조 컬럼 백필이 끝난 경우)
+    public boolean isTwoStage() {
+        return !EXACT.equalsIgnoreCase(properties.getDbSearchMode()) && backfilled;
+    }
+
+    // 새 정규화 행에 보조 컬럼 값도 기록할지 (보조 컬럼이 준비된 뒤부터, 이전 행은 백필이 채움)
+    public boolean storesQuantized() {
+        return !EXACT.equalsIgnoreCase(properties.getDbSearchMode()) && storageReady;
+    }
+
+    public List<ComplaintSearchResult> search(double[] queryEmbedding, int limit) {
+        boolean cosine = normalizer.isCosine();
+        float[] query = normalizer.forQuery(queryEmbedding);
+        String mode = mode();
+        Timer timer = NormalizationVectorRepository.BINARY.equals(mode) ? binaryTimer : halfvecTimer;
+        return timer.record(() -> readOnlyTransaction.execute(status ->
+                repository.findSimilarTwoStage(query, mode, candidates(limit), limit, cosine)));
+    }
+
+    /**
+     * 보조 컬럼 백필 (ID 순서로 batch 단위 갱신, 실행당 최대 MAX_BATCHES_PER_RUN 배치)
+     * - 각 배치는 자동 커밋되는 UPDATE 한 문장이므로 중간에 종료돼도 다음 실행에서 이어서 채웁니다.
+     * - 남은 행이 없으면 완료로 표시하고, 이후에는 삽입 시점에 보조 컬럼이 함께 기록되므로 다시 확인하지 않습니다.
+     * - 첫 실행에서 보조 컬럼/색인을 만들고 나서 백필을 시작합니다. (보조 컬럼이 준비되기 전에 저장된 행도 백필 대상)
+     */
+    @Scheduled(fixedDelayString = "${complaint.similarity.backfill-interval-ms:5000}")
+    public void backfill() {
+        if (EXACT.equalsIgnoreCase(properties.getDbSearchMode()) || backfilled || storageUnsupported) {
+            return;
+        }
+
+        try {
+            if (!storageReady && !prepareStorage()) {
+                return;
+            }
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                List<Long> updated = repository.backfillQuantized(backfillCursor, properties.getBackfillBatchSize());
+                if (updated.isEmpty()) {
+                    completeBackfill();
+                    return;
+                }
+                backfillCursor = Math.max(backfillCursor, updated.stream().mapToLong(Long::longValue).max().getAsLong());
+                backfilledRows += updated.size();
+            }
+            log.info("정규화 임베딩 보조 컬럼 백필 진행 - 누적 {}건 (ID {}까지)", backfilledRows, backfillCursor);
+        } catch (Exception e) {
+            log.warn("정규화 임베딩 보조 컬럼 백필 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 보조 컬럼과 색인 준비 (pgvector 0.7 미만이면 exact 유지)
+     * - 색인 관리 advisory lock을 잡고 실행하므로 다른 인스턴스가 관리 중이면 다음 실행에서 다시 시도합니다.
+     * @return 준비됐는지
+     */
+    private boolean prepareStorage() {
+        String version = repository.extensionVersion().orElse(null);
+        if (version == null || !atLeastQuantizedTypes(version)) {
+            storageUnsupported = true;
+            log.warn("DB 2단계 검색({})은 pgvector 0.7 이상이 필요합니다 - 설치 버전 {}, 원본 전수 정렬(exact) 유지",
+                    properties.getDbSearchMode(), version);
+            return false;
+        }
+
+        long start = System.currentTimeMillis();
+        Optional<Boolean> prepared = indexRepository.withMaintenanceLock(session -> {
+            repository.createQuantizedStorage(session);
+            return true;
+        });
+        if (prepared.isEmpty()) {
+            log.debug("DB 2단계 검색 보조 컬럼 준비 건너뜀 - 다른 인스턴스가 색인 관리 중");
+            return false;
+        }
+        storageReady = true;
+        log.info("DB 2단계 검색 보조 컬럼/색인 준비 완료 - pgvector {} ({}ms)", version,
+                System.currentTimeMillis() - start);
+        return true;
+    }
+
+    private static boolean atLeastQuantizedTypes(String version) {
+        String[] parts = version.split("\\.");
+        try {
+            int major = Integer.parseInt(parts[0]);
+            int minor = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            return major > 0 || minor >= QUANTIZED_TYPES_MIN_MINOR;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // 커서 이후로 남은 행이 없어도 다른 인스턴스가 잡고 있던(SKIP LOCKED) 행이 있을 수 있으므로 한 번 더 확인
+    private void completeBackfill() {
+        if (repository.hasPendingQuantized()) {
+            backfillCursor = 0;
+            return;
+        }
+        backfilled = true;
+        log.info("정규화 임베딩 보조 컬럼 백필 완료 - 이번 기동에서 {}건, 색인 크기 halfvec {}KB / binary {}KB",
+                backfilledRows, repository.indexSize(NormalizationVectorRepository.HALFVEC) / 1024,
+                repository.indexSize(NormalizationVectorRepository.BINARY) / 1024);
+        measureAgreement();
+    }
+
+    /**
+     * top-3 일치율 측정 (현재 임베딩 표본을 질의로 삼아 2단계 결과와 원본 전수 정렬 결과 비교)
+     * - 질의 자신(같은 민원)은 양쪽 결과에서 모두 빼고 나머지 상위 3건으로 비교합니다.
+     */
+    public double measureAgreement() {
+        if (!isTwoStage()) {
+            return Double.NaN;
+        }
+        long start = System.currentTimeMillis();
+        String mode = mode();
+        boolean cosine = normalizer.isCosine();
+        long matched = 0;
+        long expected = 0;
+        List<NormalizationVectorRepository.SampleRow> samples =
+                repository.sampleCurrentEmbeddings(AGREEMENT_SAMPLE_SIZE);
+        for (NormalizationVectorRepository.SampleRow sample : samples) {
+            List<Long> exactIds = new ArrayList<>(readOnlyTransaction.execute(status ->
+                    repository.findSimilarComplaintIdsExact(sample.embedding(), AGREEMENT_K + 1, cosine)));
+            List<Long> twoStageIds = new ArrayList<>();
+            readOnlyTransaction.executeWithoutResult(status -> repository
+                    .findSimilarTwoStage(sample.embedding(), mode, candidates(AGREEMENT_K + 1), AGREEMENT_K + 1,
+                            cosine)
+                    .forEach(result -> twoStageIds.add(result.id())));
+
+            Set<Long> exact = new HashSet<>(topWithout(exactIds, sample.complaintId()));
+            for (Long id : topWithout(twoStageIds, sample.complaintId())) {
+                if (exact.contains(id)) {
+                    matched++;
+                }
+            }
+            expected += exact.size();
+        }
+
+        lastTop3Agreement = expected == 0 ? Double.NaN : (double) matched / expected;
+        log.info("DB 2단계 검색 top-3 일치율 - {} {} (후보 {}건, {}ms)", mode,
+                String.format("%.4f", lastTop3Agreement), properties.getDbCandidates(),
+                System.currentTimeMillis() - start);
+        return lastTop3Agreement;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", properties.getDbSearchMode());
+        stats.put("twoStage", isTwoStage());
+        stats.put("storageReady", storageReady);
+        stats.put("storageUnsupported", storageUnsupported);
+        stats.put("backfilled", backfilled);
+        stats.put("backfilledRows", backfilledRows);
+        stats.put("candidates", properties.getDbCandidates());
+        stats.put("top3Agreement", lastTop3Agreement);
+        if (storageReady) {
+            try {
+                stats.put("halfvecIndexBytes", repository.indexSize(NormalizationVectorRepository.HALFVEC));
+                stats.put("binaryIndexBytes", repository.indexSize(NormalizationVectorRepository.BINARY));
+            } catch (Exception e) {
+                stats.put("indexSizeError", e.getMessage());
+            }
+        }
+        return stats;
+    }
+
+    private static List<Long> topWithout(List<Long> ids, Long excluded) {
+        ids.remove(excluded);
+        return ids.subList(0, Math.min(AGREEMENT_K, ids.size()));
+    }
+
+    private String mode() {
+        return NormalizationVectorRepository.BINARY.equalsIgnoreCase(properties.getDbSearchMode())
+                ? NormalizationVectorRepository.BINARY : NormalizationVectorRepository.HALFVEC;
+    }
+
+    // hnsw.ef_search 상한(1000) 안에서 최소 limit건
+    private int candidates(int limit) {
+        return Math.min(1000, Math.max(limit, properties.getDbCandidates()));
+    }
+}
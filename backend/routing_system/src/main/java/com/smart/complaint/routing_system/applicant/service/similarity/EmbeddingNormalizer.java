@@ -0,0 +1,197 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import com.smart.complaint.routing_system.applicant.config.SimilaritySearchProperties;
+import com.smart.complaint.routing_system.applicant.event.EmbeddingsNormalizedEvent;
+import com.smart.complaint.routing_system.applicant.repository.NormalizationVectorRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유사도 기준(metric) 관리 + 단위 벡터 정규화 이관
+ * - metric=cosine이면 새 정규화 임베딩은 저장 전에 단위 벡터로 정규화하고, 기존 행은 주기 작업이 ID 순서로 나눠 정규화합니다.
+ * - 이관이 끝나기 전에는 정규화된 행과 아닌 행이 섞여 내적 순위가 틀어지므로 DB 검색은 l2 기준을 유지하고,
+ *   끝나면 EmbeddingsNormalizedEvent를 발행해 내적 색인(vector_ip_ops)으로 바꾸게 합니다.
+ * - 단위 벡터의 내적은 코사인 유사도와 같으므로 점수는 -(embedding <#> query)를 그대로 씁니다.
+ * - 이관이 끝난 뒤에도 같은 주기로 커서 이후의 새 행을 확인합니다. (파이썬 임베딩 서비스처럼 정규화하지 않고 저장하는 writer가 있음)
+ */
+@Slf4j
+@Component
+public class EmbeddingNormalizer {
+
+    public static final String L2 = "l2";
+    public static final String COSINE = "cosine";
+
+    // 노름이 1에서 이만큼 넘게 벗어난 행만 다시 정규화 (float32 정규화 오차는 1e-6 수준)
+    private static final double TOLERANCE = 1e-3;
+
+    // 예약 작업 스레드를 오래 붙잡지 않도록 1회 실행당 처리할 최대 배치 수
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final SimilaritySearchProperties properties;
+    private final NormalizationVectorRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile boolean migrated;
+    private volatile long migrationCursor;
+    private volatile long normalizedRows;
+
+    // 이관 후 확인: 직전 실행 시작 시점의 최대 ID (한 주기가 지나 커밋이 끝났다고 보고 다음 확인부터 커서를 여기까지 당김)
+    private volatile long sweepHorizon;
+
+    public EmbeddingNormalizer(SimilaritySearchProperties properties, NormalizationVectorRepository repository,
+            ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // 설정상 cosine인지 (저장 시 정규화, 인메모리 색인은 스스로 정규화하므로 이 값만 봄)
+    public boolean isCosineConfigured() {
+        return COSINE.equalsIgnoreCase(properties.getMetric());
+    }
+
+    // DB 검색을 내적 기준으로 할 수 있는지 (cosine 설정 + 기존 행 이관 완료)
+    public boolean isCosine() {
+        return isCosineConfigured() && migrated;
+    }
+
+    public String activeMetric() {
+        return isCosine() ? COSINE : L2;
+    }
+
+    // 저장할 임베딩 (cosine 설정이면 단위 벡터)
+    public float[] forStorage(float[] embedding) {
+        return embedding != null && isCosineConfigured() ? normalize(embedding) : embedding;
+    }
+
+    // DB 질의 벡터 (내적 기준 검색이면 단위 벡터)
+    public float[] forQuery(double[] embedding) {
+        float[] query = new float[embedding.length];
+        for (int i = 0; i < query.length; i++) {
+            query[i] = (float) embedding[i];
+        }
+        return isCosine() ? normalize(query) : query;
+    }
+
+    // 단위 벡터 사본 (영벡터는 그대로)
+    public static float[] normalize(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += (double) value * value;
+        }
+        float[] normalized = vector.clone();
+        if (sum == 0) {
+            return normalized;
+        }
+        float scale = (float) (1.0 / Math.sqrt(sum));
+        for (int i = 0; i < normalized.length; i++) {
+            normalized[i] *= scale;
+        }
+        return normalized;
+    }
+
+    public static double[] normalize(double[] vector) {
+        double sum = 0;
+        for (double value : vector) {
+            sum += value * value;
+        }
+        if (sum == 0) {
+            return vector.clone();
+        }
+        double scale = 1.0 / Math.sqrt(sum);
+        double[] normalized = new double[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * scale;
+        }
+        return normalized;
+    }
+
+    /**
+     * 기존 행 정규화 이관 (ID 순서로 batch 단위 갱신, 실행당 최대 MAX_BATCHES_PER_RUN 배치)
+     * - 각 배치는 자동 커밋되는 UPDATE 한 문장이므로 중간에 종료돼도 다음 실행에서 이어서 정규화합니다.
+     * - 현재가 아닌 과거 정규화 행도 함께 정규화합니다. (다시 현재가 될 수 있음)
+     */
+    @Scheduled(fixedDelayString = "${complaint.similarity.normalize-interval-ms:5000}")
+    public void migrate() {
+        if (!isCosineConfigured()) {
+            return;
+        }
+
+        try {
+            if (migrated) {
+                sweepNewRows();
+                return;
+            }
+            // 보조 컬럼은 2단계 검색을 켠 경우에만 있음 (DatabaseVectorSearch가 생성)
+            boolean withHalf = repository.hasQuantizedColumns();
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                List<Long> updated = repository.normalizeEmbeddings(migrationCursor,
+                        properties.getNormalizeBatchSize(), TOLERANCE, withHalf);
+                if (updated.isEmpty()) {
+                    completeMigration();
+                    return;
+                }
+                migrationCursor = Math.max(migrationCursor,
+                        updated.stream().mapToLong(Long::longValue).max().getAsLong());
+                normalizedRows += updated.size();
+            }
+            log.info("정규화 임베딩 단위 벡터 이관 진행 - 누적 {}건 (ID {}까지)", normalizedRows, migrationCursor);
+        } catch (Exception e) {
+            log.warn("정규화 임베딩 단위 벡터 이관 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 이관 후 새로 들어온 정규화되지 않은 행 정규화 (커서 이후만 보므로 실행마다 새 행 수만큼만 훑음)
+     * - 확인 사이에는 정규화되지 않은 행이 잠시(최대 normalize-interval-ms) 내적 검색에 섞일 수 있습니다.
+     */
+    private void sweepNewRows() {
+        long maxId = repository.maxId();
+        boolean withHalf = repository.hasQuantizedColumns();
+        int swept = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<Long> updated = repository.normalizeEmbeddings(migrationCursor,
+                    properties.getNormalizeBatchSize(), TOLERANCE, withHalf);
+            if (updated.isEmpty()) {
+                migrationCursor = Math.max(migrationCursor, sweepHorizon);
+                sweepHorizon = maxId;
+                break;
+            }
+            migrationCursor = Math.max(migrationCursor,
+                    updated.stream().mapToLong(Long::longValue).max().getAsLong());
+            swept += updated.size();
+        }
+        if (swept > 0) {
+            normalizedRows += swept;
+            log.info("정규화되지 않은 새 임베딩 {}건 단위 벡터로 정규화 (ID {}까지)", swept, migrationCursor);
+        }
+    }
+
+    // 커서 이후로 남은 행이 없어도 다른 인스턴스가 잡고 있던(SKIP LOCKED) 행이 있을 수 있으므로 한 번 더 확인
+    private void completeMigration() {
+        if (repository.hasUnnormalized(TOLERANCE)) {
+            migrationCursor = 0;
+            return;
+        }
+        migrated = true;
+        log.info("정규화 임베딩 단위 벡터 이관 완료 - 이번 기동에서 {}건, DB 검색을 내적(코사인) 기준으로 전환", normalizedRows);
+        eventPublisher.publishEvent(new EmbeddingsNormalizedEvent(normalizedRows));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("configured", properties.getMetric());
+        stats.put("active", activeMetric());
+        stats.put("migrated", migrated);
+        stats.put("normalizedRows", normalizedRows);
+        return stats;
+    }
+}
@@ -0,0 +1,298 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+
+/**
+ * 전수 비교 유사도 검색 (정확한 top-K / 임계값 이상 전체 쌍)
+ * - 행 범위를 fork/join 작업으로 나눠 코어별로 스캔하고, 작업마다 크기 k의 힙에 상위 결과만 남긴 뒤 합칩니다.
+ * - HNSW 근사 검색의 재현율 기준(ground truth)이자 재현율이 낮을 때의 대체 경로이며,
+ *   사건 군집화처럼 전체 쌍 유사도가 필요한 오프라인 작업에도 씁니다.
+ * - 점수는 클수록 유사: L2는 기존 DB 검색과 같은 1 - 거리, COSINE은 코사인 유사도, DOT은 내적.
+ */
+public class ExactSimilaritySearch {
+
+    // 작업 하나가 맡는 최소 행 수 (이보다 작게 나누면 분할 비용이 스캔 비용을 넘음)
+    private static final int MIN_SHARD_ROWS = 512;
+
+    // 전체 쌍 계산은 뒤 행일수록 비교 대상이 줄어 부하가 고르지 않으므로 더 잘게 나눔
+    private static final int PAIR_SHARD_ROWS = 32;
+
+    public enum Metric {
+        L2, COSINE, DOT
+    }
+
+    public record Hit(int index, float score) {
+    }
+
+    public record Pair(int left, int right, float score) {
+    }
+
+    /**
+     * 스캔 대상 벡터 접근
+     * - 힙 배열은 저장된 배열을 그대로, 메모리 매핑 저장소는 scratch에 복사해 돌려줍니다.
+     */
+    @FunctionalInterface
+    public interface VectorSource {
+
+        float[] vector(int index, float[] scratch);
+    }
+
+    public static VectorSource onHeap(float[][] vectors) {
+        return (index, scratch) -> vectors[index];
+    }
+
+    private final VectorKernels kernels;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param pool null이면 호출 스레드에서 순차 스캔
+     */
+    public ExactSimilaritySearch(VectorKernels kernels, ForkJoinPool pool) {
+        this.kernels = kernels;
+        this.pool = pool;
+    }
+
+    public ExactSimilaritySearch() {
+        this(VectorKernels.preferred(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 상위 k건 (점수 내림차순)
+     * - vectors[0, count) 중 include를 통과한 행만 대상입니다. (include가 null이면 전체)
+     */
+    public List<Hit> topK(VectorSource vectors, int count, IntPredicate include, float[] query, int k,
+            Metric metric) {
+        if (count == 0 || k <= 0) {
+            return List.of();
+        }
+        float queryNorm = metric == Metric.COSINE ? kernels.norm(query) : 0f;
+        TopKTask task = new TopKTask(vectors, include, query, queryNorm, k, metric, 0, count, shardRows(count));
+        BoundedHeap heap = pool == null ? task.compute() : pool.invoke(task);
+        return heap.toSortedHits(metric);
+    }
+
+    /**
+     * 점수가 threshold 이상인 모든 쌍 (left < right)
+     * - 코사인은 행 노름을 한 번만 구해 재사용합니다.
+     */
+    public List<Pair> pairsAbove(VectorSource vectors, int count, int dimensions, Metric metric, float threshold) {
+        if (count < 2) {
+            return List.of();
+        }
+        float[] norms = null;
+        if (metric == Metric.COSINE) {
+            norms = new float[count];
+            float[] scratch = new float[dimensions];
+            for (int i = 0; i < count; i++) {
+                norms[i] = kernels.norm(vectors.vector(i, scratch));
+            }
+        }
+        PairTask task = new PairTask(vectors, count, dimensions, norms, metric, threshold, 0, count);
+        return pool == null ? task.compute() : pool.invoke(task);
+    }
+
+    private int shardRows(int count) {
+        int parallelism = pool == null ? 1 : pool.getParallelism();
+        // 코어당 4조각 정도로 나눠 작업 훔치기(work stealing)로 편차를 흡수
+        return Math.max(MIN_SHARD_ROWS, count / (parallelism * 4) + 1);
+    }
+
+    // 힙 정렬 기준 값 (L2는 제곱 거리를 음수로 바꿔 "클수록 유사"로 통일, 제곱근은 결과 변환 시에만)
+    private float rank(float[] query, float queryNorm, float[] vector, Metric metric) {
+        return switch (metric) {
+            case L2 -> -kernels.squaredL2(query, vector);
+            case DOT -> kernels.dot(query, vector);
+            case COSINE -> {
+                float denominator = queryNorm * kernels.norm(vector);
+                yield denominator == 0f ? 0f : kernels.dot(query, vector) / denominator;
+            }
+        };
+    }
+
+    private static float score(float rank, Metric metric) {
+        return metric == Metric.L2 ? 1f - (float) Math.sqrt(-rank) : rank;
+    }
+
+    private class TopKTask extends RecursiveTask<BoundedHeap> {
+
+        private final VectorSource vectors;
+        private final IntPredicate include;
+        private final float[] query;
+        private final float queryNorm;
+        private final int k;
+        private final Metric metric;
+        private final int from;
+        private final int to;
+        private final int shardRows;
+
+        TopKTask(VectorSource vectors, IntPredicate include, float[] query, float queryNorm, int k, Metric metric,
+                int from, int to, int shardRows) {
+            this.vectors = vectors;
+            this.include = include;
+            this.query = query;
+            this.queryNorm = queryNorm;
+            this.k = k;
+            this.metric = metric;
+            this.from = from;
+            this.to = to;
+            this.shardRows = shardRows;
+        }
+
+        @Override
+        protected BoundedHeap compute() {
+            if (pool != null && to - from > shardRows) {
+                int middle = (from + to) >>> 1;
+                TopKTask left = new TopKTask(vectors, include, query, queryNorm, k, metric, from, middle, shardRows);
+                TopKTask right = new TopKTask(vectors, include, query, queryNorm, k, metric, middle, to, shardRows);
+                left.fork();
+                BoundedHeap merged = right.compute();
+                merged.addAll(left.join());
+                return merged;
+            }
+
+            BoundedHeap heap = new BoundedHeap(k);
+            float[] scratch = new float[query.length];
+            for (int i = from; i < to; i++) {
+                if (include == null || include.test(i)) {
+                    heap.offer(i, rank(query, queryNorm, vectors.vector(i, scratch), metric));
+                }
+            }
+            return heap;
+        }
+    }
+
+    private class PairTask extends RecursiveTask<List<Pair>> {
+
+        private final VectorSource vectors;
+        private final int count;
+        private final int dimensions;
+        private final float[] norms;
+        private final Metric metric;
+        private final float threshold;
+        private final int from;
+        private final int to;
+
+        PairTask(VectorSource vectors, int count, int dimensions, float[] norms, Metric metric, float threshold,
+                int from, int to) {
+            this.vectors = vectors;
+            this.count = count;
+            this.dimensions = dimensions;
+            this.norms = norms;
+            this.metric = metric;
+            this.threshold = threshold;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Pair> compute() {
+            if (pool != null && to - from > PAIR_SHARD_ROWS) {
+                int middle = (from + to) >>> 1;
+                PairTask left = new PairTask(vectors, count, dimensions, norms, metric, threshold, from, middle);
+                PairTask right = new PairTask(vectors, count, dimensions, norms, metric, threshold, middle, to);
+                left.fork();
+                List<Pair> rightPairs = right.compute();
+                List<Pair> pairs = left.join();
+                pairs.addAll(rightPairs);
+                return pairs;
+            }
+
+            List<Pair> pairs = new ArrayList<>();
+            float[] leftScratch = new float[dimensions];
+            float[] rightScratch = new float[dimensions];
+            for (int i = from; i < to; i++) {
+                float[] left = vectors.vector(i, leftScratch);
+                for (int j = i + 1; j < count; j++) {
+                    float value = pairScore(left, i, vectors.vector(j, rightScratch), j);
+                    if (value >= threshold) {
+                        pairs.add(new Pair(i, j, value));
+                    }
+                }
+            }
+            return pairs;
+        }
+
+        private float pairScore(float[] left, int i, float[] right, int j) {
+            return switch (metric) {
+                case L2 -> 1f - (float) Math.sqrt(kernels.squaredL2(left, right));
+                case DOT -> kernels.dot(left, right);
+                case COSINE -> {
+                    float denominator = norms[i] * norms[j];
+                    yield denominator == 0f ? 0f : kernels.dot(left, right) / denominator;
+                }
+            };
+        }
+    }
+
+    // 크기 k의 최소 힙 (루트 = 현재 상위 k건 중 가장 낮은 값), 박싱 없이 배열로 유지
+    private static final class BoundedHeap {
+
+        private final int[] indexes;
+        private final float[] ranks;
+        private int size;
+
+        BoundedHeap(int capacity) {
+            this.indexes = new int[capacity];
+            this.ranks = new float[capacity];
+        }
+
+        void offer(int index, float rank) {
+            if (size < indexes.length) {
+                int child = size++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (ranks[parent] <= rank) {
+                        break;
+                    }
+                    indexes[child] = indexes[parent];
+                    ranks[child] = ranks[parent];
+                    child = parent;
+                }
+                indexes[child] = index;
+                ranks[child] = rank;
+            } else if (rank > ranks[0]) {
+                int parent = 0;
+                while (true) {
+                    int child = parent * 2 + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && ranks[child + 1] < ranks[child]) {
+                        child++;
+                    }
+                    if (ranks[child] >= rank) {
+                        break;
+                    }
+                    indexes[parent] = indexes[child];
+                    ranks[parent] = ranks[child];
+                    parent = child;
+                }
+                indexes[parent] = index;
+                ranks[parent] = rank;
+            }
+        }
+
+        void addAll(BoundedHeap other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.indexes[i], other.ranks[i]);
+            }
+        }
+
+        List<Hit> toSortedHits(Metric metric) {
+            List<Hit> hits = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                hits.add(new Hit(indexes[i], ranks[i]));
+            }
+            hits.sort((a, b) -> Float.compare(b.score(), a.score()));
+            List<Hit> scored = new ArrayList<>(size);
+            for (Hit hit : hits) {
+                scored.add(new Hit(hit.index(), score(hit.score(), metric)));
+            }
+            return scored;
+        }
+    }
+}
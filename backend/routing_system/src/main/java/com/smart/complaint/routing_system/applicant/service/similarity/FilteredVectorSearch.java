@@ -0,0 +1,137 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import com.smart.complaint.routing_system.applicant.config.SimilaritySearchProperties;
+import com.smart.complaint.routing_system.applicant.domain.SearchQuality;
+import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
+import com.smart.complaint.routing_system.applicant.dto.SimilarComplaintFilter;
+import com.smart.complaint.routing_system.applicant.repository.NormalizationVectorRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 필터 유사 민원 검색 (자치구, 현재 담당 부서, 접수 기간, 처리 상태)
+ * - 전체 근사 검색 결과를 나중에 거르면 선택도가 높은 조건에서 결과가 비거나 모자라므로 조건을 검색 안에서 적용합니다.
+ * - 조건에 맞는 행이 filtered-exact-threshold 이하면 민원 테이블 B-tree 색인으로 먼저 추린 뒤 전수 정렬합니다. (정확)
+ * - 그보다 많으면 원본 embedding 근사 색인을 거리순으로 탐색하면서 조건을 검사합니다.
+ *   pgvector 0.8 이상은 iterative scan(relaxed_order)으로 limit건을 채울 때까지 계속 탐색하고,
+ *   그 미만 버전은 탐색 후보 수를 최대로 늘려 조건 검사 후 남는 결과를 확보합니다.
+ * - 인메모리 색인은 민원 속성을 갖고 있지 않으므로 필터 검색은 항상 DB에서 실행합니다.
+ */
+@Slf4j
+@Component
+public class FilteredVectorSearch {
+
+    private static final String EXACT = "exact";
+    private static final String ANN = "ann";
+
+    // iterative scan을 지원하는 최소 pgvector 버전 (0.8.0)
+    private static final int ITERATIVE_SCAN_MIN_MINOR = 8;
+
+    // pgvector hnsw.ef_search 상한
+    private static final int MAX_EF_SEARCH = 1000;
+
+    private final SimilaritySearchProperties properties;
+    private final NormalizationVectorRepository repository;
+    private final EmbeddingNormalizer normalizer;
+    private final VectorIndexManager vectorIndexManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer exactTimer;
+    private final Timer annTimer;
+
+    private volatile Boolean iterativeScan;
+
+    public FilteredVectorSearch(SimilaritySearchProperties properties, NormalizationVectorRepository repository,
+            EmbeddingNormalizer normalizer, VectorIndexManager vectorIndexManager,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.repository = repository;
+        this.normalizer = normalizer;
+        this.vectorIndexManager = vectorIndexManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.exactTimer = Timer.builder("complaint.similarity.filtered.search")
+                .tag("strategy", EXACT)
+                .description("필터 유사 민원 검색 시간").register(meterRegistry);
+        this.annTimer = Timer.builder("complaint.similarity.filtered.search")
+                .tag("strategy", ANN)
+                .description("필터 유사 민원 검색 시간").register(meterRegistry);
+    }
+
+    /**
+     * @param quality 근사 색인 탐색 품질 (조건에 맞는 행이 적어 전수 정렬하면 영향 없음)
+     */
+    public List<ComplaintSearchResult> search(double[] queryEmbedding, SimilarComplaintFilter filter, int limit,
+            SearchQuality quality) {
+        boolean cosine = normalizer.isCosine();
+        float[] query = normalizer.forQuery(queryEmbedding);
+        return readOnlyTransaction.execute(status -> {
+            long matched = repository.countFiltered(filter, properties.getFilteredExactThreshold());
+            if (matched <= properties.getFilteredExactThreshold()) {
+                return exactTimer.record(() -> repository.findSimilarFiltered(query, filter, limit, cosine, true));
+            }
+            applyAnnParameters(quality, limit);
+            return annTimer.record(() -> repository.findSimilarFiltered(query, filter, limit, cosine, false));
+        });
+    }
+
+    // 근사 색인 탐색 파라미터 (현재 트랜잭션에만 적용)
+    private void applyAnnParameters(SearchQuality quality, int limit) {
+        String method = vectorIndexManager.indexMethod();
+        boolean iterative = supportsIterativeScan();
+        if (VectorIndexManager.HNSW.equals(method)) {
+            if (iterative) {
+                repository.setLocal("hnsw.ef_search", String.valueOf(Math.max(quality.getEfSearch(), limit)));
+                repository.setLocal("hnsw.iterative_scan", "relaxed_order");
+                repository.setLocal("hnsw.max_scan_tuples", String.valueOf(properties.getFilteredMaxScanTuples()));
+            } else {
+                repository.setLocal("hnsw.ef_search", String.valueOf(MAX_EF_SEARCH));
+            }
+        } else if (VectorIndexManager.IVFFLAT.equals(method)) {
+            repository.setLocal("ivfflat.probes", String.valueOf(quality.getProbes()));
+            if (iterative) {
+                repository.setLocal("ivfflat.iterative_scan", "relaxed_order");
+            }
+        }
+    }
+
+    // 확장 버전은 기동 중 바뀌지 않으므로 처음 한 번만 조회
+    private boolean supportsIterativeScan() {
+        Boolean supported = iterativeScan;
+        if (supported == null) {
+            supported = repository.extensionVersion().map(FilteredVectorSearch::atLeastIterativeScan).orElse(false);
+            iterativeScan = supported;
+            log.info("필터 유사 검색 - pgvector iterative scan {}", supported ? "사용" : "미지원 (탐색 후보 수 확대)");
+        }
+        return supported;
+    }
+
+    private static boolean atLeastIterativeScan(String version) {
+        String[] parts = version.split("\\.");
+        try {
+            int major = Integer.parseInt(parts[0]);
+            int minor = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            return major > 0 || minor >= ITERATIVE_SCAN_MIN_MINOR;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("exactThreshold", properties.getFilteredExactThreshold());
+        stats.put("iterativeScan", iterativeScan);
+        stats.put("exactSearches", exactTimer.count());
+        stats.put("annSearches", annTimer.count());
+        return stats;
+    }
+}
@@ -0,0 +1,648 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 임베딩 근사 최근접 이웃 색인 (HNSW, Malkov & Yashunin)
+ * - 거리는 pgvector `<->`와 같은 L2 거리이며, 유사도 점수는 기존 쿼리와 같이 1 - 거리로 계산합니다.
+ * - 벡터는 MappedEmbeddingStore(오프힙)에 두고 힙에는 그래프 연결과 ID 매핑만 둡니다. (노드 번호 = 저장소 슬롯)
+ * - 노드는 정규화 행 단위로 추가되고, 같은 민원의 새 정규화가 들어오면 이전 노드는 삭제 표시만 합니다.
+ *   (그래프 연결은 유지해 탐색 경로로만 쓰고 결과에서는 제외)
+ * - 추가는 쓰기 락, 검색은 읽기 락으로 보호하므로 검색끼리는 동시에 수행됩니다.
+ */
+public class HnswIndex {
+
+    private static final int MAGIC = 0x484E5357; // "HNSW"
+    private static final int FORMAT_VERSION = 2;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final VectorKernels KERNELS = VectorKernels.preferred();
+    private static final ExactSimilaritySearch EXACT = new ExactSimilaritySearch();
+
+    private final MappedEmbeddingStore store;
+    private final int dimensions;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // links[node][level] = 해당 층의 이웃 노드 번호
+    private int[][][] links = new int[INITIAL_CAPACITY][][];
+    private final BitSet deleted = new BitSet();
+    private final Map<Long, Integer> nodeByComplaint = new HashMap<>();
+    private final Map<Long, Integer> nodeByNormalization = new HashMap<>();
+
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private long maxNormalizationId;
+    private long version;
+
+    // 저장소에서 읽은 벡터를 담을 버퍼 (검색은 스레드별, 노드 간 거리는 쓰기 락 안에서만 사용)
+    private final ThreadLocal<float[]> scratch;
+    private final float[] insertVector;
+    private final float[] pairLeft;
+    private final float[] pairRight;
+
+    public record Neighbor(long complaintId, float distance) {
+
+        public double score() {
+            return 1.0 - distance;
+        }
+    }
+
+    // 탐색 중 후보 (거리는 제곱 L2)
+    private record Candidate(int node, float distance) {
+    }
+
+    private static final Comparator<Candidate> NEAREST_FIRST = Comparator.comparingDouble(Candidate::distance);
+    private static final Comparator<Candidate> FARTHEST_FIRST = NEAREST_FIRST.reversed();
+
+    private HnswIndex(MappedEmbeddingStore store, int m, int efConstruction, long seed) {
+        if (m < 2) {
+            throw new IllegalArgumentException("M은 2 이상이어야 합니다: " + m);
+        }
+        this.store = store;
+        this.dimensions = store.dimensions();
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelMultiplier = 1 / Math.log(m);
+        this.random = new SplittableRandom(seed);
+        this.scratch = ThreadLocal.withInitial(() -> new float[dimensions]);
+        this.insertVector = new float[dimensions];
+        this.pairLeft = new float[dimensions];
+        this.pairRight = new float[dimensions];
+    }
+
+    /**
+     * 저장소에 이미 있는 벡터 전체로 그래프 구축 (그래프 스냅샷이 없거나 설정이 바뀐 경우, DB 조회 없음)
+     */
+    public static HnswIndex build(MappedEmbeddingStore store, int m, int efConstruction, long seed) {
+        HnswIndex index = new HnswIndex(store, m, efConstruction, seed);
+        index.insertStored(0);
+        return index;
+    }
+
+    /**
+     * 정규화 행 1건 추가 (저장소에 기록 후 그래프에 연결)
+     * - 이미 색인된 정규화 행이면 무시합니다. (재시작 후 따라잡기 구간이 겹쳐도 안전)
+     * @return 새로 추가했으면 true
+     */
+    public boolean add(long normalizationId, long complaintId, float[] vector) {
+        if (vector == null || vector.length != dimensions) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (nodeByNormalization.containsKey(normalizationId)) {
+                return false;
+            }
+            int node = store.append(normalizationId, complaintId, vector);
+            insertNode(node);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 저장소에 기록된 적 있는 정규화 행인지 (삭제 표시된 노드 포함, 같은 행을 다시 기록하지 않기 위함)
+    public boolean contains(long normalizationId) {
+        lock.readLock().lock();
+        try {
+            return nodeByNormalization.containsKey(normalizationId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * DB 대조: 현재 정규화 ID 목록(오름차순)에 없는 노드를 삭제 표시
+     * - 재기동 사이에 다른 정규화로 교체됐거나 삭제된 민원을 검색 결과에서 뺍니다.
+     * @return 새로 삭제 표시한 노드 수
+     */
+    public int retainOnly(long[] sortedCurrentIds) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (int node = deleted.nextClearBit(0); node < size; node = deleted.nextClearBit(node + 1)) {
+                if (Arrays.binarySearch(sortedCurrentIds, store.normalizationId(node)) < 0) {
+                    deleted.set(node);
+                    nodeByComplaint.remove(store.complaintId(node), node);
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                version++;
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 근사 최근접 k건 (민원당 현재 정규화 1건만 대상)
+    public List<Neighbor> search(float[] query, int k, int efSearch) {
+        if (query == null || query.length != dimensions || k <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+            int current = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                current = greedyClosest(query, current, l);
+            }
+            List<Candidate> entries = List.of(new Candidate(current, distance(query, current)));
+            List<Candidate> found = searchLayer(query, entries, Math.max(efSearch, k), 0, true);
+            return toNeighbors(found, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 전수 비교 최근접 k건 (재현율 측정 기준이자 재현율이 낮을 때의 대체 경로, 코어별 병렬 스캔)
+    public List<Neighbor> exactSearch(float[] query, int k) {
+        if (query == null || query.length != dimensions || k <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<ExactSimilaritySearch.Hit> hits = EXACT.topK(store::vector, size, node -> !deleted.get(node), query,
+                    k, ExactSimilaritySearch.Metric.L2);
+            List<Neighbor> neighbors = new ArrayList<>(hits.size());
+            for (ExactSimilaritySearch.Hit hit : hits) {
+                neighbors.add(new Neighbor(store.complaintId(hit.index()), 1f - hit.score()));
+            }
+            return neighbors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 양자화 코드 검색 (코드로 근사 거리 상위 candidates건을 고른 뒤 원본 벡터로 다시 정렬)
+     * - 코드가 아직 없는 최신 슬롯은 다음 sync 전까지 대상에서 빠집니다.
+     */
+    public List<Neighbor> quantizedSearch(QuantizedCodes codes, float[] query, int k, int candidates) {
+        if (query == null || query.length != dimensions || k <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<ExactSimilaritySearch.Hit> hits = codes.search(store, node -> node < size && !deleted.get(node),
+                    query, k, candidates);
+            List<Neighbor> neighbors = new ArrayList<>(hits.size());
+            for (ExactSimilaritySearch.Hit hit : hits) {
+                neighbors.add(new Neighbor(store.complaintId(hit.index()), 1f - hit.score()));
+            }
+            return neighbors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 현재 벡터(삭제 표시 제외) 중 무작위 표본 (재현율 측정 질의, 양자화 코드북 학습용)
+     */
+    public List<float[]> sampleVectors(int sampleSize, long seed) {
+        List<float[]> samples = new ArrayList<>(sampleSize);
+        lock.readLock().lock();
+        try {
+            int live = size - deleted.cardinality();
+            SplittableRandom sampler = new SplittableRandom(seed);
+            for (int attempts = 0; samples.size() < Math.min(sampleSize, live) && attempts < sampleSize * 10; attempts++) {
+                int node = sampler.nextInt(size);
+                if (!deleted.get(node)) {
+                    samples.add(store.vector(node, new float[dimensions]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return samples;
+    }
+
+    /**
+     * HNSW 재현율(recall@k) 측정
+     */
+    public double measureRecall(int sampleSize, int k, int efSearch, long seed) {
+        return measureRecall(sampleSize, k, seed, query -> search(query, k, efSearch));
+    }
+
+    /**
+     * 재현율(recall@k) 측정
+     * - 색인된 현재 벡터 중 sampleSize건을 질의로 삼아 근사 결과와 전수 비교 결과의 교집합 비율을 구합니다.
+     */
+    public double measureRecall(int sampleSize, int k, long seed, Function<float[], List<Neighbor>> approximate) {
+        List<float[]> queries = sampleVectors(sampleSize, seed);
+        if (queries.isEmpty()) {
+            return Double.NaN;
+        }
+
+        long hits = 0;
+        long expected = 0;
+        for (float[] query : queries) {
+            Set<Long> exact = new HashSet<>();
+            for (Neighbor neighbor : exactSearch(query, k)) {
+                exact.add(neighbor.complaintId());
+            }
+            for (Neighbor neighbor : approximate.apply(query)) {
+                if (exact.contains(neighbor.complaintId())) {
+                    hits++;
+                }
+            }
+            expected += exact.size();
+        }
+        return expected == 0 ? Double.NaN : (double) hits / expected;
+    }
+
+    // 검색 대상 민원 수 (삭제 표시된 과거 정규화 제외)
+    public int liveCount() {
+        lock.readLock().lock();
+        try {
+            return size - deleted.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 색인된 정규화 행의 최대 ID (주기적 따라잡기 기준)
+    public long maxNormalizationId() {
+        lock.readLock().lock();
+        try {
+            return maxNormalizationId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 추가/삭제 표시마다 증가 (스냅샷 저장 필요 여부 판단)
+    public long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public int m() {
+        return m;
+    }
+
+    public int efConstruction() {
+        return efConstruction;
+    }
+
+    /**
+     * 그래프 스냅샷 저장 (벡터와 ID는 저장소에 있으므로 노드별 삭제 표시와 층별 이웃 목록만 기록)
+     * - 저장소를 먼저 디스크에 반영해 스냅샷이 가리키는 슬롯이 항상 저장소에 있도록 합니다.
+     * - 저장 중에는 추가만 막히고 검색은 계속 처리됩니다.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            store.force();
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(dimensions);
+            out.writeInt(m);
+            out.writeInt(efConstruction);
+            out.writeInt(size);
+            out.writeInt(entryPoint);
+            out.writeInt(maxLevel);
+
+            for (int node = 0; node < size; node++) {
+                out.writeBoolean(deleted.get(node));
+                out.writeByte(links[node].length);
+                for (int[] neighbors : links[node]) {
+                    out.writeShort(neighbors.length);
+                    for (int neighbor : neighbors) {
+                        out.writeInt(neighbor);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 그래프 스냅샷 복원
+     * - 스냅샷 이후 저장소에 추가된 슬롯은 이어서 그래프에 연결합니다.
+     * - 차원이나 M이 현재 설정과 다르거나 저장소보다 노드가 많으면 예외를 던집니다. (호출 측에서 build로 재구성)
+     */
+    public static HnswIndex readFrom(DataInputStream in, MappedEmbeddingStore store, int m, int efConstruction,
+            long seed) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("HNSW 스냅샷 형식이 아닙니다.");
+        }
+        int storedDimensions = in.readInt();
+        int storedM = in.readInt();
+        in.readInt(); // 저장 당시 efConstruction (이후 추가분은 현재 설정 사용)
+        if (storedDimensions != store.dimensions() || storedM != m) {
+            throw new IOException("HNSW 스냅샷 설정 불일치 - 차원 %d/%d, M %d/%d"
+                    .formatted(storedDimensions, store.dimensions(), storedM, m));
+        }
+        int size = in.readInt();
+        if (size > store.size()) {
+            throw new IOException("HNSW 스냅샷 노드 수(%d)가 임베딩 저장소(%d)보다 많습니다.".formatted(size, store.size()));
+        }
+
+        HnswIndex index = new HnswIndex(store, m, efConstruction, seed);
+        index.entryPoint = in.readInt();
+        index.maxLevel = in.readInt();
+        index.ensureCapacity(size);
+
+        for (int node = 0; node < size; node++) {
+            boolean isDeleted = in.readBoolean();
+            int levels = in.readUnsignedByte();
+            int[][] nodeLinks = new int[levels][];
+            for (int l = 0; l < levels; l++) {
+                int[] neighbors = new int[in.readUnsignedShort()];
+                for (int i = 0; i < neighbors.length; i++) {
+                    neighbors[i] = in.readInt();
+                }
+                nodeLinks[l] = neighbors;
+            }
+            index.links[node] = nodeLinks;
+
+            long normalizationId = store.normalizationId(node);
+            index.nodeByNormalization.put(normalizationId, node);
+            index.maxNormalizationId = Math.max(index.maxNormalizationId, normalizationId);
+            if (isDeleted) {
+                index.deleted.set(node);
+            } else {
+                index.nodeByComplaint.put(store.complaintId(node), node);
+            }
+        }
+        index.size = size;
+        index.insertStored(size);
+        return index;
+    }
+
+    // 저장소의 from번 슬롯부터 끝까지 그래프에 연결
+    private void insertStored(int from) {
+        lock.writeLock().lock();
+        try {
+            for (int node = from; node < store.size(); node++) {
+                insertNode(node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 저장소 슬롯 node를 그래프에 연결 (쓰기 락 안에서 호출, node == size)
+    private void insertNode(int node) {
+        long normalizationId = store.normalizationId(node);
+        long complaintId = store.complaintId(node);
+        nodeByNormalization.put(normalizationId, node);
+        maxNormalizationId = Math.max(maxNormalizationId, normalizationId);
+        version++;
+
+        Integer previous = nodeByComplaint.get(complaintId);
+        if (previous != null && store.normalizationId(previous) > normalizationId) {
+            // 더 최신 정규화가 이미 색인됨 -> 이 행은 과거 이력
+            deleted.set(node);
+        } else {
+            if (previous != null) {
+                deleted.set(previous);
+            }
+            nodeByComplaint.put(complaintId, node);
+        }
+
+        ensureCapacity(node + 1);
+        float[] vector = store.vector(node, insertVector);
+        int level = randomLevel();
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[0];
+        }
+        size = node + 1;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(vector, current, l);
+        }
+        List<Candidate> entries = List.of(new Candidate(current, distance(vector, current)));
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> candidates = searchLayer(vector, entries, efConstruction, l, false);
+            int[] neighbors = selectNeighbors(candidates, l == 0 ? maxM0 : m);
+            links[node][l] = neighbors;
+            for (int neighbor : neighbors) {
+                connect(neighbor, node, l);
+            }
+            entries = candidates;
+        }
+
+        if (level > maxLevel) {
+            entryPoint = node;
+            maxLevel = level;
+        }
+    }
+
+    // 상위 층: 이웃 중 더 가까운 노드가 없을 때까지 이동
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float best = distance(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbor : neighborsAt(current, level)) {
+                float d = distance(query, neighbor);
+                if (d < best) {
+                    best = d;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 한 층에서의 최선 우선 탐색 (논문 Algorithm 2)
+     * - liveOnly면 삭제 표시된 노드는 경유만 하고 결과 ef개에는 넣지 않습니다.
+     * @return 가까운 순으로 정렬된 최대 ef개 후보
+     */
+    private List<Candidate> searchLayer(float[] query, List<Candidate> entries, int ef, int level, boolean liveOnly) {
+        BitSet visited = new BitSet(size);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(NEAREST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(FARTHEST_FIRST);
+
+        for (Candidate entry : entries) {
+            visited.set(entry.node());
+            candidates.add(entry);
+            if (!liveOnly || !deleted.get(entry.node())) {
+                results.add(entry);
+            }
+        }
+        while (results.size() > ef) {
+            results.poll();
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (results.size() >= ef && closest.distance() > results.peek().distance()) {
+                break;
+            }
+            for (int neighbor : neighborsAt(closest.node(), level)) {
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float d = distance(query, neighbor);
+                if (results.size() < ef || d < results.peek().distance()) {
+                    Candidate candidate = new Candidate(neighbor, d);
+                    candidates.add(candidate);
+                    if (!liveOnly || !deleted.get(neighbor)) {
+                        results.add(candidate);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort(NEAREST_FIRST);
+        return sorted;
+    }
+
+    /**
+     * 이웃 선택 휴리스틱 (논문 Algorithm 4)
+     * - 이미 고른 이웃보다 질의 노드에 더 가까운 후보만 골라 방향이 겹치지 않는 연결을 만들고,
+     *   자리가 남으면 탈락한 후보로 채웁니다.
+     */
+    private int[] selectNeighbors(List<Candidate> sortedCandidates, int maxNeighbors) {
+        List<Candidate> selected = new ArrayList<>(maxNeighbors);
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate candidate : sortedCandidates) {
+            if (selected.size() >= maxNeighbors) {
+                break;
+            }
+            boolean diverse = true;
+            for (Candidate chosen : selected) {
+                if (distanceBetween(candidate.node(), chosen.node()) < candidate.distance()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : pruned).add(candidate);
+        }
+        for (int i = 0; i < pruned.size() && selected.size() < maxNeighbors; i++) {
+            selected.add(pruned.get(i));
+        }
+
+        int[] neighbors = new int[selected.size()];
+        for (int i = 0; i < neighbors.length; i++) {
+            neighbors[i] = selected.get(i).node();
+        }
+        return neighbors;
+    }
+
+    // 역방향 연결 추가 (이웃 수가 상한을 넘으면 휴리스틱으로 다시 고름)
+    private void connect(int from, int to, int level) {
+        int[] current = links[from][level];
+        int maxNeighbors = level == 0 ? maxM0 : m;
+        if (current.length < maxNeighbors) {
+            int[] extended = Arrays.copyOf(current, current.length + 1);
+            extended[current.length] = to;
+            links[from][level] = extended;
+            return;
+        }
+
+        List<Candidate> candidates = new ArrayList<>(current.length + 1);
+        for (int neighbor : current) {
+            candidates.add(new Candidate(neighbor, distanceBetween(from, neighbor)));
+        }
+        candidates.add(new Candidate(to, distanceBetween(from, to)));
+        candidates.sort(NEAREST_FIRST);
+        links[from][level] = selectNeighbors(candidates, maxNeighbors);
+    }
+
+    private int[] neighborsAt(int node, int level) {
+        int[][] nodeLinks = links[node];
+        return level < nodeLinks.length ? nodeLinks[level] : new int[0];
+    }
+
+    private List<Neighbor> toNeighbors(List<Candidate> candidates, int k) {
+        List<Candidate> sorted = new ArrayList<>(candidates);
+        sorted.sort(NEAREST_FIRST);
+        List<Neighbor> neighbors = new ArrayList<>(Math.min(k, sorted.size()));
+        for (Candidate candidate : sorted) {
+            if (neighbors.size() == k) {
+                break;
+            }
+            neighbors.add(new Neighbor(store.complaintId(candidate.node()), (float) Math.sqrt(candidate.distance())));
+        }
+        return neighbors;
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble(); // (0, 1]
+        return (int) Math.min(-Math.log(uniform) * levelMultiplier, 32);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > links.length) {
+            links = Arrays.copyOf(links, Math.max(required, links.length + (links.length >> 1)));
+        }
+    }
+
+    // 질의와 저장소 노드 사이의 제곱 L2 거리 (비교용, 점수 계산 시에만 제곱근)
+    private float distance(float[] query, int node) {
+        return KERNELS.squaredL2(query, store.vector(node, scratch.get()));
+    }
+
+    // 두 저장소 노드 사이의 제곱 L2 거리 (쓰기 락 안에서만 호출)
+    private float distanceBetween(int a, int b) {
+        return KERNELS.squaredL2(store.vector(a, pairLeft), store.vector(b, pairRight));
+    }
+}
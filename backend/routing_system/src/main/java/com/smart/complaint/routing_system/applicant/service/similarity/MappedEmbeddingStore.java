@@ -0,0 +1,238 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 메모리 매핑 임베딩 저장소 (추가 전용, 오프힙)
+ * - embeddings.f32: 레코드당 dimensions x float32(little-endian) 고정 폭, 슬롯 번호 x 레코드 크기가 곧 위치
+ * - embeddings.idx: 헤더(매직, 버전, 차원) + 슬롯별 (정규화 ID, 민원 ID) 16바이트 항목
+ * - 벡터를 먼저 쓰고 색인 항목을 나중에 붙이므로 색인 항목이 있는 슬롯까지가 유효합니다.
+ *   (기록 도중 종료되면 다음 열 때 끝의 불완전한 항목을 잘라냄)
+ * - 벡터는 힙에 올리지 않고 페이지 캐시를 매핑해 읽으므로, 재기동 시 파일을 다시 매핑하는 것만으로 복원됩니다.
+ * - 추가는 한 스레드(호출 측 쓰기 락)에서만, 읽기는 여러 스레드에서 동시에 할 수 있습니다.
+ */
+public class MappedEmbeddingStore implements Closeable {
+
+    public static final String DATA_FILE = "embeddings.f32";
+    public static final String INDEX_FILE = "embeddings.idx";
+
+    private static final int MAGIC = 0x454D4244; // "EMBD"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int ENTRY_BYTES = 16;
+
+    // 매핑 한 조각당 레코드 수 (1024차원 기준 64MB, MappedByteBuffer 2GB 제한 회피)
+    private static final int CHUNK_SHIFT = 14;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_RECORDS - 1;
+
+    private final int dimensions;
+    private final long recordBytes;
+    private final FileChannel data;
+    private final FileChannel index;
+
+    private final List<MappedByteBuffer> mappings = new ArrayList<>();
+    private final List<FloatBuffer> chunks = new ArrayList<>();
+    private final ByteBuffer entry = ByteBuffer.allocate(ENTRY_BYTES);
+
+    private long[] normalizationIds;
+    private long[] complaintIds;
+    private volatile int size;
+
+    private MappedEmbeddingStore(int dimensions, FileChannel data, FileChannel index) {
+        this.dimensions = dimensions;
+        this.recordBytes = (long) dimensions * Float.BYTES;
+        this.data = data;
+        this.index = index;
+    }
+
+    /**
+     * 저장소 열기 (없으면 생성)
+     * - 헤더의 차원이 다르거나 형식이 아니면 IOException (호출 측에서 delete 후 새로 생성)
+     */
+    public static MappedEmbeddingStore open(Path directory, int dimensions) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel index = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel data = null;
+        try {
+            data = FileChannel.open(directory.resolve(DATA_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedEmbeddingStore store = new MappedEmbeddingStore(dimensions, data, index);
+            store.recover();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            index.close();
+            if (data != null) {
+                data.close();
+            }
+            throw e;
+        }
+    }
+
+    public static void delete(Path directory) throws IOException {
+        Files.deleteIfExists(directory.resolve(DATA_FILE));
+        Files.deleteIfExists(directory.resolve(INDEX_FILE));
+    }
+
+    /**
+     * 레코드 1건 추가
+     * @return 저장된 슬롯 번호
+     */
+    public int append(long normalizationId, long complaintId, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("임베딩 차원 불일치: " + vector.length + "/" + dimensions);
+        }
+        int slot = size;
+        try {
+            chunk(slot).put((slot & CHUNK_MASK) * dimensions, vector);
+
+            entry.clear();
+            entry.putLong(normalizationId).putLong(complaintId).flip();
+            long position = HEADER_BYTES + (long) slot * ENTRY_BYTES;
+            while (entry.hasRemaining()) {
+                position += index.write(entry, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ensureCapacity(slot + 1);
+        normalizationIds[slot] = normalizationId;
+        complaintIds[slot] = complaintId;
+        size = slot + 1;
+        return slot;
+    }
+
+    /**
+     * 슬롯의 벡터를 scratch에 복사해 돌려줌 (매핑에서 직접 읽는 절대 위치 bulk get, 힙에 레코드 객체를 남기지 않음)
+     */
+    public float[] vector(int slot, float[] scratch) {
+        chunks.get(slot >>> CHUNK_SHIFT).get((slot & CHUNK_MASK) * dimensions, scratch, 0, dimensions);
+        return scratch;
+    }
+
+    public long normalizationId(int slot) {
+        return normalizationIds[slot];
+    }
+
+    public long complaintId(int slot) {
+        return complaintIds[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    // 페이지 캐시의 변경분을 디스크에 반영 (그래프 스냅샷 저장 전에 호출)
+    public void force() throws IOException {
+        for (MappedByteBuffer mapping : mappings) {
+            mapping.force();
+        }
+        index.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            data.close();
+        } finally {
+            index.close();
+        }
+    }
+
+    private void recover() throws IOException {
+        long length = index.size();
+        if (length < HEADER_BYTES) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(dimensions).putInt(0).flip();
+            index.truncate(0);
+            index.write(header, 0);
+            data.truncate(0);
+            normalizationIds = new long[CHUNK_RECORDS];
+            complaintIds = new long[CHUNK_RECORDS];
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        index.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+            throw new IOException("임베딩 저장소 형식이 아닙니다.");
+        }
+        int storedDimensions = header.getInt();
+        if (storedDimensions != dimensions) {
+            throw new IOException("임베딩 저장소 차원 불일치: " + storedDimensions + "/" + dimensions);
+        }
+
+        // 색인 항목이 온전한 슬롯 중 벡터 파일에도 자리가 있는 슬롯까지만 유효
+        long entries = (length - HEADER_BYTES) / ENTRY_BYTES;
+        int count = (int) Math.min(entries, data.size() / recordBytes);
+        index.truncate(HEADER_BYTES + (long) count * ENTRY_BYTES);
+
+        normalizationIds = new long[Math.max(count, CHUNK_RECORDS)];
+        complaintIds = new long[Math.max(count, CHUNK_RECORDS)];
+        ByteBuffer buffer = ByteBuffer.allocate(ENTRY_BYTES * 4096);
+        long position = HEADER_BYTES;
+        int slot = 0;
+        while (slot < count) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), (long) (count - slot) * ENTRY_BYTES));
+            while (buffer.hasRemaining()) {
+                position += index.read(buffer, position);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                normalizationIds[slot] = buffer.getLong();
+                complaintIds[slot] = buffer.getLong();
+                slot++;
+            }
+        }
+
+        for (int chunk = 0; chunk * (long) CHUNK_RECORDS < count; chunk++) {
+            map(chunk);
+        }
+        size = count;
+    }
+
+    private FloatBuffer chunk(int slot) throws IOException {
+        int chunk = slot >>> CHUNK_SHIFT;
+        while (chunks.size() <= chunk) {
+            map(chunks.size());
+        }
+        return chunks.get(chunk);
+    }
+
+    // 조각 단위 매핑 (READ_WRITE 매핑은 파일이 짧으면 조각 끝까지 늘림, 리눅스에서는 빈 영역이 디스크를 차지하지 않음)
+    private void map(int chunk) throws IOException {
+        long chunkBytes = recordBytes * CHUNK_RECORDS;
+        MappedByteBuffer mapping = data.map(FileChannel.MapMode.READ_WRITE, chunk * chunkBytes, chunkBytes);
+        mappings.add(mapping);
+        chunks.add(mapping.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer());
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > normalizationIds.length) {
+            int capacity = Math.max(required, normalizationIds.length + (normalizationIds.length >> 1));
+            normalizationIds = Arrays.copyOf(normalizationIds, capacity);
+            complaintIds = Arrays.copyOf(complaintIds, capacity);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * 곱 양자화 (pq, Jégou et al.)
+ * - 벡터를 subspaces개의 부분 벡터로 나누고, 부분공간마다 k-means로 학습한 256개 중심 중 가장 가까운 번호 1바이트를 저장합니다.
+ *   (1024차원, 부분공간 64개면 벡터당 64바이트 - float32 대비 1/64)
+ * - 거리: 질의마다 부분공간별 "질의 부분 벡터 ~ 각 중심" 거리표(subspaces x 256)를 만들고,
+ *   코드마다 표에서 subspaces번 찾아 더합니다. (비대칭 거리, ADC)
+ */
+public final class ProductQuantizer implements VectorQuantizer {
+
+    public static final String NAME = "pq";
+
+    private static final int CENTROIDS = 256;
+
+    private final int dimensions;
+    private final int subspaces;
+    private final int subDimensions;
+
+    // [부분공간][중심][부분 차원] 순서로 펼친 배열
+    private final float[] centroids;
+
+    private ProductQuantizer(int dimensions, int subspaces, float[] centroids) {
+        this.dimensions = dimensions;
+        this.subspaces = subspaces;
+        this.subDimensions = dimensions / subspaces;
+        this.centroids = centroids;
+    }
+
+    /**
+     * 부분공간별 k-means 학습 (부분공간끼리는 독립이므로 공용 fork/join 풀에서 병렬 처리)
+     * - 초기 중심은 표본에서 무작위로 고르고, 빈 군집은 무작위 표본으로 다시 채웁니다.
+     */
+    public static ProductQuantizer train(List<float[]> samples, int dimensions, int subspaces, int iterations,
+            long seed) {
+        if (samples.isEmpty()) {
+            throw new IllegalArgumentException("양자화 학습 표본이 없습니다.");
+        }
+        if (subspaces <= 0 || dimensions % subspaces != 0) {
+            throw new IllegalArgumentException("PQ 부분공간 수는 차원(%d)의 약수여야 합니다: %d".formatted(dimensions, subspaces));
+        }
+
+        int subDimensions = dimensions / subspaces;
+        float[] centroids = new float[subspaces * CENTROIDS * subDimensions];
+        IntStream.range(0, subspaces).parallel().forEach(subspace -> trainSubspace(samples, subspace, subDimensions,
+                iterations, new SplittableRandom(seed + subspace), centroids));
+        return new ProductQuantizer(dimensions, subspaces, centroids);
+    }
+
+    private static void trainSubspace(List<float[]> samples, int subspace, int subDimensions, int iterations,
+            SplittableRandom random, float[] centroids) {
+        int start = subspace * subDimensions;
+        int base = subspace * CENTROIDS * subDimensions;
+        for (int c = 0; c < CENTROIDS; c++) {
+            float[] sample = samples.get(random.nextInt(samples.size()));
+            System.arraycopy(sample, start, centroids, base + c * subDimensions, subDimensions);
+        }
+
+        int[] assignment = new int[samples.size()];
+        float[] sums = new float[CENTROIDS * subDimensions];
+        int[] counts = new int[CENTROIDS];
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int i = 0; i < samples.size(); i++) {
+                assignment[i] = nearest(centroids, base, subDimensions, samples.get(i), start);
+            }
+
+            Arrays.fill(sums, 0f);
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < samples.size(); i++) {
+                float[] sample = samples.get(i);
+                int offset = assignment[i] * subDimensions;
+                for (int d = 0; d < subDimensions; d++) {
+                    sums[offset + d] += sample[start + d];
+                }
+                counts[assignment[i]]++;
+            }
+            for (int c = 0; c < CENTROIDS; c++) {
+                int target = base + c * subDimensions;
+                if (counts[c] == 0) {
+                    float[] sample = samples.get(random.nextInt(samples.size()));
+                    System.arraycopy(sample, start, centroids, target, subDimensions);
+                    continue;
+                }
+                for (int d = 0; d < subDimensions; d++) {
+                    centroids[target + d] = sums[c * subDimensions + d] / counts[c];
+                }
+            }
+        }
+    }
+
+    // 부분공간에서 가장 가까운 중심 번호
+    private static int nearest(float[] centroids, int base, int subDimensions, float[] vector, int start) {
+        int best = 0;
+        float bestDistance = Float.POSITIVE_INFINITY;
+        for (int c = 0; c < CENTROIDS; c++) {
+            int offset = base + c * subDimensions;
+            float distance = 0f;
+            for (int d = 0; d < subDimensions; d++) {
+                float diff = vector[start + d] - centroids[offset + d];
+                distance += diff * diff;
+            }
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public int subspaces() {
+        return subspaces;
+    }
+
+    @Override
+    public int codeBytes() {
+        return subspaces;
+    }
+
+    @Override
+    public long codebookBytes() {
+        return (long) centroids.length * Float.BYTES;
+    }
+
+    @Override
+    public void encode(float[] vector, byte[] codes, int offset) {
+        for (int s = 0; s < subspaces; s++) {
+            codes[offset + s] = (byte) nearest(centroids, s * CENTROIDS * subDimensions, subDimensions, vector,
+                    s * subDimensions);
+        }
+    }
+
+    @Override
+    public DistanceTable distanceTable(float[] query) {
+        float[] table = new float[subspaces * CENTROIDS];
+        for (int s = 0; s < subspaces; s++) {
+            int start = s * subDimensions;
+            int base = s * CENTROIDS * subDimensions;
+            for (int c = 0; c < CENTROIDS; c++) {
+                int offset = base + c * subDimensions;
+                float distance = 0f;
+                for (int d = 0; d < subDimensions; d++) {
+                    float diff = query[start + d] - centroids[offset + d];
+                    distance += diff * diff;
+                }
+                table[s * CENTROIDS + c] = distance;
+            }
+        }
+
+        return (codes, offset) -> {
+            float s0 = 0f, s1 = 0f;
+            int s = 0;
+            for (int bound = subspaces - 1; s < bound; s += 2) {
+                s0 += table[s * CENTROIDS + (codes[offset + s] & 0xff)];
+                s1 += table[(s + 1) * CENTROIDS + (codes[offset + s + 1] & 0xff)];
+            }
+            if (s < subspaces) {
+                s0 += table[s * CENTROIDS + (codes[offset + s] & 0xff)];
+            }
+            return s0 + s1;
+        };
+    }
+
+    @Override
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeUTF(NAME);
+        out.writeInt(dimensions);
+        out.writeInt(subspaces);
+        for (float value : centroids) {
+            out.writeFloat(value);
+        }
+    }
+
+    static ProductQuantizer readBody(DataInputStream in) throws IOException {
+        int dimensions = in.readInt();
+        int subspaces = in.readInt();
+        if (subspaces <= 0 || dimensions % subspaces != 0) {
+            throw new IOException("PQ 코드북 형식 오류 - 차원 %d, 부분공간 %d".formatted(dimensions, subspaces));
+        }
+        float[] centroids = new float[subspaces * CENTROIDS * (dimensions / subspaces)];
+        for (int i = 0; i < centroids.length; i++) {
+            centroids[i] = in.readFloat();
+        }
+        return new ProductQuantizer(dimensions, subspaces, centroids);
+    }
+}
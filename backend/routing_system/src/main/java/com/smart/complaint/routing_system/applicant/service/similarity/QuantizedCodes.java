@@ -0,0 +1,187 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * 임베딩 저장소 슬롯별 양자화 코드 (힙, 슬롯 번호 x 코드 길이가 곧 위치)
+ * - 검색은 코드만 훑어 근사 거리 상위 후보를 고른 뒤, 후보의 원본 벡터만 저장소(메모리 매핑)에서 읽어 다시 정렬합니다.
+ *   코드는 항상 메모리에 있어야 하지만 원본 벡터는 후보로 뽑힌 페이지만 필요할 때 올라옵니다.
+ * - 추가는 색인 스레드 하나에서만, 검색은 여러 스레드에서 동시에 합니다.
+ *   (코드를 먼저 쓰고 size를 나중에 올리므로 검색은 size까지만 읽음)
+ */
+public class QuantizedCodes {
+
+    private static final int MAGIC = 0x51434F44; // "QCOD"
+    private static final int FORMAT_VERSION = 1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final VectorKernels KERNELS = VectorKernels.preferred();
+
+    private final VectorQuantizer quantizer;
+    private final int codeBytes;
+
+    private byte[] codes;
+    private volatile int size;
+
+    public QuantizedCodes(VectorQuantizer quantizer) {
+        this.quantizer = quantizer;
+        this.codeBytes = quantizer.codeBytes();
+        this.codes = new byte[INITIAL_CAPACITY * codeBytes];
+    }
+
+    public VectorQuantizer quantizer() {
+        return quantizer;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 코드 + 코드북이 차지하는 힙 크기 (바이트)
+    public long memoryBytes() {
+        return (long) size * codeBytes + quantizer.codebookBytes();
+    }
+
+    /**
+     * 저장소에서 아직 인코딩하지 않은 슬롯을 모두 인코딩 (기동 시 전체 인코딩은 공용 fork/join 풀에서 병렬 처리)
+     * @return 새로 인코딩한 슬롯 수
+     */
+    public int sync(MappedEmbeddingStore store) {
+        int from = size;
+        int to = store.size();
+        if (to <= from) {
+            return 0;
+        }
+
+        byte[] target = codes;
+        if ((long) to * codeBytes > target.length) {
+            target = Arrays.copyOf(target, Math.max(to, from + (from >> 1)) * codeBytes);
+        }
+        byte[] output = target;
+        ThreadLocal<float[]> scratch = ThreadLocal.withInitial(() -> new float[store.dimensions()]);
+        IntStream slots = IntStream.range(from, to);
+        (to - from > INITIAL_CAPACITY ? slots.parallel() : slots)
+                .forEach(slot -> quantizer.encode(store.vector(slot, scratch.get()), output, slot * codeBytes));
+
+        codes = output;
+        size = to;
+        return to - from;
+    }
+
+    /**
+     * 근사 거리 상위 candidates건을 원본 벡터로 다시 계산해 상위 k건 반환 (점수 = 1 - L2 거리, 내림차순)
+     * - include가 null이 아니면 통과한 슬롯만 대상입니다. (삭제 표시된 과거 정규화 제외)
+     */
+    public List<ExactSimilaritySearch.Hit> search(MappedEmbeddingStore store, IntPredicate include, float[] query,
+            int k, int candidates) {
+        int count = size;
+        byte[] snapshot = codes;
+        VectorQuantizer.DistanceTable table = quantizer.distanceTable(query);
+
+        // 근사 거리 최대 힙 (루트 = 현재 후보 중 가장 먼 것), 박싱 없이 배열로 유지
+        int capacity = Math.max(k, candidates);
+        int[] slots = new int[capacity];
+        float[] distances = new float[capacity];
+        int found = 0;
+        for (int slot = 0; slot < count; slot++) {
+            if (include != null && !include.test(slot)) {
+                continue;
+            }
+            float distance = table.distance(snapshot, slot * codeBytes);
+            if (found < capacity) {
+                siftUp(slots, distances, found++, slot, distance);
+            } else if (distance < distances[0]) {
+                siftDown(slots, distances, found, slot, distance);
+            }
+        }
+
+        float[] scratch = new float[store.dimensions()];
+        List<ExactSimilaritySearch.Hit> reranked = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            float exact = KERNELS.squaredL2(query, store.vector(slots[i], scratch));
+            reranked.add(new ExactSimilaritySearch.Hit(slots[i], 1f - (float) Math.sqrt(exact)));
+        }
+        reranked.sort((a, b) -> Float.compare(b.score(), a.score()));
+        return reranked.size() > k ? new ArrayList<>(reranked.subList(0, k)) : reranked;
+    }
+
+    private static void siftUp(int[] slots, float[] distances, int position, int slot, float distance) {
+        int child = position;
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (distances[parent] >= distance) {
+                break;
+            }
+            slots[child] = slots[parent];
+            distances[child] = distances[parent];
+            child = parent;
+        }
+        slots[child] = slot;
+        distances[child] = distance;
+    }
+
+    // 루트(가장 먼 후보)를 새 후보로 교체
+    private static void siftDown(int[] slots, float[] distances, int size, int slot, float distance) {
+        int parent = 0;
+        while (true) {
+            int child = parent * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && distances[child + 1] > distances[child]) {
+                child++;
+            }
+            if (distances[child] <= distance) {
+                break;
+            }
+            slots[parent] = slots[child];
+            distances[parent] = distances[child];
+            parent = child;
+        }
+        slots[parent] = slot;
+        distances[parent] = distance;
+    }
+
+    /**
+     * 코드북 + 코드 스냅샷 저장 (다시 학습/인코딩하지 않고 복원하기 위함, 이후 슬롯은 sync로 채움)
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        int count = size;
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        quantizer.writeTo(out);
+        out.writeInt(count);
+        out.write(codes, 0, count * codeBytes);
+    }
+
+    /**
+     * 스냅샷 복원
+     * - 코드 수가 저장소보다 많으면(저장소가 새로 만들어진 경우) 예외를 던집니다. (호출 측에서 다시 학습)
+     */
+    public static QuantizedCodes readFrom(DataInputStream in, MappedEmbeddingStore store) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("양자화 코드 스냅샷 형식이 아닙니다.");
+        }
+        VectorQuantizer quantizer = VectorQuantizer.readFrom(in);
+        if (quantizer.dimensions() != store.dimensions()) {
+            throw new IOException("양자화 코드북 차원 불일치: %d/%d".formatted(quantizer.dimensions(), store.dimensions()));
+        }
+        int count = in.readInt();
+        if (count > store.size()) {
+            throw new IOException("양자화 코드 수(%d)가 임베딩 저장소(%d)보다 많습니다.".formatted(count, store.size()));
+        }
+
+        QuantizedCodes restored = new QuantizedCodes(quantizer);
+        restored.codes = new byte[Math.max(count, INITIAL_CAPACITY) * restored.codeBytes];
+        in.readFully(restored.codes, 0, count * restored.codeBytes);
+        restored.size = count;
+        return restored;
+    }
+}
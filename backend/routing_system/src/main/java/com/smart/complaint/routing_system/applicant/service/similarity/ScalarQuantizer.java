@@ -0,0 +1,122 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * int8 스칼라 양자화 (sq8)
+ * - 차원마다 학습 표본의 최솟값~최댓값을 256단계로 나눠 1바이트로 저장합니다. (float32 대비 1/4)
+ *   단계 번호에서 128을 뺀 부호 있는 바이트로 저장해 SIMD 커널이 바로 float로 넓힐 수 있게 합니다.
+ * - 표본 범위를 벗어난 값은 양 끝 단계로 자릅니다.
+ * - 거리: 질의는 양자화하지 않고 코드만 복원해 비교 (비대칭 거리, 질의 쪽 오차 없음)
+ */
+public final class ScalarQuantizer implements VectorQuantizer {
+
+    public static final String NAME = "sq8";
+
+    private static final int LEVELS = 255;
+    private static final int LEVEL_OFFSET = 128;
+
+    private static final VectorKernels KERNELS = VectorKernels.preferred();
+
+    private final float[] minimums;
+    private final float[] steps;
+
+    private ScalarQuantizer(float[] minimums, float[] steps) {
+        this.minimums = minimums;
+        this.steps = steps;
+    }
+
+    public static ScalarQuantizer train(List<float[]> samples, int dimensions) {
+        if (samples.isEmpty()) {
+            throw new IllegalArgumentException("양자화 학습 표본이 없습니다.");
+        }
+        float[] minimums = new float[dimensions];
+        float[] maximums = new float[dimensions];
+        Arrays.fill(minimums, Float.POSITIVE_INFINITY);
+        Arrays.fill(maximums, Float.NEGATIVE_INFINITY);
+        for (float[] sample : samples) {
+            for (int i = 0; i < dimensions; i++) {
+                minimums[i] = Math.min(minimums[i], sample[i]);
+                maximums[i] = Math.max(maximums[i], sample[i]);
+            }
+        }
+
+        float[] steps = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            float range = maximums[i] - minimums[i];
+            // 모든 표본이 같은 값인 차원은 0으로 나누지 않도록 최소 폭을 둠
+            steps[i] = range > 0f ? range / LEVELS : Float.MIN_NORMAL;
+        }
+        return new ScalarQuantizer(minimums, steps);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int dimensions() {
+        return minimums.length;
+    }
+
+    @Override
+    public int codeBytes() {
+        return minimums.length;
+    }
+
+    @Override
+    public long codebookBytes() {
+        return (long) minimums.length * Float.BYTES * 2;
+    }
+
+    @Override
+    public void encode(float[] vector, byte[] codes, int offset) {
+        for (int i = 0; i < minimums.length; i++) {
+            int level = Math.round((vector[i] - minimums[i]) / steps[i]);
+            codes[offset + i] = (byte) (Math.max(0, Math.min(LEVELS, level)) - LEVEL_OFFSET);
+        }
+    }
+
+    /**
+     * 질의를 코드 단위로 옮겨 두고 (q' = (q - min) / step - 128) 차원별 가중치 step^2로 거리 계산
+     * - 코드마다 복원 벡터를 만들지 않고 VectorKernels.weightedSquaredL2 한 번으로 끝납니다.
+     */
+    @Override
+    public DistanceTable distanceTable(float[] query) {
+        int dimensions = minimums.length;
+        float[] shifted = new float[dimensions];
+        float[] weights = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            shifted[i] = (query[i] - minimums[i]) / steps[i] - LEVEL_OFFSET;
+            weights[i] = steps[i] * steps[i];
+        }
+
+        return (codes, offset) -> KERNELS.weightedSquaredL2(shifted, weights, codes, offset);
+    }
+
+    @Override
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeUTF(NAME);
+        out.writeInt(minimums.length);
+        for (int i = 0; i < minimums.length; i++) {
+            out.writeFloat(minimums[i]);
+            out.writeFloat(steps[i]);
+        }
+    }
+
+    static ScalarQuantizer readBody(DataInputStream in) throws IOException {
+        int dimensions = in.readInt();
+        float[] minimums = new float[dimensions];
+        float[] steps = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            minimums[i] = in.readFloat();
+            steps[i] = in.readFloat();
+        }
+        return new ScalarQuantizer(minimums, steps);
+    }
+}
@@ -0,0 +1,71 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+/**
+ * 일반 반복문 유사도 커널
+ * - 누산기를 4개로 나눠 덧셈 의존 사슬을 끊음 (단일 누산기 대비 JIT 결과가 약 2배 빠름)
+ */
+public class ScalarVectorKernels implements VectorKernels {
+
+    @Override
+    public float dot(float[] a, float[] b) {
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        for (int bound = a.length & ~3; i < bound; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < a.length; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public float squaredL2(float[] a, float[] b) {
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        for (int bound = a.length & ~3; i < bound; i += 4) {
+            float d0 = a[i] - b[i];
+            float d1 = a[i + 1] - b[i + 1];
+            float d2 = a[i + 2] - b[i + 2];
+            float d3 = a[i + 3] - b[i + 3];
+            s0 += d0 * d0;
+            s1 += d1 * d1;
+            s2 += d2 * d2;
+            s3 += d3 * d3;
+        }
+        for (; i < a.length; i++) {
+            float diff = a[i] - b[i];
+            s0 += diff * diff;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public float weightedSquaredL2(float[] query, float[] weights, byte[] codes, int offset) {
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        for (int bound = query.length & ~3; i < bound; i += 4) {
+            float d0 = query[i] - codes[offset + i];
+            float d1 = query[i + 1] - codes[offset + i + 1];
+            float d2 = query[i + 2] - codes[offset + i + 2];
+            float d3 = query[i + 3] - codes[offset + i + 3];
+            s0 += weights[i] * d0 * d0;
+            s1 += weights[i + 1] * d1 * d1;
+            s2 += weights[i + 2] * d2 * d2;
+            s3 += weights[i + 3] * d3 * d3;
+        }
+        for (; i < query.length; i++) {
+            float diff = query[i] - codes[offset + i];
+            s0 += weights[i] * diff * diff;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
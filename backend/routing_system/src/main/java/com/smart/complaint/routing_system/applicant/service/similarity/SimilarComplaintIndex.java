@@ -0,0 +1,581 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import com.smart.complaint.routing_system.applicant.config.SimilaritySearchProperties;
+import com.smart.complaint.routing_system.applicant.event.NormalizationSavedEvent;
+import com.smart.complaint.routing_system.applicant.repository.PgVectorBinary;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유사 민원 검색용 인메모리 HNSW 색인
+ * - 임베딩은 data-dir의 메모리 매핑 저장소(MappedEmbeddingStore)에, 그래프는 같은 디렉터리의 스냅샷 파일에 둡니다.
+ * - 기동 시 저장소를 다시 매핑하고 그래프 스냅샷을 복원한 뒤, DB의 현재 정규화 ID 목록과만 대조합니다.
+ *   (빠진 행의 임베딩만 조회하고, 더 이상 현재가 아닌 행은 삭제 표시 - 전체 테이블을 다시 읽지 않음)
+ * - 저장소가 비어 있으면(최초 기동) 전체 행을 읽어 구축합니다.
+ * - 정규화 저장 트랜잭션이 커밋되면 해당 민원의 현재 임베딩을 읽어 점진적으로 추가합니다.
+ * - 구축/추가는 전용 단일 스레드에서 순서대로 처리하므로 요청 스레드와 분석 워커는 기다리지 않습니다.
+ * - search-mode가 sq8/pq면 현재 임베딩 표본으로 코드북을 학습해 슬롯별 양자화 코드를 만들고,
+ *   코드로 고른 후보만 원본 벡터로 재정렬합니다. (코드북과 코드는 같은 디렉터리에 스냅샷으로 보관)
+ * - 색인이 준비되기 전에는 isReady()가 false이며, 호출 측은 DB 검색으로 대체합니다.
+ */
+@Slf4j
+@Component
+public class SimilarComplaintIndex {
+
+    private static final String LOAD_SQL = "SELECT id, complaint_id, vector_send(embedding) AS embedding " +
+            "FROM complaint_normalizations WHERE is_current = true AND embedding IS NOT NULL AND id > ? ORDER BY id";
+
+    private static final String CURRENT_IDS_SQL = "SELECT id FROM complaint_normalizations " +
+            "WHERE is_current = true AND embedding IS NOT NULL ORDER BY id";
+
+    private static final String LOAD_BY_ID_SQL = "SELECT id, complaint_id, vector_send(embedding) AS embedding " +
+            "FROM complaint_normalizations WHERE is_current = true AND embedding IS NOT NULL " +
+            "AND id = ANY(?) ORDER BY id";
+
+    private static final String GRAPH_FILE = "hnsw.graph";
+    // 저장소 벡터의 유사도 기준 (l2 / cosine, 없으면 기준 도입 전 저장소 = l2)
+    private static final String METRIC_FILE = "metric";
+    private static final String CODES_FILE_SUFFIX = ".codes";
+
+    private static final String HNSW = "hnsw";
+    private static final String EXACT = "exact";
+
+    // 대조 후 빠진 행 임베딩 조회 단위
+    private static final int FETCH_BATCH = 1000;
+
+    private static final String LOAD_BY_COMPLAINT_SQL = "SELECT id, complaint_id, vector_send(embedding) AS embedding " +
+            "FROM complaint_normalizations WHERE is_current = true AND embedding IS NOT NULL " +
+            "AND complaint_id = ANY(?) ORDER BY id";
+
+    // ID가 작은 트랜잭션이 늦게 커밋됐을 수 있으므로 워터마크보다 이만큼 앞에서부터 다시 확인
+    // (이미 색인된 정규화 행은 HnswIndex에서 무시)
+    private static final long CATCH_UP_MARGIN = 1000;
+
+    private final SimilaritySearchProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService indexer;
+
+    private final Map<String, Timer> searchTimers = new LinkedHashMap<>();
+
+    private volatile MappedEmbeddingStore store;
+    private volatile HnswIndex index;
+    private volatile QuantizedCodes quantized;
+    private volatile boolean ready;
+    private volatile double lastRecall = Double.NaN;
+    private volatile long savedVersion = -1;
+    private volatile int savedCodes = -1;
+
+    public SimilarComplaintIndex(SimilaritySearchProperties properties, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "similarity-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (String mode : List.of(HNSW, EXACT, ScalarQuantizer.NAME, ProductQuantizer.NAME)) {
+            searchTimers.put(mode, Timer.builder("complaint.similarity.search").tag("mode", mode)
+                    .description("유사 민원 검색 시간").register(meterRegistry));
+        }
+        Gauge.builder("complaint.similarity.index.size", this,
+                search -> search.index == null ? 0 : search.index.liveCount())
+                .description("유사 민원 색인에 올라간 민원 수").register(meterRegistry);
+        Gauge.builder("complaint.similarity.recall", this, search -> search.lastRecall)
+                .description("최근 측정한 근사 검색 recall@k (전수 검색 대비)").register(meterRegistry);
+        Gauge.builder("complaint.similarity.quantized.bytes", this,
+                search -> search.quantized == null ? 0 : search.quantized.memoryBytes())
+                .description("양자화 코드 + 코드북 메모리 (바이트)").register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return properties.isEnabled() && ready;
+    }
+
+    /**
+     * 최근접 k건 (점수 = 1 - L2 거리, 기존 DB 검색과 같은 기준)
+     * - search-mode=exact 이거나 최근 측정한 재현율이 min-recall 미만이면 메모리 내 전수 비교로 검색합니다.
+     */
+    public List<HnswIndex.Neighbor> search(float[] query, int k) {
+        String mode = activeMode();
+        boolean cosine = cosine();
+        long start = System.nanoTime();
+        try {
+            List<HnswIndex.Neighbor> neighbors = approximate(mode, cosine ? EmbeddingNormalizer.normalize(query)
+                    : query, k);
+            return cosine ? toCosineDistance(neighbors) : neighbors;
+        } finally {
+            searchTimers.get(mode).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 단위 벡터 사이 L2 거리 d와 코사인의 관계 cos = 1 - d^2 / 2를 이용해 코사인 거리(1 - cos)로 변환
+    // (score()가 DB 내적 검색과 같은 코사인 유사도가 됨, 순서는 그대로)
+    private static List<HnswIndex.Neighbor> toCosineDistance(List<HnswIndex.Neighbor> neighbors) {
+        List<HnswIndex.Neighbor> converted = new ArrayList<>(neighbors.size());
+        for (HnswIndex.Neighbor neighbor : neighbors) {
+            float distance = neighbor.distance();
+            converted.add(new HnswIndex.Neighbor(neighbor.complaintId(), distance * distance / 2));
+        }
+        return converted;
+    }
+
+    // metric=cosine이면 색인 안의 벡터와 질의를 모두 단위 벡터로 정규화 (DB 이관 진행 여부와 무관)
+    private boolean cosine() {
+        return EmbeddingNormalizer.COSINE.equalsIgnoreCase(properties.getMetric());
+    }
+
+    private float[] embedding(ResultSet rs) throws SQLException {
+        float[] vector = PgVectorBinary.decode(rs.getBytes("embedding"));
+        return cosine() ? EmbeddingNormalizer.normalize(vector) : vector;
+    }
+
+    private List<HnswIndex.Neighbor> approximate(String mode, float[] query, int k) {
+        return switch (mode) {
+            case EXACT -> index.exactSearch(query, k);
+            case ScalarQuantizer.NAME, ProductQuantizer.NAME ->
+                    index.quantizedSearch(quantized, query, k, k * properties.getRerankFactor());
+            default -> index.search(query, k, properties.getEfSearch());
+        };
+    }
+
+    private String activeMode() {
+        if (EXACT.equalsIgnoreCase(properties.getSearchMode())) {
+            return EXACT;
+        }
+        // NaN(미측정)과의 비교는 항상 false -> 근사 검색 사용
+        return lastRecall < properties.getMinRecall() ? EXACT : approximateMode();
+    }
+
+    // 근사 검색 방식 (양자화 코드가 아직 준비되지 않았으면 HNSW)
+    private String approximateMode() {
+        QuantizedCodes codes = quantized;
+        return codes != null && codes.quantizer().name().equalsIgnoreCase(properties.getSearchMode())
+                ? codes.quantizer().name() : HNSW;
+    }
+
+    private String quantizationMode() {
+        String mode = properties.getSearchMode().toLowerCase();
+        return mode.equals(ScalarQuantizer.NAME) || mode.equals(ProductQuantizer.NAME) ? mode : null;
+    }
+
+    // 분석 결과가 커밋된 민원만 색인 (롤백된 임베딩이 검색되지 않도록)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNormalizationSaved(NormalizationSavedEvent event) {
+        if (properties.isEnabled() && !event.complaintIds().isEmpty()) {
+            indexer.execute(() -> addComplaints(event.complaintIds()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (properties.isEnabled()) {
+            indexer.execute(this::load);
+        }
+    }
+
+    /**
+     * 주기적 따라잡기
+     * - 다른 백엔드 인스턴스에서 저장된 정규화 행이나 커밋 이벤트 처리에 실패한 행을 채웁니다.
+     */
+    @Scheduled(fixedDelayString = "${complaint.similarity.catch-up-interval-ms:30000}")
+    public void catchUp() {
+        if (ready) {
+            indexer.execute(() -> {
+                try {
+                    HnswIndex target = index;
+                    int added = addAfter(target, Math.max(0, target.maxNormalizationId() - CATCH_UP_MARGIN));
+                    syncQuantized();
+                    if (added > 0) {
+                        log.info("유사 민원 색인 따라잡기 - {}건 추가", added);
+                    }
+                } catch (Exception e) {
+                    log.warn("유사 민원 색인 따라잡기 실패: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    // 마지막 저장 이후 추가/삭제 표시된 노드가 있을 때만 그래프 스냅샷 갱신 (임베딩 저장소도 함께 디스크에 반영)
+    // 양자화 코드도 마지막 저장 이후 늘었을 때만 갱신
+    @Scheduled(fixedDelayString = "${complaint.similarity.snapshot-interval-ms:600000}",
+            initialDelayString = "${complaint.similarity.snapshot-interval-ms:600000}")
+    public void saveSnapshot() {
+        if (!ready) {
+            return;
+        }
+        Path directory = Path.of(properties.getDataDir());
+
+        HnswIndex current = index;
+        long version = current.version();
+        if (version != savedVersion && writeSnapshot(directory.resolve(GRAPH_FILE), current::writeTo)) {
+            savedVersion = version;
+            log.info("유사 민원 색인 스냅샷 저장 - 노드 {}개", current.nodeCount());
+        }
+
+        QuantizedCodes codes = quantized;
+        if (codes != null) {
+            int count = codes.size();
+            if (count != savedCodes && writeSnapshot(codesFile(directory, codes.quantizer().name()), codes::writeTo)) {
+                savedCodes = count;
+                log.info("양자화 코드 스냅샷 저장 - {} {}건", codes.quantizer().name(), count);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SnapshotWriter {
+
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    // 기록 중 종료돼도 기존 스냅샷이 깨지지 않도록 임시 파일에 쓴 뒤 교체
+    private boolean writeSnapshot(Path path, SnapshotWriter writer) {
+        long start = System.currentTimeMillis();
+        try {
+            Path temp = Files.createTempFile(path.getParent(), "snapshot", ".tmp");
+            try (OutputStream file = Files.newOutputStream(temp);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                writer.write(out);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("스냅샷 기록 {}ms - {}", System.currentTimeMillis() - start, path);
+            return true;
+        } catch (Exception e) {
+            log.warn("스냅샷 저장 실패 - {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 재현율 측정 (색인된 민원 중 표본을 질의로 삼아 전수 검색 결과와 비교)
+     * - 기동 시 구축 직후 한 번 측정하고, 운영 중에는 /actuator/similarityIndex 로 다시 측정합니다.
+     */
+    public double measureRecall() {
+        if (!ready) {
+            return Double.NaN;
+        }
+        long start = System.currentTimeMillis();
+        String mode = approximateMode();
+        int k = properties.getRecallK();
+        double recall = index.measureRecall(properties.getRecallSampleSize(), k, System.nanoTime(),
+                query -> approximate(mode, query, k));
+        lastRecall = recall;
+        log.info("유사 민원 색인 재현율 - {} recall@{} {} (efSearch {}, 표본 {}건, {}ms)", mode, k,
+                String.format("%.4f", recall), properties.getEfSearch(), properties.getRecallSampleSize(),
+                System.currentTimeMillis() - start);
+        return recall;
+    }
+
+    public Map<String, Object> stats() {
+        HnswIndex current = index;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("ready", ready);
+        if (current == null) {
+            return stats;
+        }
+        stats.put("size", current.liveCount());
+        stats.put("nodes", current.nodeCount());
+        stats.put("maxNormalizationId", current.maxNormalizationId());
+        stats.put("m", current.m());
+        stats.put("efConstruction", current.efConstruction());
+        stats.put("efSearch", properties.getEfSearch());
+        stats.put("searchMode", activeMode());
+        stats.put("kernels", VectorKernels.preferred().name());
+        stats.put("recallK", properties.getRecallK());
+        stats.put("lastRecall", lastRecall);
+        stats.put("fullPrecisionBytesPerVector", (long) current.dimensions() * Float.BYTES);
+
+        QuantizedCodes codes = quantized;
+        if (codes != null) {
+            stats.put("quantization", codes.quantizer().name());
+            stats.put("quantizedSize", codes.size());
+            stats.put("bytesPerVector", codes.quantizer().codeBytes());
+            stats.put("codebookBytes", codes.quantizer().codebookBytes());
+            stats.put("rerankFactor", properties.getRerankFactor());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        indexer.shutdownNow();
+        indexer.awaitTermination(10, TimeUnit.SECONDS);
+        saveSnapshot();
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        Path directory = Path.of(properties.getDataDir());
+        try {
+            store = openStore(directory);
+            HnswIndex restored = restoreGraph(directory, store);
+            HnswIndex loaded = restored != null ? restored
+                    : HnswIndex.build(store, properties.getM(), properties.getEfConstruction(), properties.getSeed());
+            if (restored != null) {
+                savedVersion = restored.version();
+            }
+            int mapped = store.size();
+
+            String reconciled;
+            if (mapped == 0) {
+                reconciled = "전체 구축 " + addAfter(loaded, 0) + "건";
+            } else {
+                long[] currentIds = loadCurrentIds();
+                int stale = loaded.retainOnly(currentIds);
+                int added = addMissing(loaded, currentIds);
+                reconciled = "저장소 %d건 %s, DB 대조 추가 %d건 / 제외 %d건".formatted(mapped,
+                        restored != null ? "그래프 복원" : "그래프 재구성", added, stale);
+            }
+
+            index = loaded;
+            ready = true;
+            log.info("유사 민원 색인 준비 완료 - {}, 총 {}건, {}ms", reconciled, loaded.liveCount(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("유사 민원 색인 구축 실패 (DB 검색으로 대체): {}", e.getMessage());
+            return;
+        }
+
+        String quantization = quantizationMode();
+        if (quantization != null) {
+            try {
+                prepareQuantized(directory, quantization);
+            } catch (Exception e) {
+                log.error("양자화 코드 준비 실패 (HNSW로 검색): {}", e.getMessage());
+            }
+        }
+
+        measureRecall();
+        saveSnapshot();
+    }
+
+    // 형식/차원/유사도 기준이 맞지 않는 저장소는 지우고 새로 만듦 (그래프 스냅샷도 함께 무효)
+    private MappedEmbeddingStore openStore(Path directory) throws IOException {
+        Path marker = directory.resolve(METRIC_FILE);
+        String metric = cosine() ? EmbeddingNormalizer.COSINE : EmbeddingNormalizer.L2;
+        String stored = Files.isRegularFile(marker) ? Files.readString(marker).trim() : EmbeddingNormalizer.L2;
+        if (!stored.equals(metric)) {
+            log.info("유사도 기준이 바뀌어 임베딩 저장소를 새로 만듭니다: {} -> {}", stored, metric);
+            clear(directory);
+        }
+
+        MappedEmbeddingStore opened;
+        try {
+            opened = MappedEmbeddingStore.open(directory, properties.getDimensions());
+        } catch (IOException e) {
+            log.warn("임베딩 저장소를 열 수 없어 새로 만듭니다: {}", e.getMessage());
+            clear(directory);
+            opened = MappedEmbeddingStore.open(directory, properties.getDimensions());
+        }
+        Files.writeString(marker, metric);
+        return opened;
+    }
+
+    private static void clear(Path directory) throws IOException {
+        MappedEmbeddingStore.delete(directory);
+        Files.deleteIfExists(directory.resolve(GRAPH_FILE));
+        Files.deleteIfExists(codesFile(directory, ScalarQuantizer.NAME));
+        Files.deleteIfExists(codesFile(directory, ProductQuantizer.NAME));
+    }
+
+    // DB의 현재 정규화 ID (오름차순, ID만 읽으므로 임베딩 전체 조회보다 훨씬 가벼움)
+    private long[] loadCurrentIds() {
+        long[][] ids = { new long[1 << 16] };
+        int[] count = new int[1];
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(CURRENT_IDS_SQL);
+            ps.setFetchSize(10_000);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            if (count[0] == ids[0].length) {
+                ids[0] = Arrays.copyOf(ids[0], ids[0].length * 2);
+            }
+            ids[0][count[0]++] = rs.getLong(1);
+        }));
+        return Arrays.copyOf(ids[0], count[0]);
+    }
+
+    // 저장소에 없는 현재 정규화 행만 임베딩을 조회해 추가
+    private int addMissing(HnswIndex target, long[] currentIds) {
+        List<Long> missing = new ArrayList<>();
+        for (long id : currentIds) {
+            if (!target.contains(id)) {
+                missing.add(id);
+            }
+        }
+
+        int[] added = new int[1];
+        for (int from = 0; from < missing.size(); from += FETCH_BATCH) {
+            List<Long> batch = missing.subList(from, Math.min(from + FETCH_BATCH, missing.size()));
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(LOAD_BY_ID_SQL);
+                ps.setArray(1, connection.createArrayOf("bigint", batch.toArray()));
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                if (target.add(rs.getLong("id"), rs.getLong("complaint_id"),
+                        embedding(rs))) {
+                    added[0]++;
+                }
+            });
+        }
+        return added[0];
+    }
+
+    // 워터마크 이후 정규화 행 추가 (PostgreSQL은 트랜잭션 안에서만 fetch size 단위로 끊어 읽음)
+    private int addAfter(HnswIndex target, long after) {
+        int[] added = new int[1];
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LOAD_SQL);
+            ps.setFetchSize(1000);
+            ps.setLong(1, after);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            if (target.add(rs.getLong("id"), rs.getLong("complaint_id"),
+                    embedding(rs))) {
+                added[0]++;
+            }
+        }));
+        return added[0];
+    }
+
+    private HnswIndex restoreGraph(Path directory, MappedEmbeddingStore embeddings) {
+        Path path = directory.resolve(GRAPH_FILE);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (InputStream file = Files.newInputStream(path);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            return HnswIndex.readFrom(in, embeddings, properties.getM(), properties.getEfConstruction(),
+                    properties.getSeed());
+        } catch (Exception e) {
+            log.warn("유사 민원 색인 그래프 복원 실패 (저장소 벡터로 재구성): {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 양자화 코드 준비 (스냅샷의 코드북이 현재 설정과 맞으면 복원 후 이후 슬롯만 인코딩, 아니면 다시 학습)
+     */
+    private void prepareQuantized(Path directory, String mode) {
+        long start = System.currentTimeMillis();
+        QuantizedCodes codes = restoreCodes(codesFile(directory, mode));
+        String origin = "스냅샷 복원";
+        if (codes == null) {
+            List<float[]> samples = index.sampleVectors(properties.getTrainingSampleSize(), properties.getSeed());
+            if (samples.isEmpty()) {
+                log.info("양자화 코드북 학습 보류 - 색인된 임베딩이 없습니다. (HNSW로 검색)");
+                return;
+            }
+            VectorQuantizer quantizer = mode.equals(ProductQuantizer.NAME)
+                    ? ProductQuantizer.train(samples, properties.getDimensions(), properties.getPqSubspaces(),
+                            properties.getPqIterations(), properties.getSeed())
+                    : ScalarQuantizer.train(samples, properties.getDimensions());
+            codes = new QuantizedCodes(quantizer);
+            origin = "표본 %d건으로 학습".formatted(samples.size());
+        }
+
+        int encoded = codes.sync(store);
+        quantized = codes;
+        log.info("양자화 코드 준비 완료 - {}, {}, 신규 인코딩 {}건, 벡터당 {}바이트 (원본 {}바이트), 총 {}KB, {}ms",
+                codes.quantizer().name(), origin, encoded, codes.quantizer().codeBytes(),
+                properties.getDimensions() * Float.BYTES, codes.memoryBytes() / 1024,
+                System.currentTimeMillis() - start);
+    }
+
+    private QuantizedCodes restoreCodes(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (InputStream file = Files.newInputStream(path);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            QuantizedCodes codes = QuantizedCodes.readFrom(in, store);
+            if (codes.quantizer() instanceof ProductQuantizer pq && pq.subspaces() != properties.getPqSubspaces()) {
+                log.info("PQ 부분공간 수가 바뀌어 코드북을 다시 학습합니다: {} -> {}", pq.subspaces(),
+                        properties.getPqSubspaces());
+                return null;
+            }
+            savedCodes = codes.size();
+            return codes;
+        } catch (Exception e) {
+            log.warn("양자화 코드 복원 실패 (다시 학습): {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // 저장소에 새로 추가된 슬롯의 양자화 코드 생성 (색인 스레드에서만 호출)
+    private void syncQuantized() {
+        QuantizedCodes codes = quantized;
+        if (codes != null) {
+            codes.sync(store);
+        }
+    }
+
+    private static Path codesFile(Path directory, String mode) {
+        return directory.resolve(mode + CODES_FILE_SUFFIX);
+    }
+
+    private void addComplaints(List<Long> complaintIds) {
+        if (!ready) {
+            return; // 구축 실패 시 DB 검색으로 대체 중
+        }
+        try {
+            HnswIndex target = index;
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(LOAD_BY_COMPLAINT_SQL);
+                ps.setArray(1, connection.createArrayOf("bigint", complaintIds.toArray()));
+                return ps;
+            }, (RowCallbackHandler) rs -> target.add(rs.getLong("id"), rs.getLong("complaint_id"),
+                    embedding(rs)));
+            syncQuantized();
+        } catch (Exception e) {
+            // 누락분은 주기적 따라잡기에서 채워짐
+            log.warn("유사 민원 색인 추가 실패 - 민원 {}: {}", complaintIds, e.getMessage());
+        }
+    }
+}
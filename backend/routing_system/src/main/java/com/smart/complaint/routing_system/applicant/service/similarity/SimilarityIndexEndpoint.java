@@ -0,0 +1,43 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import com.smart.complaint.routing_system.applicant.service.ComplaintNeighborService;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 유사 민원 HNSW 색인 + DB 2단계 검색 상태 조회 (GET /actuator/similarityIndex), 재현율/top-3 일치율 재측정 (POST)
+@Component
+@Endpoint(id = "similarityIndex")
+@RequiredArgsConstructor
+public class SimilarityIndexEndpoint {
+
+    private final SimilarComplaintIndex similarComplaintIndex;
+    private final DatabaseVectorSearch databaseVectorSearch;
+    private final EmbeddingNormalizer embeddingNormalizer;
+    private final FilteredVectorSearch filteredVectorSearch;
+    private final ComplaintNeighborService complaintNeighborService;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>(similarComplaintIndex.stats());
+        stats.put("database", databaseVectorSearch.stats());
+        stats.put("metric", embeddingNormalizer.stats());
+        stats.put("filtered", filteredVectorSearch.stats());
+        stats.put("neighbors", complaintNeighborService.stats());
+        return stats;
+    }
+
+    @WriteOperation
+    public Map<String, Object> measureRecall() {
+        similarComplaintIndex.measureRecall();
+        databaseVectorSearch.measureAgreement();
+        return stats();
+    }
+}
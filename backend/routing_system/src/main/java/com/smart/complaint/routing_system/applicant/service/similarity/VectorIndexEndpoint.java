@@ -0,0 +1,34 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// DB 근사 색인 상태/품질별 재현율 조회 (GET /actuator/vectorIndex)
+// 점검 + 재현율 재측정 (POST), 강제 재구축 (POST {"action": "rebuild"}) - 작업은 백그라운드에서 실행
+@Component
+@Endpoint(id = "vectorIndex")
+@RequiredArgsConstructor
+public class VectorIndexEndpoint {
+
+    private final VectorIndexManager vectorIndexManager;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return vectorIndexManager.stats();
+    }
+
+    @WriteOperation
+    public Map<String, Object> maintain(@Nullable String action) {
+        boolean rebuild = "rebuild".equalsIgnoreCase(action);
+        Map<String, Object> stats = vectorIndexManager.stats();
+        stats.put("accepted", vectorIndexManager.submit(rebuild, true));
+        return stats;
+    }
+}
@@ -0,0 +1,429 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import com.smart.complaint.routing_system.applicant.config.SimilaritySearchProperties;
+import com.smart.complaint.routing_system.applicant.domain.SearchQuality;
+import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
+import com.smart.complaint.routing_system.applicant.event.EmbeddingsNormalizedEvent;
+import com.smart.complaint.routing_system.applicant.repository.NormalizationVectorRepository;
+import com.smart.complaint.routing_system.applicant.repository.VectorIndexRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * complaint_normalizations.embedding 근사 최근접 색인(HNSW / IVFFlat) 관리 + 품질 지정 검색
+ * - 기동 직후와 주기 점검마다 색인 상태를 확인해 없으면 만들고, 구축이 실패해 무효(invalid)로 남았으면 다시 만들고,
+ *   종류/구축 설정이 바뀌었거나 IVFFlat 행 수가 크게 늘었으면 새 색인을 만든 뒤 교체합니다.
+ *   (구축은 CONCURRENTLY라 쓰기를 막지 않고, 전용 스레드에서 실행해 스케줄러를 붙잡지 않음)
+ * - 검색 품질(fast/balanced/accurate)은 같은 읽기 전용 트랜잭션 안에서 hnsw.ef_search / ivfflat.probes로 적용합니다.
+ * - 구축/재구축 뒤에는 품질별 recall@k와 질의 지연을 원본 전수 정렬과 비교해 측정하고 지표로 노출합니다.
+ */
+@Slf4j
+@Component
+public class VectorIndexManager {
+
+    public static final String INDEX_NAME = "idx_normalizations_embedding_ann";
+    // 교체용 새 색인 (구축이 끝나면 기존 색인을 지우고 이 이름을 INDEX_NAME으로 변경)
+    private static final String REBUILD_NAME = INDEX_NAME + "_rebuild";
+
+    private static final String NONE = "none";
+    public static final String HNSW = "hnsw";
+    public static final String IVFFLAT = "ivfflat";
+    private static final String L2_OPCLASS = "vector_l2_ops";
+    private static final String IP_OPCLASS = "vector_ip_ops";
+
+    // 주석 형식: "<종류> <연산자 클래스> <구축 설정> rows=<구축 시점 현재 정규화 행 수>"
+    private static final String ROWS_MARKER = " rows=";
+
+    // IVFFlat 재구축 판단의 최소 행 수 (빈 테이블에서 만든 색인도 이 수의 배수를 넘으면 다시 학습)
+    private static final long IVFFLAT_MIN_ROWS = 1000;
+
+    // 품질별 재현율 측정 표본 수 (표본마다 원본 전수 정렬을 한 번씩 수행)
+    private static final int RECALL_SAMPLE_SIZE = 20;
+
+    private final SimilaritySearchProperties properties;
+    private final NormalizationVectorRepository vectorRepository;
+    private final VectorIndexRepository indexRepository;
+    private final EmbeddingNormalizer normalizer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<SearchQuality, Timer> searchTimers = new EnumMap<>(SearchQuality.class);
+    private final Map<SearchQuality, Double> recalls = new ConcurrentHashMap<>();
+    private final Map<SearchQuality, Double> measuredLatencies = new ConcurrentHashMap<>();
+    private final ExecutorService maintainer;
+    private final SearchQuality defaultQuality;
+    private final AtomicBoolean maintaining = new AtomicBoolean();
+
+    private volatile VectorIndexRepository.IndexState indexState;
+    private volatile String lastAction;
+    private volatile LocalDateTime lastCheckedAt;
+    private volatile String lastError;
+
+    // identity = "<종류> <연산자 클래스>", description = identity + 구축 설정
+    private record IndexSpec(String method, String opclass, String withClause, String description) {
+
+        String identity() {
+            return method + " " + opclass;
+        }
+    }
+
+    public VectorIndexManager(SimilaritySearchProperties properties, NormalizationVectorRepository vectorRepository,
+            VectorIndexRepository indexRepository, EmbeddingNormalizer normalizer,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.vectorRepository = vectorRepository;
+        this.indexRepository = indexRepository;
+        this.normalizer = normalizer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 설정 오타는 요청마다 400이 되지 않도록 기동 시 실패
+        this.defaultQuality = SearchQuality.from(properties.getAnnDefaultQuality());
+        this.maintainer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vector-index-manager");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        String type = indexType();
+        for (SearchQuality quality : SearchQuality.values()) {
+            String tag = quality.name().toLowerCase();
+            searchTimers.put(quality, Timer.builder("complaint.similarity.db.ann.search")
+                    .tag("index", type).tag("quality", tag)
+                    .description("DB 근사 색인 유사 민원 검색 시간").register(meterRegistry));
+            Gauge.builder("complaint.similarity.db.ann.recall", recalls, map -> map.getOrDefault(quality, Double.NaN))
+                    .tag("index", type).tag("quality", tag)
+                    .description("DB 근사 색인 품질별 recall@k (최근 측정값)").register(meterRegistry);
+            Gauge.builder("complaint.similarity.db.ann.latency", measuredLatencies,
+                            map -> map.getOrDefault(quality, Double.NaN))
+                    .tag("index", type).tag("quality", tag).baseUnit("milliseconds")
+                    .description("DB 근사 색인 품질별 평균 질의 지연 (최근 측정값)").register(meterRegistry);
+        }
+        Gauge.builder("complaint.similarity.db.ann.index.bytes", this,
+                        manager -> manager.indexState == null ? 0 : manager.indexState.bytes())
+                .description("DB 근사 색인 크기 (바이트)").register(meterRegistry);
+        Gauge.builder("complaint.similarity.db.ann.index.valid", this, manager -> manager.isIndexReady() ? 1 : 0)
+                .description("DB 근사 색인 사용 가능 여부 (1/0)").register(meterRegistry);
+    }
+
+    public boolean isManaged() {
+        return !NONE.equals(indexType());
+    }
+
+    // 설정한 종류의 색인이 구축을 마치고 유효한 상태인지 (아니면 검색은 전수 정렬로 실행됨)
+    public boolean isIndexReady() {
+        VectorIndexRepository.IndexState state = indexState;
+        return state != null && state.valid() && indexType().equals(state.method());
+    }
+
+    // 관리 중인 색인 종류 (hnsw / ivfflat / none)
+    public String indexMethod() {
+        return indexType();
+    }
+
+    public SearchQuality defaultQuality() {
+        return defaultQuality;
+    }
+
+    /**
+     * 품질을 지정한 근사 검색 (점수 = 1 - L2 거리, cosine 기준이면 코사인 유사도)
+     * - 색인이 아직 없거나 검색 기준과 연산자 클래스가 다르면(재구축 전) 같은 질의가 전수 정렬로 실행되고,
+     *   탐색 파라미터는 영향이 없습니다.
+     */
+    public List<ComplaintSearchResult> search(double[] queryEmbedding, int limit, SearchQuality quality) {
+        boolean cosine = normalizer.isCosine();
+        float[] query = normalizer.forQuery(queryEmbedding);
+        return searchTimers.get(quality).record(() -> readOnlyTransaction.execute(status -> vectorRepository
+                .findSimilarAnn(query, parameter(), parameterValue(quality, limit), limit, cosine)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        submit(false, false);
+    }
+
+    // 기존 행 정규화가 끝나면 내적 연산자 클래스로 바로 재구축 (다음 주기 점검을 기다리지 않음)
+    // 진행 중인 점검이 있어도 버리지 않도록 단일 스레드 대기열에 바로 넣음 (순서대로 실행)
+    @EventListener(EmbeddingsNormalizedEvent.class)
+    public void onEmbeddingsNormalized() {
+        if (isManaged()) {
+            maintainer.execute(() -> maintain(false, true));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${complaint.similarity.ann-health-check-interval-ms:600000}",
+            initialDelayString = "${complaint.similarity.ann-health-check-interval-ms:600000}")
+    public void healthCheck() {
+        submit(false, false);
+    }
+
+    /**
+     * 관리 작업 요청 (이미 실행 중이면 무시)
+     * @param rebuild        설정이 같아도 새로 구축해 교체 (IVFFlat 군집 재학습 등)
+     * @param measureRecall  색인이 그대로여도 품질별 재현율/지연을 다시 측정
+     * @return 요청을 받았는지
+     */
+    public boolean submit(boolean rebuild, boolean measureRecall) {
+        if (!isManaged() || !maintaining.compareAndSet(false, true)) {
+            return false;
+        }
+        maintainer.execute(() -> {
+            try {
+                maintain(rebuild, measureRecall);
+            } finally {
+                maintaining.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void maintain(boolean rebuild, boolean measureRecall) {
+        long start = System.currentTimeMillis();
+        try {
+            Optional<String> action = indexRepository.withMaintenanceLock(session -> reconcile(session, rebuild));
+            indexState = indexRepository.state(INDEX_NAME).orElse(null);
+            lastCheckedAt = LocalDateTime.now();
+            lastError = null;
+            if (action.isEmpty()) {
+                log.debug("DB 근사 색인 점검 건너뜀 - 다른 인스턴스가 관리 중");
+                return;
+            }
+            lastAction = action.get();
+            if (!"healthy".equals(lastAction)) {
+                log.info("DB 근사 색인 {} - {} ({}ms)", lastAction, describe(indexState),
+                        System.currentTimeMillis() - start);
+            }
+            if (measureRecall || !"healthy".equals(lastAction) || recalls.isEmpty()) {
+                measureRecall();
+            }
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.warn("DB 근사 색인 관리 실패: {}", e.getMessage());
+        }
+    }
+
+    // advisory lock을 잡은 세션에서 실행 (반환값 = 수행한 작업)
+    private String reconcile(JdbcTemplate session, boolean rebuild) {
+        long rows = indexRepository.currentRows(session);
+        IndexSpec desired = desiredSpec(rows);
+
+        // 이전 교체 도중 종료되어 남은 새 색인 정리 (잠금을 잡고 있으므로 다른 인스턴스가 구축 중일 수 없음)
+        indexRepository.dropConcurrently(session, REBUILD_NAME);
+
+        Optional<VectorIndexRepository.IndexState> current = indexRepository.state(session, INDEX_NAME);
+        if (current.isEmpty()) {
+            build(session, INDEX_NAME, desired, rows);
+            return "created";
+        }
+        if (!current.get().valid()) {
+            indexRepository.dropConcurrently(session, INDEX_NAME);
+            build(session, INDEX_NAME, desired, rows);
+            return "recreated (invalid)";
+        }
+
+        // cosine 이관 중에는 연산자 클래스가 곧 바뀌므로 기존 색인을 그대로 둠 (이관 완료 이벤트에서 다시 점검)
+        if (normalizer.isCosineConfigured() && !normalizer.isCosine()) {
+            return "healthy";
+        }
+        String reason = rebuild ? "requested" : rebuildReason(current.get(), desired, rows);
+        if (reason == null) {
+            return "healthy";
+        }
+        // 새 색인을 다 만든 뒤 교체하므로 구축 중에도 기존 색인으로 검색
+        build(session, REBUILD_NAME, desired, rows);
+        indexRepository.dropConcurrently(session, INDEX_NAME);
+        indexRepository.rename(session, REBUILD_NAME, INDEX_NAME);
+        return "rebuilt (" + reason + ")";
+    }
+
+    private String rebuildReason(VectorIndexRepository.IndexState current, IndexSpec desired, long rows) {
+        String description = current.description();
+        if (!desired.method().equals(current.method())) {
+            return current.method() + " -> " + desired.method();
+        }
+        if (description == null || !description.contains(ROWS_MARKER)) {
+            return "unmanaged";
+        }
+        String builtSpec = description.substring(0, description.indexOf(ROWS_MARKER));
+        // 군집 수 자동 결정이면 행 수가 조금만 바뀌어도 lists가 달라지므로 종류/연산자 클래스만 비교하고 증가 배수로 판단
+        boolean autoLists = IVFFLAT.equals(desired.method()) && properties.getAnnIvfflatLists() <= 0;
+        if (autoLists ? !builtSpec.startsWith(desired.identity() + " ") : !builtSpec.equals(desired.description())) {
+            return builtSpec + " -> " + desired.description();
+        }
+        if (IVFFLAT.equals(desired.method())) {
+            long builtRows = parseRows(description);
+            if (rows >= Math.max(builtRows, IVFFLAT_MIN_ROWS) * properties.getAnnIvfflatRebuildGrowth()) {
+                return "rows " + builtRows + " -> " + rows;
+            }
+        }
+        return null;
+    }
+
+    private void build(JdbcTemplate session, String name, IndexSpec spec, long rows) {
+        long start = System.currentTimeMillis();
+        log.info("DB 근사 색인 구축 시작 - {} (현재 정규화 {}건)", spec.description(), rows);
+        indexRepository.create(session, name, spec.method(), spec.opclass(), spec.withClause(),
+                properties.getAnnMaintenanceWorkMem());
+        indexRepository.describe(session, name, spec.description() + ROWS_MARKER + rows);
+        log.info("DB 근사 색인 구축 완료 - {} ({}ms)", spec.description(), System.currentTimeMillis() - start);
+    }
+
+    // 검색 기준이 내적(cosine)이면 내적 연산자 클래스, 아니면 L2
+    private IndexSpec desiredSpec(long rows) {
+        String opclass = normalizer.isCosine() ? IP_OPCLASS : L2_OPCLASS;
+        if (IVFFLAT.equals(indexType())) {
+            int lists = properties.getAnnIvfflatLists() > 0 ? properties.getAnnIvfflatLists() : autoLists(rows);
+            return new IndexSpec(IVFFLAT, opclass, "lists = " + lists,
+                    IVFFLAT + " " + opclass + " lists=" + lists);
+        }
+        int m = properties.getAnnHnswM();
+        int efConstruction = properties.getAnnHnswEfConstruction();
+        return new IndexSpec(HNSW, opclass, "m = " + m + ", ef_construction = " + efConstruction,
+                HNSW + " " + opclass + " m=" + m + " ef_construction=" + efConstruction);
+    }
+
+    // pgvector 권장값: 100만 건 이하 rows/1000, 초과 sqrt(rows)
+    private static int autoLists(long rows) {
+        long lists = rows <= 1_000_000 ? rows / 1000 : (long) Math.sqrt(rows);
+        return (int) Math.max(10, lists);
+    }
+
+    private static long parseRows(String description) {
+        try {
+            return Long.parseLong(description.substring(description.indexOf(ROWS_MARKER) + ROWS_MARKER.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 품질별 recall@k / 평균 질의 지연 측정 (현재 임베딩 표본을 질의로 삼아 원본 전수 정렬 결과와 비교)
+     * - 질의 자신도 양쪽 결과에 포함되므로 따로 빼지 않습니다.
+     */
+    public void measureRecall() {
+        if (!isIndexReady()) {
+            return;
+        }
+        int k = properties.getRecallK();
+        boolean cosine = normalizer.isCosine();
+        List<NormalizationVectorRepository.SampleRow> samples =
+                vectorRepository.sampleCurrentEmbeddings(RECALL_SAMPLE_SIZE);
+        if (samples.isEmpty()) {
+            return;
+        }
+        List<Set<Long>> truth = samples.stream()
+                .map(sample -> (Set<Long>) new HashSet<>(readOnlyTransaction.execute(status ->
+                        vectorRepository.findSimilarComplaintIdsExact(sample.embedding(), k, cosine))))
+                .toList();
+
+        for (SearchQuality quality : SearchQuality.values()) {
+            long hits = 0;
+            long expected = 0;
+            long nanos = 0;
+            for (int i = 0; i < samples.size(); i++) {
+                float[] query = samples.get(i).embedding();
+                long start = System.nanoTime();
+                List<ComplaintSearchResult> found = readOnlyTransaction.execute(status ->
+                        vectorRepository.findSimilarAnn(query, parameter(), parameterValue(quality, k), k, cosine));
+                nanos += System.nanoTime() - start;
+                for (ComplaintSearchResult result : found) {
+                    if (truth.get(i).contains(result.id())) {
+                        hits++;
+                    }
+                }
+                expected += truth.get(i).size();
+            }
+            double recall = expected == 0 ? Double.NaN : (double) hits / expected;
+            double latency = nanos / 1e6 / samples.size();
+            recalls.put(quality, recall);
+            measuredLatencies.put(quality, latency);
+            log.info("DB 근사 색인 {} recall@{} {} (질의당 {}ms, {} {})", quality.name().toLowerCase(), k,
+                    String.format("%.4f", recall), String.format("%.2f", latency), parameter(),
+                    parameterValue(quality, k));
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("type", indexType());
+        stats.put("index", INDEX_NAME);
+        stats.put("ready", isIndexReady());
+        stats.put("metric", normalizer.activeMetric());
+        VectorIndexRepository.IndexState state = indexState;
+        if (state != null) {
+            stats.put("method", state.method());
+            stats.put("valid", state.valid());
+            stats.put("bytes", state.bytes());
+            stats.put("description", state.description());
+        }
+        stats.put("maintaining", maintaining.get());
+        stats.put("lastAction", lastAction);
+        stats.put("lastCheckedAt", lastCheckedAt);
+        stats.put("lastError", lastError);
+        stats.put("defaultQuality", defaultQuality().name().toLowerCase());
+
+        Map<String, Object> qualities = new LinkedHashMap<>();
+        for (SearchQuality quality : SearchQuality.values()) {
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put(parameter() == null ? "parameter" : parameter(), parameterValue(quality, 0));
+            detail.put("recall", recalls.getOrDefault(quality, Double.NaN));
+            detail.put("latencyMs", measuredLatencies.getOrDefault(quality, Double.NaN));
+            qualities.put(quality.name().toLowerCase(), detail);
+        }
+        stats.put("recallK", properties.getRecallK());
+        stats.put("qualities", qualities);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 진행 중인 CONCURRENTLY 구축은 끊겨도 무효 색인으로 남고 다음 기동 점검에서 다시 만듦
+        maintainer.shutdownNow();
+        maintainer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private String indexType() {
+        String type = properties.getAnnIndexType().toLowerCase();
+        return type.equals(HNSW) || type.equals(IVFFLAT) ? type : NONE;
+    }
+
+    private String parameter() {
+        return switch (indexType()) {
+            case HNSW -> "hnsw.ef_search";
+            case IVFFLAT -> "ivfflat.probes";
+            default -> null;
+        };
+    }
+
+    // HNSW는 ef_search보다 많은 결과를 돌려주지 못하므로 최소 limit
+    private int parameterValue(SearchQuality quality, int limit) {
+        return IVFFLAT.equals(indexType()) ? quality.getProbes() : Math.max(quality.getEfSearch(), limit);
+    }
+
+    private static String describe(VectorIndexRepository.IndexState state) {
+        return state == null ? "없음" : "%s %dKB".formatted(state.description(), state.bytes() / 1024);
+    }
+}
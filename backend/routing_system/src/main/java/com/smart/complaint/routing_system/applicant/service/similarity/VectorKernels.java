@@ -0,0 +1,62 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 임베딩 유사도 계산 커널 (내적 / 코사인 / 제곱 L2)
+ * - SimdVectorKernels: jdk.incubator.vector 기반 (JVM을 --add-modules jdk.incubator.vector 로 실행한 경우, 소스는 src/simd/java)
+ * - ScalarVectorKernels: 모듈이 없을 때 쓰는 일반 반복문 구현
+ * - preferred()는 실행 환경에서 쓸 수 있는 가장 빠른 구현을 한 번만 골라 돌려줍니다.
+ */
+public interface VectorKernels {
+
+    float dot(float[] a, float[] b);
+
+    float squaredL2(float[] a, float[] b);
+
+    // int8 양자화 코드와의 가중 제곱 거리: Σ weights[i] * (query[i] - codes[offset + i])^2 (부호 있는 바이트)
+    float weightedSquaredL2(float[] query, float[] weights, byte[] codes, int offset);
+
+    // 코사인 유사도 (노름을 미리 구해 둔 경우 dot / (normA * normB)로 직접 계산하는 편이 빠름)
+    default float cosine(float[] a, float[] b) {
+        float denominator = (float) Math.sqrt(dot(a, a) * dot(b, b));
+        return denominator == 0f ? 0f : dot(a, b) / denominator;
+    }
+
+    default float norm(float[] a) {
+        return (float) Math.sqrt(dot(a, a));
+    }
+
+    String name();
+
+    static VectorKernels preferred() {
+        return Preferred.INSTANCE;
+    }
+
+    @Slf4j
+    final class Preferred {
+
+        private static final VectorKernels INSTANCE = load();
+
+        private Preferred() {
+        }
+
+        // 인큐베이터 모듈이 없으면 SimdVectorKernels 클래스 자체를 로드할 수 없으므로 이름으로 지연 로드
+        private static VectorKernels load() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    VectorKernels kernels = (VectorKernels) Class
+                            .forName(Preferred.class.getPackageName() + ".SimdVectorKernels")
+                            .getDeclaredConstructor().newInstance();
+                    log.info("임베딩 유사도 커널: {}", kernels.name());
+                    return kernels;
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    log.warn("SIMD 커널 로드 실패 (스칼라 커널 사용): {}", e.toString());
+                }
+            } else {
+                log.info("jdk.incubator.vector 모듈 없음 - 스칼라 커널 사용 (--add-modules jdk.incubator.vector 로 활성화)");
+            }
+            return new ScalarVectorKernels();
+        }
+    }
+}
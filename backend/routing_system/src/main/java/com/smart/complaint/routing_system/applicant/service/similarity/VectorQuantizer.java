@@ -0,0 +1,46 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * 임베딩 양자화 (벡터를 짧은 바이트 코드로 압축하고, 질의와 코드 사이의 근사 거리를 계산)
+ * - 근사 거리는 제곱 L2 기준이며 후보를 고르는 데만 씁니다. 최종 점수는 원본 벡터로 다시 계산합니다.
+ * - 구현: ScalarQuantizer(sq8, 차원당 1바이트) / ProductQuantizer(pq, 부분공간당 1바이트)
+ */
+public interface VectorQuantizer {
+
+    String name();
+
+    int dimensions();
+
+    // 벡터 1건의 코드 길이 (바이트)
+    int codeBytes();
+
+    // 코드북(학습 결과) 크기 (바이트)
+    long codebookBytes();
+
+    void encode(float[] vector, byte[] codes, int offset);
+
+    // 질의마다 한 번 준비해 두고 코드마다 거리만 계산
+    DistanceTable distanceTable(float[] query);
+
+    // 방식 이름 + 코드북 기록 (readFrom으로 복원)
+    void writeTo(DataOutputStream out) throws IOException;
+
+    @FunctionalInterface
+    interface DistanceTable {
+
+        float distance(byte[] codes, int offset);
+    }
+
+    static VectorQuantizer readFrom(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        return switch (name) {
+            case ScalarQuantizer.NAME -> ScalarQuantizer.readBody(in);
+            case ProductQuantizer.NAME -> ProductQuantizer.readBody(in);
+            default -> throw new IOException("알 수 없는 양자화 방식: " + name);
+        };
+    }
+}
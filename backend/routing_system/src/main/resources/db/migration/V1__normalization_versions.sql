@@ -0,0 +1,19 @@
+-- 정규화 데이터 버전 관리 이관 (SchemaMigrations가 한 번만 실행)
+-- 기존 행에 민원별 버전을 매기고, 현재 행이 여러 개인 민원은 최신 행만 남긴 뒤 유니크 색인을 만듦
+UPDATE complaint_normalizations n SET version = v.version
+FROM (SELECT id, row_number() OVER (PARTITION BY complaint_id ORDER BY id) AS version
+      FROM complaint_normalizations) v
+WHERE n.id = v.id AND n.version <> v.version;
+
+UPDATE complaint_normalizations n SET is_current = false
+WHERE n.is_current = true AND EXISTS (SELECT 1 FROM complaint_normalizations newer
+    WHERE newer.complaint_id = n.complaint_id AND newer.is_current = true AND newer.id > n.id);
+
+-- 민원당 현재 행은 하나뿐이므로 현재 행 조인은 항상 1:1 (유사 민원 색인, 근접 중복 복사 시 원본 조회도 이 색인 사용)
+CREATE UNIQUE INDEX IF NOT EXISTS uq_normalizations_current
+    ON complaint_normalizations (complaint_id) WHERE is_current = true;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_normalizations_version
+    ON complaint_normalizations (complaint_id, version);
+
+-- 유니크 색인이 대신하는 기존 현재 행 색인
+DROP INDEX IF EXISTS idx_normalizations_current_complaint;
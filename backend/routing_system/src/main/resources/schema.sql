@@ -0,0 +1,99 @@
+-- 백엔드가 직접 관리하는 보조 테이블/인덱스
+-- 기본 스키마(complaints, complaint_normalizations 등)는 DB 초기화 스크립트에서 생성되며,
+-- 이 파일은 애플리케이션 기동 시마다 실행되므로 모든 구문은 재실행해도 안전해야 합니다.
+
+-- AI 분석 아웃박스 (민원 접수와 같은 트랜잭션에 기록)
+CREATE TABLE IF NOT EXISTS complaint_analysis_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    complaint_id BIGINT NOT NULL REFERENCES complaints (id),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_analysis_outbox_claimable
+    ON complaint_analysis_outbox (next_attempt_at, id) WHERE status IN ('PENDING', 'PROCESSING');
+CREATE INDEX IF NOT EXISTS idx_analysis_outbox_complaint
+    ON complaint_analysis_outbox (complaint_id);
+
+-- AI 분석 결과 캐시 (정규화한 제목+본문의 SHA-256 -> 분석 결과/임베딩)
+CREATE TABLE IF NOT EXISTS complaint_analysis_cache (
+    content_hash VARCHAR(64) PRIMARY KEY,
+    analysis JSONB NOT NULL,
+    embedding vector(1024),
+    hit_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_hit_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_analysis_cache_last_hit
+    ON complaint_analysis_cache (last_hit_at);
+
+-- 민원 접수/추가 문의 멱등성 키 (Idempotency-Key 헤더 -> 최초 응답)
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    scope VARCHAR(100) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_status INTEGER,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at
+    ON idempotency_keys (expires_at);
+
+-- 민원 접수 유입 제한 토큰 버킷 (complaint.rate-limit.store=postgres일 때 인스턴스 간 공유)
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(200) PRIMARY KEY,
+    tat_ms BIGINT NOT NULL
+);
+
+-- 정규화 데이터 버전 관리: 재분석 시 이전 현재 행을 내리고(is_current = false) 버전을 올려 새 행을 현재로 저장
+-- 상수 기본값 컬럼 추가는 테이블을 다시 쓰지 않음
+-- 기존 행 버전 매기기와 유니크 색인(uq_normalizations_current/version)은 일회성 이관 db/migration/V1__normalization_versions.sql
+ALTER TABLE complaint_normalizations ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 1;
+
+-- 일회성 데이터 이관 기록 (SchemaMigrations가 db/migration/*.sql을 이름 순서로 한 번씩 실행)
+CREATE TABLE IF NOT EXISTS schema_migrations (
+    name VARCHAR(200) PRIMARY KEY,
+    applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 필터 유사 검색 (자치구/현재 담당 부서 + 접수 기간): 조건에 맞는 민원이 적을 때 먼저 추린 뒤 전수 정렬하므로
+-- 조건 컬럼과 접수 시각을 함께 담은 B-tree 색인으로 추림 (접수 기간만 지정한 경우는 received_at 단독 색인)
+CREATE INDEX IF NOT EXISTS idx_complaints_district_received
+    ON complaints (district_id, received_at);
+CREATE INDEX IF NOT EXISTS idx_complaints_department_received
+    ON complaints (current_department_id, received_at);
+CREATE INDEX IF NOT EXISTS idx_complaints_received_at
+    ON complaints (received_at);
+
+-- 하이브리드 유사 검색의 전문 검색: 'simple' 설정 tsvector GIN 표현식 색인
+-- (식은 ComplaintTextSearchRepository의 to_tsvector 식과 글자 그대로 같아야 색인을 탐)
+CREATE INDEX IF NOT EXISTS idx_complaints_text_search
+    ON complaints USING gin (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(body, '')));
+CREATE INDEX IF NOT EXISTS idx_normalizations_summary_text_search
+    ON complaint_normalizations USING gin (to_tsvector('simple', coalesce(neutral_summary, '')))
+    WHERE is_current = true;
+
+-- 민원별 유사 민원 top-K 사전 계산 (정규화 저장 후 계산, 상세 화면의 유사 사례 조회는 PK 한 번으로 끝남)
+-- neighbor_ids/scores는 유사도 내림차순, kth_score는 K번째 점수 (K건 미만이면 NULL - 어떤 새 민원이든 들어갈 수 있음)
+-- 새 민원이 기존 목록에 들어갈 만큼 가까우면 stale로 표시하고 갱신 작업이 다시 계산함
+CREATE TABLE IF NOT EXISTS complaint_neighbors (
+    complaint_id BIGINT PRIMARY KEY REFERENCES complaints (id) ON DELETE CASCADE,
+    neighbor_ids BIGINT[] NOT NULL,
+    scores REAL[] NOT NULL,
+    kth_score REAL,
+    metric VARCHAR(10) NOT NULL,
+    stale BOOLEAN NOT NULL DEFAULT false,
+    computed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_complaint_neighbors_stale
+    ON complaint_neighbors (computed_at) WHERE stale = true;
+
+-- 사건 자동 연결 따라잡기: 아직 사건에 연결되지 않은 민원 (연결되면 색인에서 빠지므로 작게 유지됨)
+CREATE INDEX IF NOT EXISTS idx_complaints_unlinked
+    ON complaints (id) WHERE incident_id IS NULL;
@@ -0,0 +1,97 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * jdk.incubator.vector 기반 유사도 커널
+ * - 플랫폼 최대 폭(AVX2 8레인, AVX-512 16레인 등)으로 FMA 누산하고 마지막에 한 번만 레인 합산합니다.
+ * - 누산 벡터를 2개로 나눠 FMA 지연을 숨기며, 1024차원은 레인 수의 배수라 꼬리 처리가 없습니다.
+ * - 직접 생성하지 말고 VectorKernels.preferred()로 얻습니다. (모듈이 없는 JVM에서는 클래스 로드 불가)
+ */
+public class SimdVectorKernels implements VectorKernels {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    // float 레인 수와 같은 개수의 바이트를 한 번에 읽어 float로 넓힘 (64비트 미만 바이트 벡터는 없으므로 4레인 이하는 스칼라)
+    private static final VectorSpecies<Byte> CODE_SPECIES = SPECIES.length() * Byte.SIZE >= 64
+            ? VectorSpecies.of(byte.class, VectorShape.forBitSize(SPECIES.length() * Byte.SIZE)) : null;
+
+    private static final ScalarVectorKernels SCALAR = new ScalarVectorKernels();
+
+    @Override
+    public float dot(float[] a, float[] b) {
+        FloatVector acc0 = FloatVector.zero(SPECIES);
+        FloatVector acc1 = FloatVector.zero(SPECIES);
+        int step = SPECIES.length();
+        int i = 0;
+        for (int bound = SPECIES.loopBound(a.length) - step; i < bound; i += step * 2) {
+            acc0 = FloatVector.fromArray(SPECIES, a, i).fma(FloatVector.fromArray(SPECIES, b, i), acc0);
+            acc1 = FloatVector.fromArray(SPECIES, a, i + step)
+                    .fma(FloatVector.fromArray(SPECIES, b, i + step), acc1);
+        }
+        for (int bound = SPECIES.loopBound(a.length); i < bound; i += step) {
+            acc0 = FloatVector.fromArray(SPECIES, a, i).fma(FloatVector.fromArray(SPECIES, b, i), acc0);
+        }
+        float sum = acc0.add(acc1).reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float squaredL2(float[] a, float[] b) {
+        FloatVector acc0 = FloatVector.zero(SPECIES);
+        FloatVector acc1 = FloatVector.zero(SPECIES);
+        int step = SPECIES.length();
+        int i = 0;
+        for (int bound = SPECIES.loopBound(a.length) - step; i < bound; i += step * 2) {
+            FloatVector d0 = FloatVector.fromArray(SPECIES, a, i).sub(FloatVector.fromArray(SPECIES, b, i));
+            FloatVector d1 = FloatVector.fromArray(SPECIES, a, i + step)
+                    .sub(FloatVector.fromArray(SPECIES, b, i + step));
+            acc0 = d0.fma(d0, acc0);
+            acc1 = d1.fma(d1, acc1);
+        }
+        for (int bound = SPECIES.loopBound(a.length); i < bound; i += step) {
+            FloatVector d = FloatVector.fromArray(SPECIES, a, i).sub(FloatVector.fromArray(SPECIES, b, i));
+            acc0 = d.fma(d, acc0);
+        }
+        float sum = acc0.add(acc1).reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            float diff = a[i] - b[i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public float weightedSquaredL2(float[] query, float[] weights, byte[] codes, int offset) {
+        if (CODE_SPECIES == null) {
+            return SCALAR.weightedSquaredL2(query, weights, codes, offset);
+        }
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int step = SPECIES.length();
+        int i = 0;
+        for (int bound = SPECIES.loopBound(query.length); i < bound; i += step) {
+            FloatVector code = (FloatVector) ByteVector.fromArray(CODE_SPECIES, codes, offset + i)
+                    .convertShape(VectorOperators.B2F, SPECIES, 0);
+            FloatVector d = FloatVector.fromArray(SPECIES, query, i).sub(code);
+            acc = d.mul(d).fma(FloatVector.fromArray(SPECIES, weights, i), acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < query.length; i++) {
+            float diff = query[i] - codes[offset + i];
+            sum += weights[i] * diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "simd-" + SPECIES.vectorBitSize() + "bit";
+    }
+}
@@ -0,0 +1,94 @@
+package com.smart.complaint.routing_system.applicant;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 민원 접수 동시 부하 벤치마크 (JUnit 테스트가 아닌 독립 실행용)
+ * - 실행 중인 서버에 동시 요청 N건(기본 1000)을 유지하면서 POST /api/applicant/complaint 를 보내
+ *   처리량(req/s)과 지연 백분위, 상태 코드 분포를 출력합니다.
+ * - 같은 서버를 플랫폼 스레드(기본)와 가상 스레드(Java 21 + VIRTUAL_THREADS_ENABLED=true)로 각각 띄워 비교합니다.
+ *   유입 제한에 걸리지 않도록 서버는 COMPLAINT_RATELIMIT_ENABLED=false 로 실행합니다.
+ * - 실행: ./gradlew submissionLoadBenchmark -PbaseUrl=http://localhost:8080 -Ptoken=<JWT> [-Pconcurrency=1000 -Prequests=20000]
+ */
+public class SubmissionLoadBenchmark {
+
+    private static final String BODY = "{\"title\":\"부하 테스트 민원 %d\",\"body\":\"집 앞 도로에 포트홀이 생겨 차량 통행이 위험합니다. "
+            + "빠른 보수 부탁드립니다. (%s)\",\"addressText\":\"서울특별시 강동구 천호대로 1095\","
+            + "\"lat\":37.5301,\"lon\":127.1238,\"districtId\":3}";
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String token = args.length > 1 ? args[1] : "";
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int requests = args.length > 3 ? Integer.parseInt(args[3]) : 20_000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        URI uri = URI.create(baseUrl + "/api/applicant/complaint");
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        long[] latencies = new long[requests];
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        // JIT/커넥션 풀 초기화가 측정에 섞이지 않도록 동시성만큼 먼저 보내고 결과는 버림
+        run(client, uri, token, Math.min(requests, concurrency), new long[requests], inFlight,
+                new ConcurrentHashMap<>());
+
+        long start = System.nanoTime();
+        run(client, uri, token, requests, latencies, inFlight, statuses);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("동시 %d, 요청 %d건: %.1fs, 처리량 %.0f req/s%n", concurrency, requests, seconds,
+                requests / seconds);
+        System.out.printf("지연 p50 %.1fms, p90 %.1fms, p99 %.1fms, max %.1fms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                latencies[latencies.length - 1] / 1e6);
+        System.out.println("상태 코드: " + statuses);
+    }
+
+    private static void run(HttpClient client, URI uri, String token, int requests, long[] latencies,
+            Semaphore inFlight, Map<Integer, LongAdder> statuses)
+            throws InterruptedException {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int index = i;
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .header("Idempotency-Key", UUID.randomUUID().toString())
+                    .POST(HttpRequest.BodyPublishers.ofString(BODY.formatted(i, UUID.randomUUID())))
+                    .build();
+
+            long sent = System.nanoTime();
+            calls[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        int status = error == null ? response.statusCode() : -1;
+                        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                        inFlight.release();
+                        return null;
+                    });
+        }
+        CompletableFuture.allOf(calls).join();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,103 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.dto.NormalizationRow;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 정규화 버전 관리 순서 검증: 민원당 현재 행 하나(uq_normalizations_current)와 민원별 버전(uq_normalizations_version)을
+ * 지키려면 같은 트랜잭션에서 기존 현재 행을 먼저 내리고, 새 행은 민원별 다음 버전으로 넣어야 합니다.
+ */
+class ComplaintNormalizationBatchRepositoryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ComplaintNormalizationBatchRepository repository =
+            new ComplaintNormalizationBatchRepository(jdbcTemplate);
+
+    private static NormalizationRow row(long complaintId, String summary, boolean current) {
+        return new NormalizationRow(complaintId, "도로과", summary, "보수 요청", "도로", "[]", "[]",
+                new float[] { 1f, 0f }, current);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertAllRetiresCurrentRowsBeforeInsertingNextVersion() throws Exception {
+        repository.insertAll(List.of(row(1, "첫 분석", true), row(2, "다른 민원", true), row(1, "재분석", true)), false);
+
+        ArgumentCaptor<PreparedStatementSetter> retire = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        ArgumentCaptor<String> insertSql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<NormalizationRow>> inserted = ArgumentCaptor.forClass(List.class);
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).update(startsWith("UPDATE complaint_normalizations SET is_current = false"),
+                retire.capture());
+        order.verify(jdbcTemplate).batchUpdate(insertSql.capture(), inserted.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        retire.getValue().setValues(ps);
+        verify(ps).setObject(1, new long[] { 2, 1 });
+
+        // 같은 민원이 여러 번 들어 있으면 마지막 행만 저장 (한 배치 안에서 현재 행이 둘이 되지 않음)
+        assertThat(inserted.getValue()).extracting(NormalizationRow::complaintId).containsExactly(2L, 1L);
+        assertThat(inserted.getValue()).extracting(NormalizationRow::neutralSummary).containsExactly("다른 민원", "재분석");
+        assertThat(insertSql.getValue()).contains("version").doesNotContain("embedding_half")
+                .contains("COALESCE((SELECT max(version) FROM complaint_normalizations WHERE complaint_id = ?), 0) + 1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void nonCurrentRowsDoNotRetireExistingCurrentRow() {
+        repository.insertAll(List.of(row(3, "과거 분석 보관", false)), false);
+
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE"), any(PreparedStatementSetter.class));
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void copyCurrentRetiresTargetAndCopiesAsNextVersion() throws Exception {
+        repository.copyCurrent(10L, 20L, false);
+
+        ArgumentCaptor<PreparedStatementSetter> retire = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).update(startsWith("UPDATE complaint_normalizations SET is_current = false"),
+                retire.capture());
+        // 대상 민원 ID는 새 행 값과 다음 버전 계산에 쓰이고, 원본 민원 ID는 복사할 현재 행 조회에 쓰임
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO complaint_normalizations"), eq(20L), eq(20L),
+                eq(10L));
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        retire.getValue().setValues(ps);
+        verify(ps).setObject(1, new long[] { 20 });
+    }
+
+    @Test
+    void copyCurrentCopiesQuantizedColumnsOnlyWhenStored() {
+        repository.copyCurrent(10L, 20L, true);
+        repository.copyCurrent(11L, 21L, false);
+
+        verify(jdbcTemplate).update(contains("embedding_half, embedding_bits"), eq(20L), eq(20L), eq(10L));
+        verify(jdbcTemplate).update(not(contains("embedding_half")), eq(21L), eq(21L), eq(11L));
+    }
+}
@@ -0,0 +1,189 @@
+package com.smart.complaint.routing_system.applicant.service;
+
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.config.ComplaintAnalysisProperties;
+import com.smart.complaint.routing_system.applicant.domain.AnalysisStatus;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.dto.AiDto;
+import com.smart.complaint.routing_system.applicant.entity.Complaint;
+import com.smart.complaint.routing_system.applicant.entity.ComplaintAnalysisOutbox;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintAnalysisOutboxRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ComplaintAnalysisOutboxServiceTest {
+
+    private final ComplaintAnalysisOutboxRepository outboxRepository = mock(ComplaintAnalysisOutboxRepository.class);
+    private final ComplaintRepository complaintRepository = mock(ComplaintRepository.class);
+    private final ComplaintAnalysisProperties properties = new ComplaintAnalysisProperties();
+    private final ComplaintService complaintService = mock(ComplaintService.class);
+    private final ComplaintAnalysisOutboxService service = new ComplaintAnalysisOutboxService(outboxRepository,
+            complaintRepository, complaintService, properties);
+
+    private ComplaintAnalysisOutbox outbox(long id, int attempts, AnalysisStatus status) {
+        ComplaintAnalysisOutbox outbox = ComplaintAnalysisOutbox.builder()
+                .id(id).complaintId(100 + id).attempts(attempts).status(status).build();
+        when(outboxRepository.findById(id)).thenReturn(Optional.of(outbox));
+        when(outboxRepository.findByIdForUpdate(id)).thenReturn(Optional.of(outbox));
+        return outbox;
+    }
+
+    @Test
+    void claimTakesLeaseAndCountsAttempt() {
+        properties.setLeaseSeconds(300);
+        ComplaintAnalysisOutbox pending = outbox(1, 0, AnalysisStatus.PENDING);
+        // lease가 만료된 PROCESSING 작업도 다시 점유 대상
+        ComplaintAnalysisOutbox expired = outbox(2, 1, AnalysisStatus.PROCESSING);
+        when(outboxRepository.findClaimable(any(LocalDateTime.class), eq(2))).thenReturn(List.of(pending, expired));
+
+        LocalDateTime before = LocalDateTime.now();
+        List<ComplaintAnalysisOutbox> claimed = service.claim(2);
+
+        assertThat(claimed).containsExactly(pending, expired);
+        assertThat(pending.getStatus()).isEqualTo(AnalysisStatus.PROCESSING);
+        assertThat(pending.getAttempts()).isEqualTo(1);
+        assertThat(expired.getAttempts()).isEqualTo(2);
+        assertThat(pending.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(300));
+        assertThat(pending.getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now().plusSeconds(300));
+    }
+
+    @Test
+    void claimWithoutSlotsDoesNotLockRows() {
+        assertThat(service.claim(0)).isEmpty();
+        verify(outboxRepository, never()).findClaimable(any(), anyInt());
+    }
+
+    @Test
+    void rescheduleBacksOffExponentially() {
+        properties.setBackoffBaseSeconds(10);
+        properties.setBackoffMaxSeconds(600);
+        ComplaintAnalysisOutbox outbox = outbox(1, 3, AnalysisStatus.PROCESSING);
+
+        LocalDateTime before = LocalDateTime.now();
+        service.reschedule(1L, 3, "timeout");
+
+        // 세 번째 시도 실패 -> 10 * 2^2 = 40초 뒤
+        assertThat(outbox.getStatus()).isEqualTo(AnalysisStatus.PENDING);
+        assertThat(outbox.getLastError()).isEqualTo("timeout");
+        assertThat(outbox.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(40));
+        assertThat(outbox.getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now().plusSeconds(40));
+    }
+
+    @Test
+    void rescheduleCapsBackoff() {
+        properties.setBackoffBaseSeconds(10);
+        properties.setBackoffMaxSeconds(30);
+        properties.setMaxAttempts(10);
+        ComplaintAnalysisOutbox outbox = outbox(1, 6, AnalysisStatus.PROCESSING);
+
+        service.reschedule(1L, 6, "timeout");
+
+        assertThat(outbox.getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now().plusSeconds(30));
+    }
+
+    @Test
+    void rescheduleFailsAfterMaxAttempts() {
+        properties.setMaxAttempts(5);
+        ComplaintAnalysisOutbox outbox = outbox(1, 5, AnalysisStatus.PROCESSING);
+
+        service.reschedule(1L, 5, "LLM error");
+
+        assertThat(outbox.getStatus()).isEqualTo(AnalysisStatus.FAILED);
+        assertThat(outbox.getLastError()).isEqualTo("LLM error");
+    }
+
+    @Test
+    void releaseReturnsClaimWithoutCountingAttempt() {
+        ComplaintAnalysisOutbox outbox = outbox(1, 1, AnalysisStatus.PROCESSING);
+
+        service.release(1L, 1);
+
+        assertThat(outbox.getStatus()).isEqualTo(AnalysisStatus.PENDING);
+        assertThat(outbox.getAttempts()).isEqualTo(0);
+        assertThat(outbox.getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now());
+    }
+
+    @Test
+    void completeIgnoresResultAfterClaimWasTakenOver() {
+        // lease 만료 후 다른 워커가 다시 점유해 시도 횟수가 2가 된 상태
+        ComplaintAnalysisOutbox outbox = outbox(1, 2, AnalysisStatus.PROCESSING);
+
+        service.complete(1L, 1, new AiDto.AnalysisResult(null, new float[0]));
+
+        verify(complaintService, never()).applyAnalysis(any(), any());
+        assertThat(outbox.getStatus()).isEqualTo(AnalysisStatus.PROCESSING);
+    }
+
+    @Test
+    void completeAppliesResultWhileClaimIsHeld() {
+        ComplaintAnalysisOutbox outbox = outbox(1, 1, AnalysisStatus.PROCESSING);
+        AiDto.AnalysisResult result = new AiDto.AnalysisResult(null, new float[0]);
+
+        service.complete(1L, 1, result);
+
+        verify(complaintService).applyAnalysis(101L, result);
+        assertThat(outbox.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+    }
+
+    @Test
+    void lateFailureDoesNotReopenCompletedWork() {
+        ComplaintAnalysisOutbox outbox = outbox(1, 2, AnalysisStatus.COMPLETED);
+
+        service.reschedule(1L, 1, "timeout");
+        service.reschedule(1L, 2, "timeout");
+
+        assertThat(outbox.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+        assertThat(outbox.getLastError()).isNull();
+    }
+
+    @Test
+    void completeBatchSkipsItemsWhoseClaimWasLost() {
+        ComplaintAnalysisOutbox held = outbox(1, 1, AnalysisStatus.PROCESSING);
+        ComplaintAnalysisOutbox lost = outbox(2, 2, AnalysisStatus.PROCESSING);
+        when(outboxRepository.findAllByIdForUpdate(any())).thenReturn(List.of(held, lost));
+        AiDto.AnalysisOutcome failed = AiDto.AnalysisOutcome.failure(101L, "LLM error");
+        AiDto.AnalysisOutcome ignored = AiDto.AnalysisOutcome.success(102L,
+                new AiDto.AnalysisResult(null, new float[0]));
+
+        Map<Long, Integer> claims = new LinkedHashMap<>();
+        claims.put(1L, 1);
+        claims.put(2L, 1);
+        service.completeBatch(claims, List.of(failed, ignored));
+
+        assertThat(held.getStatus()).isEqualTo(AnalysisStatus.PENDING);
+        assertThat(held.getLastError()).isEqualTo("LLM error");
+        assertThat(lost.getStatus()).isEqualTo(AnalysisStatus.PROCESSING);
+        verify(complaintService, never()).prepareNormalization(eq(102L), any());
+    }
+
+    @Test
+    void statusIsVisibleOnlyToOwner() {
+        when(complaintRepository.findById(101L))
+                .thenReturn(Optional.of(Complaint.builder().id(101L).applicantId(7L).build()));
+        when(outboxRepository.findFirstByComplaintIdOrderByIdDesc(101L))
+                .thenReturn(Optional.of(outbox(1, 1, AnalysisStatus.PROCESSING)));
+
+        assertThat(service.getStatus(101L, "7").status()).isEqualTo(AnalysisStatus.PROCESSING);
+        assertThatThrownBy(() -> service.getStatus(101L, "8"))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorMessage())
+                .isEqualTo(ErrorMessage.NOT_ALLOWED);
+    }
+}
@@ -0,0 +1,89 @@
+package com.smart.complaint.routing_system.applicant.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.dto.ComplaintSubmitDto;
+import com.smart.complaint.routing_system.applicant.entity.Complaint;
+import com.smart.complaint.routing_system.applicant.entity.District;
+import com.smart.complaint.routing_system.applicant.event.ComplaintReceivedEvent;
+import com.smart.complaint.routing_system.applicant.repository.ChildComplaintRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintAnalysisOutboxRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintNormalizationBatchRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintRerouteRepository;
+import com.smart.complaint.routing_system.applicant.repository.DepartmentRepository;
+import com.smart.complaint.routing_system.applicant.repository.DistrictRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentRepository;
+import com.smart.complaint.routing_system.applicant.service.ai.AiResponseDecoder;
+import com.smart.complaint.routing_system.applicant.service.ai.AiServerClient;
+import com.smart.complaint.routing_system.applicant.service.ai.AnalysisResultCache;
+import com.smart.complaint.routing_system.applicant.service.dedup.NearDuplicateDetector;
+import com.smart.complaint.routing_system.applicant.service.similarity.DatabaseVectorSearch;
+import com.smart.complaint.routing_system.applicant.service.similarity.EmbeddingNormalizer;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ComplaintServiceIntakeTest {
+
+    private final ComplaintRepository complaintRepository = mock(ComplaintRepository.class);
+    private final DistrictRepository districtRepository = mock(DistrictRepository.class);
+    private final NearDuplicateDetector nearDuplicateDetector = mock(NearDuplicateDetector.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ComplaintService service = new ComplaintService(new ObjectMapper(), complaintRepository,
+            mock(ComplaintRerouteRepository.class), mock(ChildComplaintRepository.class),
+            mock(DepartmentRepository.class), districtRepository, mock(IncidentRepository.class),
+            mock(ComplaintNormalizationBatchRepository.class), mock(ComplaintAnalysisOutboxRepository.class),
+            mock(AiServerClient.class), mock(AiResponseDecoder.class), mock(AnalysisResultCache.class),
+            nearDuplicateDetector, eventPublisher, mock(EmbeddingNormalizer.class),
+            mock(DatabaseVectorSearch.class));
+
+    private static ComplaintSubmitDto submission(Long districtId) {
+        ComplaintSubmitDto dto = new ComplaintSubmitDto();
+        dto.setTitle("가로등 고장");
+        dto.setBody("집 앞 가로등이 며칠째 꺼져 있습니다.");
+        dto.setDistrictId(districtId);
+        return dto;
+    }
+
+    @Test
+    void submissionIsLookedUpInItsOwnDistrictPartition() {
+        District district = mock(District.class);
+        when(district.getId()).thenReturn(3);
+        when(districtRepository.getReferenceById(3)).thenReturn(district);
+        when(nearDuplicateDetector.findDuplicate(any(), anyString(), anyString())).thenReturn(Optional.empty());
+
+        service.receiveComplaint("7", submission(3L));
+
+        ArgumentCaptor<Complaint> saved = ArgumentCaptor.forClass(Complaint.class);
+        verify(complaintRepository).save(saved.capture());
+        assertThat(saved.getValue().getDistrict()).isSameAs(district);
+
+        verify(nearDuplicateDetector).findDuplicate(eq(3), eq("가로등 고장"), anyString());
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(((ComplaintReceivedEvent) event.getValue()).districtId()).isEqualTo(3);
+    }
+
+    @Test
+    void submissionWithoutDistrictUsesUnassignedPartition() {
+        when(nearDuplicateDetector.findDuplicate(any(), anyString(), anyString())).thenReturn(Optional.empty());
+
+        service.receiveComplaint("7", submission(null));
+
+        verify(districtRepository, never()).getReferenceById(any());
+        verify(nearDuplicateDetector).findDuplicate(isNull(), anyString(), anyString());
+    }
+}
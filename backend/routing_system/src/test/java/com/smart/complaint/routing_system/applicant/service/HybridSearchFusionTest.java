@@ -0,0 +1,70 @@
+package com.smart.complaint.routing_system.applicant.service;
+
+import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
+import com.smart.complaint.routing_system.applicant.dto.HybridSearchResult;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HybridSearchFusionTest {
+
+    private static final int K = 60;
+
+    private static ComplaintSearchResult result(long id, double score) {
+        return new ComplaintSearchResult(id, "title-" + id, "body-" + id, score);
+    }
+
+    private static List<Long> ids(List<HybridSearchResult> fused) {
+        return fused.stream().map(HybridSearchResult::id).toList();
+    }
+
+    @Test
+    void complaintFoundByBothLegsRanksFirst() {
+        List<HybridSearchResult> fused = HybridSearchService.fuse(
+                List.of(result(1, 0.9), result(2, 0.8), result(3, 0.7)),
+                List.of(result(3, 4.0), result(4, 2.0)), K, 10);
+
+        // 3: 1/63 + 1/61, 1: 1/61, 2와 4: 1/62 (동점이면 임베딩 검색 쪽이 앞)
+        assertThat(ids(fused)).isEqualTo(List.of(3L, 1L, 2L, 4L));
+
+        HybridSearchResult both = fused.get(0);
+        assertThat(both.vectorRank()).isEqualTo(3);
+        assertThat(both.lexicalRank()).isEqualTo(1);
+        assertThat(both.vectorScore()).isEqualTo(0.7);
+        assertThat(both.lexicalScore()).isEqualTo(4.0);
+        assertThat(Math.abs(both.fusedScore() - (1.0 / 63 + 1.0 / 61)) < 1e-12).isTrue();
+    }
+
+    @Test
+    void singleLegResultsKeepNullsForOtherLeg() {
+        List<HybridSearchResult> fused = HybridSearchService.fuse(
+                List.of(), List.of(result(7, 1.5), result(8, 0.5)), K, 10);
+
+        assertThat(ids(fused)).isEqualTo(List.of(7L, 8L));
+        assertThat(fused.get(0).vectorRank() == null).isTrue();
+        assertThat(fused.get(0).vectorScore() == null).isTrue();
+        assertThat(fused.get(1).lexicalRank()).isEqualTo(2);
+    }
+
+    @Test
+    void rankNotRawScoreDecidesOrder() {
+        // 전문 검색 점수가 훨씬 커도 순위가 같으면 RRF 점수는 같음
+        List<HybridSearchResult> fused = HybridSearchService.fuse(
+                List.of(result(1, 0.1)), List.of(result(2, 1000.0)), K, 10);
+
+        assertThat(fused.get(0).fusedScore()).isEqualTo(fused.get(1).fusedScore());
+        assertThat(ids(fused)).isEqualTo(List.of(1L, 2L));
+    }
+
+    @Test
+    void limitTrimsAfterFusion() {
+        List<HybridSearchResult> fused = HybridSearchService.fuse(
+                List.of(result(1, 0.9), result(2, 0.8)),
+                List.of(result(2, 3.0), result(3, 1.0)), K, 1);
+
+        assertThat(ids(fused)).isEqualTo(List.of(2L));
+    }
+}
@@ -0,0 +1,116 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.smart.complaint.routing_system.applicant.config.AiServerProperties;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiCircuitBreakerTest {
+
+    private static AiCircuitBreaker breaker(long openDurationMs) {
+        AiServerProperties.CircuitBreaker config = new AiServerProperties.CircuitBreaker();
+        config.setSlidingWindowSize(10);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(50);
+        config.setOpenDurationMs(openDurationMs);
+        config.setHalfOpenCalls(2);
+        return new AiCircuitBreaker(config);
+    }
+
+    private static void call(AiCircuitBreaker breaker, boolean failure) {
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        if (failure) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+
+    @Test
+    void staysClosedUntilMinimumCalls() {
+        AiCircuitBreaker breaker = breaker(60_000);
+        call(breaker, true);
+        call(breaker, true);
+        call(breaker, true);
+
+        assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensAtFailureRateAndRejectsCalls() {
+        AiCircuitBreaker breaker = breaker(60_000);
+        call(breaker, false);
+        call(breaker, false);
+        call(breaker, true);
+        call(breaker, true);
+
+        assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void halfOpenClosesAfterAllTrialCallsSucceed() {
+        AiCircuitBreaker breaker = breaker(0);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true);
+        }
+        assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.OPEN);
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        // 시험 호출 수(2)를 넘는 호출은 결과가 나올 때까지 거절
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenReopensOnTrialFailure() {
+        AiCircuitBreaker breaker = breaker(0);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true);
+        }
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void ignoredCallsAreNotCountedAndReturnTrialSlot() {
+        AiCircuitBreaker breaker = breaker(0);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true);
+        }
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        // 4xx는 시험 호출 자리만 돌려주고 성공으로 집계하지 않음
+        breaker.onIgnored();
+        assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void closedWindowIgnoresClientErrors() {
+        AiCircuitBreaker breaker = breaker(60_000);
+        for (int i = 0; i < 10; i++) {
+            assertThat(breaker.tryAcquirePermission()).isTrue();
+            breaker.onIgnored();
+        }
+        call(breaker, true);
+        call(breaker, true);
+        call(breaker, true);
+
+        // 무시한 호출이 성공으로 섞이지 않으므로 실패 3건만으로는 최소 호출 수(4)에 못 미침
+        assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.CLOSED);
+        call(breaker, true);
+        assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,106 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.dto.AiDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 전처리 응답 디코딩 JMH 벤치마크 (JUnit 테스트가 아닌 독립 실행용)
+ * - legacy: 기존 경로 (본문 String 변환 -> Response 역직렬화 -> replaceAll 2회 -> data 재파싱)
+ * - streaming: AiResponseDecoder (UTF-8 바이트 단일 패스, 펜스 범위 직접 파싱, 임베딩 버퍼 재사용)
+ * - 실행: ./gradlew aiResponseDecoderBenchmark (기본으로 -prof gc를 붙여 op당 할당량도 함께 출력)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiResponseDecoderBenchmark {
+
+    private static final int DIMENSIONS = 1024;
+
+    private ObjectMapper objectMapper;
+    private AiResponseDecoder decoder;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        decoder = new AiResponseDecoder(objectMapper);
+        body = objectMapper.writeValueAsBytes(sampleResponse());
+    }
+
+    @Benchmark
+    public AiDto.AnalysisResult legacy() throws Exception {
+        String raw = new String(body, StandardCharsets.UTF_8);
+        AiDto.Response response = objectMapper.readValue(raw, AiDto.Response.class);
+        String cleanJson = response.data()
+                .replaceAll("```json", "")
+                .replaceAll("```", "")
+                .trim();
+        AiDto.Analysis analysis = objectMapper.readValue(cleanJson, AiDto.Analysis.class);
+        return new AiDto.AnalysisResult(analysis, response.embedding());
+    }
+
+    @Benchmark
+    public AiDto.AnalysisResult streaming() {
+        return decoder.decode(body);
+    }
+
+    // Langflow 출력과 같은 형태의 응답 (추천 3건 + 1024차원 임베딩)
+    private Map<String, Object> sampleResponse() throws Exception {
+        List<Map<String, Object>> recommendations = List.of(
+                recommendation(1, "도로과", 0.91),
+                recommendation(2, "건설관리과", 0.72),
+                recommendation(3, "교통행정과", 0.55));
+        Map<String, Object> analysis = new LinkedHashMap<>();
+        analysis.put("recommendations", recommendations);
+        analysis.put("original_analysis", Map.of(
+                "topic", "도로 파손",
+                "keywords", "도로, 포트홀, 파손, 보수",
+                "category", "도로/교통"));
+
+        String data = "```json\n" + objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(analysis)
+                + "\n```";
+
+        SplittableRandom random = new SplittableRandom(42);
+        float[] embedding = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            embedding[i] = (float) (random.nextDouble() * 0.2 - 0.1);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("data", data);
+        response.put("embedding", embedding);
+        return response;
+    }
+
+    private static Map<String, Object> recommendation(int rank, String dept, double confidence) {
+        Map<String, Object> recommendation = new LinkedHashMap<>();
+        recommendation.put("rank", rank);
+        recommendation.put("recommended_dept", dept);
+        recommendation.put("reason", "민원 내용이 " + dept + " 소관 업무(도로 시설물 유지보수)와 일치하며 유사 처리 사례가 있습니다.");
+        recommendation.put("related_case", "2024-0" + rank + " 도로 파손 보수 민원");
+        recommendation.put("confidence", confidence);
+        return recommendation;
+    }
+}
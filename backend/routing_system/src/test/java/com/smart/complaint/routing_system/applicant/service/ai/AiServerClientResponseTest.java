@@ -0,0 +1,41 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiServerClientResponseTest {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static boolean reportsFailure(String body) {
+        return AiServerClient.reportsFailure(JSON, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void singleErrorStatusIsFailure() {
+        assertThat(reportsFailure("{\"status\": \"error\", \"message\": \"LLM timeout\"}")).isTrue();
+        assertThat(reportsFailure("{\"status\": \"success\", \"data\": \"```json {}```\", \"embedding\": [0.1, 0.2]}"))
+                .isFalse();
+    }
+
+    @Test
+    void batchFailsOnlyWhenEveryItemFailed() {
+        assertThat(reportsFailure("{\"status\": \"success\", \"results\": ["
+                + "{\"id\": 1, \"status\": \"error\", \"message\": \"x\"},"
+                + "{\"id\": 2, \"status\": \"error\", \"message\": \"y\"}]}")).isTrue();
+        assertThat(reportsFailure("{\"status\": \"success\", \"results\": ["
+                + "{\"id\": 1, \"status\": \"error\", \"message\": \"x\"},"
+                + "{\"id\": 2, \"status\": \"success\", \"data\": \"d\", \"embedding\": \"AAAA\"}]}")).isFalse();
+        assertThat(reportsFailure("{\"status\": \"success\", \"results\": []}")).isFalse();
+    }
+
+    @Test
+    void malformedBodyIsLeftToDecoder() {
+        assertThat(reportsFailure("not json")).isFalse();
+    }
+}
@@ -0,0 +1,95 @@
+package com.smart.complaint.routing_system.applicant.service.dedup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * 근접 중복 색인 조회 지연 벤치마크 (JUnit 테스트가 아닌 독립 실행용)
+ * - 합성 민원 N건(기본 100만, 자치구 25개)을 색인한 뒤 중복/비중복 질의의 지연 백분위를 출력합니다.
+ * - 실행: ./gradlew nearDuplicateBenchmark [-Pcount=1000000]
+ */
+public class NearDuplicateIndexBenchmark {
+
+    private static final String SYLLABLES = "가나다라마바사아자차카타파하거너더러머버서어저처커터퍼허고노도로모보소오조초"
+            + "도로포장파손쓰레기불법주차소음악취가로등신호등공사민원처리요청";
+    private static final int DISTRICTS = 25;
+    private static final int QUERIES = 20_000;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        MinHasher minHasher = new MinHasher(3, 128, 20240601L);
+        LshIndex index = new LshIndex(128, 16, 256);
+
+        long start = System.nanoTime();
+        int[][] signatures = new int[count][];
+        IntStream.range(0, count).parallel()
+                .forEach(i -> signatures[i] = minHasher.signature("민원 " + i, text(i)));
+        long signed = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            index.add(i % DISTRICTS, i, signatures[i]);
+            signatures[i] = null; // 색인 메모리만 측정되도록 원본 서명은 버림
+        }
+        long indexed = System.nanoTime();
+        System.out.printf("서명 계산: %d건 %.1fs, 색인: %.1fs%n", count,
+                (signed - start) / 1e9, (indexed - signed) / 1e9);
+
+        SplittableRandom random = new SplittableRandom(7);
+        long[] duplicateLatencies = new long[QUERIES];
+        long[] uniqueLatencies = new long[QUERIES];
+        int found = 0;
+
+        // 워밍업 후 측정
+        for (int round = 0; round < 2; round++) {
+            found = 0;
+            for (int q = 0; q < QUERIES; q++) {
+                int target = random.nextInt(count);
+                String nearCopy = text(target).replace(" ", "") + " 빠른 처리 부탁드립니다";
+
+                long t0 = System.nanoTime();
+                int[] signature = minHasher.signature("민원 " + target, nearCopy);
+                if (index.findBest(target % DISTRICTS, signature, 0.8).isPresent()) {
+                    found++;
+                }
+                duplicateLatencies[q] = System.nanoTime() - t0;
+
+                long t1 = System.nanoTime();
+                int[] other = minHasher.signature("새 민원", text(count + q));
+                index.findBest(random.nextInt(DISTRICTS), other, 0.8);
+                uniqueLatencies[q] = System.nanoTime() - t1;
+            }
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.out.printf("색인 크기: %d건, 사용 힙: %d MB%n", index.size(),
+                (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+        System.out.printf("중복 질의 재현율: %.2f%%%n", 100.0 * found / QUERIES);
+        report("중복 질의 (서명 계산 포함)", duplicateLatencies);
+        report("비중복 질의 (서명 계산 포함)", uniqueLatencies);
+    }
+
+    // 민원 번호로 결정되는 합성 본문 (약 80자)
+    private static String text(int seed) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 80; i++) {
+            sb.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+            if (random.nextInt(5) == 0) {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void report(String label, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%s: p50 %.1fus, p99 %.1fus, p99.9 %.1fus, max %.1fus%n", label,
+                sorted[sorted.length / 2] / 1e3,
+                sorted[(int) (sorted.length * 0.99)] / 1e3,
+                sorted[(int) (sorted.length * 0.999)] / 1e3,
+                sorted[sorted.length - 1] / 1e3);
+    }
+}
@@ -0,0 +1,151 @@
+package com.smart.complaint.routing_system.applicant.service.idempotency;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.config.IdempotencyProperties;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.repository.IdempotencyKeyRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 키 저장소는 (scope, key) -> 저장된 응답 맵으로 흉내 냄 (claim은 INSERT ... ON CONFLICT DO NOTHING과 같은 의미)
+ */
+class IdempotencyServiceTest {
+
+    private static final TypeReference<Map<String, Object>> BODY = new TypeReference<>() {
+    };
+
+    private final IdempotencyKeyRepository keyRepository = mock(IdempotencyKeyRepository.class);
+    private final Map<String, IdempotencyKeyRepository.StoredResponse> rows = new ConcurrentHashMap<>();
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> rows.putIfAbsent(rowKey(invocation),
+                new IdempotencyKeyRepository.StoredResponse(invocation.getArgument(2), null, null)) == null)
+                .when(keyRepository).claim(anyString(), anyString(), anyString(), any());
+        doAnswer(invocation -> Optional.ofNullable(rows.get(rowKey(invocation))))
+                .when(keyRepository).find(anyString(), anyString());
+        doAnswer(invocation -> rows.computeIfPresent(rowKey(invocation),
+                (k, row) -> new IdempotencyKeyRepository.StoredResponse(row.requestHash(), invocation.getArgument(2),
+                        invocation.getArgument(3))))
+                .when(keyRepository).complete(anyString(), anyString(), anyInt(), any());
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        service = new IdempotencyService(new IdempotencyProperties(), keyRepository, new ObjectMapper(),
+                transactionManager, new SimpleMeterRegistry());
+    }
+
+    private static String rowKey(InvocationOnMock invocation) {
+        return invocation.getArgument(0) + "|" + invocation.getArgument(1);
+    }
+
+    private ResponseEntity<Map<String, Object>> submit(String scope, String key, Object request) {
+        return service.execute(scope, key, request, BODY, () -> ResponseEntity.accepted()
+                .body(Map.of("message", "전송이 완료되었습니다.", "complaintId", executions.incrementAndGet())));
+    }
+
+    @Test
+    void sameKeyReplaysStoredResponseWithoutRunningAgain() {
+        ResponseEntity<Map<String, Object>> first = submit("complaint:1", "key-1", Map.of("title", "가로등 고장"));
+        ResponseEntity<Map<String, Object>> second = submit("complaint:1", "key-1", Map.of("title", "가로등 고장"));
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejected() {
+        submit("complaint:1", "key-1", Map.of("title", "가로등 고장"));
+
+        assertThatThrownBy(() -> submit("complaint:1", "key-1", Map.of("title", "도로 파손")))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorMessage())
+                .isEqualTo(ErrorMessage.IDEMPOTENCY_KEY_REUSED);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void keysAreScopedPerApplicant() {
+        submit("complaint:1", "key-1", Map.of("title", "가로등 고장"));
+        submit("complaint:2", "key-1", Map.of("title", "가로등 고장"));
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void claimedButUnfinishedKeyIsInProgress() {
+        // 다른 트랜잭션이 키를 선점했지만 아직 응답을 저장하지 않은 상태
+        rows.put("complaint:1|key-1", new IdempotencyKeyRepository.StoredResponse("hash", null, null));
+
+        assertThatThrownBy(() -> submit("complaint:1", "key-1", Map.of("title", "가로등 고장")))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorMessage())
+                .isEqualTo(ErrorMessage.IDEMPOTENCY_IN_PROGRESS);
+    }
+
+    @Test
+    void lockTimeoutWhileFirstRequestRunsIsInProgress() {
+        doThrow(new PessimisticLockingFailureException("lock timeout"))
+                .when(keyRepository).claim(anyString(), anyString(), anyString(), any());
+
+        assertThatThrownBy(() -> submit("complaint:1", "key-1", Map.of("title", "가로등 고장")))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorMessage())
+                .isEqualTo(ErrorMessage.IDEMPOTENCY_IN_PROGRESS);
+        assertThat(executions.get()).isEqualTo(0);
+    }
+
+    @Test
+    void missingKeyRunsEveryTime() {
+        IdempotencyKeyRepository untouched = mock(IdempotencyKeyRepository.class);
+        IdempotencyService plain = new IdempotencyService(new IdempotencyProperties(), untouched, new ObjectMapper(),
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+        plain.execute("complaint:1", null, Map.of(), BODY, () -> ResponseEntity.ok(Map.of()));
+        plain.execute("complaint:1", null, Map.of(), BODY, () -> ResponseEntity.ok(Map.of()));
+
+        verifyNoInteractions(untouched);
+    }
+
+    @Test
+    void blankOrOversizedKeyIsInvalid() {
+        assertThatThrownBy(() -> submit("complaint:1", " ", Map.of()))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorMessage())
+                .isEqualTo(ErrorMessage.IDEMPOTENCY_KEY_INVALID);
+        assertThatThrownBy(() -> submit("complaint:1", "k".repeat(256), Map.of()))
+                .isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.smart.complaint.routing_system.applicant.service.ratelimit;
+
+import com.smart.complaint.routing_system.applicant.config.RateLimitExceededException;
+import com.smart.complaint.routing_system.applicant.config.RateLimitProperties;
+import com.smart.complaint.routing_system.applicant.repository.RateLimitBucketRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SubmissionRateLimiterTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final RateLimitBucketRepository bucketRepository = mock(RateLimitBucketRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SubmissionRateLimiter limiter(int applicantCapacity, int globalCapacity) {
+        // 분당 0.001개 보충 - 테스트 중에는 다시 채워지지 않음
+        properties.setApplicant(new RateLimitProperties.Bucket(applicantCapacity, 0.001));
+        properties.setIp(new RateLimitProperties.Bucket(applicantCapacity, 0.001));
+        properties.setGlobal(new RateLimitProperties.Bucket(globalCapacity, 0.001));
+        return new SubmissionRateLimiter(properties, bucketRepository, meterRegistry);
+    }
+
+    private double count(String scope, String result) {
+        return meterRegistry.counter("complaint.ratelimit.requests", "scope", scope, "result", result).count();
+    }
+
+    @Test
+    void applicantBucketRejectsWithRetryAfter() {
+        SubmissionRateLimiter limiter = limiter(2, 100);
+        limiter.check("1", "10.0.0.1");
+        limiter.check("1", "10.0.0.1");
+
+        assertThatThrownBy(() -> limiter.check("1", "10.0.0.1"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isPositive());
+        // 다른 민원인은 자기 버킷으로 판정
+        assertThatCode(() -> limiter.check("2", "10.0.0.1")).doesNotThrowAnyException();
+        assertThat(count("applicant", "rejected")).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectedApplicantDoesNotDrainGlobalBucket() {
+        SubmissionRateLimiter limiter = limiter(1, 3);
+        limiter.check("1", "10.0.0.1");
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> limiter.check("1", "10.0.0.1")).isInstanceOf(RateLimitExceededException.class);
+        }
+
+        // 전체 버킷은 통과한 1건만 소비
+        limiter.check("2", "10.0.0.2");
+        limiter.check("3", "10.0.0.3");
+        assertThatThrownBy(() -> limiter.check("4", "10.0.0.4")).isInstanceOf(RateLimitExceededException.class);
+        assertThat(count("global", "rejected")).isEqualTo(1.0);
+    }
+
+    @Test
+    void anonymousRequestsAreLimitedPerIp() {
+        SubmissionRateLimiter limiter = limiter(1, 100);
+        limiter.check(null, "10.0.0.1");
+
+        assertThatThrownBy(() -> limiter.check(null, "10.0.0.1")).isInstanceOf(RateLimitExceededException.class);
+        assertThatCode(() -> limiter.check(null, "10.0.0.2")).doesNotThrowAnyException();
+        assertThat(count("ip", "rejected")).isEqualTo(1.0);
+    }
+
+    @Test
+    void sharedStoreFailureFailsOpen() {
+        properties.setStore("postgres");
+        SubmissionRateLimiter limiter = limiter(1, 1);
+        when(bucketRepository.tryAcquire(anyString(), anyLong(), anyLong()))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        assertThatCode(() -> limiter.check("1", "10.0.0.1")).doesNotThrowAnyException();
+        assertThat(count("applicant", "error")).isEqualTo(1.0);
+        assertThat(count("global", "error")).isEqualTo(1.0);
+    }
+
+    @Test
+    void disabledLimiterAllowsEverything() {
+        properties.setEnabled(false);
+        SubmissionRateLimiter limiter = limiter(1, 1);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.check("1", "10.0.0.1");
+        }
+        assertThat(count("applicant", "allowed")).isEqualTo(0.0);
+    }
+}
@@ -0,0 +1,97 @@
+package com.smart.complaint.routing_system.applicant.service.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL = 100;
+
+    @Test
+    void allowsBurstUpToCapacityThenReportsWait() {
+        TokenBucket bucket = new TokenBucket(3, INTERVAL, 0);
+
+        assertThat(bucket.tryAcquire(0)).isEqualTo(0L);
+        assertThat(bucket.tryAcquire(0)).isEqualTo(0L);
+        assertThat(bucket.tryAcquire(0)).isEqualTo(0L);
+        // 네 번째 요청은 토큰 1개가 채워질 때까지 기다려야 함
+        assertThat(bucket.tryAcquire(0)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(40)).isEqualTo(INTERVAL - 40);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(2, INTERVAL, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(INTERVAL)).isEqualTo(0L);
+        assertThat(bucket.tryAcquire(INTERVAL) > 0).isTrue();
+        assertThat(bucket.tryAcquire(2 * INTERVAL)).isEqualTo(0L);
+    }
+
+    @Test
+    void idleTimeDoesNotAccumulateBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(2, INTERVAL, 0);
+        long later = 1_000 * INTERVAL;
+
+        assertThat(bucket.tryAcquire(later)).isEqualTo(0L);
+        assertThat(bucket.tryAcquire(later)).isEqualTo(0L);
+        assertThat(bucket.tryAcquire(later) > 0).isTrue();
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        TokenBucket bucket = new TokenBucket(1, INTERVAL, 0);
+        bucket.tryAcquire(0);
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryAcquire(0) > 0).isTrue();
+        }
+
+        assertThat(bucket.tryAcquire(INTERVAL)).isEqualTo(0L);
+    }
+
+    @Test
+    void isFullOnceDrainedTokensAreBack() {
+        TokenBucket bucket = new TokenBucket(2, INTERVAL, 0);
+        assertThat(bucket.isFull(0)).isTrue();
+
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+        assertThat(bucket.isFull(INTERVAL)).isFalse();
+        assertThat(bucket.isFull(2 * INTERVAL)).isTrue();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedCapacity() throws InterruptedException {
+        int capacity = 50;
+        TokenBucket bucket = new TokenBucket(capacity, TimeUnit.SECONDS.toNanos(60), 0);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (bucket.tryAcquire(0) == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed.get()).isEqualTo(capacity);
+    }
+}
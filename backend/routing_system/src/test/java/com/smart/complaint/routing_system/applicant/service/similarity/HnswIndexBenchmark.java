@@ -0,0 +1,108 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * HNSW 색인 재현율/지연 벤치마크 (JUnit 테스트가 아닌 독립 실행용)
+ * - 군집 형태의 합성 임베딩 N건(기본 2만, 1024차원)으로 색인을 만들고,
+ *   efSearch별 recall@10과 질의당 지연을 전수 검색(DB ORDER BY와 같은 방식)과 비교해 출력합니다.
+ * - 벡터는 임시 디렉터리의 메모리 매핑 저장소에 기록되고, 마지막에 그래프 스냅샷 복원 시간도 출력합니다.
+ * - 실행: ./gradlew hnswIndexBenchmark [-Pvectors=20000 -Pm=16 -PefConstruction=200]
+ */
+public class HnswIndexBenchmark {
+
+    private static final int DIMENSIONS = 1024;
+    private static final int CLUSTERS = 200;
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+
+    public static void main(String[] args) throws Exception {
+        int vectors = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int m = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int efConstruction = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        SplittableRandom random = new SplittableRandom(42);
+        float[][] centroids = new float[CLUSTERS][];
+        for (int c = 0; c < CLUSTERS; c++) {
+            centroids[c] = gaussian(random, 0.05);
+        }
+
+        Path directory = Files.createTempDirectory("hnsw-benchmark");
+        MappedEmbeddingStore store = MappedEmbeddingStore.open(directory, DIMENSIONS);
+        HnswIndex index = HnswIndex.build(store, m, efConstruction, 7);
+        long start = System.nanoTime();
+        for (int i = 0; i < vectors; i++) {
+            index.add(i + 1, i + 1, around(random, centroids[random.nextInt(CLUSTERS)]));
+        }
+        System.out.printf("구축: %d건, M %d, efConstruction %d -> %.1fs%n", vectors, m, efConstruction,
+                (System.nanoTime() - start) / 1e9);
+
+        float[][] queries = new float[QUERIES][];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = around(random, centroids[random.nextInt(CLUSTERS)]);
+        }
+
+        start = System.nanoTime();
+        for (float[] query : queries) {
+            index.exactSearch(query, K);
+        }
+        System.out.printf("전수 검색: 질의당 %.3fms%n", (System.nanoTime() - start) / 1e6 / QUERIES);
+
+        for (int efSearch : new int[] { 16, 32, 64, 128, 256 }) {
+            start = System.nanoTime();
+            for (float[] query : queries) {
+                index.search(query, K, efSearch);
+            }
+            double latency = (System.nanoTime() - start) / 1e6 / QUERIES;
+            double recall = index.measureRecall(QUERIES, K, efSearch, 11);
+            System.out.printf("efSearch %3d: recall@%d %.4f, 질의당 %.3fms%n", efSearch, K, recall, latency);
+        }
+
+        // 재기동 시나리오: 저장소 다시 매핑 + 그래프 스냅샷 복원
+        Path graph = directory.resolve("hnsw.graph");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(graph)))) {
+            index.writeTo(out);
+        }
+        store.close();
+        start = System.nanoTime();
+        try (MappedEmbeddingStore reopened = MappedEmbeddingStore.open(directory, DIMENSIONS);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(graph)))) {
+            HnswIndex restored = HnswIndex.readFrom(in, reopened, m, efConstruction, 7);
+            System.out.printf("재기동 복원: %d건, %.0fms (그래프 %.1fMB, 벡터 %.1fMB)%n", restored.liveCount(),
+                    (System.nanoTime() - start) / 1e6, Files.size(graph) / 1e6,
+                    Files.size(directory.resolve(MappedEmbeddingStore.DATA_FILE)) / 1e6);
+        }
+
+        MappedEmbeddingStore.delete(directory);
+        Files.deleteIfExists(graph);
+        Files.deleteIfExists(directory);
+    }
+
+    private static float[] gaussian(SplittableRandom random, double sigma) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) (nextGaussian(random) * sigma);
+        }
+        return vector;
+    }
+
+    private static float[] around(SplittableRandom random, float[] centroid) {
+        float[] vector = gaussian(random, 0.02);
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] += centroid[i];
+        }
+        return vector;
+    }
+
+    // Box-Muller (SplittableRandom은 Java 17에서 nextGaussian 미지원)
+    private static double nextGaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
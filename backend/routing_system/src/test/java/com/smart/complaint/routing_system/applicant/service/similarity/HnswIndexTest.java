@@ -0,0 +1,132 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * HNSW 근사 검색을 전수 비교 결과와 대조 (군집이 겹치는 합성 임베딩, HnswIndexBenchmark의 축소판)
+ */
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 64;
+    private static final int CLUSTERS = 40;
+    private static final int VECTORS = 3_000;
+    private static final int K = 10;
+
+    @TempDir
+    Path directory;
+
+    private MappedEmbeddingStore store;
+    private HnswIndex index;
+    private float[][] vectors;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        float[][] centroids = new float[CLUSTERS][];
+        for (int c = 0; c < CLUSTERS; c++) {
+            centroids[c] = gaussian(random, 0.03);
+        }
+        store = MappedEmbeddingStore.open(directory, DIMENSIONS);
+        index = HnswIndex.build(store, 16, 100, 7);
+        vectors = new float[VECTORS][];
+        for (int i = 0; i < VECTORS; i++) {
+            vectors[i] = around(random, centroids[random.nextInt(CLUSTERS)]);
+            index.add(i + 1, i + 1, vectors[i]);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void recallAgainstExactSearchIsHigh() {
+        assertThat(index.measureRecall(200, K, 128, 11)).isGreaterThanOrEqualTo(0.98);
+    }
+
+    @Test
+    void largerEfSearchDoesNotLowerRecall() {
+        double narrow = index.measureRecall(200, K, 10, 11);
+        double wide = index.measureRecall(200, K, 256, 11);
+
+        assertThat(wide).isGreaterThanOrEqualTo(narrow);
+        assertThat(wide).isGreaterThanOrEqualTo(0.99);
+    }
+
+    @Test
+    void indexedVectorFindsItselfFirst() {
+        for (int i = 0; i < VECTORS; i += 97) {
+            List<HnswIndex.Neighbor> approximate = index.search(vectors[i], K, 64);
+            List<HnswIndex.Neighbor> exact = index.exactSearch(vectors[i], K);
+
+            assertThat(exact.get(0).complaintId()).isEqualTo(i + 1L);
+            assertThat(approximate.get(0).complaintId()).isEqualTo(i + 1L);
+            assertThat(approximate.get(0).score()).isCloseTo(1.0, within(1e-4));
+        }
+    }
+
+    @Test
+    void retainOnlyHidesReplacedNormalizations() {
+        long[] current = new long[VECTORS - 1];
+        for (int i = 0; i < current.length; i++) {
+            current[i] = i + 2; // 정규화 1번만 빠짐
+        }
+
+        assertThat(index.retainOnly(current)).isEqualTo(1);
+        assertThat(index.liveCount()).isEqualTo(VECTORS - 1);
+        assertThat(index.search(vectors[0], K, 64)).extracting(HnswIndex.Neighbor::complaintId).doesNotContain(1L);
+        assertThat(index.exactSearch(vectors[0], K)).extracting(HnswIndex.Neighbor::complaintId).doesNotContain(1L);
+    }
+
+    @Test
+    void snapshotRestoresSameResults() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            index.writeTo(out);
+        }
+        HnswIndex restored = HnswIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                store, 16, 100, 7);
+
+        assertThat(restored.liveCount()).isEqualTo(index.liveCount());
+        for (int i = 0; i < VECTORS; i += 301) {
+            assertThat(restored.search(vectors[i], K, 64)).isEqualTo(index.search(vectors[i], K, 64));
+        }
+    }
+
+    private static float[] gaussian(SplittableRandom random, double sigma) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) (nextGaussian(random) * sigma);
+        }
+        return vector;
+    }
+
+    private static float[] around(SplittableRandom random, float[] centroid) {
+        float[] vector = gaussian(random, 0.1);
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] += centroid[i];
+        }
+        return vector;
+    }
+
+    // Box-Muller (SplittableRandom은 Java 17에서 nextGaussian 미지원)
+    private static double nextGaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,179 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * SQ8/PQ 코드 후보 검색 + 원본 벡터 재정렬을 전수 비교 결과와 대조 (QuantizedIndexBenchmark의 축소판)
+ */
+class QuantizedCodesTest {
+
+    private static final int DIMENSIONS = 64;
+    private static final int CLUSTERS = 40;
+    private static final int VECTORS = 3_000;
+    private static final int QUERIES = 100;
+    private static final int K = 10;
+
+    private static final ExactSimilaritySearch EXACT = new ExactSimilaritySearch();
+
+    @TempDir
+    Path directory;
+
+    private MappedEmbeddingStore store;
+    private List<float[]> samples;
+    private float[][] queries;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        float[][] centroids = new float[CLUSTERS][];
+        for (int c = 0; c < CLUSTERS; c++) {
+            centroids[c] = gaussian(random, 0.03);
+        }
+        store = MappedEmbeddingStore.open(directory, DIMENSIONS);
+        samples = new ArrayList<>();
+        for (int i = 0; i < VECTORS; i++) {
+            float[] vector = around(random, centroids[random.nextInt(CLUSTERS)]);
+            store.append(i + 1, i + 1, vector);
+            samples.add(vector);
+        }
+        queries = new float[QUERIES][];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = around(random, centroids[random.nextInt(CLUSTERS)]);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void sq8RerankRecallsExactNeighbors() {
+        QuantizedCodes codes = encode(ScalarQuantizer.train(samples, DIMENSIONS));
+
+        assertThat(recall(codes, K * 5)).isGreaterThanOrEqualTo(0.97);
+    }
+
+    @Test
+    void pqRerankRecallsExactNeighbors() {
+        QuantizedCodes codes = encode(ProductQuantizer.train(samples, DIMENSIONS, 16, 10, 7));
+
+        assertThat(recall(codes, K * 20)).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void moreRerankCandidatesDoNotLowerRecall() {
+        QuantizedCodes codes = encode(ProductQuantizer.train(samples, DIMENSIONS, 16, 10, 7));
+
+        assertThat(recall(codes, K * 20)).isGreaterThanOrEqualTo(recall(codes, K));
+    }
+
+    @Test
+    void rerankedScoresAreExactDistances() {
+        QuantizedCodes codes = encode(ProductQuantizer.train(samples, DIMENSIONS, 16, 10, 7));
+        float[] query = queries[0];
+
+        List<ExactSimilaritySearch.Hit> hits = codes.search(store, null, query, K, K * 20);
+        assertThat(hits.size()).isEqualTo(K);
+        float previous = Float.POSITIVE_INFINITY;
+        float[] scratch = new float[DIMENSIONS];
+        for (ExactSimilaritySearch.Hit hit : hits) {
+            float[] vector = store.vector(hit.index(), scratch);
+            double distance = 0;
+            for (int i = 0; i < DIMENSIONS; i++) {
+                distance += (query[i] - vector[i]) * (query[i] - vector[i]);
+            }
+            assertThat((double) hit.score()).isCloseTo(1 - Math.sqrt(distance), within(1e-4));
+            assertThat(hit.score() <= previous).isTrue();
+            previous = hit.score();
+        }
+    }
+
+    @Test
+    void excludedSlotsAreNeverReturned() {
+        QuantizedCodes codes = encode(ScalarQuantizer.train(samples, DIMENSIONS));
+
+        for (float[] query : queries) {
+            for (ExactSimilaritySearch.Hit hit : codes.search(store, slot -> slot % 2 == 0, query, K, K * 5)) {
+                assertThat(hit.index() % 2).isEqualTo(0);
+            }
+        }
+    }
+
+    @Test
+    void snapshotRestoresCodesAndEncodesNewSlots() throws Exception {
+        QuantizedCodes codes = encode(ScalarQuantizer.train(samples, DIMENSIONS));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            codes.writeTo(out);
+        }
+        store.append(VECTORS + 1, VECTORS + 1, queries[0]);
+
+        QuantizedCodes restored = QuantizedCodes.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), store);
+        assertThat(restored.sync(store)).isEqualTo(1);
+        assertThat(restored.search(store, null, queries[0], 1, K).get(0).index()).isEqualTo(VECTORS);
+    }
+
+    private QuantizedCodes encode(VectorQuantizer quantizer) {
+        QuantizedCodes codes = new QuantizedCodes(quantizer);
+        codes.sync(store);
+        return codes;
+    }
+
+    private double recall(QuantizedCodes codes, int candidates) {
+        long hits = 0;
+        for (float[] query : queries) {
+            Set<Integer> expected = new HashSet<>();
+            for (ExactSimilaritySearch.Hit hit : EXACT.topK(store::vector, store.size(), null, query, K,
+                    ExactSimilaritySearch.Metric.L2)) {
+                expected.add(hit.index());
+            }
+            for (ExactSimilaritySearch.Hit hit : codes.search(store, null, query, K, candidates)) {
+                if (expected.contains(hit.index())) {
+                    hits++;
+                }
+            }
+        }
+        return (double) hits / (QUERIES * K);
+    }
+
+    private static float[] gaussian(SplittableRandom random, double sigma) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) (nextGaussian(random) * sigma);
+        }
+        return vector;
+    }
+
+    private static float[] around(SplittableRandom random, float[] centroid) {
+        float[] vector = gaussian(random, 0.1);
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] += centroid[i];
+        }
+        return vector;
+    }
+
+    // Box-Muller (SplittableRandom은 Java 17에서 nextGaussian 미지원)
+    private static double nextGaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
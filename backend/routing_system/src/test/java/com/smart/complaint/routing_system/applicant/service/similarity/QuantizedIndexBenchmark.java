@@ -0,0 +1,123 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * 양자화 검색 메모리/재현율 벤치마크 (JUnit 테스트가 아닌 독립 실행용)
+ * - 군집 형태의 합성 임베딩 N건(기본 2만, 1024차원)을 메모리 매핑 저장소에 넣고 sq8 / pq 코드북을 학습한 뒤,
+ *   벡터당 메모리와 재정렬 후보 배수별 recall@10, 질의당 지연을 전수 검색과 비교해 출력합니다.
+ * - 실행: ./gradlew quantizedIndexBenchmark [-Pvectors=20000 -PpqSubspaces=64]
+ */
+public class QuantizedIndexBenchmark {
+
+    private static final int DIMENSIONS = 1024;
+    private static final int CLUSTERS = 200;
+    private static final int QUERIES = 200;
+    private static final int TRAINING_SAMPLES = 10_000;
+    private static final int K = 10;
+
+    public static void main(String[] args) throws Exception {
+        int vectors = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int pqSubspaces = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        SplittableRandom random = new SplittableRandom(42);
+        float[][] centroids = new float[CLUSTERS][];
+        for (int c = 0; c < CLUSTERS; c++) {
+            centroids[c] = gaussian(random, 0.05);
+        }
+
+        Path directory = Files.createTempDirectory("quantized-benchmark");
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(directory, DIMENSIONS)) {
+            for (int i = 0; i < vectors; i++) {
+                store.append(i + 1, i + 1, around(random, centroids[random.nextInt(CLUSTERS)]));
+            }
+            List<float[]> samples = new ArrayList<>();
+            for (int i = 0; i < Math.min(vectors, TRAINING_SAMPLES); i++) {
+                samples.add(store.vector(random.nextInt(vectors), new float[DIMENSIONS]));
+            }
+
+            float[][] queries = new float[QUERIES][];
+            for (int q = 0; q < QUERIES; q++) {
+                queries[q] = around(random, centroids[random.nextInt(CLUSTERS)]);
+            }
+
+            ExactSimilaritySearch exact = new ExactSimilaritySearch();
+            List<Set<Integer>> truth = new ArrayList<>(QUERIES);
+            long start = System.nanoTime();
+            for (float[] query : queries) {
+                Set<Integer> expected = new HashSet<>();
+                for (ExactSimilaritySearch.Hit hit : exact.topK(store::vector, store.size(), null, query, K,
+                        ExactSimilaritySearch.Metric.L2)) {
+                    expected.add(hit.index());
+                }
+                truth.add(expected);
+            }
+            System.out.printf("전수 검색: %d건, 벡터당 %d바이트, 질의당 %.3fms%n", vectors, DIMENSIONS * Float.BYTES,
+                    (System.nanoTime() - start) / 1e6 / QUERIES);
+
+            start = System.nanoTime();
+            VectorQuantizer sq8 = ScalarQuantizer.train(samples, DIMENSIONS);
+            report(store, sq8, System.nanoTime() - start, queries, truth);
+
+            start = System.nanoTime();
+            VectorQuantizer pq = ProductQuantizer.train(samples, DIMENSIONS, pqSubspaces, 10, 7);
+            report(store, pq, System.nanoTime() - start, queries, truth);
+        } finally {
+            MappedEmbeddingStore.delete(directory);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static void report(MappedEmbeddingStore store, VectorQuantizer quantizer, long trainNanos,
+            float[][] queries, List<Set<Integer>> truth) {
+        QuantizedCodes codes = new QuantizedCodes(quantizer);
+        long start = System.nanoTime();
+        codes.sync(store);
+        System.out.printf("%s: 학습 %.1fs, 인코딩 %.1fs, 벡터당 %d바이트 (코드북 %.1fKB, 총 %.1fMB)%n",
+                quantizer.name(), trainNanos / 1e9, (System.nanoTime() - start) / 1e9, quantizer.codeBytes(),
+                quantizer.codebookBytes() / 1024.0, codes.memoryBytes() / 1e6);
+
+        for (int factor : new int[] { 1, 5, 10, 20 }) {
+            long hits = 0;
+            start = System.nanoTime();
+            for (int q = 0; q < queries.length; q++) {
+                for (ExactSimilaritySearch.Hit hit : codes.search(store, null, queries[q], K, K * factor)) {
+                    if (truth.get(q).contains(hit.index())) {
+                        hits++;
+                    }
+                }
+            }
+            double latency = (System.nanoTime() - start) / 1e6 / queries.length;
+            System.out.printf("  재정렬 후보 k x %2d: recall@%d %.4f, 질의당 %.3fms%n", factor, K,
+                    (double) hits / (queries.length * K), latency);
+        }
+    }
+
+    private static float[] gaussian(SplittableRandom random, double sigma) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) (nextGaussian(random) * sigma);
+        }
+        return vector;
+    }
+
+    private static float[] around(SplittableRandom random, float[] centroid) {
+        float[] vector = gaussian(random, 0.02);
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] += centroid[i];
+        }
+        return vector;
+    }
+
+    // Box-Muller (SplittableRandom은 Java 17에서 nextGaussian 미지원)
+    private static double nextGaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
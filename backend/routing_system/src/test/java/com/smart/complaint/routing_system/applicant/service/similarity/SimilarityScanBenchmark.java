@@ -0,0 +1,211 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import com.smart.complaint.routing_system.applicant.repository.PgVectorBinary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전수 유사도 검색 JMH 벤치마크 (JUnit 테스트가 아닌 독립 실행용)
+ * - 커널: 1024차원 한 쌍의 내적/코사인을 스칼라 반복문과 SIMD(jdk.incubator.vector)로 비교
+ * - top-10 스캔: 스칼라 단일 스레드 / SIMD 단일 스레드 / SIMD + fork-join 코어별 분할 / 현재 SQL 경로(ORDER BY <->)
+ *   / 메모리 매핑 저장소에서 읽는 SIMD + fork-join (힙 배열 대비 복사 비용 확인)
+ * - jdbcUrl을 주면 DB의 현재 정규화 임베딩을 메모리에 올려 같은 데이터로 비교하고, 없으면 합성 임베딩 size건을 씁니다.
+ * - 실행: ./gradlew similarityScanBenchmark [-PjdbcUrl=... -PjdbcUser=... -PjdbcPassword=...]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class SimilarityScanBenchmark {
+
+    private static final int DIMENSIONS = 1024;
+    private static final int K = 10;
+
+    // findSimilarComplaint와 같은 정렬 (QueryDSL이 만드는 SQL과 동일한 형태)
+    private static final String SQL = "SELECT c.id, 1 - (n.embedding <-> CAST(? AS vector)) AS score " +
+            "FROM complaint_normalizations n JOIN complaints c ON c.id = n.complaint_id " +
+            "WHERE n.is_current = true ORDER BY score DESC LIMIT ?";
+
+    private static final String LOAD_SQL = "SELECT vector_send(embedding) AS embedding " +
+            "FROM complaint_normalizations WHERE is_current = true AND embedding IS NOT NULL";
+
+    @Param("20000")
+    public int size;
+
+    @Param("")
+    public String jdbcUrl;
+
+    @Param("postgres")
+    public String jdbcUser;
+
+    @Param("")
+    public String jdbcPassword;
+
+    private float[][] vectors;
+    private float[] query;
+    private double[] queryAsDouble;
+
+    private VectorKernels scalar;
+    private VectorKernels simd;
+    private ExactSimilaritySearch scalarScan;
+    private ExactSimilaritySearch simdScan;
+    private ExactSimilaritySearch parallelScan;
+
+    private Path storeDirectory;
+    private MappedEmbeddingStore store;
+
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @Setup
+    public void setUp() throws Exception {
+        scalar = new ScalarVectorKernels();
+        // SimdVectorKernels는 별도 소스 세트(src/simd)라 이름으로 로드 (@Fork에서 모듈을 추가하므로 SIMD 커널)
+        simd = VectorKernels.preferred();
+        scalarScan = new ExactSimilaritySearch(scalar, null);
+        simdScan = new ExactSimilaritySearch(simd, null);
+        parallelScan = new ExactSimilaritySearch(simd, ForkJoinPool.commonPool());
+
+        SplittableRandom random = new SplittableRandom(42);
+        if (jdbcUrl.isEmpty()) {
+            vectors = new float[size][];
+            for (int i = 0; i < size; i++) {
+                vectors[i] = randomVector(random);
+            }
+        } else {
+            connection = DriverManager.getConnection(jdbcUrl, jdbcUser, jdbcPassword);
+            vectors = loadVectors();
+            statement = connection.prepareStatement(SQL);
+        }
+
+        storeDirectory = Files.createTempDirectory("similarity-scan");
+        store = MappedEmbeddingStore.open(storeDirectory, DIMENSIONS);
+        for (int i = 0; i < vectors.length; i++) {
+            store.append(i + 1, i + 1, vectors[i]);
+        }
+
+        query = randomVector(random);
+        queryAsDouble = new double[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            queryAsDouble[i] = query[i];
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (connection != null) {
+            connection.close();
+        }
+        store.close();
+        MappedEmbeddingStore.delete(storeDirectory);
+        Files.deleteIfExists(storeDirectory);
+    }
+
+    @Benchmark
+    public float dotScalar() {
+        return scalar.dot(query, vectors[0]);
+    }
+
+    @Benchmark
+    public float dotSimd() {
+        return simd.dot(query, vectors[0]);
+    }
+
+    @Benchmark
+    public float cosineScalar() {
+        return scalar.cosine(query, vectors[0]);
+    }
+
+    @Benchmark
+    public float cosineSimd() {
+        return simd.cosine(query, vectors[0]);
+    }
+
+    @Benchmark
+    public List<ExactSimilaritySearch.Hit> topKScalar() {
+        return scalarScan.topK(ExactSimilaritySearch.onHeap(vectors), vectors.length, null, query, K,
+                ExactSimilaritySearch.Metric.L2);
+    }
+
+    @Benchmark
+    public List<ExactSimilaritySearch.Hit> topKSimd() {
+        return simdScan.topK(ExactSimilaritySearch.onHeap(vectors), vectors.length, null, query, K,
+                ExactSimilaritySearch.Metric.L2);
+    }
+
+    @Benchmark
+    public List<ExactSimilaritySearch.Hit> topKSimdForkJoin() {
+        return parallelScan.topK(ExactSimilaritySearch.onHeap(vectors), vectors.length, null, query, K,
+                ExactSimilaritySearch.Metric.L2);
+    }
+
+    @Benchmark
+    public List<ExactSimilaritySearch.Hit> topKSimdForkJoinMapped() {
+        return parallelScan.topK(store::vector, store.size(), null, query, K, ExactSimilaritySearch.Metric.L2);
+    }
+
+    // 현재 경로: 질의 벡터를 텍스트로 보내고 DB가 전체 행을 정렬
+    @Benchmark
+    public List<Long> topKSql() throws Exception {
+        if (statement == null) {
+            throw new IllegalStateException("topKSql은 -p jdbcUrl=... 이 필요합니다.");
+        }
+        statement.setString(1, Arrays.toString(queryAsDouble));
+        statement.setInt(2, K);
+        List<Long> ids = new ArrayList<>(K);
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private float[][] loadVectors() throws Exception {
+        List<float[]> loaded = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(LOAD_SQL);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                loaded.add(PgVectorBinary.decode(rs.getBytes(1)));
+            }
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("complaint_normalizations에 현재 임베딩이 없습니다.");
+        }
+        return loaded.toArray(new float[0][]);
+    }
+
+    private static float[] randomVector(SplittableRandom random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) (random.nextDouble() * 0.2 - 0.1);
+        }
+        return vector;
+    }
+}
@@ -78,12 +78,17 @@ def migrate_data():
                 conn.rollback() # 부모 테이블 삽입 취소
                 continue
 
-            # 3. 자식 테이블 삽입
+            # 3. 자식 테이블 삽입 (기존 현재 행을 내리고 민원별 다음 버전으로 저장 - 백엔드와 같은 버전 규칙)
+            cur.execute(
+                "UPDATE complaint_normalizations SET is_current = false WHERE complaint_id = %s AND is_current = true",
+                (new_complaint_id,)
+            )
             sql_child = """
             INSERT INTO complaint_normalizations (
                 complaint_id, neutral_summary, core_request, 
-                target_object, keywords_jsonb, embedding, resp_dept, is_current
-            ) VALUES (%s, %s, %s, %s, %s, %s, %s, %s)
+                target_object, keywords_jsonb, embedding, resp_dept, is_current, version
+            ) VALUES (%s, %s, %s, %s, %s, %s, %s, %s,
+                COALESCE((SELECT max(version) FROM complaint_normalizations WHERE complaint_id = %s), 0) + 1)
             """
             
             keywords_list = [k.strip() for k in str(row['keywords']).split(',')] if pd.notna(row['keywords']) else []
@@ -96,7 +101,8 @@ def migrate_data():
                 Json(keywords_list),
                 vector,
                 row['resp_dept'],
-                True
+                True,
+                new_complaint_id
             ))
 
             # 4. 개별 건별 커밋 (안정성 최우선)
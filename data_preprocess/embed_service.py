@@ -50,6 +50,8 @@ for i, row in tqdm(df.iterrows(), total=len(df)):
             continue
 
         # 신규 스키마 컬럼에 맞춘 INSERT 문
+        # 민원과 연결하지 않는 행(complaint_id 없음)이라 민원별 현재 행/버전 유니크 색인에 걸리지 않으므로
+        # 내릴 이전 현재 행이 없고 버전은 첫 버전(1)으로 명시
         query = """
         INSERT INTO complaint_normalizations (
             resp_dept,
@@ -59,8 +61,9 @@ for i, row in tqdm(df.iterrows(), total=len(df)):
             search_text,
             embedding,
             model_name,
-            is_current
-        ) VALUES (%s, %s, %s, %s, %s, %s, %s, %s)
+            is_current,
+            version
+        ) VALUES (%s, %s, %s, %s, %s, %s, %s, %s, 1)
         """
         
         # 파라미터 구성